@@ -0,0 +1,98 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 在构建时将 {@code china-area.properties} 编译为二进制形式的 {@link ChineseAreaTable}。
+ * <p>
+ * 此类是只在构建时使用的工具，与 {@link ltd.qubit.commons.validator.utils.ResourceBundleCompiler}
+ * 一样位于 {@code src/build/java} 中，不会被打包进发布的 jar 中。{@code pom.xml} 中的
+ * {@code exec-maven-plugin} 在 {@code process-classes} 阶段调用它，不受是否跳过测试的影响，
+ * 属性文件仍然是行政区划代码的唯一数据源。用法：
+ * <pre><code>
+ * java ltd.qubit.commons.validator.rule.impl.ChineseAreaTableCompiler \
+ *     china-area.properties china-area.bin
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+public final class ChineseAreaTableCompiler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChineseAreaTableCompiler.class);
+
+  private ChineseAreaTableCompiler() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 读取属性文件格式的行政区划代码表。
+   *
+   * @param source
+   *     属性文件的路径，使用 UTF-8 编码。
+   * @return 从6位地区代码到地区名称的映射。
+   * @throws IOException
+   *     若发生 I/O 错误。
+   */
+  public static Map<String, String> readProperties(final Path source) throws IOException {
+    final Properties properties = new Properties();
+    try (final Reader reader = Files.newBufferedReader(source, UTF_8)) {
+      properties.load(reader);
+    }
+    final Map<String, String> map = new HashMap<>();
+    for (final String key : properties.stringPropertyNames()) {
+      map.put(key, properties.getProperty(key));
+    }
+    return map;
+  }
+
+  /**
+   * 将属性文件格式的行政区划代码表编译为二进制形式。
+   *
+   * @param source
+   *     属性文件的路径。
+   * @param target
+   *     输出的二进制文件的路径。
+   * @return 编译得到的 {@link ChineseAreaTable}。
+   * @throws IOException
+   *     若发生 I/O 错误。
+   */
+  public static ChineseAreaTable compile(final Path source, final Path target)
+      throws IOException {
+    final ChineseAreaTable table = ChineseAreaTable.fromMap(readProperties(source));
+    final Path parent = target.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Files.write(target, table.toByteArray());
+    return table;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: " + ChineseAreaTableCompiler.class.getName()
+          + " <china-area.properties> <china-area.bin>");
+    }
+    final ChineseAreaTable table = compile(Paths.get(args[0]), Paths.get(args[1]));
+    logger.info("Compiled {} areas into {}", table.size(), args[1]);
+  }
+}
@@ -0,0 +1,211 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 在构建时将 UTF-8 编码的资源包属性文件编译为 {@link java.util.ListResourceBundle} 的子类。
+ * <p>
+ * 对于名为 {@code ValidationMessages} 的资源包，此类为 {@code ValidationMessages.properties}
+ * 和每个 {@code ValidationMessages_<locale>.properties} 各生成一个类，类名为
+ * {@value Utf8ResourceBundleLocator#COMPILED_BUNDLE_PACKAGE} 包中的同名类，其内容是一个常量
+ * 数组。{@link Utf8ResourceBundleLocator} 优先加载这些类，因此在运行时查找资源包只需加载类，
+ * 不需要读取和解析属性文件。
+ * <p>
+ * 此类是只在构建时使用的工具，位于 {@code src/build/java} 中，在编译主代码之后被单独编译到
+ * {@code target/build-tools} 目录，因此不会被打包进发布的 jar 中。{@code pom.xml} 中的
+ * {@code exec-maven-plugin} 在 {@code process-classes} 阶段调用它，不受是否跳过测试的影响，
+ * 属性文件仍然是消息的唯一数据源。用法：
+ * <pre><code>
+ * java ltd.qubit.commons.validator.utils.ResourceBundleCompiler \
+ *     ValidationMessages src/main/resources target/generated-sources/bundles target/classes 17
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+public final class ResourceBundleCompiler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceBundleCompiler.class);
+
+  private static final String PROPERTIES_SUFFIX = ".properties";
+
+  private ResourceBundleCompiler() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 为一个属性文件生成 {@link java.util.ListResourceBundle} 子类的源代码。
+   * <p>
+   * 生成的源代码只包含 ASCII 字符，非 ASCII 字符被转义为 Unicode 转义序列。
+   *
+   * @param className
+   *     生成的类的全名。
+   * @param properties
+   *     资源包的内容。
+   * @return 生成的源代码。
+   */
+  public static String generateSource(final String className, final Properties properties) {
+    final int dot = className.lastIndexOf('.');
+    final StringBuilder builder = new StringBuilder();
+    builder.append("// Generated by ").append(ResourceBundleCompiler.class.getName())
+           .append(". DO NOT EDIT.\n");
+    if (dot > 0) {
+      builder.append("package ").append(className, 0, dot).append(";\n\n");
+    }
+    builder.append("public final class ").append(className.substring(dot + 1))
+           .append(" extends java.util.ListResourceBundle {\n\n")
+           .append("  private static final Object[][] CONTENTS = {\n");
+    for (final String key : new TreeSet<>(properties.stringPropertyNames())) {
+      builder.append("      {");
+      appendLiteral(builder, key);
+      builder.append(", ");
+      appendLiteral(builder, properties.getProperty(key));
+      builder.append("},\n");
+    }
+    builder.append("  };\n\n")
+           .append("  @Override\n")
+           .append("  protected Object[][] getContents() {\n")
+           .append("    return CONTENTS;\n")
+           .append("  }\n")
+           .append("}\n");
+    return builder.toString();
+  }
+
+  private static void appendLiteral(final StringBuilder builder, final String str) {
+    builder.append('"');
+    for (int i = 0; i < str.length(); ++i) {
+      final char ch = str.charAt(i);
+      switch (ch) {
+        case '"':
+          builder.append("\\\"");
+          break;
+        case '\\':
+          builder.append("\\\\");
+          break;
+        case '\n':
+          builder.append("\\n");
+          break;
+        case '\r':
+          builder.append("\\r");
+          break;
+        case '\t':
+          builder.append("\\t");
+          break;
+        default:
+          if (ch < 0x20 || ch > 0x7E) {
+            builder.append(String.format("\\u%04x", (int) ch));
+          } else {
+            builder.append(ch);
+          }
+          break;
+      }
+    }
+    builder.append('"');
+  }
+
+  /**
+   * 将指定资源包的所有属性文件编译为类。
+   *
+   * @param bundleName
+   *     资源包的名称，例如 {@code "ValidationMessages"}；可以带有以 {@code '.'} 分隔的包名。
+   * @param resourceDir
+   *     属性文件所在的资源根目录。
+   * @param sourceDir
+   *     生成的源代码的输出目录。
+   * @param classDir
+   *     编译得到的类文件的输出目录。
+   * @param release
+   *     生成的类所针对的 Java SE 版本，作为 {@code --release} 参数传递给编译器，应与编译项目
+   *     的其余代码时使用的版本一致。
+   * @return 编译得到的类的数目；若不存在该资源包的属性文件，则返回0。
+   * @throws IOException
+   *     若发生 I/O 错误，或者编译失败。
+   */
+  public static int compile(final String bundleName, final Path resourceDir,
+      final Path sourceDir, final Path classDir, final int release) throws IOException {
+    final int dot = bundleName.lastIndexOf('.');
+    final String simpleName = bundleName.substring(dot + 1);
+    final Path dir = (dot < 0 ? resourceDir
+                              : resourceDir.resolve(bundleName.substring(0, dot).replace('.', '/')));
+    final List<Path> sources = new ArrayList<>();
+    if (Files.isDirectory(dir)) {
+      try (final DirectoryStream<Path> stream = Files.newDirectoryStream(dir,
+          simpleName + "{,_*}" + PROPERTIES_SUFFIX)) {
+        for (final Path file : stream) {
+          final String fileName = file.getFileName().toString();
+          final String suffix = fileName.substring(simpleName.length(),
+              fileName.length() - PROPERTIES_SUFFIX.length());
+          final String className = Utf8ResourceBundleLocator.getCompiledBundleName(bundleName)
+              + suffix;
+          final Path source = sourceDir.resolve(className.replace('.', '/') + ".java");
+          Files.createDirectories(source.getParent());
+          Files.write(source, generateSource(className, load(file)).getBytes(UTF_8));
+          sources.add(source);
+        }
+      }
+    }
+    if (sources.isEmpty()) {
+      return 0;
+    }
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IOException("No Java compiler is available to compile the resource bundles.");
+    }
+    Files.createDirectories(classDir);
+    final List<String> args = new ArrayList<>();
+    args.add("-nowarn");
+    args.add("--release");
+    args.add(String.valueOf(release));
+    args.add("-d");
+    args.add(classDir.toString());
+    for (final Path source : sources) {
+      args.add(source.toString());
+    }
+    if (compiler.run(null, null, null, args.toArray(new String[0])) != 0) {
+      throw new IOException("Failed to compile the resource bundle: " + bundleName);
+    }
+    return sources.size();
+  }
+
+  private static Properties load(final Path file) throws IOException {
+    final Properties properties = new Properties();
+    try (final Reader reader = Files.newBufferedReader(file, UTF_8)) {
+      properties.load(reader);
+    }
+    return properties;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 5) {
+      throw new IllegalArgumentException("Usage: " + ResourceBundleCompiler.class.getName()
+          + " <bundle-name> <resource-dir> <source-dir> <class-dir> <release>");
+    }
+    final int count = compile(args[0], Paths.get(args[1]), Paths.get(args[2]),
+        Paths.get(args[3]), Integer.parseInt(args[4]));
+    logger.info("Compiled {} resource bundles of {} into {}", count, args[0], args[3]);
+  }
+}
@@ -0,0 +1,166 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+
+/**
+ * 基于 {@code jdk.incubator.vector} 的 {@link BatchKernel} 实现。
+ * <p>
+ * 此实现每次处理 {@code L} 个号码（{@code L} 为当前平台首选的 {@code int} 向量的通道数）：
+ * 先将这些号码按列转置到一个 {@code int} 数组中，使得同一位置上的 {@code L} 个字符在内存中
+ * 连续；然后对每一列执行一次向量化的数字范围检查，并以向量乘加的方式累加加权和。因此数字检查
+ * 和校验和计算的指令数约为标量循环的 {@code 1/L}。出生日期和号段的检查仍逐个进行，但只针对通过
+ * 了前述检查的号码。
+ * <p>
+ * 此类位于单独的源代码目录中，只有启用 {@code vector} profile 时才会被编译。使用此实现还需要
+ * 在运行时添加 JVM 参数 {@code --add-modules jdk.incubator.vector}，并设置系统属性
+ * {@value BatchKernels#ENABLE_VECTOR_PROPERTY}，详见 {@link BatchKernels}。此类不应被直接引用。
+ *
+ * @author 胡海星
+ */
+@Immutable
+@ThreadSafe
+final class VectorBatchKernel implements BatchKernel {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+  private static final int LANES = SPECIES.length();
+
+  private static final int ID_LENGTH = ChineseIdentityCardUtils.NUMBER_LENGTH;
+
+  private static final int MOBILE_LENGTH = ChineseMobileUtils.NUMBER_LENGTH;
+
+  /**
+   * 每个线程的列缓冲区，避免每次调用时重新分配。
+   */
+  private static final ThreadLocal<int[]> COLUMNS =
+      ThreadLocal.withInitial(() -> new int[ID_LENGTH * LANES]);
+
+  VectorBatchKernel() {}
+
+  /** {@inheritDoc} */
+  @Override
+  public int validateIdentityCards(final CharSequence[] numbers, final int from,
+      final int to, final boolean[] results) {
+    final int[] columns = COLUMNS.get();
+    final int[] sums = new int[LANES];
+    int count = 0;
+    for (int base = from; base < to; base += LANES) {
+      final int n = Math.min(LANES, to - base);
+      // 长度不合法的号码用全 '0' 填充，其结果在后面被单独排除
+      long lengthOk = 0;
+      for (int j = 0; j < LANES; ++j) {
+        final CharSequence number = (j < n ? numbers[base + j] : null);
+        if (number != null && number.length() == ID_LENGTH) {
+          lengthOk |= (1L << j);
+          for (int p = 0; p < ID_LENGTH; ++p) {
+            columns[p * LANES + j] = number.charAt(p);
+          }
+        } else {
+          for (int p = 0; p < ID_LENGTH; ++p) {
+            columns[p * LANES + j] = '0';
+          }
+        }
+      }
+      IntVector sum = IntVector.zero(SPECIES);
+      VectorMask<Integer> digits = SPECIES.maskAll(true);
+      for (int p = 0; p < ID_LENGTH - 1; ++p) {
+        final IntVector v = IntVector.fromArray(SPECIES, columns, p * LANES).sub('0');
+        // 将数字减去 '0' 后作无符号比较，一次比较即可同时检查上下界
+        digits = digits.and(v.compare(VectorOperators.UNSIGNED_LE, 9));
+        sum = v.lanewise(VectorOperators.MUL, RATIO[p]).add(sum);
+      }
+      sum.intoArray(sums, 0);
+      final long digitsOk = digits.toLong();
+      final int lastOffset = (ID_LENGTH - 1) * LANES;
+      for (int j = 0; j < n; ++j) {
+        boolean valid = false;
+        if ((lengthOk & digitsOk & (1L << j)) != 0) {
+          final char last = Character.toUpperCase((char) columns[lastOffset + j]);
+          valid = (last == LAST_CHAR[sums[j] % LAST_CHAR.length])
+              && isBirthdayValid(columns, j);
+        }
+        results[base + j] = valid;
+        if (valid) {
+          ++count;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static boolean isBirthdayValid(final int[] columns, final int j) {
+    final int year = digit(columns, 6, j) * 1000 + digit(columns, 7, j) * 100
+        + digit(columns, 8, j) * 10 + digit(columns, 9, j);
+    final int month = digit(columns, 10, j) * 10 + digit(columns, 11, j);
+    final int day = digit(columns, 12, j) * 10 + digit(columns, 13, j);
+    return ChineseIdentityCardUtils.isDateValid(year, month, day);
+  }
+
+  private static int digit(final int[] columns, final int position, final int j) {
+    return columns[position * LANES + j] - '0';
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int validateMobiles(final CharSequence[] numbers, final int from,
+      final int to, final boolean[] results) {
+    final int[] columns = COLUMNS.get();
+    int count = 0;
+    for (int base = from; base < to; base += LANES) {
+      final int n = Math.min(LANES, to - base);
+      // 只有不含前缀的11位号码走向量化路径，其他长度的号码逐个使用标量规则验证
+      long plain = 0;
+      for (int j = 0; j < LANES; ++j) {
+        final CharSequence number = (j < n ? numbers[base + j] : null);
+        if (number != null && number.length() == MOBILE_LENGTH) {
+          plain |= (1L << j);
+          for (int p = 0; p < MOBILE_LENGTH; ++p) {
+            columns[p * LANES + j] = number.charAt(p);
+          }
+        } else {
+          for (int p = 0; p < MOBILE_LENGTH; ++p) {
+            columns[p * LANES + j] = '0';
+          }
+        }
+      }
+      VectorMask<Integer> digits = SPECIES.maskAll(true);
+      for (int p = 0; p < MOBILE_LENGTH; ++p) {
+        final IntVector v = IntVector.fromArray(SPECIES, columns, p * LANES).sub('0');
+        digits = digits.and(v.compare(VectorOperators.UNSIGNED_LE, 9));
+      }
+      final long digitsOk = digits.toLong();
+      for (int j = 0; j < n; ++j) {
+        final boolean valid;
+        if ((plain & (1L << j)) != 0) {
+          valid = ((digitsOk & (1L << j)) != 0)
+              && ChineseMobileUtils.isPrefixValid(digit(columns, 0, j),
+                  digit(columns, 1, j), digit(columns, 2, j));
+        } else {
+          valid = ScalarBatchKernel.isMobileValid(numbers[base + j]);
+        }
+        results[base + j] = valid;
+        if (valid) {
+          ++count;
+        }
+      }
+    }
+    return count;
+  }
+}
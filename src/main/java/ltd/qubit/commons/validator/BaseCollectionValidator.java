@@ -0,0 +1,192 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import ltd.qubit.commons.validator.jfr.SlowValidationEvent;
+import ltd.qubit.commons.validator.jfr.ValidationEvent;
+import ltd.qubit.commons.validator.jfr.ValidationEvents;
+import ltd.qubit.commons.validator.metrics.ValidationMetrics;
+import ltd.qubit.commons.validator.metrics.ValidationMetricsRegistry;
+import ltd.qubit.commons.validator.rule.InputPrefilter;
+
+/**
+ * 批量验证字符串集合的验证器的基类。
+ * <p>
+ * 将约束注解标注在集合本身上（例如 {@code @Email List<String>}）时，此验证器一次性取得整个
+ * 集合，用元素验证器的批量接口（见 {@link #validateAll(CharSequence[], boolean[])}）验证所有
+ * 元素，然后只为不合法的元素构造约束违例。违例的路径与将约束注解标注在元素类型上（例如
+ * {@code List<@Email String>}）时逐个验证元素所产生的路径一致：对于 {@link List} 为
+ * {@code emails[2].<list element>}，对于 {@link Set} 为 {@code emails[].<iterable element>}。
+ * 因此调用者可以在两种写法之间切换而不影响对违例的处理，但批量写法只为每个集合调用一次验证器。
+ * <p>
+ * 与逐个验证不同，批量验证产生的违例的 {@link jakarta.validation.ConstraintViolation#getInvalidValue()}
+ * 是整个集合。对于没有下标的集合（例如 {@link Set}），各元素的违例无法区分，因此至多产生一个违例。
+ * <p>
+ * {@code null} 集合被视为合法；集合中的 {@code null} 元素与逐个验证时的处理方式相同。
+ * <p>
+ * 批量验证与 {@link BaseValidator#isValid} 一样被统计和记录：每个元素都以约束注解的简单类名
+ * 向 {@link ValidationMetrics} 报告一次验证，因此调用和失败的次数与逐个验证时相同；由于无法
+ * 单独测量每个元素的耗时，被抽样的批量验证的耗时被平均分摊到各个元素上。每次批量验证产生一个
+ * {@link ValidationEvent} 和一个 {@link SlowValidationEvent}，其持续时间为整个批量验证的耗时，
+ * 输入长度为-1，且只有所有元素都合法时才被标记为合法。
+ *
+ * @param <A> 约束注解的类型。
+ * @param <V> 元素验证器的类型。
+ * @author 胡海星
+ */
+public abstract class BaseCollectionValidator<A extends Annotation,
+    V extends BaseValidator<A, String>>
+    implements ConstraintValidator<A, Collection<? extends CharSequence>> {
+
+  private static final String LIST_ELEMENT_NODE_NAME = "<list element>";
+  private static final String ITERABLE_ELEMENT_NODE_NAME = "<iterable element>";
+
+  /**
+   * 用于验证单个元素的验证器。
+   */
+  protected V element;
+
+  /**
+   * 创建用于验证单个元素的验证器。
+   *
+   * @return 新创建的、尚未初始化的元素验证器。
+   */
+  protected abstract V createElementValidator();
+
+  /** {@inheritDoc} */
+  @Override
+  public void initialize(final A annotation) {
+    element = createElementValidator();
+    element.initialize(annotation);
+  }
+
+  /**
+   * 批量验证集合中的元素。
+   * <p>
+   * 默认实现先用元素验证器的预过滤器过滤所有元素，再用元素验证器逐个验证通过预过滤的元素；
+   * 子类可以覆盖此方法以使用验证规则的批量接口。此方法的验证结果必须与对每个元素分别调用
+   * 元素验证器的结果一致。
+   *
+   * @param values
+   *     待验证的元素，其中的元素可以为{@code null}。
+   * @param results
+   *     用于保存结果的数组，{@code results[i]}表示{@code values[i]}是否合法；其长度与
+   *     {@code values}的长度相同。
+   * @return 合法的元素的数目。
+   */
+  protected int validateAll(final CharSequence[] values, final boolean[] results) {
+    return element.getPrefilter().validateAll(values, element::validate, results);
+  }
+
+  /**
+   * 用元素验证器的预过滤器过滤已由验证规则的批量接口验证过的元素。
+   * <p>
+   * 验证规则的批量接口不执行预过滤，覆盖 {@link #validateAll(CharSequence[], boolean[])} 的
+   * 子类应当用此方法使结果与逐个验证时一致。
+   *
+   * @param values
+   *     待验证的元素。
+   * @param results
+   *     验证规则的批量接口的结果，未通过预过滤的元素的结果将被置为{@code false}。
+   * @param count
+   *     验证规则的批量接口返回的合法元素的数目。
+   * @return 通过预过滤的合法元素的数目。
+   */
+  protected final int applyPrefilter(final CharSequence[] values, final boolean[] results,
+      final int count) {
+    final InputPrefilter prefilter = element.getPrefilter();
+    if (prefilter.isNone()) {
+      return count;
+    }
+    int result = count;
+    for (int i = 0; i < values.length; ++i) {
+      if (results[i] && !prefilter.accepts(values[i])) {
+        results[i] = false;
+        --result;
+      }
+    }
+    return result;
+  }
+
+  private int instrumentedValidateAll(final CharSequence[] values, final boolean[] results) {
+    final ValidationEvents events = ValidationEvents.begin();
+    final String name = element.getMetricsName();
+    final ValidationMetrics metrics = ValidationMetricsRegistry.get();
+    final int count;
+    if (metrics.isEnabled()) {
+      final long start = metrics.startTimer();
+      count = validateAll(values, results);
+      long elementStart = ValidationMetrics.NOT_SAMPLED;
+      if (start != ValidationMetrics.NOT_SAMPLED) {
+        // 将批量验证的耗时平均分摊到各个元素上
+        final long now = System.nanoTime();
+        elementStart = now - (now - start) / values.length;
+      }
+      for (final boolean result : results) {
+        metrics.record(name, result, elementStart);
+      }
+    } else {
+      count = validateAll(values, results);
+    }
+    if (events != null) {
+      events.complete(name, getClass(), values, count == values.length);
+    }
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean isValid(final Collection<? extends CharSequence> values,
+      final ConstraintValidatorContext context) {
+    if (values == null || values.isEmpty()) {
+      return true;
+    }
+    final CharSequence[] array = values.toArray(new CharSequence[0]);
+    final boolean[] results = new boolean[array.length];
+    if (instrumentedValidateAll(array, results) == array.length) {
+      return true;
+    }
+    final var hc = context.unwrap(HibernateConstraintValidatorContext.class);
+    final String message = element.getErrorMessage();
+    hc.disableDefaultConstraintViolation();
+    element.addExpressionVariables(hc);
+    element.addMessageParameters(hc);
+    if (values instanceof List) {
+      for (int i = 0; i < array.length; ++i) {
+        if (!results[i]) {
+          hc.buildConstraintViolationWithTemplate(message)
+            .enableExpressionLanguage()
+            .addContainerElementNode(LIST_ELEMENT_NODE_NAME, List.class, 0)
+            .inIterable()
+            .atIndex(i)
+            .addConstraintViolation();
+        }
+      }
+    } else {
+      // 没有下标的违例的路径和消息都相同，会被合并为一个
+      final Class<?> containerType = (values instanceof Set ? Set.class : Iterable.class);
+      hc.buildConstraintViolationWithTemplate(message)
+        .enableExpressionLanguage()
+        .addContainerElementNode(ITERABLE_ELEMENT_NODE_NAME, containerType, 0)
+        .inIterable()
+        .addConstraintViolation();
+    }
+    return false;
+  }
+}
@@ -16,6 +16,11 @@ import jakarta.validation.ConstraintValidatorContext;
 import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
 
 import ltd.qubit.commons.reflect.AnnotationUtils;
+import ltd.qubit.commons.validator.jfr.ValidationEvents;
+import ltd.qubit.commons.validator.metrics.ValidationMetrics;
+import ltd.qubit.commons.validator.metrics.ValidationMetricsRegistry;
+import ltd.qubit.commons.validator.rule.InputCharset;
+import ltd.qubit.commons.validator.rule.InputPrefilter;
 
 /**
  * 所有验证器的基类。
@@ -32,16 +37,71 @@ public abstract class BaseValidator<A extends Annotation, T>
    */
   protected Annotation annotation;
 
+  /**
+   * 向 {@link ValidationMetrics} 报告验证统计时使用的名称，即约束注解的简单类名。
+   */
+  private String metricsName;
+
+  /**
+   * 根据约束注解的 {@code maxLength} 和 {@code charset} 属性构造的预过滤器；若约束注解没有
+   * 这两个属性，或者它们不拒绝任何输入，或者约束注解的 {@code normalize} 属性为
+   * {@code true}，则为{@code null}。
+   */
+  private InputPrefilter prefilter;
+
   /** {@inheritDoc} */
   @Override
   public void initialize(final A annotation) {
     this.annotation = annotation;
+    this.metricsName = annotation.annotationType().getSimpleName();
+    final Boolean normalize = AnnotationUtils.getAttributeOrNull(annotation, "normalize");
+    if (Boolean.TRUE.equals(normalize)) {
+      // 规范化之前的输入可能包含全角字符和分隔符，由规范化的扫描自行限定长度和字符集
+      return;
+    }
+    final Integer maxLength = AnnotationUtils.getAttributeOrNull(annotation, "maxLength");
+    final InputCharset charset = AnnotationUtils.getAttributeOrNull(annotation, "charset");
+    if (maxLength != null || charset != null) {
+      final InputPrefilter filter = new InputPrefilter(maxLength == null ? 0 : maxLength,
+          charset == null ? InputCharset.ANY : charset);
+      this.prefilter = (filter.isNone() ? null : filter);
+    }
+  }
+
+  /**
+   * 获取向 {@link ValidationMetrics} 报告验证统计和填写 JFR 事件时使用的名称。
+   *
+   * @return 约束注解的简单类名；若此验证器尚未初始化，则返回{@code null}。
+   */
+  String getMetricsName() {
+    return metricsName;
+  }
+
+  /**
+   * 获取此验证器使用的预过滤器。
+   *
+   * @return 此验证器使用的预过滤器；若不进行预过滤，则返回 {@link InputPrefilter#NONE}。
+   */
+  public InputPrefilter getPrefilter() {
+    return (prefilter == null ? InputPrefilter.NONE : prefilter);
   }
 
   /** {@inheritDoc} */
   @Override
   public boolean isValid(final T value, final ConstraintValidatorContext context) {
-    final boolean valid = validate(value);
+    final ValidationEvents events = ValidationEvents.begin();
+    final ValidationMetrics metrics = ValidationMetricsRegistry.get();
+    final boolean valid;
+    if (metrics.isEnabled()) {
+      final long start = metrics.startTimer();
+      valid = prefilterAndValidate(value);
+      metrics.record(metricsName, valid, start);
+    } else {
+      valid = prefilterAndValidate(value);
+    }
+    if (events != null) {
+      events.complete(metricsName, getClass(), value, valid);
+    }
     if (! valid) {
       final var hc = context.unwrap(HibernateConstraintValidatorContext.class);
       final String message = getErrorMessage();
@@ -55,6 +115,14 @@ public abstract class BaseValidator<A extends Annotation, T>
     return valid;
   }
 
+  private boolean prefilterAndValidate(final T value) {
+    if (prefilter != null && value instanceof CharSequence
+        && !prefilter.accepts((CharSequence) value)) {
+      return false;
+    }
+    return validate(value);
+  }
+
   /**
    * 获取验证失败时的错误消息。
    * <p>
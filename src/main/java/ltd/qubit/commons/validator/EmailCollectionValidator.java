@@ -0,0 +1,27 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import ltd.qubit.commons.validator.annotation.Email;
+
+/**
+ * 批量验证电子邮件地址集合的验证器。
+ *
+ * @author 胡海星
+ * @see BaseCollectionValidator
+ */
+public class EmailCollectionValidator
+    extends BaseCollectionValidator<Email, EmailValidator> {
+
+  /** {@inheritDoc} */
+  @Override
+  protected EmailValidator createElementValidator() {
+    return new EmailValidator();
+  }
+}
@@ -9,7 +9,11 @@
 package ltd.qubit.commons.validator;
 
 import ltd.qubit.commons.validator.annotation.Email;
+import ltd.qubit.commons.validator.rule.CachingValidationRule;
+import ltd.qubit.commons.validator.rule.EmailDomainList;
 import ltd.qubit.commons.validator.rule.EmailValidationRule;
+import ltd.qubit.commons.validator.rule.ValidationBudget;
+import ltd.qubit.commons.validator.rule.ValidationRule;
 
 /**
  * 电子邮件地址验证器。
@@ -24,9 +28,54 @@ import ltd.qubit.commons.validator.rule.EmailValidationRule;
  */
 public class EmailValidator extends BaseValidator<Email, String> {
 
+  private ValidationRule<String> rule = EmailValidationRule.INSTANCE;
+
+  /**
+   * 域名黑名单；若不使用黑名单则为{@code null}。
+   */
+  private EmailDomainList blocklist;
+
+  /**
+   * 域名白名单；若不使用白名单则为{@code null}。
+   */
+  private EmailDomainList allowlist;
+
+  /** {@inheritDoc} */
+  @Override
+  public void initialize(final Email annotation) {
+    super.initialize(annotation);
+    ValidationRule<String> base = EmailValidationRule.INSTANCE;
+    if (annotation.maxMatchSteps() > 0) {
+      base = EmailValidationRule.INSTANCE.withBudget(
+          ValidationBudget.ofSteps(annotation.maxMatchSteps()));
+    }
+    if (annotation.cached() || CachingValidationRule.isEnabledGlobally()) {
+      rule = CachingValidationRule.shared(base);
+    } else {
+      rule = base;
+    }
+    this.blocklist = getList(annotation.blocklist());
+    this.allowlist = getList(annotation.allowlist());
+  }
+
+  private static EmailDomainList getList(final String name) {
+    return (name.isEmpty() ? null : EmailDomainList.get(name));
+  }
+
+  /**
+   * 获取此验证器使用的验证规则。
+   *
+   * @return 此验证器使用的验证规则，可能被预算约束和缓存装饰。
+   */
+  ValidationRule<String> getRule() {
+    return rule;
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean validate(final String str) {
-    return EmailValidationRule.INSTANCE.validate(str);
+    return rule.validate(str)
+        && (blocklist == null || !blocklist.matchesEmail(str))
+        && (allowlist == null || allowlist.matchesEmail(str));
   }
 }
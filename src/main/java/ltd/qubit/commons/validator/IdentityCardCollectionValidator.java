@@ -0,0 +1,41 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import ltd.qubit.commons.validator.annotation.IdentityCard;
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+
+/**
+ * 批量验证身份证号码集合的验证器。
+ * <p>
+ * 若约束注解不要求规范化输入，则用
+ * {@link ChineseIdentityCardRule#validateAll(CharSequence[], boolean[])} 一次性验证所有号码。
+ *
+ * @author 胡海星
+ * @see BaseCollectionValidator
+ */
+public class IdentityCardCollectionValidator
+    extends BaseCollectionValidator<IdentityCard, IdentityCardValidator> {
+
+  /** {@inheritDoc} */
+  @Override
+  protected IdentityCardValidator createElementValidator() {
+    return new IdentityCardValidator();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected int validateAll(final CharSequence[] values, final boolean[] results) {
+    if (element.isNormalize()) {
+      return super.validateAll(values, results);
+    }
+    return applyPrefilter(values, results,
+        ChineseIdentityCardRule.INSTANCE.validateAll(values, results));
+  }
+}
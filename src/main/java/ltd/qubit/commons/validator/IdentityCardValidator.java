@@ -48,6 +48,27 @@ import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
  */
 public class IdentityCardValidator extends BaseValidator<IdentityCard, String> {
 
+  /**
+   * 是否在验证之前规范化输入，即约束注解的 {@link IdentityCard#normalize()} 属性。
+   */
+  private boolean normalize;
+
+  /** {@inheritDoc} */
+  @Override
+  public void initialize(final IdentityCard annotation) {
+    super.initialize(annotation);
+    this.normalize = annotation.normalize();
+  }
+
+  /**
+   * 判断此验证器是否在验证之前规范化输入。
+   *
+   * @return 若此验证器在验证之前规范化输入则返回{@code true}，否则返回{@code false}。
+   */
+  boolean isNormalize() {
+    return normalize;
+  }
+
   /**
    * 验证身份证号码是否合法。
    *
@@ -73,6 +94,9 @@ public class IdentityCardValidator extends BaseValidator<IdentityCard, String> {
    */
   @Override
   public boolean validate(final String number) {
+    if (normalize) {
+      return ChineseIdentityCardRule.INSTANCE.validateNormalizing(number);
+    }
     return ChineseIdentityCardRule.INSTANCE.validate(number);
   }
 }
@@ -0,0 +1,42 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import ltd.qubit.commons.validator.annotation.Mobile;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+
+/**
+ * 批量验证手机号码集合的验证器。
+ * <p>
+ * 若约束注解既不要求规范化输入，也不使用黑名单或白名单，则用
+ * {@link ChineseMobileValidationRule#validateAll(CharSequence[], boolean[])} 一次性验证所有
+ * 号码。
+ *
+ * @author 胡海星
+ * @see BaseCollectionValidator
+ */
+public class MobileCollectionValidator
+    extends BaseCollectionValidator<Mobile, MobileValidator> {
+
+  /** {@inheritDoc} */
+  @Override
+  protected MobileValidator createElementValidator() {
+    return new MobileValidator();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected int validateAll(final CharSequence[] values, final boolean[] results) {
+    if (!element.isPlain()) {
+      return super.validateAll(values, results);
+    }
+    return applyPrefilter(values, results,
+        ChineseMobileValidationRule.INSTANCE.validateAll(values, results));
+  }
+}
@@ -10,6 +10,7 @@ package ltd.qubit.commons.validator;
 
 import ltd.qubit.commons.validator.annotation.Mobile;
 import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+import ltd.qubit.commons.validator.rule.MobileNumberList;
 
 /**
  * 手机号码验证器。
@@ -36,9 +37,57 @@ import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
  */
 public class MobileValidator extends BaseValidator<Mobile, String> {
 
+  /**
+   * 是否在验证之前规范化输入，即约束注解的 {@link Mobile#normalize()} 属性。
+   */
+  private boolean normalize;
+
+  /**
+   * 黑名单；若不使用黑名单则为{@code null}。
+   */
+  private MobileNumberList blocklist;
+
+  /**
+   * 白名单；若不使用白名单则为{@code null}。尚未加载的白名单为空，拒绝所有号码。
+   */
+  private MobileNumberList allowlist;
+
+  /** {@inheritDoc} */
+  @Override
+  public void initialize(final Mobile annotation) {
+    super.initialize(annotation);
+    this.normalize = annotation.normalize();
+    this.blocklist = getList(annotation.blocklist());
+    this.allowlist = getList(annotation.allowlist());
+  }
+
+  private static MobileNumberList getList(final String name) {
+    return (name.isEmpty() ? null : MobileNumberList.get(name));
+  }
+
+  /**
+   * 判断此验证器是否既不规范化输入，也不使用黑名单或白名单。
+   *
+   * @return 若此验证器的结果与 {@link ChineseMobileValidationRule#validate(String)} 的结果
+   *     一致，则返回{@code true}，否则返回{@code false}。
+   */
+  boolean isPlain() {
+    return !normalize && blocklist == null && allowlist == null;
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean validate(final String str) {
+    if (blocklist != null || allowlist != null) {
+      final long number = (normalize ? ChineseMobileValidationRule.INSTANCE.parseNormalizing(str)
+                                     : ChineseMobileValidationRule.INSTANCE.parse(str));
+      return (number >= 0)
+          && (blocklist == null || !blocklist.contains(number))
+          && (allowlist == null || allowlist.contains(number));
+    }
+    if (normalize) {
+      return ChineseMobileValidationRule.INSTANCE.validateNormalizing(str);
+    }
     return ChineseMobileValidationRule.INSTANCE.validate(str);
   }
 }
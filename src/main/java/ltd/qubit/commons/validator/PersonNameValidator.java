@@ -8,10 +8,11 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.validator;
 
-import ltd.qubit.commons.reflect.AnnotationUtils;
 import ltd.qubit.commons.validator.annotation.PersonName;
-import ltd.qubit.commons.validator.rule.PersonNameType;
+import ltd.qubit.commons.validator.rule.CachingValidationRule;
 import ltd.qubit.commons.validator.rule.PersonNameValidationRule;
+import ltd.qubit.commons.validator.rule.ValidationBudget;
+import ltd.qubit.commons.validator.rule.ValidationRule;
 
 /**
  * 用户姓名验证器。
@@ -52,16 +53,36 @@ import ltd.qubit.commons.validator.rule.PersonNameValidationRule;
  */
 public class PersonNameValidator extends BaseValidator<PersonName, String> {
 
+  private ValidationRule<String> rule = PersonNameValidationRule.INSTANCE;
+
   /** {@inheritDoc} */
   @Override
-  public boolean validate(final String str) {
-    final PersonNameType type = AnnotationUtils.getAttribute(annotation, "value");
-    final PersonNameValidationRule rule;
-    if (type == null || type == PersonNameType.ANY) {
-      rule = PersonNameValidationRule.INSTANCE;
+  public void initialize(final PersonName annotation) {
+    super.initialize(annotation);
+    final PersonNameValidationRule typed = PersonNameValidationRule.of(annotation.value());
+    ValidationRule<String> base = typed;
+    if (annotation.maxMatchSteps() > 0) {
+      base = typed.withBudget(ValidationBudget.ofSteps(annotation.maxMatchSteps()));
+    }
+    if (annotation.cached() || CachingValidationRule.isEnabledGlobally()) {
+      rule = CachingValidationRule.shared(base);
     } else {
-      rule = new PersonNameValidationRule(type);
+      rule = base;
     }
+  }
+
+  /**
+   * 获取此验证器使用的验证规则。
+   *
+   * @return 此验证器使用的验证规则，可能被预算约束和缓存装饰。
+   */
+  ValidationRule<String> getRule() {
+    return rule;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean validate(final String str) {
     return rule.validate(str);
   }
 }
@@ -16,7 +16,10 @@ import java.lang.annotation.Target;
 import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
 
+import ltd.qubit.commons.validator.EmailCollectionValidator;
 import ltd.qubit.commons.validator.EmailValidator;
+import ltd.qubit.commons.validator.rule.EmailValidationRule;
+import ltd.qubit.commons.validator.rule.InputCharset;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.FIELD;
@@ -32,7 +35,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  */
 @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE, TYPE_USE })
 @Retention(RUNTIME)
-@Constraint(validatedBy = EmailValidator.class)
+@Constraint(validatedBy = { EmailValidator.class, EmailCollectionValidator.class })
 @Documented
 @Repeatable(Email.List.class)
 public @interface Email {
@@ -52,6 +55,78 @@ public @interface Email {
 
   Class<? extends Payload>[] payload() default { };
 
+  /**
+   * 是否缓存验证结果。
+   * <p>
+   * 若设置为{@code true}，则相同输入的验证结果将被保存在一个有界的共享缓存中，适用于输入重复率
+   * 较高的场景。将系统属性
+   * {@value ltd.qubit.commons.validator.rule.CachingValidationRule#ENABLED_PROPERTY} 设置为
+   * {@code true}可对所有支持缓存的约束全局启用缓存。
+   *
+   * @return 是否缓存验证结果，默认为{@code false}。
+   * @see ltd.qubit.commons.validator.rule.CachingValidationRule
+   */
+  boolean cached() default false;
+
+  /**
+   * 匹配正则表达式时允许消耗的最大步数。
+   * <p>
+   * 一步即正则表达式引擎读取一次输入字符。若匹配在该步数内未完成，则中止匹配并视为验证未通过，
+   * 从而为每个字段的验证耗时设置一个与输入内容无关的上限。为0时不限制步数。
+   *
+   * @return 匹配正则表达式时允许消耗的最大步数，默认为0，即不限制。
+   * @see ltd.qubit.commons.validator.rule.ValidationBudget
+   */
+  long maxMatchSteps() default 0;
+
+  /**
+   * 输入的最大长度（以 UTF-16 代码单元计）。
+   * <p>
+   * 长度超过此值的输入在执行完整的验证之前即被拒绝。为0时不限制长度。
+   * <p>
+   * 默认值为 RFC 5321 对转发路径长度的限制所允许的最长地址，即254个字符。
+   * {@link EmailValidationRule} 本身不限制地址的长度，因此需要接受更长地址的调用者应将此属性
+   * 设为0。
+   *
+   * @return 输入的最大长度，默认为 {@link EmailValidationRule#MAX_LENGTH}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  int maxLength() default EmailValidationRule.MAX_LENGTH;
+
+  /**
+   * 输入允许使用的字符集。
+   * <p>
+   * 包含此字符集之外的字符的输入在执行完整的验证之前即被拒绝。
+   *
+   * @return 输入允许使用的字符集，默认为 {@link EmailValidationRule#CHARSET}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  InputCharset charset() default InputCharset.ASCII_PRINTABLE;
+
+  /**
+   * 电子邮件域名黑名单的名称。
+   * <p>
+   * 若不为空，则域名或其某个上级域名在指定名称的
+   * {@link ltd.qubit.commons.validator.rule.EmailDomainList} 中的地址验证失败，例如用于拒绝
+   * 一次性邮箱。域名在通过格式验证之后从地址末尾向前扫描匹配，匹配不区分大小写，且不分配任何
+   * 对象。
+   *
+   * @return 电子邮件域名黑名单的名称，默认为空，即不使用黑名单。
+   */
+  String blocklist() default "";
+
+  /**
+   * 电子邮件域名白名单的名称。
+   * <p>
+   * 若不为空，则域名及其所有上级域名都不在指定名称的
+   * {@link ltd.qubit.commons.validator.rule.EmailDomainList} 中的地址验证失败。在该名单被加载
+   * 之前（见 {@link ltd.qubit.commons.validator.rule.EmailDomainList#isLoaded()}），白名单为空，
+   * 所有地址都验证失败。
+   *
+   * @return 电子邮件域名白名单的名称，默认为空，即不使用白名单。
+   */
+  String allowlist() default "";
+
   @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE })
   @Retention(RUNTIME)
   @Documented
@@ -16,7 +16,10 @@ import java.lang.annotation.Target;
 import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
 
+import ltd.qubit.commons.validator.IdentityCardCollectionValidator;
 import ltd.qubit.commons.validator.IdentityCardValidator;
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+import ltd.qubit.commons.validator.rule.InputCharset;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.FIELD;
@@ -32,7 +35,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  */
 @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE, TYPE_USE })
 @Retention(RUNTIME)
-@Constraint(validatedBy = IdentityCardValidator.class)
+@Constraint(validatedBy = { IdentityCardValidator.class, IdentityCardCollectionValidator.class })
 @Documented
 @Repeatable(IdentityCard.List.class)
 public @interface IdentityCard {
@@ -52,6 +55,37 @@ public @interface IdentityCard {
 
   Class<? extends Payload>[] payload() default { };
 
+  /**
+   * 输入的最大长度（以 UTF-16 代码单元计）。
+   * <p>
+   * 长度超过此值的输入在执行完整的验证之前即被拒绝。为0时不限制长度。
+   *
+   * @return 输入的最大长度，默认为 {@link ChineseIdentityCardRule#MAX_LENGTH}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  int maxLength() default ChineseIdentityCardRule.MAX_LENGTH;
+
+  /**
+   * 输入允许使用的字符集。
+   * <p>
+   * 包含此字符集之外的字符的输入在执行完整的验证之前即被拒绝。
+   *
+   * @return 输入允许使用的字符集，默认为 {@link ChineseIdentityCardRule#CHARSET}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  InputCharset charset() default InputCharset.DIGITS_OR_X;
+
+  /**
+   * 是否在验证之前规范化输入。
+   * <p>
+   * 若为{@code true}，输入中的全角数字、空格和连字符等在验证时被折叠，末尾的小写 {@code x} 被视为大写；此时
+   * {@link #maxLength()} 和 {@link #charset()} 属性被忽略。详见
+   * {@link ltd.qubit.commons.validator.rule.impl.ChineseNumberNormalizer}。
+   *
+   * @return 是否在验证之前规范化输入，默认为{@code false}。
+   */
+  boolean normalize() default false;
+
   @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE })
   @Retention(RUNTIME)
   @Documented
@@ -16,7 +16,10 @@ import java.lang.annotation.Target;
 import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
 
+import ltd.qubit.commons.validator.MobileCollectionValidator;
 import ltd.qubit.commons.validator.MobileValidator;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+import ltd.qubit.commons.validator.rule.InputCharset;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.FIELD;
@@ -32,7 +35,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  */
 @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE, TYPE_USE })
 @Retention(RUNTIME)
-@Constraint(validatedBy = MobileValidator.class)
+@Constraint(validatedBy = { MobileValidator.class, MobileCollectionValidator.class })
 @Documented
 @Repeatable(Mobile.List.class)
 public @interface Mobile {
@@ -52,6 +55,59 @@ public @interface Mobile {
 
   Class<? extends Payload>[] payload() default { };
 
+  /**
+   * 输入的最大长度（以 UTF-16 代码单元计）。
+   * <p>
+   * 长度超过此值的输入在执行完整的验证之前即被拒绝。为0时不限制长度。
+   *
+   * @return 输入的最大长度，默认为 {@link ChineseMobileValidationRule#MAX_LENGTH}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  int maxLength() default ChineseMobileValidationRule.MAX_LENGTH;
+
+  /**
+   * 输入允许使用的字符集。
+   * <p>
+   * 包含此字符集之外的字符的输入在执行完整的验证之前即被拒绝。
+   *
+   * @return 输入允许使用的字符集，默认为 {@link ChineseMobileValidationRule#CHARSET}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  InputCharset charset() default InputCharset.DIGITS;
+
+  /**
+   * 是否在验证之前规范化输入。
+   * <p>
+   * 若为{@code true}，输入中的全角数字、空格和连字符等在验证时被折叠，开头的 "+86" 也被接受；此时
+   * {@link #maxLength()} 和 {@link #charset()} 属性被忽略。详见
+   * {@link ltd.qubit.commons.validator.rule.impl.ChineseNumberNormalizer}。
+   *
+   * @return 是否在验证之前规范化输入，默认为{@code false}。
+   */
+  boolean normalize() default false;
+
+  /**
+   * 手机号码黑名单的名称。
+   * <p>
+   * 若不为空，则在指定名称的 {@link ltd.qubit.commons.validator.rule.MobileNumberList} 中的
+   * 号码验证失败。号码在验证的同一次扫描中被解析为 {@code long}，查找名单不分配任何对象。
+   *
+   * @return 手机号码黑名单的名称，默认为空，即不使用黑名单。
+   */
+  String blocklist() default "";
+
+  /**
+   * 手机号码白名单的名称。
+   * <p>
+   * 若不为空，则不在指定名称的 {@link ltd.qubit.commons.validator.rule.MobileNumberList} 中的
+   * 号码验证失败。在该名单被加载之前（见
+   * {@link ltd.qubit.commons.validator.rule.MobileNumberList#isLoaded()}），白名单为空，所有号码
+   * 都验证失败。
+   *
+   * @return 手机号码白名单的名称，默认为空，即不使用白名单。
+   */
+  String allowlist() default "";
+
   @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE })
   @Retention(RUNTIME)
   @Documented
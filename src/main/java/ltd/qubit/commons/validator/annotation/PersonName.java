@@ -17,7 +17,9 @@ import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
 
 import ltd.qubit.commons.validator.PersonNameValidator;
+import ltd.qubit.commons.validator.rule.InputCharset;
 import ltd.qubit.commons.validator.rule.PersonNameType;
+import ltd.qubit.commons.validator.rule.PersonNameValidationRule;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.FIELD;
@@ -67,6 +69,50 @@ public @interface PersonName {
    */
   PersonNameType value() default PersonNameType.ANY;
 
+  /**
+   * 是否缓存验证结果。
+   * <p>
+   * 若设置为{@code true}，则相同输入的验证结果将被保存在一个有界的共享缓存中，适用于输入重复率
+   * 较高的场景。将系统属性
+   * {@value ltd.qubit.commons.validator.rule.CachingValidationRule#ENABLED_PROPERTY} 设置为
+   * {@code true}可对所有支持缓存的约束全局启用缓存。
+   *
+   * @return 是否缓存验证结果，默认为{@code false}。
+   * @see ltd.qubit.commons.validator.rule.CachingValidationRule
+   */
+  boolean cached() default false;
+
+  /**
+   * 匹配正则表达式时允许消耗的最大步数。
+   * <p>
+   * 一步即正则表达式引擎读取一次输入字符。若匹配在该步数内未完成，则中止匹配并视为验证未通过，
+   * 从而为每个字段的验证耗时设置一个与输入内容无关的上限。为0时不限制步数。
+   *
+   * @return 匹配正则表达式时允许消耗的最大步数，默认为0，即不限制。
+   * @see ltd.qubit.commons.validator.rule.ValidationBudget
+   */
+  long maxMatchSteps() default 0;
+
+  /**
+   * 输入的最大长度（以 UTF-16 代码单元计）。
+   * <p>
+   * 长度超过此值的输入在执行完整的验证之前即被拒绝。为0时不限制长度。
+   *
+   * @return 输入的最大长度，默认为 {@link PersonNameValidationRule#MAX_LENGTH}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  int maxLength() default PersonNameValidationRule.MAX_LENGTH;
+
+  /**
+   * 输入允许使用的字符集。
+   * <p>
+   * 包含此字符集之外的字符的输入在执行完整的验证之前即被拒绝。
+   *
+   * @return 输入允许使用的字符集，默认为 {@link PersonNameValidationRule#CHARSET}。
+   * @see ltd.qubit.commons.validator.rule.InputPrefilter
+   */
+  InputCharset charset() default InputCharset.ANY;
+
   @Target({ FIELD, METHOD, PARAMETER, ANNOTATION_TYPE })
   @Retention(RUNTIME)
   @Documented
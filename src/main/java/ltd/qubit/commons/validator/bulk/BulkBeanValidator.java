@@ -0,0 +1,375 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.bulk;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.validator.utils.Utf8ResourceBundleMessageInterpolator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * 并发地验证大量 Bean 的批量验证器。
+ * <p>
+ * 此验证器将一个 Bean 列表的验证工作分配给最多 {@code concurrency} 个并发任务，每个任务
+ * 依次领取列表中尚未验证的元素并使用同一个线程安全的 {@link Validator} 进行验证，最终将结果
+ * 汇总为从元素下标到违反的约束的映射。
+ * <p>
+ * 若运行环境支持虚拟线程（JDK 21 或更高版本），默认使用每个任务一个虚拟线程的执行器；否则
+ * 使用一个大小等于 CPU 核数的平台线程池。
+ * <p>
+ * 使用方式如下：
+ * <pre><code>
+ * try (BulkBeanValidator bulk = new BulkBeanValidator()) {
+ *   BulkValidationResult&lt;User&gt; result = bulk.validateAsync(users).join();
+ *   for (var entry : result.getViolations().entrySet()) {
+ *     ...
+ *   }
+ * }
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public class BulkBeanValidator implements AutoCloseable {
+
+  /**
+   * 默认的最大并发数，等于 CPU 核数。
+   */
+  public static final int DEFAULT_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkBeanValidator.class);
+
+  private final Validator validator;
+
+  @Nullable
+  private final ValidatorFactory factory;
+
+  private final ExecutorService executor;
+
+  private final boolean ownsExecutor;
+
+  private final int concurrency;
+
+  /**
+   * 构造一个 {@link BulkBeanValidator}，使用默认的验证器、默认的执行器和默认的最大并发数。
+   * <p>
+   * 默认的验证器使用 {@link Utf8ResourceBundleMessageInterpolator} 对错误消息进行插值。
+   */
+  public BulkBeanValidator() {
+    this(DEFAULT_CONCURRENCY);
+  }
+
+  /**
+   * 构造一个 {@link BulkBeanValidator}，使用默认的验证器和默认的执行器。
+   * <p>
+   * 默认的验证器使用 {@link Utf8ResourceBundleMessageInterpolator} 对错误消息进行插值。
+   *
+   * @param concurrency
+   *     最大并发数，必须为正数。
+   */
+  public BulkBeanValidator(final int concurrency) {
+    this(createValidatorFactory(), concurrency);
+  }
+
+  private BulkBeanValidator(final ValidatorFactory factory, final int concurrency) {
+    this(factory.getValidator(), factory, createDefaultExecutor(concurrency), true,
+        concurrency);
+  }
+
+  /**
+   * 构造一个 {@link BulkBeanValidator}，使用默认的执行器。
+   *
+   * @param validator
+   *     用于验证 Bean 的验证器，必须是线程安全的。
+   * @param concurrency
+   *     最大并发数，必须为正数。
+   */
+  public BulkBeanValidator(final Validator validator, final int concurrency) {
+    this(validator, null, createDefaultExecutor(concurrency), true, concurrency);
+  }
+
+  /**
+   * 构造一个 {@link BulkBeanValidator}。
+   * <p>
+   * 指定的执行器不归此对象所有，调用 {@link #close()} 不会关闭该执行器。
+   *
+   * @param validator
+   *     用于验证 Bean 的验证器，必须是线程安全的。
+   * @param executor
+   *     执行验证任务的执行器。
+   * @param concurrency
+   *     最大并发数，必须为正数。
+   */
+  public BulkBeanValidator(final Validator validator, final ExecutorService executor,
+      final int concurrency) {
+    this(validator, null, executor, false, concurrency);
+  }
+
+  private BulkBeanValidator(final Validator validator,
+      @Nullable final ValidatorFactory factory, final ExecutorService executor,
+      final boolean ownsExecutor, final int concurrency) {
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+    }
+    this.validator = requireNonNull(validator, "validator");
+    this.factory = factory;
+    this.executor = requireNonNull(executor, "executor");
+    this.ownsExecutor = ownsExecutor;
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * 创建一个使用 {@link Utf8ResourceBundleMessageInterpolator} 的 {@link ValidatorFactory}。
+   *
+   * @return 新创建的 {@link ValidatorFactory}。
+   */
+  public static ValidatorFactory createValidatorFactory() {
+    return Validation.byDefaultProvider()
+                     .configure()
+                     .messageInterpolator(new Utf8ResourceBundleMessageInterpolator())
+                     .buildValidatorFactory();
+  }
+
+  /**
+   * 创建默认的执行器。
+   * <p>
+   * 若运行环境支持虚拟线程，则返回每个任务一个虚拟线程的执行器；否则返回一个大小为
+   * {@code min(concurrency, CPU 核数)} 的平台线程池，其中的线程均为守护线程。
+   *
+   * @param concurrency
+   *     最大并发数。
+   * @return 默认的执行器。
+   */
+  static ExecutorService createDefaultExecutor(final int concurrency) {
+    try {
+      final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (final ReflectiveOperationException | RuntimeException e) {
+      logger.debug("Virtual threads are not available, fallback to a platform thread pool.");
+    }
+    final int threads = Math.max(1, Math.min(concurrency, DEFAULT_CONCURRENCY));
+    final AtomicInteger counter = new AtomicInteger();
+    return Executors.newFixedThreadPool(threads, (runnable) -> {
+      final Thread thread = new Thread(runnable,
+          "bulk-bean-validator-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * 获取此对象使用的验证器。
+   *
+   * @return 此对象使用的验证器。
+   */
+  public Validator getValidator() {
+    return validator;
+  }
+
+  /**
+   * 获取最大并发数。
+   *
+   * @return 最大并发数。
+   */
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  /**
+   * 同步地验证指定列表中的所有 Bean。
+   *
+   * @param <T>
+   *     被验证的 Bean 的类型。
+   * @param beans
+   *     要验证的 Bean 的列表，不能包含 {@code null}。
+   * @param groups
+   *     要验证的分组；若为空则使用默认分组。
+   * @return 验证结果。
+   */
+  public <T> BulkValidationResult<T> validate(final List<? extends T> beans,
+      final Class<?>... groups) {
+    try {
+      return this.<T>validateAsync(beans, false, groups).join();
+    } catch (final CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 异步地验证指定列表中的所有 Bean。
+   *
+   * @param <T>
+   *     被验证的 Bean 的类型。
+   * @param beans
+   *     要验证的 Bean 的列表，不能包含 {@code null}。
+   * @param groups
+   *     要验证的分组；若为空则使用默认分组。
+   * @return 验证结果的 {@link CompletableFuture}。
+   */
+  public <T> CompletableFuture<BulkValidationResult<T>> validateAsync(
+      final List<? extends T> beans, final Class<?>... groups) {
+    return validateAsync(beans, false, groups);
+  }
+
+  /**
+   * 异步地验证指定列表中的所有 Bean。
+   * <p>
+   * 若 {@code failFast} 为 {@code true}，则一旦发现验证失败的 Bean，就停止领取新的 Bean，
+   * 并在正在执行的验证结束后返回结果，此时结果的 {@link BulkValidationResult#isComplete()}
+   * 可能返回 {@code false}。
+   * <p>
+   * 取消返回的 {@link CompletableFuture} 也会使正在执行的任务停止领取新的 Bean。
+   *
+   * @param <T>
+   *     被验证的 Bean 的类型。
+   * @param beans
+   *     要验证的 Bean 的列表，不能包含 {@code null}。该列表在验证结束之前不能被修改。
+   * @param failFast
+   *     是否在发现第一个验证失败的 Bean 后停止验证。
+   * @param groups
+   *     要验证的分组；若为空则使用默认分组。
+   * @return 验证结果的 {@link CompletableFuture}。
+   */
+  public <T> CompletableFuture<BulkValidationResult<T>> validateAsync(
+      final List<? extends T> beans, final boolean failFast, final Class<?>... groups) {
+    requireNonNull(beans, "beans");
+    final Task<T> task = new Task<>(beans, failFast, groups);
+    final int n = beans.size();
+    if (n == 0) {
+      task.future.complete(new BulkValidationResult<>(0, new TreeMap<>(), true));
+      return task.future;
+    }
+    task.future.whenComplete((r, e) -> task.stopped.set(true));
+    final int workers = Math.min(concurrency, n);
+    task.running.set(workers);
+    for (int i = 0; i < workers; ++i) {
+      try {
+        executor.execute(task::work);
+      } catch (final RejectedExecutionException e) {
+        task.stopped.set(true);
+        task.future.completeExceptionally(e);
+        // 未能提交的任务视为已结束
+        for (int j = i; j < workers; ++j) {
+          task.finish();
+        }
+        break;
+      }
+    }
+    return task.future;
+  }
+
+  /**
+   * 关闭此对象。
+   * <p>
+   * 若执行器由此对象创建，则关闭该执行器；若验证器工厂由此对象创建，则关闭该工厂。
+   */
+  @Override
+  public void close() {
+    if (ownsExecutor) {
+      executor.shutdown();
+    }
+    if (factory != null) {
+      factory.close();
+    }
+  }
+
+  /**
+   * 一次批量验证任务。
+   *
+   * @param <T>
+   *     被验证的 Bean 的类型。
+   */
+  private final class Task<T> {
+    final List<? extends T> beans;
+    final boolean failFast;
+    final Class<?>[] groups;
+    final Object[] results;
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicBoolean stopped = new AtomicBoolean();
+    final CompletableFuture<BulkValidationResult<T>> future = new CompletableFuture<>();
+
+    Task(final List<? extends T> beans, final boolean failFast, final Class<?>[] groups) {
+      this.beans = beans;
+      this.failFast = failFast;
+      this.groups = groups;
+      this.results = new Object[beans.size()];
+    }
+
+    void work() {
+      final int n = results.length;
+      try {
+        while (!stopped.get()) {
+          final int index = next.getAndIncrement();
+          if (index >= n) {
+            break;
+          }
+          final T bean = beans.get(index);
+          final Set<ConstraintViolation<T>> violations = validator.validate(bean, groups);
+          if (!violations.isEmpty()) {
+            results[index] = violations;
+            if (failFast) {
+              stopped.set(true);
+            }
+          }
+        }
+      } catch (final Throwable e) {
+        stopped.set(true);
+        future.completeExceptionally(e);
+      } finally {
+        finish();
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    void finish() {
+      // 最后一个结束的任务负责汇总结果；AtomicInteger 的减操作保证了对 results 的写入可见
+      if (running.decrementAndGet() != 0 || future.isDone()) {
+        return;
+      }
+      final SortedMap<Integer, Set<ConstraintViolation<T>>> map = new TreeMap<>();
+      for (int i = 0; i < results.length; ++i) {
+        if (results[i] != null) {
+          map.put(i, (Set<ConstraintViolation<T>>) results[i]);
+        }
+      }
+      final boolean complete = next.get() >= results.length;
+      future.complete(new BulkValidationResult<>(results.length, map, complete));
+    }
+  }
+}
@@ -0,0 +1,114 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.bulk;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedMap;
+
+import javax.annotation.concurrent.Immutable;
+
+import jakarta.validation.ConstraintViolation;
+
+/**
+ * 批量验证的结果。
+ * <p>
+ * 此结果记录了被验证列表中每个验证失败的元素的下标及其违反的约束。验证通过的元素不会出现在
+ * 结果中。
+ *
+ * @param <T>
+ *     被验证的 Bean 的类型。
+ * @author 胡海星
+ */
+@Immutable
+public final class BulkValidationResult<T> {
+
+  private final int size;
+  private final SortedMap<Integer, Set<ConstraintViolation<T>>> violations;
+  private final boolean complete;
+
+  /**
+   * 构造一个 {@link BulkValidationResult}。
+   *
+   * @param size
+   *     被验证列表的长度。
+   * @param violations
+   *     从元素下标到该元素违反的约束的映射，只包含验证失败的元素。
+   * @param complete
+   *     是否所有元素都已被验证。
+   */
+  public BulkValidationResult(final int size,
+      final SortedMap<Integer, Set<ConstraintViolation<T>>> violations,
+      final boolean complete) {
+    this.size = size;
+    this.violations = Collections.unmodifiableSortedMap(violations);
+    this.complete = complete;
+  }
+
+  /**
+   * 获取被验证列表的长度。
+   *
+   * @return 被验证列表的长度。
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * 判断是否所有元素都已被验证。
+   * <p>
+   * 若批量验证在发现第一个验证失败的元素后被提前终止，则并非所有元素都已被验证，此时该函数返回
+   * {@code false}。
+   *
+   * @return 若所有元素都已被验证则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * 判断是否已验证的元素全部验证通过。
+   *
+   * @return 若没有任何元素验证失败则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isValid() {
+    return violations.isEmpty();
+  }
+
+  /**
+   * 获取验证失败的元素的数目。
+   *
+   * @return 验证失败的元素的数目。
+   */
+  public int getInvalidCount() {
+    return violations.size();
+  }
+
+  /**
+   * 获取所有验证失败的元素的违反的约束。
+   *
+   * @return 从元素下标到该元素违反的约束的映射，按下标从小到大排序，不可修改。
+   */
+  public SortedMap<Integer, Set<ConstraintViolation<T>>> getViolations() {
+    return violations;
+  }
+
+  /**
+   * 获取指定下标的元素违反的约束。
+   *
+   * @param index
+   *     元素在被验证列表中的下标。
+   * @return
+   *     该元素违反的约束；若该元素验证通过或未被验证，则返回空集合。
+   */
+  public Set<ConstraintViolation<T>> getViolations(final int index) {
+    final Set<ConstraintViolation<T>> result = violations.get(index);
+    return (result == null ? Collections.emptySet() : result);
+  }
+}
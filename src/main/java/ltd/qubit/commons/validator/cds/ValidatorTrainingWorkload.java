@@ -0,0 +1,243 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.cds;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.validator.annotation.Email;
+import ltd.qubit.commons.validator.annotation.IdentityCard;
+import ltd.qubit.commons.validator.annotation.Mobile;
+import ltd.qubit.commons.validator.annotation.NotEmpty;
+import ltd.qubit.commons.validator.annotation.PersonName;
+import ltd.qubit.commons.validator.rule.BooleanValidationRule;
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+import ltd.qubit.commons.validator.rule.DecimalValidationRule;
+import ltd.qubit.commons.validator.rule.EmailValidationRule;
+import ltd.qubit.commons.validator.rule.IntegerValidationRule;
+import ltd.qubit.commons.validator.rule.LocalDateTimeValidationRule;
+import ltd.qubit.commons.validator.rule.LocalDateValidationRule;
+import ltd.qubit.commons.validator.rule.LocalTimeValidationRule;
+import ltd.qubit.commons.validator.rule.PersonNameType;
+import ltd.qubit.commons.validator.rule.PersonNameValidationRule;
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 用于生成 AppCDS（应用程序类数据共享）归档文件的训练负载。
+ * <p>
+ * 此负载执行一次完整的验证器启动过程：通过 {@code META-INF/validation.xml} 构造
+ * {@link ValidatorFactory}，用中英文两种语言环境验证使用了本库所有约束注解的对象（使每个
+ * 约束验证器、消息插值器和资源包都被加载和初始化），直接调用所有验证规则（使每个规则类中的
+ * 正则表达式被编译），并加载行政区划代码表。在此负载结束时转储的 CDS 归档包含了上述过程中加载
+ * 的所有类，应用程序使用该归档启动时可以省去这些类的加载、解析和验证时间。
+ * <p>
+ * 使用 Maven 生成归档文件：
+ * <pre><code>
+ * mvn -P appcds package
+ * </code></pre>
+ * 这将在 {@code target} 目录下生成 {@code common-validator.jsa}，应用程序启动时使用
+ * {@code -XX:SharedArchiveFile=common-validator.jsa} 选项即可使用该归档，注意启动时的类路径
+ * 必须以生成归档时的类路径为前缀。也可以直接运行：
+ * <pre><code>
+ * java -XX:ArchiveClassesAtExit=common-validator.jsa -cp &lt;classpath&gt; \
+ *     ltd.qubit.commons.validator.cds.ValidatorTrainingWorkload
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+public final class ValidatorTrainingWorkload {
+
+  private static final Logger logger = LoggerFactory.getLogger(ValidatorTrainingWorkload.class);
+
+  /**
+   * 只执行到第一次验证完成的运行模式的命令行参数，用于测量第一次验证的耗时。
+   */
+  public static final String FIRST_VALIDATION = "--first-validation";
+
+  /**
+   * 结果文件中记录耗时（单位为纳秒）的属性名称。
+   */
+  public static final String ELAPSED_NANOS = "elapsedNanos";
+
+  /**
+   * 结果文件中记录约束违例总数的属性名称。
+   */
+  public static final String VIOLATIONS = "violations";
+
+  private ValidatorTrainingWorkload() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 使用了本库所有约束注解的训练对象。
+   */
+  public static final class TrainingBean {
+
+    @NotEmpty("姓名")
+    @PersonName
+    private final String name;
+
+    @Email
+    private final String email;
+
+    @Mobile
+    private final String mobile;
+
+    @IdentityCard
+    private final String identityCard;
+
+    public TrainingBean(final String name, final String email, final String mobile,
+        final String identityCard) {
+      this.name = name;
+      this.email = email;
+      this.mobile = mobile;
+      this.identityCard = identityCard;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public String getMobile() {
+      return mobile;
+    }
+
+    public String getIdentityCard() {
+      return identityCard;
+    }
+  }
+
+  /**
+   * 构造一个合法的训练对象。
+   *
+   * @return 一个所有属性均合法的训练对象。
+   */
+  public static TrainingBean validBean() {
+    return new TrainingBean("张三", "zhangsan@example.com", "13912345678",
+        "11010519491231002X");
+  }
+
+  /**
+   * 构造一个非法的训练对象。
+   *
+   * @return 一个所有属性均不合法的训练对象。
+   */
+  public static TrainingBean invalidBean() {
+    return new TrainingBean("", "not an email", "12345", "110105194912310021");
+  }
+
+  /**
+   * 运行完整的训练负载。
+   *
+   * @return 训练过程中产生的约束违例的总数。
+   */
+  public static int run() {
+    final Locale defaultLocale = Locale.getDefault();
+    int violations = 0;
+    try (final ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+      final Validator validator = factory.getValidator();
+      for (final Locale locale : new Locale[]{Locale.SIMPLIFIED_CHINESE, Locale.ENGLISH}) {
+        Locale.setDefault(locale);
+        violations += validate(validator, validBean());
+        violations += validate(validator, invalidBean());
+      }
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+    runRules();
+    ChineseIdentityCardUtils.getAreaTable();
+    return violations;
+  }
+
+  /**
+   * 只构造验证器并完成第一次验证。
+   *
+   * @return 验证过程中产生的约束违例的总数。
+   */
+  public static int runFirstValidation() {
+    try (final ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+      return validate(factory.getValidator(), invalidBean());
+    }
+  }
+
+  private static int validate(final Validator validator, final TrainingBean bean) {
+    final Set<ConstraintViolation<TrainingBean>> violations = validator.validate(bean);
+    for (final ConstraintViolation<TrainingBean> violation : violations) {
+      // 触发消息插值
+      violation.getMessage();
+    }
+    return violations.size();
+  }
+
+  private static void runRules() {
+    BooleanValidationRule.INSTANCE.validate("true");
+    IntegerValidationRule.INSTANCE.validate("-123");
+    DecimalValidationRule.INSTANCE.validate("-123.45e6");
+    LocalDateValidationRule.INSTANCE.validate("2024-02-29");
+    LocalTimeValidationRule.INSTANCE.validate("12:34:56");
+    LocalDateTimeValidationRule.INSTANCE.validate("2024-02-29 12:34:56");
+    EmailValidationRule.INSTANCE.validate("zhangsan@example.com");
+    ChineseMobileValidationRule.INSTANCE.validate("13912345678");
+    ChineseIdentityCardRule.INSTANCE.validate("11010519491231002X");
+    for (final PersonNameType type : PersonNameType.values()) {
+      PersonNameValidationRule.of(type).validate("Zhang San");
+    }
+  }
+
+  /**
+   * 运行训练负载。
+   * <p>
+   * 若第一个参数为 {@value #FIRST_VALIDATION}，则只构造验证器并完成第一次验证（见
+   * {@link #runFirstValidation()}），否则运行完整的训练负载（见 {@link #run()}）。若还指定了
+   * 结果文件，则将从进入此函数到负载完成的耗时和约束违例的总数以属性文件的格式写入该文件，属性
+   * 名称分别为 {@value #ELAPSED_NANOS} 和 {@value #VIOLATIONS}。
+   *
+   * @param args
+   *     命令行参数，格式为 {@code [--first-validation] [<result-file>]}。
+   * @throws IOException
+   *     若写入结果文件时发生 I/O 错误。
+   */
+  public static void main(final String[] args) throws IOException {
+    final long start = System.nanoTime();
+    final boolean first = (args.length > 0 && FIRST_VALIDATION.equals(args[0]));
+    final int violations = (first ? runFirstValidation() : run());
+    final long elapsed = System.nanoTime() - start;
+    logger.info("{} finished in {} ns with {} constraint violations.",
+        (first ? "The first validation" : "The training workload"), elapsed, violations);
+    final int resultIndex = (first ? 1 : 0);
+    if (args.length > resultIndex) {
+      final Properties result = new Properties();
+      result.setProperty(ELAPSED_NANOS, String.valueOf(elapsed));
+      result.setProperty(VIOLATIONS, String.valueOf(violations));
+      try (final Writer writer = Files.newBufferedWriter(Paths.get(args[resultIndex]), UTF_8)) {
+        result.store(writer, null);
+      }
+    }
+  }
+}
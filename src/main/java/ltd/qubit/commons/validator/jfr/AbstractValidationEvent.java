@@ -0,0 +1,79 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.jfr;
+
+import javax.annotation.Nullable;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 验证相关的 JFR 事件的基类。
+ * <p>
+ * 事件的持续时间即一次验证的耗时。使用方式为：
+ * <pre><code>
+ * final ValidationEvent event = new ValidationEvent();
+ * event.begin();
+ * final boolean valid = ...;   // 执行验证
+ * event.complete(constraint, ruleClass, input, valid);
+ * </code></pre>
+ * 所有子类事件默认都是禁用的。验证器和验证规则通过 {@link ValidationEvents} 使用这些事件，
+ * 它在事件未启用时不分配事件对象。
+ *
+ * @author 胡海星
+ */
+@Category({"Qubit", "Validator"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class AbstractValidationEvent extends Event {
+
+  @Label("Constraint")
+  @Description("The simple name of the constraint annotation, or the name of the metered rule")
+  protected String constraint;
+
+  @Label("Rule Class")
+  @Description("The class of the validator or validation rule")
+  protected Class<?> ruleClass;
+
+  @Label("Input Length")
+  @Description("The length of the validated character sequence, or -1 for other values")
+  protected int inputLength;
+
+  @Label("Valid")
+  @Description("Whether the validation succeeded")
+  protected boolean valid;
+
+  /**
+   * 结束此事件，并在需要时填写事件的字段并提交。
+   *
+   * @param constraint
+   *     约束注解的简单类名，或者被统计的规则的名称。
+   * @param ruleClass
+   *     执行验证的验证器或验证规则的类。
+   * @param input
+   *     被验证的值，可以为{@code null}。
+   * @param valid
+   *     验证是否通过。
+   */
+  public final void complete(final String constraint, final Class<?> ruleClass,
+      @Nullable final Object input, final boolean valid) {
+    end();
+    if (shouldCommit()) {
+      this.constraint = constraint;
+      this.ruleClass = ruleClass;
+      this.inputLength = (input instanceof CharSequence ? ((CharSequence) input).length() : -1);
+      this.valid = valid;
+      commit();
+    }
+  }
+}
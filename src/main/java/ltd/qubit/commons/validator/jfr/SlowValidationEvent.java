@@ -0,0 +1,40 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * 记录耗时超过阈值的验证的 JFR 事件。
+ * <p>
+ * 此事件默认是禁用的，默认阈值为 {@value #DEFAULT_THRESHOLD}。阈值可以在 JFR 配置中通过
+ * {@code ltd.qubit.commons.validator.SlowValidation#threshold} 修改，或者在程序中通过
+ * {@code recording.enable(SlowValidationEvent.class).withThreshold(duration)} 修改。
+ *
+ * @author 胡海星
+ */
+@Name(SlowValidationEvent.NAME)
+@Label("Slow Validation")
+@Description("A constraint or rule validation that took longer than the threshold")
+@Threshold(SlowValidationEvent.DEFAULT_THRESHOLD)
+public class SlowValidationEvent extends AbstractValidationEvent {
+
+  /**
+   * 此事件的名称。
+   */
+  public static final String NAME = "ltd.qubit.commons.validator.SlowValidation";
+
+  /**
+   * 此事件的默认阈值。
+   */
+  public static final String DEFAULT_THRESHOLD = "10 ms";
+}
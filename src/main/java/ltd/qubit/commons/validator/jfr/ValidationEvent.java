@@ -0,0 +1,33 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 记录每一次验证的 JFR 事件。
+ * <p>
+ * 此事件默认是禁用的，可以在 JFR 配置中通过
+ * {@code ltd.qubit.commons.validator.Validation#enabled=true} 启用。由于每一次验证都会产生
+ * 一个事件，建议只在短时间的诊断录制中启用。
+ *
+ * @author 胡海星
+ */
+@Name(ValidationEvent.NAME)
+@Label("Validation")
+@Description("A single constraint or rule validation")
+public class ValidationEvent extends AbstractValidationEvent {
+
+  /**
+   * 此事件的名称。
+   */
+  public static final String NAME = "ltd.qubit.commons.validator.Validation";
+}
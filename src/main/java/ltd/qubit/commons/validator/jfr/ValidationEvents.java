@@ -0,0 +1,97 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.jfr;
+
+import javax.annotation.Nullable;
+
+import jdk.jfr.EventType;
+
+/**
+ * 一次验证对应的一组 JFR 事件，即一个 {@link ValidationEvent} 和一个
+ * {@link SlowValidationEvent}。
+ * <p>
+ * 只有在 JFR 录制中启用了其中至少一个事件时，{@link #begin()} 才会分配事件对象；否则它返回
+ * {@code null}，调用者不必再调用 {@link #complete}。使用方式为：
+ * <pre><code>
+ * final ValidationEvents events = ValidationEvents.begin();
+ * final boolean valid = ...;   // 执行验证
+ * if (events != null) {
+ *   events.complete(constraint, ruleClass, input, valid);
+ * }
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+public final class ValidationEvents {
+
+  private static final EventType VALIDATION_TYPE =
+      EventType.getEventType(ValidationEvent.class);
+
+  private static final EventType SLOW_VALIDATION_TYPE =
+      EventType.getEventType(SlowValidationEvent.class);
+
+  @Nullable
+  private final ValidationEvent event;
+
+  @Nullable
+  private final SlowValidationEvent slowEvent;
+
+  private ValidationEvents(@Nullable final ValidationEvent event,
+      @Nullable final SlowValidationEvent slowEvent) {
+    this.event = event;
+    this.slowEvent = slowEvent;
+  }
+
+  /**
+   * 开始一次验证的 JFR 事件。
+   *
+   * @return 已开始的事件；若 JFR 录制中没有启用 {@link ValidationEvent} 和
+   *     {@link SlowValidationEvent}，则返回{@code null}。
+   */
+  @Nullable
+  public static ValidationEvents begin() {
+    final boolean enabled = VALIDATION_TYPE.isEnabled();
+    final boolean slowEnabled = SLOW_VALIDATION_TYPE.isEnabled();
+    if (!enabled && !slowEnabled) {
+      return null;
+    }
+    final ValidationEvent event = (enabled ? new ValidationEvent() : null);
+    final SlowValidationEvent slowEvent = (slowEnabled ? new SlowValidationEvent() : null);
+    if (event != null) {
+      event.begin();
+    }
+    if (slowEvent != null) {
+      slowEvent.begin();
+    }
+    return new ValidationEvents(event, slowEvent);
+  }
+
+  /**
+   * 结束此次验证的 JFR 事件，并在需要时提交。
+   *
+   * @param constraint
+   *     约束注解的简单类名，或者被统计的规则的名称。
+   * @param ruleClass
+   *     执行验证的验证器或验证规则的类。
+   * @param input
+   *     被验证的值，可以为{@code null}。
+   * @param valid
+   *     验证是否通过。
+   * @see AbstractValidationEvent#complete(String, Class, Object, boolean)
+   */
+  public void complete(final String constraint, final Class<?> ruleClass,
+      @Nullable final Object input, final boolean valid) {
+    if (event != null) {
+      event.complete(constraint, ruleClass, input, valid);
+    }
+    if (slowEvent != null) {
+      slowEvent.complete(constraint, ruleClass, input, valid);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link ValidationMetrics} 的默认实现。
+ * <p>
+ * 对每个约束或规则的名称，此实现使用 {@link LongAdder} 精确地统计调用次数和验证失败次数，
+ * 并以 {@code 1/sampleInterval} 的概率随机抽样计时，将耗时记录到一个 {@link LatencyHistogram}
+ * 中。抽样使用 {@link ThreadLocalRandom}，不存在线程间的竞争。
+ * <p>
+ * 此类同时实现了 {@link ValidationMetricsMXBean}，可以通过
+ * {@link ValidationMetricsRegistry#enableDefault()} 注册到平台的 MBean 服务器。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public class DefaultValidationMetrics implements ValidationMetrics, ValidationMetricsMXBean {
+
+  /**
+   * 默认的耗时抽样间隔。
+   */
+  public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+  private final int sampleInterval;
+  private final int sampleMask;
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * 每个约束或规则的统计数据。
+   */
+  private static final class Entry {
+    final LongAdder calls = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LatencyHistogram latency = new LatencyHistogram();
+  }
+
+  /**
+   * 使用默认的抽样间隔构造一个 {@link DefaultValidationMetrics}。
+   */
+  public DefaultValidationMetrics() {
+    this(DEFAULT_SAMPLE_INTERVAL);
+  }
+
+  /**
+   * 构造一个 {@link DefaultValidationMetrics}。
+   *
+   * @param sampleInterval
+   *     耗时抽样的间隔，必须是2的正整数次幂；为1时对每一次调用计时。
+   */
+  public DefaultValidationMetrics(final int sampleInterval) {
+    if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1) {
+      throw new IllegalArgumentException("sampleInterval must be a positive power of 2: "
+          + sampleInterval);
+    }
+    this.sampleInterval = sampleInterval;
+    this.sampleMask = sampleInterval - 1;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public long startTimer() {
+    if ((ThreadLocalRandom.current().nextInt() & sampleMask) == 0) {
+      return System.nanoTime();
+    } else {
+      return NOT_SAMPLED;
+    }
+  }
+
+  @Override
+  public void record(final String name, final boolean valid, final long startTime) {
+    final long now = (startTime == NOT_SAMPLED ? 0 : System.nanoTime());
+    Entry entry = entries.get(name);
+    if (entry == null) {
+      entry = entries.computeIfAbsent(name, k -> new Entry());
+    }
+    entry.calls.increment();
+    if (!valid) {
+      entry.failures.increment();
+    }
+    if (startTime != NOT_SAMPLED) {
+      entry.latency.record(now - startTime);
+    }
+  }
+
+  /**
+   * 获取指定约束或规则的统计数据的快照。
+   *
+   * @param name
+   *     约束或规则的名称。
+   * @return 该约束或规则的统计数据的快照；若尚无该名称的统计数据，则返回{@code null}。
+   */
+  public ValidationStatistics getStatistics(final String name) {
+    final Entry entry = entries.get(name);
+    return (entry == null ? null : toStatistics(name, entry));
+  }
+
+  /**
+   * 获取所有约束或规则的统计数据的快照。
+   *
+   * @return 从名称到统计数据快照的映射，按名称排序。
+   */
+  public SortedMap<String, ValidationStatistics> getStatistics() {
+    final SortedMap<String, ValidationStatistics> result = new TreeMap<>();
+    entries.forEach((name, entry) -> result.put(name, toStatistics(name, entry)));
+    return result;
+  }
+
+  private static ValidationStatistics toStatistics(final String name, final Entry entry) {
+    return new ValidationStatistics(name, entry.calls.sum(), entry.failures.sum(), entry.latency);
+  }
+
+  @Override
+  public int getSampleInterval() {
+    return sampleInterval;
+  }
+
+  @Override
+  public long getTotalCallCount() {
+    return entries.values().stream().mapToLong(e -> e.calls.sum()).sum();
+  }
+
+  @Override
+  public long getTotalFailureCount() {
+    return entries.values().stream().mapToLong(e -> e.failures.sum()).sum();
+  }
+
+  @Override
+  public Map<String, Long> getCallCounts() {
+    return collect(e -> e.calls.sum());
+  }
+
+  @Override
+  public Map<String, Long> getFailureCounts() {
+    return collect(e -> e.failures.sum());
+  }
+
+  @Override
+  public Map<String, Long> getP99LatencyNanos() {
+    return collect(e -> e.latency.getPercentile(0.99));
+  }
+
+  private Map<String, Long> collect(final ToLongFunction<Entry> getter) {
+    final SortedMap<String, Long> result = new TreeMap<>();
+    entries.forEach((name, entry) -> result.put(name, getter.applyAsLong(entry)));
+    return result;
+  }
+
+  @Override
+  public String getSnapshotText() {
+    final StringBuilder builder = new StringBuilder();
+    for (final ValidationStatistics statistics : getStatistics().values()) {
+      builder.append(statistics).append('\n');
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public void reset() {
+    entries.clear();
+  }
+}
@@ -0,0 +1,149 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * 无锁的、按对数分桶的耗时直方图。
+ * <p>
+ * 耗时以纳秒为单位，第 {@code i} 个桶（{@code i > 0}）记录落在区间
+ * {@code [2^(i-1), 2^i)} 内的耗时，第0个桶记录耗时为0的情况。记录一次耗时只需要若干次原子
+ * 加法，不需要加锁；分位数的估计值为相应桶的上界，相对误差不超过一倍。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+
+  /**
+   * 桶的数目。
+   */
+  public static final int BUCKETS = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * 获取指定耗时所在的桶的下标。
+   *
+   * @param nanos
+   *     耗时，单位为纳秒。
+   * @return 该耗时所在的桶的下标。
+   */
+  static int bucketOf(final long nanos) {
+    return (nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+  }
+
+  /**
+   * 获取指定桶的上界。
+   *
+   * @param bucket
+   *     桶的下标。
+   * @return 该桶中耗时的最大可能值，单位为纳秒。
+   */
+  static long upperBoundOf(final int bucket) {
+    return (bucket == 0 ? 0 : (bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1));
+  }
+
+  /**
+   * 记录一次耗时。
+   *
+   * @param nanos
+   *     耗时，单位为纳秒；负数被视为0。
+   */
+  public void record(final long nanos) {
+    final long value = Math.max(nanos, 0);
+    buckets.incrementAndGet(bucketOf(value));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * 获取已记录的耗时的数目。
+   *
+   * @return 已记录的耗时的数目。
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * 获取已记录的耗时的平均值。
+   *
+   * @return 已记录的耗时的平均值，单位为纳秒；若尚未记录任何耗时则返回0。
+   */
+  public double getMean() {
+    final long n = count.sum();
+    return (n == 0 ? 0.0 : (double) sum.sum() / n);
+  }
+
+  /**
+   * 获取已记录的耗时的最大值。
+   *
+   * @return 已记录的耗时的最大值，单位为纳秒；若尚未记录任何耗时则返回0。
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * 估计已记录的耗时的分位数。
+   *
+   * @param quantile
+   *     分位数，取值范围为 {@code [0, 1]}。
+   * @return
+   *     分位数的估计值（所在桶的上界，但不超过已记录的最大值），单位为纳秒；若尚未记录任何耗时
+   *     则返回0。
+   */
+  public long getPercentile(final double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("quantile must be in [0, 1]: " + quantile);
+    }
+    final long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      snapshot[i] = buckets.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * 清空已记录的数据。
+   * <p>
+   * 此操作与并发的 {@link #record(long)} 之间不是原子的。
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; ++i) {
+      buckets.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+}
@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+/**
+ * 收集验证统计数据的服务提供接口。
+ * <p>
+ * {@link ltd.qubit.commons.validator.BaseValidator#isValid} 和
+ * {@link ltd.qubit.commons.validator.BaseCollectionValidator#isValid} 以约束注解的简单类名（例如
+ * {@code "Email"}）为名称，{@link ltd.qubit.commons.validator.rule.MeteredValidationRule}
+ * 以指定的名称，向当前的 {@link ValidationMetrics} 报告每一次验证。一次验证的报告过程为：
+ * <pre><code>
+ * final long start = metrics.startTimer();
+ * final boolean valid = ...;   // 执行验证
+ * metrics.record(name, valid, start);
+ * </code></pre>
+ * 实现类可以只对一部分调用计时，此时 {@link #startTimer()} 对不计时的调用返回
+ * {@link #NOT_SAMPLED}。
+ * <p>
+ * 当前使用的实现通过 {@link ValidationMetricsRegistry} 设置和获取。实现类必须是线程安全的。
+ *
+ * @author 胡海星
+ * @see ValidationMetricsRegistry
+ * @see DefaultValidationMetrics
+ */
+public interface ValidationMetrics {
+
+  /**
+   * 表示本次调用不计时的 {@link #startTimer()} 返回值。
+   */
+  long NOT_SAMPLED = Long.MIN_VALUE;
+
+  /**
+   * 不收集任何数据的实现，也是默认使用的实现。
+   */
+  ValidationMetrics NOOP = new ValidationMetrics() {
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public long startTimer() {
+      return NOT_SAMPLED;
+    }
+
+    @Override
+    public void record(final String name, final boolean valid, final long startTime) {
+      //  do nothing
+    }
+  };
+
+  /**
+   * 判断此实现是否收集数据。
+   * <p>
+   * 若返回{@code false}，调用者可以跳过 {@link #startTimer()} 和 {@link #record} 的调用。
+   *
+   * @return 若此实现收集数据则返回{@code true}，否则返回{@code false}。
+   */
+  boolean isEnabled();
+
+  /**
+   * 在一次验证开始前调用，决定是否对本次验证计时。
+   *
+   * @return
+   *     若对本次验证计时，则返回 {@link System#nanoTime()} 的当前值；否则返回
+   *     {@link #NOT_SAMPLED}。
+   */
+  long startTimer();
+
+  /**
+   * 在一次验证结束后调用，记录本次验证的结果。
+   *
+   * @param name
+   *     被统计的约束或规则的名称。
+   * @param valid
+   *     本次验证是否通过。
+   * @param startTime
+   *     本次验证开始前 {@link #startTimer()} 的返回值。
+   */
+  void record(String name, boolean valid, long startTime);
+}
@@ -0,0 +1,75 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+import java.util.Map;
+
+/**
+ * {@link DefaultValidationMetrics} 的 JMX 管理接口。
+ * <p>
+ * 以约束或规则的名称为键的属性均为快照，耗时单位均为纳秒。
+ *
+ * @author 胡海星
+ */
+public interface ValidationMetricsMXBean {
+
+  /**
+   * 获取耗时抽样的间隔，即平均每多少次调用对其中一次计时。
+   *
+   * @return 耗时抽样的间隔。
+   */
+  int getSampleInterval();
+
+  /**
+   * 获取所有约束或规则的调用次数之和。
+   *
+   * @return 调用次数之和。
+   */
+  long getTotalCallCount();
+
+  /**
+   * 获取所有约束或规则的验证失败次数之和。
+   *
+   * @return 验证失败次数之和。
+   */
+  long getTotalFailureCount();
+
+  /**
+   * 获取各个约束或规则的调用次数。
+   *
+   * @return 从名称到调用次数的映射。
+   */
+  Map<String, Long> getCallCounts();
+
+  /**
+   * 获取各个约束或规则的验证失败次数。
+   *
+   * @return 从名称到验证失败次数的映射。
+   */
+  Map<String, Long> getFailureCounts();
+
+  /**
+   * 获取各个约束或规则耗时的99%分位数的估计值。
+   *
+   * @return 从名称到耗时99%分位数的估计值的映射。
+   */
+  Map<String, Long> getP99LatencyNanos();
+
+  /**
+   * 获取所有统计数据的文本快照。
+   *
+   * @return 所有统计数据的文本快照，每个约束或规则占一行。
+   */
+  String getSnapshotText();
+
+  /**
+   * 清空所有统计数据。
+   */
+  void reset();
+}
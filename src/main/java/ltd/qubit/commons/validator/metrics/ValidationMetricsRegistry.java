@@ -0,0 +1,117 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ServiceLoader;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 管理当前使用的 {@link ValidationMetrics} 的工具类。
+ * <p>
+ * 默认情况下使用 {@link ValidationMetrics#NOOP}，此时每次验证的额外开销只有一次 volatile
+ * 读和一次分支判断。若系统属性 {@value #ENABLED_PROPERTY} 为 {@code true}，则在此类初始化时
+ * 通过 {@link ServiceLoader} 加载第一个可用的 {@link ValidationMetrics} 实现，若没有找到则使用
+ * {@link DefaultValidationMetrics}；若加载的实现同时实现了 {@link ValidationMetricsMXBean}，
+ * 则将其以名称 {@value #OBJECT_NAME} 注册到平台的 MBean 服务器。
+ * <p>
+ * 此类不可实例化。
+ *
+ * @author 胡海星
+ */
+public final class ValidationMetricsRegistry {
+
+  /**
+   * 启用验证统计的系统属性名。
+   */
+  public static final String ENABLED_PROPERTY = "ltd.qubit.commons.validator.metrics.enabled";
+
+  /**
+   * 注册到 MBean 服务器时使用的对象名。
+   */
+  public static final String OBJECT_NAME = "ltd.qubit.commons.validator:type=ValidationMetrics";
+
+  private static final Logger logger = LoggerFactory.getLogger(ValidationMetricsRegistry.class);
+
+  private static volatile ValidationMetrics current = ValidationMetrics.NOOP;
+
+  static {
+    if (Boolean.getBoolean(ENABLED_PROPERTY)) {
+      final ValidationMetrics metrics = ServiceLoader.load(ValidationMetrics.class)
+          .findFirst()
+          .orElseGet(DefaultValidationMetrics::new);
+      set(metrics);
+    }
+  }
+
+  /**
+   * 私有构造函数，防止实例化。
+   */
+  private ValidationMetricsRegistry() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 获取当前使用的 {@link ValidationMetrics}。
+   *
+   * @return 当前使用的 {@link ValidationMetrics}，不会为{@code null}。
+   */
+  public static ValidationMetrics get() {
+    return current;
+  }
+
+  /**
+   * 设置当前使用的 {@link ValidationMetrics}。
+   * <p>
+   * 若新的实现同时实现了 {@link ValidationMetricsMXBean}，则将其注册到平台的 MBean 服务器，
+   * 替换之前注册的对象；否则注销之前注册的对象。
+   *
+   * @param metrics
+   *     新的 {@link ValidationMetrics}，若为{@code null}则禁用统计。
+   */
+  public static synchronized void set(final ValidationMetrics metrics) {
+    current = (metrics == null ? ValidationMetrics.NOOP : metrics);
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      if (metrics instanceof ValidationMetricsMXBean) {
+        server.registerMBean(metrics, name);
+      }
+    } catch (final JMException | SecurityException e) {
+      logger.warn("Failed to register the validation metrics MBean.", e);
+    }
+  }
+
+  /**
+   * 启用一个新的 {@link DefaultValidationMetrics}。
+   *
+   * @return 新启用的 {@link DefaultValidationMetrics}。
+   */
+  public static DefaultValidationMetrics enableDefault() {
+    final DefaultValidationMetrics metrics = new DefaultValidationMetrics();
+    set(metrics);
+    return metrics;
+  }
+
+  /**
+   * 禁用验证统计。
+   */
+  public static void disable() {
+    set(null);
+  }
+}
@@ -0,0 +1,151 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 某个约束或规则的验证统计数据的快照。
+ * <p>
+ * 调用次数和失败次数是精确值；耗时数据只来自被抽样计时的调用，单位均为纳秒。
+ *
+ * @author 胡海星
+ */
+@Immutable
+public final class ValidationStatistics {
+
+  private final String name;
+  private final long callCount;
+  private final long failureCount;
+  private final long sampledCount;
+  private final double meanNanos;
+  private final long p50Nanos;
+  private final long p90Nanos;
+  private final long p99Nanos;
+  private final long maxNanos;
+
+  /**
+   * 构造一个 {@link ValidationStatistics}。
+   *
+   * @param name
+   *     约束或规则的名称。
+   * @param callCount
+   *     调用次数。
+   * @param failureCount
+   *     验证失败的次数。
+   * @param histogram
+   *     被抽样调用的耗时直方图。
+   */
+  public ValidationStatistics(final String name, final long callCount,
+      final long failureCount, final LatencyHistogram histogram) {
+    this.name = name;
+    this.callCount = callCount;
+    this.failureCount = failureCount;
+    this.sampledCount = histogram.getCount();
+    this.meanNanos = histogram.getMean();
+    this.p50Nanos = histogram.getPercentile(0.5);
+    this.p90Nanos = histogram.getPercentile(0.9);
+    this.p99Nanos = histogram.getPercentile(0.99);
+    this.maxNanos = histogram.getMax();
+  }
+
+  /**
+   * 获取约束或规则的名称。
+   *
+   * @return 约束或规则的名称。
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 获取调用次数。
+   *
+   * @return 调用次数。
+   */
+  public long getCallCount() {
+    return callCount;
+  }
+
+  /**
+   * 获取验证失败的次数。
+   *
+   * @return 验证失败的次数。
+   */
+  public long getFailureCount() {
+    return failureCount;
+  }
+
+  /**
+   * 获取被抽样计时的调用次数。
+   *
+   * @return 被抽样计时的调用次数。
+   */
+  public long getSampledCount() {
+    return sampledCount;
+  }
+
+  /**
+   * 获取被抽样调用的平均耗时。
+   *
+   * @return 被抽样调用的平均耗时，单位为纳秒。
+   */
+  public double getMeanNanos() {
+    return meanNanos;
+  }
+
+  /**
+   * 获取被抽样调用耗时的中位数的估计值。
+   *
+   * @return 耗时中位数的估计值，单位为纳秒。
+   */
+  public long getP50Nanos() {
+    return p50Nanos;
+  }
+
+  /**
+   * 获取被抽样调用耗时的90%分位数的估计值。
+   *
+   * @return 耗时90%分位数的估计值，单位为纳秒。
+   */
+  public long getP90Nanos() {
+    return p90Nanos;
+  }
+
+  /**
+   * 获取被抽样调用耗时的99%分位数的估计值。
+   *
+   * @return 耗时99%分位数的估计值，单位为纳秒。
+   */
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  /**
+   * 获取被抽样调用的最大耗时。
+   *
+   * @return 最大耗时，单位为纳秒。
+   */
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * 将此快照格式化为一行文本。
+   *
+   * @return 格式化后的文本。
+   */
+  @Override
+  public String toString() {
+    return String.format("%s calls=%d failures=%d sampled=%d mean=%.0fns "
+            + "p50<=%dns p90<=%dns p99<=%dns max=%dns",
+        name, callCount, failureCount, sampledCount, meanNanos,
+        p50Nanos, p90Nanos, p99Nanos, maxNanos);
+  }
+}
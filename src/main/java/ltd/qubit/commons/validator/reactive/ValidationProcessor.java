@@ -0,0 +1,489 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.reactive;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.validator.rule.ValidationRule;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * 在响应式流水线中对数据项进行验证的 {@link Flow.Processor}。
+ * <p>
+ * 此处理器从上游接收数据项，使用指定的 {@link ValidationRule} 对其进行验证，将验证通过的数据项
+ * 按原始顺序发送给下游订阅者，并将验证失败的数据项转交给一个旁路的 {@link Consumer}。
+ * 此处理器仅依赖于 {@link java.util.concurrent.Flow}，因此可以接入任何兼容 Reactive
+ * Streams 规范的库。
+ * <p>
+ * 此处理器的行为如下：
+ * <ul>
+ *   <li>数据项在内部被收集为批次，每个批次作为一个任务提交到 {@link Executor} 中进行验证，
+ *   从而分摊每次调度的开销。当存在空闲的工作槽位时，未满的批次会被立即提交，因此在负载较低时
+ *   不会引入额外的延迟。</li>
+ *   <li>最多同时有 {@code parallelism} 个批次在验证中；无论批次以何种顺序完成验证，数据项
+ *   总是按照上游发送的顺序发往下游和旁路。</li>
+ *   <li>向下游发送的数据项数目永远不会超过下游请求的数目；向上游请求的数据项数目被限制在
+ *   {@code batchSize * parallelism * 2} 以内，因此内部缓冲区的大小是有界的。
+ *   验证失败的数据项不占用下游的请求数。</li>
+ *   <li>若验证规则或旁路抛出异常，处理器将取消上游订阅并以该异常终止下游。</li>
+ * </ul>
+ * 此处理器只支持一个下游订阅者，且只能订阅一个上游发布者。
+ *
+ * @param <T>
+ *     数据项的类型。
+ * @author 胡海星
+ */
+@ThreadSafe
+public class ValidationProcessor<T> implements Flow.Processor<T, T> {
+
+  /**
+   * 默认的批次大小。
+   */
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
+  /**
+   * 默认的并行度。
+   */
+  public static final int DEFAULT_PARALLELISM = 1;
+
+  private final ValidationRule<? super T> rule;
+  private final Consumer<? super T> rejectedSink;
+  private final int batchSize;
+  private final int parallelism;
+  private final int prefetch;
+  private final int replenishThreshold;
+  private final Executor executor;
+
+  private final Queue<T> incoming = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger wip = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong requested = new AtomicLong();
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  private volatile Flow.Subscription upstream;
+  private volatile Flow.Subscriber<? super T> downstream;
+  private volatile boolean done;
+  private volatile Throwable error;
+  private volatile boolean cancelled;
+
+  // 以下字段只在 drain() 循环中访问
+  private final ArrayDeque<Batch<T>> batches = new ArrayDeque<>();
+  private Batch<T> current;
+  private long consumed;
+  private boolean terminated;
+
+  /**
+   * 构造一个 {@link ValidationProcessor}，使用默认的批次大小和并行度，并在
+   * {@link ForkJoinPool#commonPool()} 中执行验证。
+   *
+   * @param rule
+   *     用于验证数据项的规则。
+   * @param rejectedSink
+   *     接收验证失败的数据项的旁路。
+   */
+  public ValidationProcessor(final ValidationRule<? super T> rule,
+      final Consumer<? super T> rejectedSink) {
+    this(rule, rejectedSink, DEFAULT_BATCH_SIZE, DEFAULT_PARALLELISM,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 构造一个 {@link ValidationProcessor}。
+   *
+   * @param rule
+   *     用于验证数据项的规则，必须是线程安全的。
+   * @param rejectedSink
+   *     接收验证失败的数据项的旁路。该旁路总是被串行地调用。
+   * @param batchSize
+   *     每个批次最多包含的数据项数目，必须为正数。
+   * @param parallelism
+   *     最多同时进行验证的批次数目，必须为正数。
+   * @param executor
+   *     执行验证任务的 {@link Executor}。
+   */
+  public ValidationProcessor(final ValidationRule<? super T> rule,
+      final Consumer<? super T> rejectedSink, final int batchSize,
+      final int parallelism, final Executor executor) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+    }
+    this.rule = requireNonNull(rule, "rule");
+    this.rejectedSink = requireNonNull(rejectedSink, "rejectedSink");
+    this.batchSize = batchSize;
+    this.parallelism = parallelism;
+    this.prefetch = (int) Math.min(Integer.MAX_VALUE, 2L * batchSize * parallelism);
+    this.replenishThreshold = Math.max(1, prefetch / 2);
+    this.executor = requireNonNull(executor, "executor");
+  }
+
+  /**
+   * 获取批次大小。
+   *
+   * @return 每个批次最多包含的数据项数目。
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * 获取并行度。
+   *
+   * @return 最多同时进行验证的批次数目。
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+    requireNonNull(subscriber, "subscriber");
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(final long n) {}
+
+        @Override
+        public void cancel() {}
+      });
+      subscriber.onError(new IllegalStateException(
+          "ValidationProcessor allows only a single subscriber."));
+      return;
+    }
+    subscriber.onSubscribe(new DownstreamSubscription());
+    downstream = subscriber;
+    drain();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onSubscribe(final Flow.Subscription subscription) {
+    requireNonNull(subscription, "subscription");
+    if (upstream != null || cancelled) {
+      subscription.cancel();
+      return;
+    }
+    upstream = subscription;
+    subscription.request(prefetch);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onNext(final T item) {
+    requireNonNull(item, "item");
+    if (done || cancelled) {
+      return;
+    }
+    incoming.offer(item);
+    drain();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onError(final Throwable throwable) {
+    requireNonNull(throwable, "throwable");
+    if (done) {
+      return;
+    }
+    error = throwable;
+    done = true;
+    drain();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  /**
+   * 串行化的处理循环。
+   * <p>
+   * 任何线程都可能调用此方法，但只有一个线程会真正执行处理循环，其他并发的调用只会通知该线程
+   * 再执行一轮循环。
+   */
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    for (;;) {
+      if (cancelled) {
+        clear();
+      } else if (!terminated) {
+        drainOnce();
+      }
+      missed = wip.addAndGet(-missed);
+      if (missed == 0) {
+        return;
+      }
+    }
+  }
+
+  private void drainOnce() {
+    final Flow.Subscriber<? super T> subscriber = downstream;
+    // 上游发生错误时立即终止，丢弃尚未发送的数据项
+    final Throwable upstreamError = error;
+    if (upstreamError != null) {
+      if (subscriber != null) {
+        terminate(subscriber, upstreamError);
+      }
+      return;
+    }
+    collect();
+    dispatch();
+    final Throwable failure = emit(subscriber);
+    if (failure != null) {
+      final Flow.Subscription subscription = upstream;
+      if (subscription != null) {
+        subscription.cancel();
+      }
+      if (subscriber != null) {
+        terminate(subscriber, failure);
+      }
+      return;
+    }
+    if (done && !cancelled && subscriber != null && incoming.isEmpty()
+        && current == null && batches.isEmpty()) {
+      terminate(subscriber, null);
+    }
+  }
+
+  /**
+   * 将新到达的数据项收集到批次中。
+   */
+  private void collect() {
+    T item;
+    while ((item = incoming.poll()) != null) {
+      if (current == null) {
+        current = new Batch<>(batchSize);
+      }
+      current.add(item);
+      if (current.size == batchSize) {
+        batches.offer(current);
+        current = null;
+      }
+    }
+    // 若存在空闲的工作槽位，则立即提交未满的批次，避免数据项在低负载时滞留
+    if (current != null && (inFlight.get() < parallelism || done)) {
+      batches.offer(current);
+      current = null;
+    }
+  }
+
+  /**
+   * 在并行度允许的范围内提交尚未开始验证的批次。
+   */
+  private void dispatch() {
+    for (final Batch<T> batch : batches) {
+      if (inFlight.get() >= parallelism) {
+        return;
+      }
+      if (batch.state == Batch.NEW) {
+        batch.state = Batch.RUNNING;
+        inFlight.incrementAndGet();
+        try {
+          executor.execute(() -> run(batch));
+        } catch (final RuntimeException e) {
+          inFlight.decrementAndGet();
+          batch.failure = e;
+          batch.state = Batch.DONE;
+        }
+      }
+    }
+  }
+
+  private void run(final Batch<T> batch) {
+    try {
+      final Object[] items = batch.items;
+      final boolean[] results = batch.results;
+      for (int i = 0; i < batch.size; ++i) {
+        if (cancelled) {
+          break;
+        }
+        @SuppressWarnings("unchecked")
+        final T item = (T) items[i];
+        results[i] = rule.validate(item);
+      }
+    } catch (final Throwable e) {
+      batch.failure = e;
+    }
+    batch.state = Batch.DONE;
+    inFlight.decrementAndGet();
+    drain();
+  }
+
+  /**
+   * 按顺序发送已完成验证的批次中的数据项。
+   *
+   * @param subscriber
+   *     下游订阅者，可能为 {@code null}。
+   * @return
+   *     若验证或发送过程中发生了错误则返回该错误；否则返回 {@code null}。
+   */
+  private Throwable emit(final Flow.Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      return null;
+    }
+    long demand = requested.get();
+    long emitted = 0;
+    Batch<T> batch;
+    while ((batch = batches.peek()) != null && batch.state == Batch.DONE) {
+      if (batch.failure != null) {
+        return batch.failure;
+      }
+      final Object[] items = batch.items;
+      while (batch.cursor < batch.size) {
+        final int i = batch.cursor;
+        @SuppressWarnings("unchecked")
+        final T item = (T) items[i];
+        if (batch.results[i]) {
+          if (emitted == demand) {
+            demand = requested.addAndGet(-emitted);
+            emitted = 0;
+            if (demand == 0) {
+              break;
+            }
+          }
+          subscriber.onNext(item);
+          ++emitted;
+        } else {
+          try {
+            rejectedSink.accept(item);
+          } catch (final Throwable e) {
+            return e;
+          }
+        }
+        items[i] = null;
+        ++batch.cursor;
+        ++consumed;
+        if (cancelled) {
+          return null;
+        }
+      }
+      if (batch.cursor < batch.size) {
+        break;    // 下游的请求数已耗尽
+      }
+      batches.poll();
+    }
+    if (emitted != 0) {
+      requested.addAndGet(-emitted);
+    }
+    replenish();
+    return null;
+  }
+
+  /**
+   * 当已消耗的数据项足够多时，向上游补充请求。
+   */
+  private void replenish() {
+    final Flow.Subscription subscription = upstream;
+    if (subscription != null && !done && consumed >= replenishThreshold) {
+      final long n = consumed;
+      consumed = 0;
+      subscription.request(n);
+    }
+  }
+
+  private void terminate(final Flow.Subscriber<? super T> subscriber,
+      final Throwable throwable) {
+    terminated = true;
+    clear();
+    if (throwable == null) {
+      subscriber.onComplete();
+    } else {
+      subscriber.onError(throwable);
+    }
+  }
+
+  private void clear() {
+    incoming.clear();
+    batches.clear();
+    current = null;
+  }
+
+  /**
+   * 提供给下游订阅者的订阅。
+   */
+  private final class DownstreamSubscription implements Flow.Subscription {
+
+    @Override
+    public void request(final long n) {
+      if (n <= 0) {
+        error = new IllegalArgumentException("non-positive request: " + n);
+        done = true;
+        cancelUpstream();
+      } else {
+        requested.getAndAccumulate(n, (a, b) -> {
+          final long r = a + b;
+          return (r < 0 ? Long.MAX_VALUE : r);
+        });
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      cancelUpstream();
+      drain();
+    }
+
+    private void cancelUpstream() {
+      final Flow.Subscription subscription = upstream;
+      if (subscription != null) {
+        subscription.cancel();
+      }
+    }
+  }
+
+  /**
+   * 一个待验证的批次。
+   *
+   * @param <T>
+   *     数据项的类型。
+   */
+  private static final class Batch<T> {
+    static final int NEW = 0;
+    static final int RUNNING = 1;
+    static final int DONE = 2;
+
+    final Object[] items;
+    final boolean[] results;
+    int size;
+    int cursor;
+    volatile int state = NEW;
+    volatile Throwable failure;
+
+    Batch(final int capacity) {
+      items = new Object[capacity];
+      results = new boolean[capacity];
+    }
+
+    void add(final T item) {
+      items[size++] = item;
+    }
+  }
+}
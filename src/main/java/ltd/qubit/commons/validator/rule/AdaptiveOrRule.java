@@ -0,0 +1,252 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * 根据观测到的各个分支的成立频率，自适应地调整分支执行顺序的“或”规则。
+ * <p>
+ * “或”规则在第一个成立的分支处返回，因此最可能成立的分支越早执行，平均代价越低。此规则以
+ * {@code 1/sampleInterval} 的概率抽样记录哪个分支成立，每累积 {@code reorderPeriod} 个样本，
+ * 就按照 {@code 成立次数 / 代价} 从高到低重新排列分支，并将所有计数减半，使得统计结果能够跟随
+ * 输入分布的变化。
+ * <p>
+ * 统计计数使用原子变量实现，不需要加锁；新的执行顺序以一个新数组的形式通过 volatile 字段发布，
+ * 因此两次调整之间的执行顺序是稳定的，每次验证看到的都是一个完整的顺序。与 {@link OrRule}
+ * 一样，验证字符序列时先扫描一次输入，跳过预过滤器不接受该输入的分支。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see ValidationRules#adaptiveOr(ValidationRule[])
+ */
+@ThreadSafe
+public final class AdaptiveOrRule<T> implements ValidationRule<T> {
+
+  /**
+   * 默认的抽样间隔。
+   */
+  public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+  /**
+   * 默认的调整周期，即两次调整执行顺序之间的样本数。
+   */
+  public static final int DEFAULT_REORDER_PERIOD = 256;
+
+  private final ValidationRule<? super T>[] rules;
+  private final InputPrefilter[] prefilters;
+  private final int[] costs;
+  private final boolean fused;
+  private final int cost;
+  private final int sampleMask;
+  private final int reorderPeriod;
+  private final AtomicLongArray hits;
+  private final AtomicLong samples = new AtomicLong();
+  private final AtomicLong reorders = new AtomicLong();
+  private final AtomicBoolean reordering = new AtomicBoolean();
+  private volatile int[] order;
+
+  /**
+   * 构造一个 {@link AdaptiveOrRule}。
+   *
+   * @param rules
+   *     各个分支，其初始的执行顺序即为给定的顺序。
+   * @param sampleInterval
+   *     抽样间隔，必须是2的正整数次幂；为1时记录每一次验证。
+   * @param reorderPeriod
+   *     两次调整执行顺序之间的样本数，必须为正数。
+   */
+  AdaptiveOrRule(final ValidationRule<? super T>[] rules, final int sampleInterval,
+      final int reorderPeriod) {
+    if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1) {
+      throw new IllegalArgumentException("sampleInterval must be a positive power of 2: "
+          + sampleInterval);
+    }
+    if (reorderPeriod <= 0) {
+      throw new IllegalArgumentException("reorderPeriod must be positive: " + reorderPeriod);
+    }
+    this.rules = rules;
+    this.prefilters = new InputPrefilter[rules.length];
+    this.costs = new int[rules.length];
+    this.order = new int[rules.length];
+    boolean hasPrefilter = false;
+    int total = 0;
+    for (int i = 0; i < rules.length; ++i) {
+      prefilters[i] = rules[i].getPrefilter();
+      hasPrefilter |= !prefilters[i].isNone();
+      costs[i] = Math.max(rules[i].getCost(), 1);
+      total = ValidationRules.addCost(total, costs[i]);
+      order[i] = i;
+    }
+    this.fused = hasPrefilter;
+    this.cost = (hasPrefilter ? ValidationRules.addCost(total, SCAN_COST) : total);
+    this.sampleMask = sampleInterval - 1;
+    this.reorderPeriod = reorderPeriod;
+    this.hits = new AtomicLongArray(rules.length);
+  }
+
+  ValidationRule<? super T>[] getRules() {
+    return rules;
+  }
+
+  /**
+   * 获取当前的执行顺序，调用者不得修改返回的数组。
+   */
+  int[] order() {
+    return order;
+  }
+
+  /**
+   * 获取当前的执行顺序。
+   *
+   * @return 当前的执行顺序，其中第{@code i}个元素是第{@code i}个执行的分支在构造时的下标。
+   */
+  public int[] getOrder() {
+    return order.clone();
+  }
+
+  /**
+   * 获取指定分支的成立次数的统计值。
+   * <p>
+   * 统计值只包含被抽样的验证，且每次调整执行顺序后都会减半。
+   *
+   * @param branch
+   *     分支在构造时的下标。
+   * @return 该分支的成立次数的统计值。
+   */
+  public long getHitCount(final int branch) {
+    return hits.get(branch);
+  }
+
+  /**
+   * 获取已记录的样本总数。
+   *
+   * @return 已记录的样本总数。
+   */
+  public long getSampleCount() {
+    return samples.get();
+  }
+
+  /**
+   * 获取调整执行顺序的次数。
+   *
+   * @return 调整执行顺序的次数。
+   */
+  public long getReorderCount() {
+    return reorders.get();
+  }
+
+  @Override
+  public boolean validate(@Nullable final T obj) {
+    final int[] current = order;
+    final int winner;
+    if (fused && obj instanceof CharSequence) {
+      winner = findFused(current, (CharSequence) obj, obj);
+    } else {
+      winner = find(current, obj);
+    }
+    if ((ThreadLocalRandom.current().nextInt() & sampleMask) == 0) {
+      record(winner);
+    }
+    return winner >= 0;
+  }
+
+  private int find(final int[] current, @Nullable final T obj) {
+    for (final int i : current) {
+      if (rules[i].validate(obj)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int findFused(final int[] current, final CharSequence str, final T obj) {
+    final int n = str.length();
+    final int mask = InputCharset.classify(str);
+    for (final int i : current) {
+      if (prefilters[i].accepts(n, mask) && rules[i].validate(obj)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void record(final int winner) {
+    if (winner >= 0) {
+      hits.incrementAndGet(winner);
+    }
+    if (samples.incrementAndGet() % reorderPeriod == 0) {
+      reorder();
+    }
+  }
+
+  /**
+   * 立即根据当前的统计值调整执行顺序。
+   * <p>
+   * 若另一线程正在调整，则此调用直接返回。
+   */
+  public void reorder() {
+    if (!reordering.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      final int n = rules.length;
+      final double[] scores = new double[n];
+      final Integer[] indexes = new Integer[n];
+      for (int i = 0; i < n; ++i) {
+        // 加1平滑，使得从未成立的分支按代价排序
+        scores[i] = (hits.get(i) + 1.0) / costs[i];
+        indexes[i] = i;
+      }
+      Arrays.sort(indexes, (x, y) -> Double.compare(scores[y], scores[x]));
+      final int[] newOrder = new int[n];
+      for (int i = 0; i < n; ++i) {
+        newOrder[i] = indexes[i];
+        hits.getAndUpdate(i, v -> v >>> 1);
+      }
+      if (!Arrays.equals(newOrder, order)) {
+        order = newOrder;
+      }
+      reorders.incrementAndGet();
+    } finally {
+      reordering.set(false);
+    }
+  }
+
+  @Override
+  public int getCost() {
+    return cost;
+  }
+
+  @Override
+  public InputPrefilter getPrefilter() {
+    return ValidationRules.union(prefilters);
+  }
+
+  @Override
+  public String toString() {
+    final int[] current = order;
+    final StringBuilder builder = new StringBuilder("adaptiveOr[");
+    for (int i = 0; i < current.length; ++i) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(rules[current[i]]);
+    }
+    return builder.append(']').toString();
+  }
+}
@@ -0,0 +1,129 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 要求所有子规则都成立的规则。
+ * <p>
+ * 构造时，嵌套的 {@link AndRule}、{@link LengthRule} 和 {@link PrefilterRule} 被展开，其
+ * 长度范围和字符集与各个子规则蕴含的预过滤器合并为一次长度检查和一次字符集扫描，在执行任何
+ * 子规则之前完成；剩余的子规则按代价从低到高排列。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see ValidationRules#and(ValidationRule[])
+ */
+@Immutable
+final class AndRule<T> implements ValidationRule<T> {
+
+  private final ValidationRule<? super T>[] rules;
+  private final int minLength;
+  private final int maxLength;
+  private final InputCharset charset;
+  private final boolean nullRejected;
+  private final int cost;
+
+  AndRule(final ValidationRule<? super T>[] rules, final int minLength, final int maxLength,
+      final InputCharset charset, final boolean nullRejected) {
+    this.rules = rules;
+    this.minLength = minLength;
+    this.maxLength = maxLength;
+    this.charset = charset;
+    this.nullRejected = nullRejected;
+    int total = (charset == InputCharset.ANY ? CONSTANT_COST : SCAN_COST);
+    for (final ValidationRule<? super T> rule : rules) {
+      total = ValidationRules.addCost(total, rule.getCost());
+    }
+    this.cost = total;
+  }
+
+  ValidationRule<? super T>[] getRules() {
+    return rules;
+  }
+
+  int getMinLength() {
+    return minLength;
+  }
+
+  int getMaxLength() {
+    return maxLength;
+  }
+
+  InputCharset getCharset() {
+    return charset;
+  }
+
+  boolean isNullRejected() {
+    return nullRejected;
+  }
+
+  @Override
+  public boolean validate(@Nullable final T obj) {
+    if (obj instanceof CharSequence) {
+      final CharSequence str = (CharSequence) obj;
+      final int n = str.length();
+      if (n < minLength || n > maxLength || !charset.accepts(str)) {
+        return false;
+      }
+    } else if (obj == null && nullRejected) {
+      return false;
+    }
+    for (final ValidationRule<? super T> rule : rules) {
+      if (!rule.validate(obj)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public ValidationOutcome check(@Nullable final T obj) {
+    if (obj instanceof CharSequence) {
+      final CharSequence str = (CharSequence) obj;
+      final int n = str.length();
+      if (n < minLength || n > maxLength) {
+        return ValidationOutcome.BAD_LENGTH;
+      }
+      if (!charset.accepts(str)) {
+        return ValidationOutcome.BAD_CHARSET;
+      }
+    } else if (obj == null && nullRejected) {
+      return ValidationOutcome.NULL_VALUE;
+    }
+    for (final ValidationRule<? super T> rule : rules) {
+      final ValidationOutcome outcome = rule.check(obj);
+      if (!outcome.isValid()) {
+        return outcome;
+      }
+    }
+    return ValidationOutcome.VALID;
+  }
+
+  @Override
+  public int getCost() {
+    return cost;
+  }
+
+  @Override
+  public InputPrefilter getPrefilter() {
+    return new InputPrefilter(maxLength == Integer.MAX_VALUE ? 0 : maxLength, charset);
+  }
+
+  @Override
+  public String toString() {
+    return "and(lengthBetween(" + minLength + ", " + maxLength + "), " + charset + ", "
+        + Arrays.toString(rules) + ")";
+  }
+}
@@ -0,0 +1,77 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import jakarta.validation.Validator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * 将 Bean Validation 的 {@link Validator} 适配为 {@link ValidationRule} 的验证规则。
+ * <p>
+ * 当且仅当对象上所有约束（在指定的验证分组中）均验证通过时，此规则认为该对象有效。
+ * {@code null} 值被认为是无效的。
+ * <p>
+ * {@link Validator} 本身是线程安全的，因此此规则的实例也可以在多个线程之间共享。
+ *
+ * @param <T>
+ *     要验证的 Bean 的类型。
+ * @author 胡海星
+ */
+@Immutable
+@ThreadSafe
+public class BeanValidationRule<T> implements ValidationRule<T> {
+
+  private static final Class<?>[] NO_GROUPS = new Class<?>[0];
+
+  private final Validator validator;
+
+  private final Class<?>[] groups;
+
+  /**
+   * 构造一个 {@link BeanValidationRule}。
+   *
+   * @param validator
+   *     用于验证 Bean 的验证器，必须是线程安全的。
+   * @param groups
+   *     要验证的分组；若为空则使用默认分组。
+   */
+  public BeanValidationRule(final Validator validator, final Class<?>... groups) {
+    this.validator = requireNonNull(validator, "validator");
+    this.groups = (groups == null ? NO_GROUPS : groups.clone());
+  }
+
+  /**
+   * 获取此规则所使用的验证器。
+   *
+   * @return 此规则所使用的验证器。
+   */
+  public Validator getValidator() {
+    return validator;
+  }
+
+  /**
+   * 获取此规则所验证的分组。
+   *
+   * @return 此规则所验证的分组的副本。
+   */
+  public Class<?>[] getGroups() {
+    return groups.clone();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean validate(@Nullable final T bean) {
+    return (bean != null) && validator.validate(bean, groups).isEmpty();
+  }
+}
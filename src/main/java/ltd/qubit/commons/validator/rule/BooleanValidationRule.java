@@ -24,6 +24,12 @@ public class BooleanValidationRule implements ValidationRule<String> {
    */
   public static final BooleanValidationRule INSTANCE = new BooleanValidationRule();
 
+  /** {@inheritDoc} */
+  @Override
+  public int getCost() {
+    return SCAN_COST;
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean validate(@Nullable final String str) {
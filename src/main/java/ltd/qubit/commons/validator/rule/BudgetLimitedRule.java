@@ -0,0 +1,75 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 在指定的预算约束下进行验证的规则，预算耗尽被视为验证未通过。
+ * <p>
+ * 两个此类的实例相等当且仅当其被装饰的规则和预算都相等，因此可以作为
+ * {@link CachingValidationRule#shared(ValidationRule)} 的键：对同一规则和同一预算反复调用
+ * {@link BudgetedValidationRule#withBudget(ValidationBudget)} 得到的规则共享同一个缓存。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see BudgetedValidationRule#withBudget(ValidationBudget)
+ */
+@Immutable
+final class BudgetLimitedRule<T> implements ValidationRule<T> {
+
+  private final BudgetedValidationRule<T> rule;
+  private final ValidationBudget budget;
+
+  BudgetLimitedRule(final BudgetedValidationRule<T> rule, final ValidationBudget budget) {
+    this.rule = rule;
+    this.budget = budget;
+  }
+
+  @Override
+  public boolean validate(@Nullable final T obj) {
+    return rule.validate(obj, budget) == BudgetedValidationResult.VALID;
+  }
+
+  @Override
+  public int getCost() {
+    return rule.getCost();
+  }
+
+  @Override
+  public InputPrefilter getPrefilter() {
+    return rule.getPrefilter();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof BudgetLimitedRule)) {
+      return false;
+    }
+    final BudgetLimitedRule<?> other = (BudgetLimitedRule<?>) obj;
+    return rule.equals(other.rule) && budget.equals(other.budget);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(rule, budget);
+  }
+
+  @Override
+  public String toString() {
+    return "withBudget(" + rule + ", " + budget + ")";
+  }
+}
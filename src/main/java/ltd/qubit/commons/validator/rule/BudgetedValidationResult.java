@@ -0,0 +1,42 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+/**
+ * 在预算约束下进行验证的结果。
+ *
+ * @author 胡海星
+ * @see BudgetedValidationRule
+ */
+public enum BudgetedValidationResult {
+
+  /**
+   * 验证通过。
+   */
+  VALID,
+
+  /**
+   * 验证未通过。
+   */
+  INVALID,
+
+  /**
+   * 预算耗尽，验证被中止，无法确定输入是否合法。
+   */
+  BUDGET_EXCEEDED;
+
+  /**
+   * 判断验证是否通过。
+   *
+   * @return 若验证通过则返回{@code true}，否则（包括预算耗尽）返回{@code false}。
+   */
+  public boolean isValid() {
+    return this == VALID;
+  }
+}
@@ -0,0 +1,53 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+
+/**
+ * 支持在预算约束下进行验证的验证规则。
+ * <p>
+ * 对于不可信的输入，基于回溯的正则表达式可能需要指数级的时间才能得出结果。此接口的实现在预算
+ * 耗尽时立即中止验证，并返回 {@link BudgetedValidationResult#BUDGET_EXCEEDED}。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see ValidationBudget
+ */
+public interface BudgetedValidationRule<T> extends ValidationRule<T> {
+
+  /**
+   * 在指定的预算约束下验证给定的对象。
+   *
+   * @param obj
+   *     要验证的对象，可以为 {@code null}。
+   * @param budget
+   *     此次验证允许消耗的预算。
+   * @return 验证的结果。
+   */
+  BudgetedValidationResult validate(@Nullable T obj, ValidationBudget budget);
+
+  /**
+   * 获取一个在指定的预算约束下进行验证的 {@link ValidationRule}。
+   * <p>
+   * 返回的规则将预算耗尽视为验证未通过。对同一规则和相等的预算调用此函数得到的规则是相等的，
+   * 因此它们共享 {@link CachingValidationRule#shared(ValidationRule)} 的同一个缓存。
+   *
+   * @param budget
+   *     每次验证允许消耗的预算。
+   * @return 在指定的预算约束下进行验证的 {@link ValidationRule}。
+   */
+  default ValidationRule<T> withBudget(final ValidationBudget budget) {
+    if (budget.isUnlimited()) {
+      return this;
+    }
+    return new BudgetLimitedRule<>(this, budget);
+  }
+}
@@ -0,0 +1,276 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.validator.rule.impl.ValidationResultCache;
+
+/**
+ * 缓存验证结果的验证规则装饰器。
+ * <p>
+ * 此规则将被装饰的规则对每个输入字符串的验证结果保存在一个有界的缓存中，对重复出现的输入直接
+ * 返回缓存的结果，从而避免重复执行代价较高的验证（例如正则表达式匹配）。被装饰的规则必须是
+ * 无状态的，即对相同的输入总是返回相同的结果。
+ * <p>
+ * 缓存使用 {@link ValidationResultCache} 实现，只有访问频率足够高的输入才会被保留在缓存中；
+ * 长度超过{@link #getMaxKeyLength() 最大键长度}的输入不会被缓存，而是直接交给被装饰的规则
+ * 验证，以防止攻击者使用超长字符串占用缓存内存。{@code null} 也不会被缓存。
+ * <p>
+ * 此规则可以单独使用，也可以通过约束注解的 {@code cached} 属性，或者通过将系统属性
+ * {@value #ENABLED_PROPERTY} 设置为 {@code true}，在相应的验证器中启用。
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public class CachingValidationRule implements ValidationRule<String> {
+
+  /**
+   * 全局启用验证结果缓存的系统属性名。
+   */
+  public static final String ENABLED_PROPERTY = "ltd.qubit.commons.validator.cache.enabled";
+
+  /**
+   * 设置共享缓存的最大容量的系统属性名。
+   */
+  public static final String MAXIMUM_SIZE_PROPERTY = "ltd.qubit.commons.validator.cache.maximumSize";
+
+  /**
+   * 设置共享缓存的最大键长度的系统属性名。
+   */
+  public static final String MAX_KEY_LENGTH_PROPERTY = "ltd.qubit.commons.validator.cache.maxKeyLength";
+
+  /**
+   * 缓存的默认最大容量。
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  /**
+   * 默认的最大键长度。
+   */
+  public static final int DEFAULT_MAX_KEY_LENGTH = 256;
+
+  private static final ConcurrentMap<ValidationRule<String>, CachingValidationRule> SHARED =
+      new ConcurrentHashMap<>();
+
+  private final ValidationRule<String> rule;
+  private final int maxKeyLength;
+  private final ValidationResultCache cache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder bypasses = new LongAdder();
+
+  /**
+   * 使用默认的最大容量和最大键长度构造一个 {@link CachingValidationRule}。
+   *
+   * @param rule
+   *     被装饰的验证规则，必须是无状态的。
+   */
+  public CachingValidationRule(final ValidationRule<String> rule) {
+    this(rule, DEFAULT_MAXIMUM_SIZE, DEFAULT_MAX_KEY_LENGTH);
+  }
+
+  /**
+   * 构造一个 {@link CachingValidationRule}。
+   *
+   * @param rule
+   *     被装饰的验证规则，必须是无状态的。
+   * @param maximumSize
+   *     缓存的最大容量，必须为正数。
+   * @param maxKeyLength
+   *     可被缓存的输入字符串的最大长度，必须为非负数。
+   */
+  public CachingValidationRule(final ValidationRule<String> rule,
+      final int maximumSize, final int maxKeyLength) {
+    if (maxKeyLength < 0) {
+      throw new IllegalArgumentException("maxKeyLength must be non-negative: " + maxKeyLength);
+    }
+    this.rule = rule;
+    this.maxKeyLength = maxKeyLength;
+    this.cache = new ValidationResultCache(maximumSize);
+  }
+
+  /**
+   * 判断是否通过系统属性 {@value #ENABLED_PROPERTY} 全局启用了验证结果缓存。
+   *
+   * @return 若全局启用了验证结果缓存则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isEnabledGlobally() {
+    return Boolean.getBoolean(ENABLED_PROPERTY);
+  }
+
+  /**
+   * 获取装饰指定规则的共享的 {@link CachingValidationRule}。
+   * <p>
+   * 对于同一个被装饰的规则，此函数总是返回同一个实例，因此所有使用该规则的验证器共享同一个
+   * 缓存。共享缓存的最大容量和最大键长度分别由系统属性 {@value #MAXIMUM_SIZE_PROPERTY} 和
+   * {@value #MAX_KEY_LENGTH_PROPERTY} 指定，默认值分别为 {@value #DEFAULT_MAXIMUM_SIZE} 和
+   * {@value #DEFAULT_MAX_KEY_LENGTH}。
+   *
+   * @param rule
+   *     被装饰的验证规则，必须是无状态的。
+   * @return 装饰该规则的共享的 {@link CachingValidationRule}。
+   */
+  public static CachingValidationRule shared(final ValidationRule<String> rule) {
+    return SHARED.computeIfAbsent(rule, r -> new CachingValidationRule(r,
+        Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE),
+        Integer.getInteger(MAX_KEY_LENGTH_PROPERTY, DEFAULT_MAX_KEY_LENGTH)));
+  }
+
+  /**
+   * 获取被装饰的验证规则。
+   *
+   * @return 被装饰的验证规则。
+   */
+  public ValidationRule<String> getRule() {
+    return rule;
+  }
+
+  /**
+   * 获取可被缓存的输入字符串的最大长度。
+   *
+   * @return 可被缓存的输入字符串的最大长度。
+   */
+  public int getMaxKeyLength() {
+    return maxKeyLength;
+  }
+
+  /**
+   * 获取缓存的最大容量。
+   *
+   * @return 缓存的最大容量。
+   */
+  public int getMaximumSize() {
+    return cache.getMaximumSize();
+  }
+
+  /**
+   * 获取缓存中当前的键数目。
+   *
+   * @return 缓存中当前的键数目。
+   */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * 获取缓存命中的次数。
+   *
+   * @return 缓存命中的次数。
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * 获取缓存未命中的次数。
+   *
+   * @return 缓存未命中的次数。
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * 获取因输入为 {@code null} 或过长而未查询缓存的次数。
+   *
+   * @return 未查询缓存的次数。
+   */
+  public long getBypassCount() {
+    return bypasses.sum();
+  }
+
+  /**
+   * 获取因为容量不足而被淘汰的键的数目。
+   *
+   * @return 被淘汰的键的数目。
+   */
+  public long getEvictionCount() {
+    return cache.getEvictionCount();
+  }
+
+  /**
+   * 获取因为访问频率不足而被拒绝放入缓存的键的数目。
+   *
+   * @return 被拒绝放入缓存的键的数目。
+   */
+  public long getRejectionCount() {
+    return cache.getRejectionCount();
+  }
+
+  /**
+   * 获取缓存的命中率。
+   *
+   * @return
+   *     缓存命中的次数与查询缓存的次数之比；若尚未查询过缓存，则返回0。不包括未查询缓存的调用。
+   */
+  public double getHitRate() {
+    final long hitCount = hits.sum();
+    final long total = hitCount + misses.sum();
+    return (total == 0 ? 0.0 : (double) hitCount / total);
+  }
+
+  /**
+   * 清空缓存并重置所有统计数据。
+   */
+  public void clear() {
+    cache.clear();
+    hits.reset();
+    misses.reset();
+    bypasses.reset();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getCost() {
+    return rule.getCost();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public InputPrefilter getPrefilter() {
+    return rule.getPrefilter();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean validate(@Nullable final String str) {
+    if (str == null || str.length() > maxKeyLength) {
+      bypasses.increment();
+      return rule.validate(str);
+    }
+    final int cached = cache.get(str);
+    if (cached != ValidationResultCache.ABSENT) {
+      hits.increment();
+      return (cached != 0);
+    }
+    misses.increment();
+    final boolean result = rule.validate(str);
+    cache.put(str, result);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "CachingValidationRule{rule=" + rule
+        + ", size=" + getSize()
+        + ", maximumSize=" + getMaximumSize()
+        + ", maxKeyLength=" + maxKeyLength
+        + ", hitCount=" + getHitCount()
+        + ", missCount=" + getMissCount()
+        + ", bypassCount=" + getBypassCount()
+        + ", hitRate=" + getHitRate()
+        + "}";
+  }
+}
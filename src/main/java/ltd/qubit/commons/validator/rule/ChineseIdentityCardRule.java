@@ -14,11 +14,22 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import ltd.qubit.commons.validator.rule.impl.BatchKernels;
+import ltd.qubit.commons.validator.rule.impl.ChineseAreaTable;
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardSwarUtils;
 import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils;
+import ltd.qubit.commons.validator.rule.impl.ChineseNumberNormalizer;
 
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.AREA_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.DAY_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.DAY_LENGTH;
 import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.MONTH_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.MONTH_LENGTH;
 import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.NUMBER_LENGTH;
 import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.YEAR_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.YEAR_LENGTH;
 
 /**
  * 中华人民共和国大陆身份证号码验证规则。
@@ -57,13 +68,40 @@ import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RAT
  */
 @Immutable
 @ThreadSafe
-public class ChineseIdentityCardRule implements ValidationRule<String> {
+public class ChineseIdentityCardRule implements IncrementalValidationRule<String> {
+
+  /**
+   * 身份证号码的最大长度。
+   */
+  public static final int MAX_LENGTH = NUMBER_LENGTH;
+
+  /**
+   * 允许的字符集。身份证号码只能包含数字以及校验码 X。
+   */
+  public static final InputCharset CHARSET = InputCharset.DIGITS_OR_X;
+
+  /**
+   * 由 {@link #MAX_LENGTH} 和 {@link #CHARSET} 构成的预过滤器。
+   */
+  public static final InputPrefilter PREFILTER = new InputPrefilter(MAX_LENGTH, CHARSET);
 
   /**
    * {@link ChineseIdentityCardRule} 的单例实例。
    */
   public static final ChineseIdentityCardRule INSTANCE = new ChineseIdentityCardRule();
 
+  /** {@inheritDoc} */
+  @Override
+  public int getCost() {
+    return SCAN_COST;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public InputPrefilter getPrefilter() {
+    return PREFILTER;
+  }
+
   /**
    * 验证身份证号码是否合法。
    *
@@ -115,6 +153,126 @@ public class ChineseIdentityCardRule implements ValidationRule<String> {
     //    }
   }
 
+  /**
+   * 验证身份证号码是否合法，并给出不合法的原因。
+   * <p>
+   * 此函数不分配任何对象，其结果是否为 {@link ValidationOutcome#VALID} 与
+   * {@link #validate(String)} 的结果一致，即不检查地址码。
+   *
+   * @param number
+   *     待验证的身份证号码，可以为 {@code null}。
+   * @return 验证的结果。
+   * @see #check(CharSequence, boolean)
+   */
+  @Override
+  public ValidationOutcome check(@Nullable final String number) {
+    return check(number, false);
+  }
+
+  /**
+   * 验证身份证号码是否合法，并给出不合法的原因。
+   * <p>
+   * 依次检查长度（{@link ValidationOutcome#BAD_LENGTH}）、前17位是否为数字以及第18位是否为
+   * 数字或 {@code 'X'}（{@link ValidationOutcome#NON_DIGIT}）、校验码
+   * （{@link ValidationOutcome#BAD_CHECKSUM}）、出生日期是否存在
+   * （{@link ValidationOutcome#BAD_DATE}），以及可选地检查地址码是否存在
+   * （{@link ValidationOutcome#UNKNOWN_AREA}）。此函数不分配任何对象。
+   *
+   * @param number
+   *     待验证的身份证号码，可以为 {@code null}。
+   * @param checkArea
+   *     是否检查地址码在 {@link ChineseIdentityCardUtils#getAreaTable()} 中存在。
+   * @return 验证的结果；若输入为 {@code null}，则返回 {@link ValidationOutcome#NULL_VALUE}。
+   */
+  public ValidationOutcome check(@Nullable final CharSequence number, final boolean checkArea) {
+    if (number == null) {
+      return ValidationOutcome.NULL_VALUE;
+    }
+    if (number.length() != NUMBER_LENGTH) {
+      return ValidationOutcome.BAD_LENGTH;
+    }
+    int sum = 0;
+    for (int i = 0; i < NUMBER_LENGTH - 1; ++i) {
+      final char ch = number.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return ValidationOutcome.NON_DIGIT;
+      }
+      sum += (ch - '0') * RATIO[i];
+    }
+    final char last = Character.toUpperCase(number.charAt(NUMBER_LENGTH - 1));
+    if ((last < '0' || last > '9') && last != 'X') {
+      return ValidationOutcome.NON_DIGIT;
+    }
+    if (last != LAST_CHAR[sum % LAST_CHAR.length]) {
+      return ValidationOutcome.BAD_CHECKSUM;
+    }
+    final int year = parseDigits(number, YEAR_INDEX, YEAR_LENGTH);
+    final int month = parseDigits(number, MONTH_INDEX, MONTH_LENGTH);
+    final int day = parseDigits(number, DAY_INDEX, DAY_LENGTH);
+    if (!ChineseIdentityCardUtils.isDateValid(year, month, day)) {
+      return ValidationOutcome.BAD_DATE;
+    }
+    if (checkArea && !ChineseIdentityCardUtils.getAreaTable()
+        .contains(ChineseAreaTable.parseCode(number, AREA_INDEX))) {
+      return ValidationOutcome.UNKNOWN_AREA;
+    }
+    return ValidationOutcome.VALID;
+  }
+
+  private static int parseDigits(final CharSequence str, final int start, final int length) {
+    int result = 0;
+    for (int i = start; i < start + length; ++i) {
+      result = result * 10 + (str.charAt(i) - '0');
+    }
+    return result;
+  }
+
+  /**
+   * 解析身份证号码。
+   * <p>
+   * 在一次扫描中验证身份证号码并提取其所有字段，验证的内容与 {@link #validate(String)} 相同。
+   * 返回的对象只包含一个压缩的 {@code long} 值，出生日期、性别和地区等字段都在访问时才解码，
+   * 因此先调用此函数再依次获取各个字段，比分别调用 {@link #getBirthday(String)}、
+   * {@link #getGender(String)} 和 {@link #getAreaCode(String)} 更快。
+   *
+   * @param number
+   *     待解析的身份证号码，可以为 {@code null}。
+   * @return 解析结果；若该身份证号码不合法，则返回{@code null}。
+   */
+  @Nullable
+  public IdentityCardInfo parse(@Nullable final CharSequence number) {
+    final long packed = IdentityCardInfo.pack(number);
+    return (packed < 0 ? null : IdentityCardInfo.of(packed));
+  }
+
+  /**
+   * 批量解析身份证号码。
+   * <p>
+   * 此函数不分配任何对象。各个字段可以用 {@link IdentityCardInfo#areaOf(long)}、
+   * {@link IdentityCardInfo#birthdayOf(long)} 和 {@link IdentityCardInfo#isMale(long)} 等
+   * 静态函数直接从压缩值中解码，也可以用 {@link IdentityCardInfo#of(long)} 获取其视图。
+   *
+   * @param numbers
+   *     待解析的身份证号码，其中的元素可以为 {@code null}。
+   * @param results
+   *     用于存放解析结果的数组，{@code results[i]} 为 {@code numbers[i]} 的压缩值；若该号码
+   *     不合法，则为 {@link IdentityCardInfo#INVALID}。其长度不能小于 {@code numbers} 的长度。
+   * @return 合法的身份证号码的数目。
+   */
+  public int parseAll(final CharSequence[] numbers, final long[] results) {
+    if (results.length < numbers.length) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+    int count = 0;
+    for (int i = 0; i < numbers.length; ++i) {
+      results[i] = IdentityCardInfo.pack(numbers[i]);
+      if (results[i] >= 0) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
   /**
    * 从身份证号码提取出生日期。
    * <p>
@@ -164,4 +322,110 @@ public class ChineseIdentityCardRule implements ValidationRule<String> {
   public String getAreaCode(final String number) {
     return ChineseIdentityCardUtils.getAreaCode(number);
   }
+
+  /**
+   * 批量验证身份证号码。
+   * <p>
+   * 此函数的验证结果与对每个号码分别调用 {@link #validate(String)} 的结果一致。默认使用标量
+   * 实现；若显式启用了向量化的实现，则同时检查多个号码的数字范围并计算其校验和，详见
+   * {@link BatchKernels}。
+   *
+   * @param numbers
+   *     待验证的身份证号码，其中的元素可以为 {@code null}。
+   * @param results
+   *     用于存放验证结果的数组，{@code results[i]} 对应 {@code numbers[i]}，其长度不能
+   *     小于 {@code numbers} 的长度。
+   * @return 合法的身份证号码的数目。
+   */
+  public int validateAll(final CharSequence[] numbers, final boolean[] results) {
+    if (results.length < numbers.length) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+    return BatchKernels.get().validateIdentityCards(numbers, 0, numbers.length, results);
+  }
+
+  /**
+   * 验证 ASCII 编码的身份证号码是否合法。
+   * <p>
+   * 此函数的验证结果与对相应的字符串调用 {@link #validate(String)} 的结果一致，但直接在字节
+   * 数组上使用 SWAR 技术进行验证，不分配任何对象，适用于从网络或文件中直接读取的号码。详见
+   * {@link ChineseIdentityCardSwarUtils}。
+   *
+   * @param number
+   *     ASCII 编码的身份证号码，可以为 {@code null}。
+   * @return 若该身份证号码合法则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean validateAscii(@Nullable final byte[] number) {
+    return ChineseIdentityCardSwarUtils.isValid(number);
+  }
+
+  /**
+   * 验证字节数组中指定位置的 ASCII 编码的身份证号码是否合法。
+   *
+   * @param data
+   *     字节数组，可以为 {@code null}。
+   * @param offset
+   *     身份证号码在字节数组中的起始位置。
+   * @return
+   *     若从{@code offset}开始的18个字节构成合法的身份证号码则返回{@code true}，否则返回
+   *     {@code false}。
+   * @see #validateAscii(byte[])
+   */
+  public boolean validateAscii(@Nullable final byte[] data, final int offset) {
+    return ChineseIdentityCardSwarUtils.isValid(data, offset);
+  }
+
+  /**
+   * 规范化并验证身份证号码。
+   * <p>
+   * 在一次扫描中折叠全角数字、空格、连字符以及小写的校验码 {@code x}，同时计算校验码并检查
+   * 出生日期，不产生任何中间字符串。对于不含分隔符的半角输入，此函数的验证结果与
+   * {@link #validate(String)} 一致。
+   *
+   * @param number
+   *     待验证的身份证号码，可以为 {@code null}。
+   * @return 若规范化后的身份证号码合法则返回{@code true}，否则返回{@code false}。
+   * @see ChineseNumberNormalizer#normalizeIdentityCard(CharSequence, char[], int)
+   */
+  public boolean validateNormalizing(@Nullable final CharSequence number) {
+    return ChineseNumberNormalizer.normalizeIdentityCard(number, null, 0) >= 0;
+  }
+
+  /**
+   * 规范化并验证身份证号码，返回其规范形式。
+   *
+   * @param number
+   *     要规范化的身份证号码，可以为 {@code null}。
+   * @return 规范形式，即以大写 {@code X} 作为校验码的18位身份证号码；若输入不是合法的身份证
+   *     号码，则返回{@code null}。
+   * @see ChineseNumberNormalizer#normalizeIdentityCard(CharSequence)
+   */
+  @Nullable
+  public String normalize(@Nullable final CharSequence number) {
+    return ChineseNumberNormalizer.normalizeIdentityCard(number);
+  }
+
+  /**
+   * 规范化并验证身份证号码，将其规范形式写入调用者提供的缓冲区。
+   *
+   * @param number
+   *     要规范化的身份证号码，可以为 {@code null}。
+   * @param buffer
+   *     用于保存规范形式的缓冲区，从{@code offset}开始至少要有18个元素。
+   * @param offset
+   *     规范形式在缓冲区中的起始位置。
+   * @return 写入的字符数，即18；若输入不是合法的身份证号码，则返回
+   *     {@link ChineseNumberNormalizer#INVALID}，此时缓冲区的内容是不确定的。
+   * @see ChineseNumberNormalizer#normalizeIdentityCard(CharSequence, char[], int)
+   */
+  public int normalize(@Nullable final CharSequence number, final char[] buffer,
+      final int offset) {
+    return ChineseNumberNormalizer.normalizeIdentityCard(number, buffer, offset);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public IncrementalValidator newIncrementalValidator() {
+    return new IdentityCardIncrementalValidator();
+  }
 }
@@ -15,6 +15,10 @@ import javax.annotation.RegEx;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import ltd.qubit.commons.validator.rule.impl.BatchKernels;
+import ltd.qubit.commons.validator.rule.impl.ChineseMobileUtils;
+import ltd.qubit.commons.validator.rule.impl.ChineseNumberNormalizer;
+
 /**
  * 中国大陆手机号码验证规则。
  *
@@ -40,19 +44,50 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @Immutable
 @ThreadSafe
-public class ChineseMobileValidationRule {
+public class ChineseMobileValidationRule implements IncrementalValidationRule<String> {
+
+  /**
+   * 手机号码的最大长度，即最长的前缀 "17951" 加上11位号码。
+   */
+  public static final int MAX_LENGTH = 16;
+
+  /**
+   * 允许的字符集。手机号码只能包含数字。
+   */
+  public static final InputCharset CHARSET = InputCharset.DIGITS;
+
+  /**
+   * 由 {@link #MAX_LENGTH} 和 {@link #CHARSET} 构成的预过滤器。
+   */
+  public static final InputPrefilter PREFILTER = new InputPrefilter(MAX_LENGTH, CHARSET);
 
   /**
    * {@link ChineseMobileValidationRule} 的单例实例。
    */
   public static final ChineseMobileValidationRule INSTANCE = new ChineseMobileValidationRule();
 
+  /**
+   * 不含前缀的手机号码的长度。
+   */
+  private static final int NUMBER_LENGTH = 11;
+
   @RegEx
   private static final String REGEX =
       "^(0|86|17951)?(13[0-9]|14[5-9]|15[0-35-9]|16[5-6]|17[0-8]|18[0-9]|19[89])[0-9]{8}$";
 
   private static final Pattern PATTERN = Pattern.compile(REGEX);
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * 手机号码的正则表达式只接受不超过 {@value #MAX_LENGTH} 位的数字，因此此规则蕴含
+   * {@link #PREFILTER}。
+   */
+  @Override
+  public InputPrefilter getPrefilter() {
+    return PREFILTER;
+  }
+
   /**
    * 验证给定的字符串是否是一个合法的中国大陆手机号码。
    *
@@ -62,10 +97,168 @@ public class ChineseMobileValidationRule {
    *     如果字符串是一个合法的中国大陆手机号码，则返回 {@code true}；否则返回 {@code false}。
    *     如果输入为 {@code null} 或空字符串，也返回 {@code false}。
    */
+  @Override
   public boolean validate(@Nullable final String mobile) {
     if (mobile == null || mobile.isEmpty()) {
       return false;
     }
     return PATTERN.matcher(mobile).matches();
   }
+
+  /**
+   * 验证给定的字符串是否是一个合法的中国大陆手机号码，并给出不合法的原因。
+   * <p>
+   * 此函数不使用正则表达式，也不分配任何对象，其结果是否为 {@link ValidationOutcome#VALID}
+   * 与 {@link #validate(String)} 的结果一致。依次检查：
+   * <ol>
+   * <li>长度必须是11位号码的长度，或者加上 "0"、"86" 或 "17951" 前缀后的长度，否则为
+   *     {@link ValidationOutcome#BAD_LENGTH}；</li>
+   * <li>所有字符必须是数字，否则为 {@link ValidationOutcome#NON_DIGIT}；</li>
+   * <li>前缀和号段必须合法，否则为 {@link ValidationOutcome#BAD_PREFIX}。</li>
+   * </ol>
+   *
+   * @param mobile
+   *     要验证的手机号码字符串，可以为 {@code null}。
+   * @return 验证的结果；若输入为 {@code null}，则返回 {@link ValidationOutcome#NULL_VALUE}。
+   */
+  @Override
+  public ValidationOutcome check(@Nullable final String mobile) {
+    if (mobile == null) {
+      return ValidationOutcome.NULL_VALUE;
+    }
+    final int n = mobile.length();
+    final String prefix;
+    switch (n) {
+      case NUMBER_LENGTH:
+        prefix = "";
+        break;
+      case NUMBER_LENGTH + 1:
+        prefix = "0";
+        break;
+      case NUMBER_LENGTH + 2:
+        prefix = "86";
+        break;
+      case NUMBER_LENGTH + 5:
+        prefix = "17951";
+        break;
+      default:
+        return ValidationOutcome.BAD_LENGTH;
+    }
+    for (int i = 0; i < n; ++i) {
+      final char ch = mobile.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return ValidationOutcome.NON_DIGIT;
+      }
+    }
+    final int offset = prefix.length();
+    if (!mobile.startsWith(prefix)
+        || !ChineseMobileUtils.isPrefixValid(mobile.charAt(offset) - '0',
+            mobile.charAt(offset + 1) - '0', mobile.charAt(offset + 2) - '0')) {
+      return ValidationOutcome.BAD_PREFIX;
+    }
+    return ValidationOutcome.VALID;
+  }
+
+  /**
+   * 批量验证手机号码。
+   * <p>
+   * 此函数的验证结果与对每个号码分别调用 {@link #validate(String)} 的结果一致。对于不含前缀
+   * 的11位号码，不使用正则表达式而直接检查数字和号段；若显式启用了向量化的实现，则同时检查
+   * 多个号码的数字范围，详见 {@link BatchKernels}。
+   *
+   * @param numbers
+   *     待验证的手机号码，其中的元素可以为 {@code null}。
+   * @param results
+   *     用于存放验证结果的数组，{@code results[i]} 对应 {@code numbers[i]}，其长度不能
+   *     小于 {@code numbers} 的长度。
+   * @return 合法的手机号码的数目。
+   */
+  public int validateAll(final CharSequence[] numbers, final boolean[] results) {
+    if (results.length < numbers.length) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+    return BatchKernels.get().validateMobiles(numbers, 0, numbers.length, results);
+  }
+
+  /**
+   * 规范化并验证手机号码。
+   * <p>
+   * 在一次扫描中折叠全角数字、空格、连字符以及 "+86" 前缀，并验证折叠后的号码，不产生任何
+   * 中间字符串。对于只包含半角数字的输入，此函数的验证结果与 {@link #validate(String)} 一致。
+   *
+   * @param mobile
+   *     要验证的手机号码，可以为 {@code null}。
+   * @return 若规范化后的号码是一个合法的中国大陆手机号码，则返回 {@code true}；否则返回
+   *     {@code false}。
+   * @see ChineseNumberNormalizer#parseMobile(CharSequence)
+   */
+  public boolean validateNormalizing(@Nullable final CharSequence mobile) {
+    return ChineseNumberNormalizer.parseMobile(mobile) >= 0;
+  }
+
+  /**
+   * 验证手机号码，并将其解析为不含前缀的11位号码的数值。
+   * <p>
+   * 此函数在验证的同一次扫描中累积号码的数值，不分配任何对象。其验证结果与
+   * {@link #validate(String)} 一致，得到的数值可以直接用于查找 {@link MobileNumberList}。
+   *
+   * @param mobile
+   *     要验证的手机号码，可以为 {@code null}。
+   * @return 不含前缀的11位手机号码的数值；若输入不是合法的手机号码，则返回
+   *     {@link ChineseNumberNormalizer#INVALID}。
+   */
+  public long parse(@Nullable final CharSequence mobile) {
+    return ChineseNumberNormalizer.parseMobile(mobile, false);
+  }
+
+  /**
+   * 规范化并验证手机号码，并将其解析为不含前缀的11位号码的数值。
+   *
+   * @param mobile
+   *     要验证的手机号码，可以为 {@code null}。
+   * @return 不含前缀的11位手机号码的数值；若输入不是合法的手机号码，则返回
+   *     {@link ChineseNumberNormalizer#INVALID}。
+   * @see #validateNormalizing(CharSequence)
+   */
+  public long parseNormalizing(@Nullable final CharSequence mobile) {
+    return ChineseNumberNormalizer.parseMobile(mobile, true);
+  }
+
+  /**
+   * 规范化并验证手机号码，返回其规范形式。
+   *
+   * @param mobile
+   *     要规范化的手机号码，可以为 {@code null}。
+   * @return 规范形式，即不含前缀的11位手机号码；若输入不是合法的手机号码，则返回
+   *     {@code null}。
+   * @see ChineseNumberNormalizer#normalizeMobile(CharSequence)
+   */
+  @Nullable
+  public String normalize(@Nullable final CharSequence mobile) {
+    return ChineseNumberNormalizer.normalizeMobile(mobile);
+  }
+
+  /**
+   * 规范化并验证手机号码，将其规范形式写入调用者提供的缓冲区。
+   *
+   * @param mobile
+   *     要规范化的手机号码，可以为 {@code null}。
+   * @param buffer
+   *     用于保存规范形式的缓冲区，从{@code offset}开始至少要有11个元素。
+   * @param offset
+   *     规范形式在缓冲区中的起始位置。
+   * @return 写入的字符数，即11；若输入不是合法的手机号码，则返回
+   *     {@link ChineseNumberNormalizer#INVALID}。
+   * @see ChineseNumberNormalizer#normalizeMobile(CharSequence, char[], int)
+   */
+  public int normalize(@Nullable final CharSequence mobile, final char[] buffer,
+      final int offset) {
+    return ChineseNumberNormalizer.normalizeMobile(mobile, buffer, offset);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public IncrementalValidator newIncrementalValidator() {
+    return new MobileIncrementalValidator();
+  }
 }
@@ -13,6 +13,8 @@ import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
+import ltd.qubit.commons.validator.rule.impl.BudgetExceededException;
+
 /**
  * 此规则用于验证十进制小数的字符串表示形式。
  * <p>
@@ -22,7 +24,7 @@ import javax.annotation.concurrent.Immutable;
  * @author 胡海星
  */
 @Immutable
-public class DecimalValidationRule implements ValidationRule<String> {
+public class DecimalValidationRule implements BudgetedValidationRule<String> {
 
   /**
    * 用于验证十进制小数字符串的正则表达式。
@@ -48,4 +50,19 @@ public class DecimalValidationRule implements ValidationRule<String> {
   public boolean validate(@Nullable final String str) {
     return (str != null) && REGEXP.matcher(str).matches();
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public BudgetedValidationResult validate(@Nullable final String str,
+      final ValidationBudget budget) {
+    if (str == null) {
+      return BudgetedValidationResult.INVALID;
+    }
+    try {
+      final boolean valid = ValidationBudget.matches(REGEXP, str, budget.start());
+      return (valid ? BudgetedValidationResult.VALID : BudgetedValidationResult.INVALID);
+    } catch (final BudgetExceededException e) {
+      return BudgetedValidationResult.BUDGET_EXCEEDED;
+    }
+  }
 }
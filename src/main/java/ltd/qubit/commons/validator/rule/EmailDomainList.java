@@ -0,0 +1,139 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.validator.rule.impl.EmailDomainSet;
+
+/**
+ * 具名的电子邮件域名名单，例如一次性邮箱域名的黑名单，或者某个租户的域名白名单。
+ * <p>
+ * 每个名称对应唯一的一个 {@link EmailDomainList} 对象，它持有名单的当前快照，即一个不可变的
+ * {@link EmailDomainSet}。重新加载名单时先在后台构造新的快照，再通过一次 volatile 写替换
+ * 旧的快照，因此正在进行的验证看到的总是一个完整的名单，且查找不需要加锁。
+ * <p>
+ * 名单可以在被 {@link ltd.qubit.commons.validator.annotation.Email#blocklist()} 等属性引用
+ * 之后才加载；在加载之前名单为空，且 {@link #isLoaded()} 返回{@code false}。与
+ * {@link MobileNumberList} 一样，未加载的名单按空名单处理：作为黑名单时不拒绝任何地址，作为
+ * 白名单时拒绝所有地址。例如：
+ * <pre><code>
+ * EmailDomainList.get("disposable").load(Paths.get("/data/disposable-domains.txt"));
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public final class EmailDomainList {
+
+  private static final Map<String, EmailDomainList> LISTS = new ConcurrentHashMap<>();
+
+  private final String name;
+  private volatile EmailDomainSet snapshot = EmailDomainSet.EMPTY;
+  private volatile boolean loaded = false;
+
+  private EmailDomainList(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * 获取指定名称的名单，若不存在则创建一个空名单。
+   *
+   * @param name
+   *     名单的名称。
+   * @return 指定名称的名单。
+   */
+  public static EmailDomainList get(final String name) {
+    return LISTS.computeIfAbsent(name, EmailDomainList::new);
+  }
+
+  /**
+   * 获取此名单的名称。
+   *
+   * @return 此名单的名称。
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 获取此名单的当前快照。
+   *
+   * @return 此名单的当前快照，不会为{@code null}。
+   */
+  public EmailDomainSet getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * 判断此名单是否已经加载，即是否调用过 {@link #replace(EmailDomainSet)} 或
+   * {@link #load(Path)}。
+   *
+   * @return 若此名单已经加载则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * 判断指定的电子邮件地址的域名或其某个上级域名是否在此名单的当前快照中。
+   * <p>
+   * 此函数不区分大小写，且不分配任何对象。
+   *
+   * @param email
+   *     电子邮件地址。
+   * @return 若该地址的域名或其某个上级域名在此名单中则返回{@code true}，否则返回
+   *     {@code false}。
+   * @see EmailDomainSet#matchesEmail(CharSequence)
+   */
+  public boolean matchesEmail(final CharSequence email) {
+    return snapshot.matchesEmail(email);
+  }
+
+  /**
+   * 用新的快照原子地替换此名单的当前快照。
+   *
+   * @param set
+   *     新的快照。
+   * @return 被替换的快照。
+   */
+  public synchronized EmailDomainSet replace(final EmailDomainSet set) {
+    if (set == null) {
+      throw new NullPointerException("set");
+    }
+    final EmailDomainSet old = snapshot;
+    snapshot = set;
+    loaded = true;
+    return old;
+  }
+
+  /**
+   * 读取指定的域名文件，并用它原子地替换此名单的当前快照。
+   * <p>
+   * 若加载失败，则当前快照保持不变。
+   *
+   * @param file
+   *     文本形式的域名文件，参见 {@link EmailDomainSet}。
+   * @throws IOException
+   *     若读取文件失败，或者文件的格式不正确。
+   */
+  public void load(final Path file) throws IOException {
+    replace(EmailDomainSet.load(file));
+  }
+
+  @Override
+  public String toString() {
+    return "EmailDomainList[" + name + ", size = " + snapshot.size() + "]";
+  }
+}
@@ -0,0 +1,149 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * {@link EmailValidationRule} 的增量验证器。
+ * <p>
+ * 此验证器是与 {@link EmailValidationRule} 的正则表达式等价的确定性有限自动机。该正则表达式
+ * 要求：
+ * <ul>
+ * <li>本地部分由 atext 字符组成，不以 {@code '.'} 开头或结尾，不含连续的 {@code '.'}，且首
+ *     字符不能是 {@code '`'}；</li>
+ * <li>域名以字母或数字开头，其中每个 {@code '.'} 之后都是字母或数字；</li>
+ * <li>域名的最后一个 {@code '.'} 之前是字母或数字，之后的顶级域名以字母开头，至少包含两个
+ *     字母或数字，不含连续的 {@code '-'}，也不以 {@code '-'} 结尾。</li>
+ * </ul>
+ * 前两个条件只与相邻的字符有关，违反它们的前缀不可能被扩展为合法的地址；顶级域名的条件只
+ * 决定已输入的内容是否合法，因为任何域名都可以在其后追加一个新的顶级域名。
+ *
+ * @author 胡海星
+ * @see EmailValidationRule#newIncrementalValidator()
+ */
+@NotThreadSafe
+final class EmailIncrementalValidator extends IncrementalValidator {
+
+  /**
+   * 本地部分中除字母和数字以外允许的字符，首字符不能是 {@code '`'}。
+   */
+  private static final String LOCAL_SYMBOLS = "-!#$%&'*+/=?^_`{|}~";
+
+  private static final int NONE = 0;
+  private static final int ALNUM = 1;
+  private static final int HYPHEN = 2;
+  private static final int DOT = 3;
+  private static final int SYMBOL = 4;
+
+  private boolean inDomain;
+
+  /**
+   * 上一个字符的类别；在本地部分或者域名的开头为 {@link #NONE}。
+   */
+  private int previous = NONE;
+
+  /**
+   * 域名的最后一个 {@code '.'} 之前是否是字母或数字；若域名中没有 {@code '.'}，则为
+   * {@code false}。
+   */
+  private boolean lastDotAfterAlnum;
+
+  /**
+   * 域名的最后一个 {@code '.'} 之后的部分是否以字母开头且不含连续的 {@code '-'}。
+   */
+  private boolean labelWellFormed;
+
+  /**
+   * 域名的最后一个 {@code '.'} 之后的部分中字母和数字的数目，最多记到2。
+   */
+  private int labelAlnums;
+
+  @Override
+  protected boolean accept(final char ch, final int index) {
+    final int type = typeOf(ch);
+    final boolean accepted = (inDomain ? acceptDomain(type, ch) : acceptLocal(type, ch));
+    previous = (ch == '@' ? NONE : type);
+    return accepted;
+  }
+
+  private static int typeOf(final char ch) {
+    if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')) {
+      return ALNUM;
+    } else if (ch == '-') {
+      return HYPHEN;
+    } else if (ch == '.') {
+      return DOT;
+    } else if (LOCAL_SYMBOLS.indexOf(ch) >= 0) {
+      return SYMBOL;
+    } else {
+      return NONE;
+    }
+  }
+
+  private boolean acceptLocal(final int type, final char ch) {
+    if (previous == NONE) {
+      return type == ALNUM || type == HYPHEN || (type == SYMBOL && ch != '`');
+    }
+    if (ch == '@') {
+      inDomain = true;
+      return previous != DOT;
+    }
+    switch (type) {
+      case ALNUM:
+      case HYPHEN:
+      case SYMBOL:
+        return true;
+      case DOT:
+        return previous != DOT;
+      default:
+        return false;
+    }
+  }
+
+  private boolean acceptDomain(final int type, final char ch) {
+    switch (type) {
+      case ALNUM:
+        if (previous == DOT) {
+          labelWellFormed = Character.isLetter(ch);
+        }
+        if (labelAlnums < 2) {
+          ++labelAlnums;
+        }
+        return true;
+      case HYPHEN:
+        if (previous == HYPHEN) {
+          labelWellFormed = false;
+        }
+        return previous == ALNUM || previous == HYPHEN;
+      case DOT:
+        lastDotAfterAlnum = (previous == ALNUM);
+        labelWellFormed = false;
+        labelAlnums = 0;
+        return previous == ALNUM || previous == HYPHEN;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  protected boolean isComplete() {
+    return inDomain && lastDotAfterAlnum && labelWellFormed && labelAlnums >= 2
+        && previous == ALNUM;
+  }
+
+  @Override
+  protected void clear() {
+    inDomain = false;
+    previous = NONE;
+    lastDotAfterAlnum = false;
+    labelWellFormed = false;
+    labelAlnums = 0;
+  }
+}
@@ -15,6 +15,8 @@ import javax.annotation.RegEx;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import ltd.qubit.commons.validator.rule.impl.BudgetExceededException;
+
 /**
  * 电子邮件地址的验证规则。
  *
@@ -28,7 +30,28 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @Immutable
 @ThreadSafe
-public class EmailValidationRule implements ValidationRule<String> {
+public class EmailValidationRule implements BudgetedValidationRule<String>,
+    IncrementalValidationRule<String> {
+
+  /**
+   * 电子邮件地址的最大长度，参见 RFC 5321 对转发路径长度的限制。
+   */
+  public static final int MAX_LENGTH = 254;
+
+  /**
+   * 允许的字符集。电子邮件地址只能包含可打印的 ASCII 字符。
+   */
+  public static final InputCharset CHARSET = InputCharset.ASCII_PRINTABLE;
+
+  /**
+   * 由 {@link #MAX_LENGTH} 和 {@link #CHARSET} 构成的预过滤器。
+   */
+  public static final InputPrefilter PREFILTER = new InputPrefilter(MAX_LENGTH, CHARSET);
+
+  /**
+   * 此规则蕴含的预过滤器。正则表达式只接受可打印的 ASCII 字符，但并不限制长度。
+   */
+  private static final InputPrefilter IMPLIED_PREFILTER = new InputPrefilter(0, CHARSET);
 
   /**
    * {@link EmailValidationRule} 的单例实例。
@@ -42,6 +65,12 @@ public class EmailValidationRule implements ValidationRule<String> {
 
   private static final Pattern PATTERN = Pattern.compile(REGEX);
 
+  /** {@inheritDoc} */
+  @Override
+  public InputPrefilter getPrefilter() {
+    return IMPLIED_PREFILTER;
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean validate(@Nullable final String email) {
@@ -50,4 +79,47 @@ public class EmailValidationRule implements ValidationRule<String> {
     }
     return PATTERN.matcher(email).matches();
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * 空字符串的结果为 {@link ValidationOutcome#BAD_LENGTH}；包含 {@link #CHARSET} 以外的字符
+   * 的结果为 {@link ValidationOutcome#BAD_CHARSET}；不匹配电子邮件地址格式的结果为
+   * {@link ValidationOutcome#BAD_FORMAT}。
+   */
+  @Override
+  public ValidationOutcome check(@Nullable final String email) {
+    if (email == null) {
+      return ValidationOutcome.NULL_VALUE;
+    }
+    if (email.isEmpty()) {
+      return ValidationOutcome.BAD_LENGTH;
+    }
+    if (!CHARSET.accepts(email)) {
+      return ValidationOutcome.BAD_CHARSET;
+    }
+    return (PATTERN.matcher(email).matches() ? ValidationOutcome.VALID
+                                             : ValidationOutcome.BAD_FORMAT);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public BudgetedValidationResult validate(@Nullable final String email,
+      final ValidationBudget budget) {
+    if (email == null || email.isEmpty()) {
+      return BudgetedValidationResult.INVALID;
+    }
+    try {
+      final boolean valid = ValidationBudget.matches(PATTERN, email, budget.start());
+      return (valid ? BudgetedValidationResult.VALID : BudgetedValidationResult.INVALID);
+    } catch (final BudgetExceededException e) {
+      return BudgetedValidationResult.BUDGET_EXCEEDED;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public IncrementalValidator newIncrementalValidator() {
+    return new EmailIncrementalValidator();
+  }
 }
@@ -0,0 +1,88 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.DAY_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.MONTH_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.NUMBER_LENGTH;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.YEAR_INDEX;
+
+/**
+ * {@link ChineseIdentityCardRule} 的增量验证器。
+ * <p>
+ * 此验证器累积前17位数字的加权和，以及出生日期的年、月、日。月份和日期的每一位数字到达时，
+ * 立即检查是否还存在合法的日期；第18位到达时，用累积的加权和检查校验码。
+ *
+ * @author 胡海星
+ * @see ChineseIdentityCardRule#newIncrementalValidator()
+ */
+@NotThreadSafe
+final class IdentityCardIncrementalValidator extends IncrementalValidator {
+
+  private int sum;
+  private int year;
+  private int month;
+  private int day;
+
+  @Override
+  protected boolean accept(final char ch, final int index) {
+    if (index >= NUMBER_LENGTH) {
+      return false;
+    }
+    if (index == NUMBER_LENGTH - 1) {
+      return Character.toUpperCase(ch) == LAST_CHAR[sum % LAST_CHAR.length];
+    }
+    if (ch < '0' || ch > '9') {
+      return false;
+    }
+    final int digit = ch - '0';
+    sum += digit * RATIO[index];
+    if (index >= YEAR_INDEX && index < MONTH_INDEX) {
+      year = year * 10 + digit;
+    } else if (index == MONTH_INDEX) {
+      month = digit;
+      return digit <= 1;
+    } else if (index == MONTH_INDEX + 1) {
+      month = month * 10 + digit;
+      return month >= 1 && month <= 12;
+    } else if (index == DAY_INDEX) {
+      day = digit;
+      // 存在以此数字开头的合法日期
+      for (int d = 0; d < 10; ++d) {
+        if (ChineseIdentityCardUtils.isDateValid(year, month, digit * 10 + d)) {
+          return true;
+        }
+      }
+      return false;
+    } else if (index == DAY_INDEX + 1) {
+      day = day * 10 + digit;
+      return ChineseIdentityCardUtils.isDateValid(year, month, day);
+    }
+    return true;
+  }
+
+  @Override
+  protected boolean isComplete() {
+    return length() == NUMBER_LENGTH;
+  }
+
+  @Override
+  protected void clear() {
+    sum = 0;
+    year = 0;
+    month = 0;
+    day = 0;
+  }
+}
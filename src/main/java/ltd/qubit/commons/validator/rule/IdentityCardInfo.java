@@ -0,0 +1,393 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.time.LocalDate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.validator.rule.impl.ChineseAreaTable;
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.DAY_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.MONTH_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.NUMBER_LENGTH;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.YEAR_INDEX;
+
+/**
+ * 解析后的身份证号码。
+ * <p>
+ * 身份证号码的各个字段被压缩存放在一个 {@code long} 中（见{@link #getPacked()}），从低位到高位
+ * 依次为：
+ * <ul>
+ * <li>第0~3位：校验码的值，0~10，其中10表示 {@code 'X'}；</li>
+ * <li>第4~13位：顺序码，0~999；</li>
+ * <li>第14~18位：出生日期中的日；</li>
+ * <li>第19~22位：出生日期中的月；</li>
+ * <li>第23~36位：出生日期中的年；</li>
+ * <li>第37~56位：地区代码，0~999999。</li>
+ * </ul>
+ * 此对象只是压缩值的一个视图，所有字段都在访问时才解码；出生日期、地区代码的字符串以及地区
+ * 名称等对象也只在调用相应的函数时才创建。批量处理时可以使用
+ * {@link ChineseIdentityCardRule#parseAll(CharSequence[], long[])} 将压缩值写入调用者提供的
+ * {@code long} 数组，再用本类的静态函数直接从压缩值中解码所需的字段，而不创建任何对象。
+ *
+ * @author 胡海星
+ * @see ChineseIdentityCardRule#parse(CharSequence)
+ */
+@Immutable
+public final class IdentityCardInfo {
+
+  /**
+   * 表示解析失败的压缩值。合法的压缩值都是非负数。
+   */
+  public static final long INVALID = -1L;
+
+  private static final int CHECK_BITS = 4;
+  private static final int SEQUENCE_BITS = 10;
+  private static final int DAY_BITS = 5;
+  private static final int MONTH_BITS = 4;
+  private static final int YEAR_BITS = 14;
+  private static final int AREA_BITS = 20;
+
+  private static final int SEQUENCE_SHIFT = CHECK_BITS;
+  private static final int DAY_SHIFT = SEQUENCE_SHIFT + SEQUENCE_BITS;
+  private static final int MONTH_SHIFT = DAY_SHIFT + DAY_BITS;
+  private static final int YEAR_SHIFT = MONTH_SHIFT + MONTH_BITS;
+  private static final int AREA_SHIFT = YEAR_SHIFT + YEAR_BITS;
+
+  private static final int SEQUENCE_INDEX = DAY_INDEX + 2;
+  private static final int CHECK_X = 10;
+
+  private final long packed;
+
+  private IdentityCardInfo(final long packed) {
+    this.packed = packed;
+  }
+
+  /**
+   * 获取指定的压缩值的视图。
+   *
+   * @param packed
+   *     由 {@link #pack(CharSequence)} 或
+   *     {@link ChineseIdentityCardRule#parseAll(CharSequence[], long[])} 得到的压缩值。
+   * @return 该压缩值的视图。
+   * @throws IllegalArgumentException
+   *     若{@code packed}为负数。
+   */
+  public static IdentityCardInfo of(final long packed) {
+    if (packed < 0) {
+      throw new IllegalArgumentException("Invalid packed identity card: " + packed);
+    }
+    return new IdentityCardInfo(packed);
+  }
+
+  /**
+   * 验证并压缩一个身份证号码。
+   * <p>
+   * 验证的内容与 {@link ChineseIdentityCardRule#validate(String)} 相同，即长度、校验码和出生
+   * 日期；所有字段在同一次扫描中提取。此函数不分配任何对象。
+   *
+   * @param number
+   *     身份证号码，可以为{@code null}。
+   * @return 压缩值；若该身份证号码不合法，则返回{@link #INVALID}。
+   */
+  public static long pack(@Nullable final CharSequence number) {
+    if (number == null || number.length() != NUMBER_LENGTH) {
+      return INVALID;
+    }
+    int sum = 0;
+    long value = 0;
+    for (int i = 0; i < NUMBER_LENGTH - 1; ++i) {
+      final char ch = number.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return INVALID;
+      }
+      final int digit = ch - '0';
+      sum += digit * RATIO[i];
+      value = value * 10 + digit;
+    }
+    final int check = sum % LAST_CHAR.length;
+    if (Character.toUpperCase(number.charAt(NUMBER_LENGTH - 1)) != LAST_CHAR[check]) {
+      return INVALID;
+    }
+    // value 为前17位数字：6位地区码、8位出生日期和3位顺序码
+    final int sequence = (int) (value % 1000);
+    final int date = (int) (value / 1000 % 100_000_000L);
+    final int area = (int) (value / 1000 / 100_000_000L);
+    final int year = date / 10000;
+    final int month = date / 100 % 100;
+    final int day = date % 100;
+    if (!ChineseIdentityCardUtils.isDateValid(year, month, day)) {
+      return INVALID;
+    }
+    return ((long) area << AREA_SHIFT)
+        | ((long) year << YEAR_SHIFT)
+        | ((long) month << MONTH_SHIFT)
+        | ((long) day << DAY_SHIFT)
+        | ((long) sequence << SEQUENCE_SHIFT)
+        | (LAST_CHAR[check] == 'X' ? CHECK_X : LAST_CHAR[check] - '0');
+  }
+
+  private static int field(final long packed, final int shift, final int bits) {
+    return (int) (packed >>> shift) & ((1 << bits) - 1);
+  }
+
+  /**
+   * 从压缩值中解码地区代码。
+   *
+   * @param packed
+   *     合法的压缩值。
+   * @return 整数形式的6位地区代码。
+   */
+  public static int areaOf(final long packed) {
+    return field(packed, AREA_SHIFT, AREA_BITS);
+  }
+
+  /**
+   * 从压缩值中解码出生日期。
+   *
+   * @param packed
+   *     合法的压缩值。
+   * @return 形如 {@code YYYYMMDD} 的整数形式的出生日期，例如 {@code 19491001}。
+   */
+  public static int birthdayOf(final long packed) {
+    return field(packed, YEAR_SHIFT, YEAR_BITS) * 10000
+        + field(packed, MONTH_SHIFT, MONTH_BITS) * 100
+        + field(packed, DAY_SHIFT, DAY_BITS);
+  }
+
+  /**
+   * 从压缩值中解码性别。
+   *
+   * @param packed
+   *     合法的压缩值。
+   * @return 若为男性则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isMale(final long packed) {
+    // 顺序码的最后一位即身份证号码的倒数第2位，奇数为男性
+    return (field(packed, SEQUENCE_SHIFT, SEQUENCE_BITS) & 1) == 1;
+  }
+
+  /**
+   * 获取压缩值。
+   *
+   * @return 此对象的压缩值，总是非负数。
+   */
+  public long getPacked() {
+    return packed;
+  }
+
+  /**
+   * 获取整数形式的地区代码。
+   *
+   * @return 整数形式的6位地区代码，例如 {@code 320114}。
+   */
+  public int getArea() {
+    return areaOf(packed);
+  }
+
+  /**
+   * 获取地区代码。
+   *
+   * @return 6位数字构成的地区代码，例如 {@code "320114"}。
+   */
+  public String getAreaCode() {
+    return ChineseAreaTable.formatCode(getArea());
+  }
+
+  /**
+   * 获取所在省级行政区的整数形式的代码，即地区代码的后4位置为0。
+   *
+   * @return 所在省级行政区的代码，例如 {@code 320000}。
+   */
+  public int getProvince() {
+    return getArea() / 10000 * 10000;
+  }
+
+  /**
+   * 获取所在地级行政区的整数形式的代码，即地区代码的后2位置为0。
+   *
+   * @return 所在地级行政区的代码，例如 {@code 320100}。
+   */
+  public int getCity() {
+    return getArea() / 100 * 100;
+  }
+
+  /**
+   * 获取所在县级行政区的整数形式的代码，即完整的地区代码。
+   *
+   * @return 所在县级行政区的代码，例如 {@code 320114}。
+   */
+  public int getCounty() {
+    return getArea();
+  }
+
+  /**
+   * 获取所在省级行政区的名称。
+   * <p>
+   * 第一次调用时会加载行政区划代码表。
+   *
+   * @return 所在省级行政区的名称；若行政区划代码表中不存在该代码，则返回{@code null}。
+   */
+  @Nullable
+  public String getProvinceName() {
+    return ChineseIdentityCardUtils.getAreaIndex().getName(getProvince());
+  }
+
+  /**
+   * 获取所在地级行政区的名称。
+   * <p>
+   * 第一次调用时会加载行政区划代码表。
+   *
+   * @return 所在地级行政区的名称；若行政区划代码表中不存在该代码，则返回{@code null}。
+   */
+  @Nullable
+  public String getCityName() {
+    return ChineseIdentityCardUtils.getAreaIndex().getName(getCity());
+  }
+
+  /**
+   * 获取所在县级行政区的名称。
+   * <p>
+   * 第一次调用时会加载行政区划代码表。
+   *
+   * @return 所在县级行政区的名称；若行政区划代码表中不存在该代码，则返回{@code null}。
+   */
+  @Nullable
+  public String getCountyName() {
+    return ChineseIdentityCardUtils.getAreaIndex().getName(getCounty());
+  }
+
+  /**
+   * 获取所在地区的完整名称路径，例如 {@code "江苏省泰州市靖江市"}。
+   * <p>
+   * 第一次调用时会加载行政区划代码表。
+   *
+   * @return 所在地区的完整名称路径，是各级地区名称的视图；若行政区划代码表中不存在该代码，
+   *     则返回{@code null}。
+   * @see ltd.qubit.commons.validator.rule.impl.ChineseAreaIndex#getNamePath(int)
+   */
+  @Nullable
+  public CharSequence getAreaNamePath() {
+    return ChineseIdentityCardUtils.getAreaIndex().getNamePath(getArea());
+  }
+
+  /**
+   * 获取出生年份。
+   *
+   * @return 出生年份。
+   */
+  public int getYear() {
+    return field(packed, YEAR_SHIFT, YEAR_BITS);
+  }
+
+  /**
+   * 获取出生月份。
+   *
+   * @return 出生月份，1~12。
+   */
+  public int getMonth() {
+    return field(packed, MONTH_SHIFT, MONTH_BITS);
+  }
+
+  /**
+   * 获取出生日期中的日。
+   *
+   * @return 出生日期中的日，1~31。
+   */
+  public int getDay() {
+    return field(packed, DAY_SHIFT, DAY_BITS);
+  }
+
+  /**
+   * 获取出生日期。
+   *
+   * @return 出生日期。
+   */
+  public LocalDate getBirthday() {
+    return LocalDate.of(getYear(), getMonth(), getDay());
+  }
+
+  /**
+   * 获取顺序码。
+   *
+   * @return 顺序码，0~999。
+   */
+  public int getSequence() {
+    return field(packed, SEQUENCE_SHIFT, SEQUENCE_BITS);
+  }
+
+  /**
+   * 判断是否为男性。
+   *
+   * @return 若为男性则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isMale() {
+    return isMale(packed);
+  }
+
+  /**
+   * 获取性别。
+   *
+   * @return 性别，即字符串 "MALE" 或 "FEMALE"，与
+   *     {@link ChineseIdentityCardRule#getGender(String)} 的返回值一致。
+   */
+  public String getGender() {
+    return isMale() ? "MALE" : "FEMALE";
+  }
+
+  /**
+   * 获取校验码。
+   *
+   * @return 校验码，即 {@code '0'~'9'} 或 {@code 'X'}。
+   */
+  public char getCheckChar() {
+    final int check = field(packed, 0, CHECK_BITS);
+    return (check == CHECK_X ? 'X' : (char) ('0' + check));
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return (o instanceof IdentityCardInfo) && ((IdentityCardInfo) o).packed == packed;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(packed);
+  }
+
+  /**
+   * 获取规范形式的身份证号码，即以大写 {@code 'X'} 作为校验码的18位身份证号码。
+   *
+   * @return 规范形式的身份证号码。
+   */
+  @Override
+  public String toString() {
+    final char[] chars = new char[NUMBER_LENGTH];
+    fill(chars, 0, YEAR_INDEX, getArea());
+    fill(chars, YEAR_INDEX, MONTH_INDEX, getYear());
+    fill(chars, MONTH_INDEX, DAY_INDEX, getMonth());
+    fill(chars, DAY_INDEX, SEQUENCE_INDEX, getDay());
+    fill(chars, SEQUENCE_INDEX, NUMBER_LENGTH - 1, getSequence());
+    chars[NUMBER_LENGTH - 1] = getCheckChar();
+    return new String(chars);
+  }
+
+  private static void fill(final char[] chars, final int start, final int end, final int value) {
+    int v = value;
+    for (int i = end - 1; i >= start; --i) {
+      chars[i] = (char) ('0' + v % 10);
+      v /= 10;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+/**
+ * 增量验证的结果。
+ *
+ * @author 胡海星
+ * @see IncrementalValidator
+ */
+public enum IncrementalValidationResult {
+
+  /**
+   * 已输入的内容是一个合法的值。它可能还可以被扩展为另一个合法的值。
+   */
+  VALID,
+
+  /**
+   * 已输入的内容本身不合法，但存在以它为前缀的合法的值。
+   */
+  VALID_SO_FAR,
+
+  /**
+   * 不存在以已输入的内容为前缀的合法的值，后续的输入都将被忽略。
+   */
+  DEAD;
+
+  /**
+   * 判断已输入的内容是否是一个合法的值。
+   *
+   * @return 若已输入的内容是一个合法的值则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isValid() {
+    return this == VALID;
+  }
+
+  /**
+   * 判断是否存在以已输入的内容为前缀的合法的值。
+   *
+   * @return 若存在以已输入的内容为前缀的合法的值（包括已输入的内容本身）则返回{@code true}，
+   *     否则返回{@code false}。
+   */
+  public boolean isAlive() {
+    return this != DEAD;
+  }
+}
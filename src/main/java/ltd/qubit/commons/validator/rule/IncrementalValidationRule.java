@@ -0,0 +1,34 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+/**
+ * 支持增量验证的验证规则。
+ * <p>
+ * 对于逐个按键或者分块到达的输入，此接口的实现提供一个有状态的 {@link IncrementalValidator}，
+ * 每次只处理新到达的字符，而不必在每次输入之后重新验证整个字符串。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see IncrementalValidator
+ */
+public interface IncrementalValidationRule<T extends CharSequence> extends ValidationRule<T> {
+
+  /**
+   * 创建一个新的增量验证器。
+   * <p>
+   * 对于任意输入，向新创建的验证器依次追加其所有字符后，
+   * {@link IncrementalValidator#getResult()} 为 {@link IncrementalValidationResult#VALID}
+   * 当且仅当 {@link #validate(Object)} 返回{@code true}。
+   *
+   * @return 新创建的增量验证器，其初始状态对应空的输入。
+   */
+  IncrementalValidator newIncrementalValidator();
+}
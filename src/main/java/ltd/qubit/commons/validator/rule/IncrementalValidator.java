@@ -0,0 +1,142 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * 增量验证器。
+ * <p>
+ * 增量验证器逐个接收输入的字符，只保存常数大小的状态（一个自动机的状态以及校验和等累积值），
+ * 并在每次追加之后给出 {@link IncrementalValidationResult}：已输入的内容合法、尚不合法但可以
+ * 被扩展为合法的值，或者已经不可能合法。因此每次输入事件的工作量只与新到达的字符数成正比，
+ * 不可能合法的前缀在第一个出错的字符处即被拒绝，之后的输入不再被检查。
+ * <p>
+ * 增量验证器只支持在末尾追加字符。若输入被修改（例如用户删除了字符），调用 {@link #reset()}
+ * 后重新追加修改后的内容即可。
+ * <p>
+ * 此类的实例不是线程安全的；每个输入流或者表单字段应当使用各自的实例，由
+ * {@link IncrementalValidationRule#newIncrementalValidator()} 创建。
+ *
+ * @author 胡海星
+ * @see IncrementalValidationRule
+ */
+@NotThreadSafe
+public abstract class IncrementalValidator {
+
+  private int length;
+
+  private boolean dead;
+
+  /**
+   * 追加一个字符。
+   *
+   * @param ch
+   *     要追加的字符。
+   * @return 追加之后的验证结果。
+   */
+  public final IncrementalValidationResult append(final char ch) {
+    if (!dead) {
+      dead = !accept(ch, length);
+    }
+    ++length;
+    return getResult();
+  }
+
+  /**
+   * 追加一段字符。
+   *
+   * @param chunk
+   *     要追加的字符序列。
+   * @return 追加之后的验证结果。
+   */
+  public final IncrementalValidationResult append(final CharSequence chunk) {
+    return append(chunk, 0, chunk.length());
+  }
+
+  /**
+   * 追加字符序列中指定范围内的字符。
+   *
+   * @param chunk
+   *     字符序列。
+   * @param start
+   *     要追加的字符的起始位置（含）。
+   * @param end
+   *     要追加的字符的结束位置（不含）。
+   * @return 追加之后的验证结果。
+   */
+  public final IncrementalValidationResult append(final CharSequence chunk, final int start,
+      final int end) {
+    int i = start;
+    while (i < end && !dead) {
+      dead = !accept(chunk.charAt(i++), length++);
+    }
+    length += end - i;
+    return getResult();
+  }
+
+  /**
+   * 获取当前的验证结果。
+   *
+   * @return 对已追加的所有字符的验证结果。
+   */
+  public final IncrementalValidationResult getResult() {
+    if (dead) {
+      return IncrementalValidationResult.DEAD;
+    }
+    return (isComplete() ? IncrementalValidationResult.VALID
+                         : IncrementalValidationResult.VALID_SO_FAR);
+  }
+
+  /**
+   * 获取已追加的字符数。
+   *
+   * @return 已追加的字符数，包括被忽略的字符。
+   */
+  public final int length() {
+    return length;
+  }
+
+  /**
+   * 将此验证器恢复为初始状态，即对应空的输入。
+   */
+  public final void reset() {
+    length = 0;
+    dead = false;
+    clear();
+  }
+
+  /**
+   * 处理一个新追加的字符，更新此验证器的状态。
+   * <p>
+   * 只有在已追加的内容还可能被扩展为合法的值时才会调用此函数。
+   *
+   * @param ch
+   *     新追加的字符。
+   * @param index
+   *     该字符在输入中的位置，即在它之前已追加的字符数。
+   * @return 若追加此字符之后仍然存在以已输入的内容为前缀的合法的值，则返回{@code true}；
+   *     否则返回{@code false}。
+   */
+  protected abstract boolean accept(char ch, int index);
+
+  /**
+   * 判断已追加的内容是否是一个合法的值。
+   * <p>
+   * 只有在 {@link #accept(char, int)} 从未返回{@code false}时才会调用此函数。
+   *
+   * @return 若已追加的内容是一个合法的值则返回{@code true}，否则返回{@code false}。
+   */
+  protected abstract boolean isComplete();
+
+  /**
+   * 将子类的状态恢复为初始状态。
+   */
+  protected abstract void clear();
+}
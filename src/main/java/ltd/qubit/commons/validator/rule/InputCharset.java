@@ -0,0 +1,199 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+/**
+ * 输入字符串允许使用的字符集，用于在执行完整的验证之前快速拒绝明显不合法的输入。
+ *
+ * @author 胡海星
+ * @see InputPrefilter
+ */
+public enum InputCharset {
+
+  /**
+   * 允许任何字符。
+   */
+  ANY,
+
+  /**
+   * 只允许 ASCII 字符，即 {@code U+0000} 至 {@code U+007F}。
+   */
+  ASCII,
+
+  /**
+   * 只允许可打印的 ASCII 字符，即 {@code U+0020} 至 {@code U+007E}。
+   */
+  ASCII_PRINTABLE,
+
+  /**
+   * 只允许数字 {@code '0'~'9'}。
+   */
+  DIGITS,
+
+  /**
+   * 只允许数字 {@code '0'~'9'} 以及字母 {@code 'X'} 和 {@code 'x'}。
+   */
+  DIGITS_OR_X;
+
+  /**
+   * 判断指定的字符序列中的所有字符是否都属于此字符集。
+   *
+   * @param str
+   *     待判断的字符序列。
+   * @return 若所有字符都属于此字符集则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean accepts(final CharSequence str) {
+    final int n = str.length();
+    switch (this) {
+      case ASCII:
+        for (int i = 0; i < n; ++i) {
+          if (str.charAt(i) >= 0x80) {
+            return false;
+          }
+        }
+        return true;
+      case ASCII_PRINTABLE:
+        for (int i = 0; i < n; ++i) {
+          final char ch = str.charAt(i);
+          if (ch < 0x20 || ch > 0x7E) {
+            return false;
+          }
+        }
+        return true;
+      case DIGITS:
+        for (int i = 0; i < n; ++i) {
+          final char ch = str.charAt(i);
+          if (ch < '0' || ch > '9') {
+            return false;
+          }
+        }
+        return true;
+      case DIGITS_OR_X:
+        for (int i = 0; i < n; ++i) {
+          final char ch = str.charAt(i);
+          if ((ch < '0' || ch > '9') && (ch | 0x20) != 'x') {
+            return false;
+          }
+        }
+        return true;
+      case ANY:
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * 获取此字符集与另一字符集的交集。
+   * <p>
+   * 各个字符集之间是包含关系：{@link #DIGITS} ⊂ {@link #DIGITS_OR_X} ⊂
+   * {@link #ASCII_PRINTABLE} ⊂ {@link #ASCII} ⊂ {@link #ANY}，因此交集就是二者中较小的一个。
+   *
+   * @param other
+   *     另一字符集。
+   * @return 两个字符集的交集。
+   */
+  public InputCharset intersect(final InputCharset other) {
+    return (rank() >= other.rank() ? this : other);
+  }
+
+  /**
+   * 获取此字符集与另一字符集的并集，即二者中较大的一个。
+   *
+   * @param other
+   *     另一字符集。
+   * @return 两个字符集的并集。
+   * @see #intersect(InputCharset)
+   */
+  public InputCharset union(final InputCharset other) {
+    return (rank() <= other.rank() ? this : other);
+  }
+
+  /**
+   * 获取此字符集在包含关系中的次序，越小的字符集次序越大。
+   */
+  private int rank() {
+    switch (this) {
+      case ASCII:
+        return 1;
+      case ASCII_PRINTABLE:
+        return 2;
+      case DIGITS_OR_X:
+        return 3;
+      case DIGITS:
+        return 4;
+      case ANY:
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * 获取此字符集在 {@link #classify(CharSequence)} 返回的位掩码中对应的位。
+   *
+   * @return 此字符集对应的位。
+   */
+  public int bit() {
+    return 1 << ordinal();
+  }
+
+  /**
+   * 以一次扫描判断指定的字符序列属于哪些字符集。
+   * <p>
+   * 需要用多个字符集判断同一个输入时（例如组合多个验证规则时），用此函数扫描一次输入，再用
+   * {@link #accepts(int)} 检查返回的位掩码，比分别调用各个字符集的
+   * {@link #accepts(CharSequence)} 更高效。
+   *
+   * @param str
+   *     待判断的字符序列。
+   * @return 位掩码，若字符序列中的所有字符都属于某个字符集，则该字符集的 {@link #bit()} 被
+   *     置位。
+   */
+  public static int classify(final CharSequence str) {
+    final int n = str.length();
+    boolean printable = true;
+    boolean digits = true;
+    boolean digitsOrX = true;
+    for (int i = 0; i < n; ++i) {
+      final char ch = str.charAt(i);
+      if (ch >= 0x80) {
+        return ANY_BIT;
+      }
+      if (ch < '0' || ch > '9') {
+        digits = false;
+        if ((ch | 0x20) != 'x') {
+          digitsOrX = false;
+        }
+        if (ch < 0x20 || ch > 0x7E) {
+          printable = false;
+        }
+      }
+    }
+    return ANY_BIT | ASCII_BIT
+        | (printable ? ASCII_PRINTABLE_BIT : 0)
+        | (digits ? DIGITS_BIT : 0)
+        | (digitsOrX ? DIGITS_OR_X_BIT : 0);
+  }
+
+  /**
+   * 根据 {@link #classify(CharSequence)} 返回的位掩码判断输入是否属于此字符集。
+   *
+   * @param mask
+   *     {@link #classify(CharSequence)} 返回的位掩码。
+   * @return 若输入的所有字符都属于此字符集则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean accepts(final int mask) {
+    return (mask & bit()) != 0;
+  }
+
+  private static final int ANY_BIT = 1;
+  private static final int ASCII_BIT = 1 << 1;
+  private static final int ASCII_PRINTABLE_BIT = 1 << 2;
+  private static final int DIGITS_BIT = 1 << 3;
+  private static final int DIGITS_OR_X_BIT = 1 << 4;
+}
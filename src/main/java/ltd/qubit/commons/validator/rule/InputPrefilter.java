@@ -0,0 +1,188 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 在执行完整的验证之前，快速拒绝明显不合法的输入的预过滤器。
+ * <p>
+ * 预过滤器首先以O(1)的代价检查输入的长度，再以一次线性扫描检查输入中的字符是否都属于允许的
+ * {@link InputCharset 字符集}。只有通过预过滤的输入才需要执行代价较高的完整验证（例如正则
+ * 表达式匹配），因此超长的输入或包含非法字符的输入无法消耗大量的验证时间。
+ * <p>
+ * 预过滤器只用于拒绝输入：通过预过滤的输入仍然需要执行完整的验证。{@code null} 总是能通过
+ * 预过滤，由完整的验证决定其是否合法。
+ *
+ * @author 胡海星
+ */
+@Immutable
+public final class InputPrefilter {
+
+  /**
+   * 不拒绝任何输入的预过滤器。
+   */
+  public static final InputPrefilter NONE = new InputPrefilter(0, InputCharset.ANY);
+
+  private final int maxLength;
+  private final InputCharset charset;
+
+  /**
+   * 构造一个 {@link InputPrefilter}。
+   *
+   * @param maxLength
+   *     允许的最大长度（以 UTF-16 代码单元计）；为0或负数时不限制长度。
+   * @param charset
+   *     允许的字符集。
+   */
+  public InputPrefilter(final int maxLength, final InputCharset charset) {
+    this.maxLength = Math.max(maxLength, 0);
+    this.charset = charset;
+  }
+
+  /**
+   * 获取允许的最大长度。
+   *
+   * @return 允许的最大长度；为0时不限制长度。
+   */
+  public int getMaxLength() {
+    return maxLength;
+  }
+
+  /**
+   * 获取允许的字符集。
+   *
+   * @return 允许的字符集。
+   */
+  public InputCharset getCharset() {
+    return charset;
+  }
+
+  /**
+   * 判断此预过滤器是否不拒绝任何输入。
+   *
+   * @return 若此预过滤器不拒绝任何输入则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isNone() {
+    return maxLength == 0 && charset == InputCharset.ANY;
+  }
+
+  /**
+   * 判断指定的输入是否通过预过滤。
+   *
+   * @param str
+   *     待判断的输入，可以为{@code null}。
+   * @return 若输入通过预过滤则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean accepts(@Nullable final CharSequence str) {
+    if (str == null) {
+      return true;
+    }
+    if (maxLength > 0 && str.length() > maxLength) {
+      return false;
+    }
+    return charset.accepts(str);
+  }
+
+  /**
+   * 判断指定的输入是否通过预过滤，并给出未通过的原因。
+   *
+   * @param str
+   *     待判断的输入，可以为{@code null}。
+   * @return 若输入通过预过滤则返回 {@link ValidationOutcome#VALID}；若输入过长则返回
+   *     {@link ValidationOutcome#BAD_LENGTH}；若输入包含不允许的字符则返回
+   *     {@link ValidationOutcome#BAD_CHARSET}。
+   * @see #accepts(CharSequence)
+   */
+  public ValidationOutcome check(@Nullable final CharSequence str) {
+    if (str == null) {
+      return ValidationOutcome.VALID;
+    }
+    if (maxLength > 0 && str.length() > maxLength) {
+      return ValidationOutcome.BAD_LENGTH;
+    }
+    return (charset.accepts(str) ? ValidationOutcome.VALID : ValidationOutcome.BAD_CHARSET);
+  }
+
+  /**
+   * 根据输入的长度和 {@link InputCharset#classify(CharSequence)} 的结果判断输入是否通过
+   * 预过滤。
+   * <p>
+   * 多个预过滤器判断同一个输入时，只需扫描一次输入。
+   *
+   * @param length
+   *     输入的长度。
+   * @param charsetMask
+   *     {@link InputCharset#classify(CharSequence)} 返回的位掩码。
+   * @return 若输入通过预过滤则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean accepts(final int length, final int charsetMask) {
+    return (maxLength == 0 || length <= maxLength) && charset.accepts(charsetMask);
+  }
+
+  /**
+   * 对一组输入执行预过滤。
+   *
+   * @param values
+   *     待判断的输入，其中的元素可以为{@code null}。
+   * @param results
+   *     用于保存结果的数组，{@code results[i]}表示{@code values[i]}是否通过预过滤；其长度
+   *     不能小于{@code values}的长度。
+   * @return 通过预过滤的输入的数目。
+   */
+  public int acceptAll(final CharSequence[] values, final boolean[] results) {
+    checkLength(values, results);
+    int count = 0;
+    for (int i = 0; i < values.length; ++i) {
+      final boolean accepted = accepts(values[i]);
+      results[i] = accepted;
+      if (accepted) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 先对一组输入执行预过滤，再用指定的规则验证通过预过滤的输入。
+   * <p>
+   * 未通过预过滤的输入直接被判定为不合法，不会交给规则验证。
+   *
+   * @param values
+   *     待验证的输入，其中的元素可以为{@code null}。
+   * @param rule
+   *     用于完整验证的规则。
+   * @param results
+   *     用于保存结果的数组，{@code results[i]}表示{@code values[i]}是否合法；其长度不能小于
+   *     {@code values}的长度。
+   * @return 合法的输入的数目。
+   */
+  public int validateAll(final CharSequence[] values, final ValidationRule<String> rule,
+      final boolean[] results) {
+    checkLength(values, results);
+    int count = 0;
+    for (int i = 0; i < values.length; ++i) {
+      final CharSequence value = values[i];
+      final boolean valid = accepts(value)
+          && rule.validate(value == null ? null : value.toString());
+      results[i] = valid;
+      if (valid) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private static void checkLength(final CharSequence[] values, final boolean[] results) {
+    if (results.length < values.length) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+  }
+}
@@ -0,0 +1,74 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * {@link IntegerValidationRule} 的增量验证器。
+ * <p>
+ * 此验证器是与 {@link IntegerValidationRule#REGEXP} 等价的确定性有限自动机。
+ *
+ * @author 胡海星
+ * @see IntegerValidationRule#newIncrementalValidator()
+ */
+@NotThreadSafe
+final class IntegerIncrementalValidator extends IncrementalValidator {
+
+  private static final int LEADING_SPACES = 0;
+  private static final int SIGN = 1;
+  private static final int DIGITS = 2;
+  private static final int TRAILING_SPACES = 3;
+
+  private int state = LEADING_SPACES;
+
+  @Override
+  protected boolean accept(final char ch, final int index) {
+    final boolean digit = (ch >= '0' && ch <= '9');
+    switch (state) {
+      case LEADING_SPACES:
+        if (digit) {
+          state = DIGITS;
+          return true;
+        } else if (ch == '+' || ch == '-') {
+          state = SIGN;
+          return true;
+        }
+        return isSpace(ch);
+      case SIGN:
+        state = DIGITS;
+        return digit;
+      case DIGITS:
+        if (digit) {
+          return true;
+        }
+        state = TRAILING_SPACES;
+        return isSpace(ch);
+      default:
+        return isSpace(ch);
+    }
+  }
+
+  /**
+   * 判断字符是否匹配正则表达式的 {@code \s}，即 {@code [ \t\n\x0B\f\r]}。
+   */
+  private static boolean isSpace(final char ch) {
+    return ch == ' ' || (ch >= '\t' && ch <= '\r');
+  }
+
+  @Override
+  protected boolean isComplete() {
+    return state == DIGITS || state == TRAILING_SPACES;
+  }
+
+  @Override
+  protected void clear() {
+    state = LEADING_SPACES;
+  }
+}
@@ -21,7 +21,7 @@ import javax.annotation.concurrent.Immutable;
  * @author 胡海星
  */
 @Immutable
-public class IntegerValidationRule implements ValidationRule<String> {
+public class IntegerValidationRule implements IncrementalValidationRule<String> {
 
   /**
    * 用于验证十进制整数的正则表达式。
@@ -40,4 +40,10 @@ public class IntegerValidationRule implements ValidationRule<String> {
   public boolean validate(@Nullable final String str) {
     return (str != null) && REGEXP.matcher(str).matches();
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public IncrementalValidator newIncrementalValidator() {
+    return new IntegerIncrementalValidator();
+  }
 }
@@ -0,0 +1,71 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 要求字符序列的长度在指定范围内的规则，{@code null} 不合法。
+ *
+ * @author 胡海星
+ * @see ValidationRules#lengthBetween(int, int)
+ */
+@Immutable
+final class LengthRule implements ValidationRule<CharSequence> {
+
+  private final int minLength;
+  private final int maxLength;
+
+  LengthRule(final int minLength, final int maxLength) {
+    this.minLength = minLength;
+    this.maxLength = maxLength;
+  }
+
+  int getMinLength() {
+    return minLength;
+  }
+
+  int getMaxLength() {
+    return maxLength;
+  }
+
+  @Override
+  public boolean validate(@Nullable final CharSequence str) {
+    if (str == null) {
+      return false;
+    }
+    final int n = str.length();
+    return n >= minLength && n <= maxLength;
+  }
+
+  @Override
+  public ValidationOutcome check(@Nullable final CharSequence str) {
+    if (str == null) {
+      return ValidationOutcome.NULL_VALUE;
+    }
+    return (validate(str) ? ValidationOutcome.VALID : ValidationOutcome.BAD_LENGTH);
+  }
+
+  @Override
+  public int getCost() {
+    return CONSTANT_COST;
+  }
+
+  @Override
+  public InputPrefilter getPrefilter() {
+    return new InputPrefilter(maxLength == Integer.MAX_VALUE ? 0 : maxLength,
+        InputCharset.ANY);
+  }
+
+  @Override
+  public String toString() {
+    return "lengthBetween(" + minLength + ", " + maxLength + ")";
+  }
+}
@@ -0,0 +1,111 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.validator.jfr.SlowValidationEvent;
+import ltd.qubit.commons.validator.jfr.ValidationEvent;
+import ltd.qubit.commons.validator.jfr.ValidationEvents;
+import ltd.qubit.commons.validator.metrics.ValidationMetrics;
+import ltd.qubit.commons.validator.metrics.ValidationMetricsRegistry;
+
+/**
+ * 向当前的 {@link ValidationMetrics} 报告每一次验证，并产生相应 JFR 事件的验证规则装饰器。
+ * <p>
+ * 直接使用验证规则（而不是通过约束注解）时，可以用此类包装规则以纳入验证统计和 JFR 事件。若
+ * 当前未启用验证统计，且未在 JFR 录制中启用 {@link ValidationEvent} 和
+ * {@link SlowValidationEvent}，此装饰器只增加几次字段读取和分支判断的开销，不分配任何对象。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see ValidationMetricsRegistry
+ */
+@Immutable
+@ThreadSafe
+public class MeteredValidationRule<T> implements ValidationRule<T> {
+
+  private final String name;
+  private final ValidationRule<T> rule;
+
+  /**
+   * 构造一个 {@link MeteredValidationRule}，使用被装饰规则的简单类名作为统计名称。
+   *
+   * @param rule
+   *     被装饰的验证规则。
+   */
+  public MeteredValidationRule(final ValidationRule<T> rule) {
+    this(rule.getClass().getSimpleName(), rule);
+  }
+
+  /**
+   * 构造一个 {@link MeteredValidationRule}。
+   *
+   * @param name
+   *     报告验证统计时使用的名称。
+   * @param rule
+   *     被装饰的验证规则。
+   */
+  public MeteredValidationRule(final String name, final ValidationRule<T> rule) {
+    this.name = name;
+    this.rule = rule;
+  }
+
+  /**
+   * 获取报告验证统计时使用的名称。
+   *
+   * @return 报告验证统计时使用的名称。
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 获取被装饰的验证规则。
+   *
+   * @return 被装饰的验证规则。
+   */
+  public ValidationRule<T> getRule() {
+    return rule;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int getCost() {
+    return rule.getCost();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public InputPrefilter getPrefilter() {
+    return rule.getPrefilter();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean validate(@Nullable final T obj) {
+    final ValidationEvents events = ValidationEvents.begin();
+    final ValidationMetrics metrics = ValidationMetricsRegistry.get();
+    final boolean valid;
+    if (metrics.isEnabled()) {
+      final long start = metrics.startTimer();
+      valid = rule.validate(obj);
+      metrics.record(name, valid, start);
+    } else {
+      valid = rule.validate(obj);
+    }
+    if (events != null) {
+      events.complete(name, rule.getClass(), obj, valid);
+    }
+    return valid;
+  }
+}
@@ -0,0 +1,100 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import ltd.qubit.commons.validator.rule.impl.ChineseMobileUtils;
+
+/**
+ * {@link ChineseMobileValidationRule} 的增量验证器。
+ * <p>
+ * 手机号码可能不带前缀，也可能带有 "0"、"86" 或 "17951" 前缀，此验证器用一个位掩码同时跟踪
+ * 这四种解释中仍然可能成立的解释，每个字符只需对每种仍然成立的解释检查一次。
+ *
+ * @author 胡海星
+ * @see ChineseMobileValidationRule#newIncrementalValidator()
+ */
+@NotThreadSafe
+final class MobileIncrementalValidator extends IncrementalValidator {
+
+  private static final String[] PREFIXES = {"", "0", "86", "17951"};
+
+  private static final int ALL_PREFIXES = (1 << PREFIXES.length) - 1;
+
+  private static final int NUMBER_LENGTH = 11;
+
+  /**
+   * {@code SECOND_DIGITS[d]} 表示是否存在以 {@code "1" + d} 开头的合法号段。
+   */
+  private static final boolean[] SECOND_DIGITS = new boolean[10];
+
+  static {
+    for (int d2 = 0; d2 < 10; ++d2) {
+      for (int d3 = 0; d3 < 10; ++d3) {
+        SECOND_DIGITS[d2] |= ChineseMobileUtils.isPrefixValid(1, d2, d3);
+      }
+    }
+  }
+
+  /**
+   * 仍然可能成立的解释的位掩码，第{@code k}位对应 {@code PREFIXES[k]}。
+   */
+  private int alive = ALL_PREFIXES;
+
+  private int previous;
+
+  @Override
+  protected boolean accept(final char ch, final int index) {
+    if (ch < '0' || ch > '9') {
+      return false;
+    }
+    final int digit = ch - '0';
+    for (int k = 0; k < PREFIXES.length; ++k) {
+      if ((alive & (1 << k)) != 0 && !accept(PREFIXES[k], ch, digit, index)) {
+        alive &= ~(1 << k);
+      }
+    }
+    previous = digit;
+    return alive != 0;
+  }
+
+  private boolean accept(final String prefix, final char ch, final int digit, final int index) {
+    final int i = index - prefix.length();
+    if (i < 0) {
+      return prefix.charAt(index) == ch;
+    }
+    switch (i) {
+      case 0:
+        return digit == 1;
+      case 1:
+        return SECOND_DIGITS[digit];
+      case 2:
+        return ChineseMobileUtils.isPrefixValid(1, previous, digit);
+      default:
+        return i < NUMBER_LENGTH;
+    }
+  }
+
+  @Override
+  protected boolean isComplete() {
+    for (int k = 0; k < PREFIXES.length; ++k) {
+      if ((alive & (1 << k)) != 0 && length() == PREFIXES[k].length() + NUMBER_LENGTH) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected void clear() {
+    alive = ALL_PREFIXES;
+    previous = 0;
+  }
+}
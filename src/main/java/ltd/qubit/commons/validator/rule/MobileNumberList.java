@@ -0,0 +1,138 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.validator.rule.impl.MobileNumberSet;
+
+/**
+ * 具名的手机号码名单，例如黑名单或白名单。
+ * <p>
+ * 每个名称对应唯一的一个 {@link MobileNumberList} 对象，它持有名单的当前快照，即一个不可变的
+ * {@link MobileNumberSet}。重新加载名单时先在后台构造新的快照，再通过一次 volatile 写替换
+ * 旧的快照，因此正在进行的验证看到的总是一个完整的名单，且查找不需要加锁。
+ * <p>
+ * 名单可以在被 {@link ltd.qubit.commons.validator.annotation.Mobile#blocklist()} 等属性引用
+ * 之后才加载；在加载之前名单为空，且 {@link #isLoaded()} 返回{@code false}。与
+ * {@link EmailDomainList} 一样，未加载的名单按空名单处理：作为黑名单时不拒绝任何号码，作为
+ * 白名单时拒绝所有号码，因此遗漏或失败的加载不会使白名单放行任何号码。应用程序可以用
+ * {@link #isLoaded()} 在启动时检查所需的名单是否都已加载。例如：
+ * <pre><code>
+ * MobileNumberList.get("fraud").load(Paths.get("/data/fraud-mobiles.bin"));
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public final class MobileNumberList {
+
+  private static final Map<String, MobileNumberList> LISTS = new ConcurrentHashMap<>();
+
+  private final String name;
+  private volatile MobileNumberSet snapshot = MobileNumberSet.EMPTY;
+  private volatile boolean loaded = false;
+
+  private MobileNumberList(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * 获取指定名称的名单，若不存在则创建一个空名单。
+   *
+   * @param name
+   *     名单的名称。
+   * @return 指定名称的名单。
+   */
+  public static MobileNumberList get(final String name) {
+    return LISTS.computeIfAbsent(name, MobileNumberList::new);
+  }
+
+  /**
+   * 获取此名单的名称。
+   *
+   * @return 此名单的名称。
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * 获取此名单的当前快照。
+   *
+   * @return 此名单的当前快照，不会为{@code null}。
+   */
+  public MobileNumberSet getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * 判断此名单是否已经加载，即是否调用过 {@link #replace(MobileNumberSet)} 或
+   * {@link #load(Path)}。
+   *
+   * @return 若此名单已经加载则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * 判断此名单的当前快照是否包含指定的号码。
+   * <p>
+   * 此函数不分配任何对象。
+   *
+   * @param number
+   *     不含前缀的11位手机号码的数值。
+   * @return 若此名单包含该号码则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean contains(final long number) {
+    return snapshot.contains(number);
+  }
+
+  /**
+   * 用新的快照原子地替换此名单的当前快照。
+   *
+   * @param set
+   *     新的快照。
+   * @return 被替换的快照。
+   */
+  public synchronized MobileNumberSet replace(final MobileNumberSet set) {
+    if (set == null) {
+      throw new NullPointerException("set");
+    }
+    final MobileNumberSet old = snapshot;
+    snapshot = set;
+    loaded = true;
+    return old;
+  }
+
+  /**
+   * 内存映射指定的集合文件，并用它原子地替换此名单的当前快照。
+   * <p>
+   * 若加载失败，则当前快照保持不变。
+   *
+   * @param file
+   *     二进制形式的集合文件，参见 {@link MobileNumberSet}。
+   * @throws IOException
+   *     若读取文件失败，或者文件的格式不正确。
+   */
+  public void load(final Path file) throws IOException {
+    replace(MobileNumberSet.map(file));
+  }
+
+  @Override
+  public String toString() {
+    return "MobileNumberList[" + name + ", size = " + snapshot.size() + "]";
+  }
+}
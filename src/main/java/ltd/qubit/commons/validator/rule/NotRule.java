@@ -0,0 +1,49 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 与被包装规则结果相反的规则。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see ValidationRules#not(ValidationRule)
+ */
+@Immutable
+final class NotRule<T> implements ValidationRule<T> {
+
+  private final ValidationRule<T> rule;
+
+  NotRule(final ValidationRule<T> rule) {
+    this.rule = rule;
+  }
+
+  ValidationRule<T> getRule() {
+    return rule;
+  }
+
+  @Override
+  public boolean validate(@Nullable final T obj) {
+    return !rule.validate(obj);
+  }
+
+  @Override
+  public int getCost() {
+    return rule.getCost();
+  }
+
+  @Override
+  public String toString() {
+    return "not(" + rule + ")";
+  }
+}
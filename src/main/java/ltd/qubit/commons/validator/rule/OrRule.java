@@ -0,0 +1,90 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 要求至少一个子规则成立的规则。
+ * <p>
+ * 构造时，嵌套的 {@link OrRule} 被展开，子规则按代价从低到高排列。验证字符序列时，先用
+ * {@link InputCharset#classify(CharSequence)} 扫描一次输入，再根据各个子规则蕴含的预过滤器
+ * 跳过不可能成立的子规则。例如 “手机号码或电子邮件地址” 在一次扫描后，纯数字的输入只会执行
+ * 手机号码规则，含有非数字字符的输入只会执行电子邮件地址规则。
+ *
+ * @param <T>
+ *     要验证的值的类型。
+ * @author 胡海星
+ * @see ValidationRules#or(ValidationRule[])
+ */
+@Immutable
+final class OrRule<T> implements ValidationRule<T> {
+
+  private final ValidationRule<? super T>[] rules;
+  private final InputPrefilter[] prefilters;
+  private final boolean fused;
+  private final int cost;
+
+  OrRule(final ValidationRule<? super T>[] rules) {
+    this.rules = rules;
+    this.prefilters = new InputPrefilter[rules.length];
+    boolean hasPrefilter = false;
+    int total = 0;
+    for (int i = 0; i < rules.length; ++i) {
+      prefilters[i] = rules[i].getPrefilter();
+      hasPrefilter |= !prefilters[i].isNone();
+      total = ValidationRules.addCost(total, rules[i].getCost());
+    }
+    this.fused = hasPrefilter;
+    this.cost = (hasPrefilter ? ValidationRules.addCost(total, SCAN_COST) : total);
+  }
+
+  ValidationRule<? super T>[] getRules() {
+    return rules;
+  }
+
+  @Override
+  public boolean validate(@Nullable final T obj) {
+    if (fused && obj instanceof CharSequence) {
+      final CharSequence str = (CharSequence) obj;
+      final int n = str.length();
+      final int mask = InputCharset.classify(str);
+      for (int i = 0; i < rules.length; ++i) {
+        if (prefilters[i].accepts(n, mask) && rules[i].validate(obj)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    for (final ValidationRule<? super T> rule : rules) {
+      if (rule.validate(obj)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int getCost() {
+    return cost;
+  }
+
+  @Override
+  public InputPrefilter getPrefilter() {
+    return ValidationRules.union(prefilters);
+  }
+
+  @Override
+  public String toString() {
+    return "or" + Arrays.toString(rules);
+  }
+}
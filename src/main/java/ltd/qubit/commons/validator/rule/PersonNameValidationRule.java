@@ -8,6 +8,8 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.validator.rule;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
@@ -15,6 +17,9 @@ import javax.annotation.RegEx;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import ltd.qubit.commons.validator.rule.impl.BudgetExceededException;
+import ltd.qubit.commons.validator.rule.impl.BudgetMeter;
+
 /**
  * 用于验证个人姓名的验证规则。
  *
@@ -38,6 +43,11 @@ import javax.annotation.concurrent.ThreadSafe;
  * 个字符。</li>
  * <li>英文姓名允许大小写英文字母，半角空格，半角句点。最短需要有2个字符，最长不超过60个字符。</li>
  * </ul>
+ * <p>
+ * 验证 {@link PersonNameType#ANY 任意类型}的姓名时，三种姓名的验证构成一个
+ * {@link AdaptiveOrRule}：拼音和英文姓名只可能包含 ASCII 字符，因此只需扫描一次输入就可以跳过
+ * 不可能成立的分支；同时根据观测到的各类姓名的比例调整验证顺序，例如以中文姓名为主的应用中，
+ * 中文姓名的验证将被调整到最前面。
  *
  * @see <a href="https://en.wikipedia.org/wiki/CJK_Unified_Ideographs">
  *   CJK Unified Ideographs</a>
@@ -54,7 +64,29 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @Immutable
 @ThreadSafe
-public class PersonNameValidationRule implements ValidationRule<String> {
+public class PersonNameValidationRule implements BudgetedValidationRule<String> {
+
+  /**
+   * 姓名的最大长度（以 UTF-16 代码单元计），即拼音和英文姓名的最大长度。
+   */
+  public static final int MAX_LENGTH = 60;
+
+  /**
+   * 允许的字符集。姓名允许包含各种 Unicode 字符，因此不限制字符集。
+   */
+  public static final InputCharset CHARSET = InputCharset.ANY;
+
+  /**
+   * 由 {@link #MAX_LENGTH} 和 {@link #CHARSET} 构成的预过滤器。
+   */
+  public static final InputPrefilter PREFILTER = new InputPrefilter(MAX_LENGTH, CHARSET);
+
+  /**
+   * 验证任意类型的姓名时各个分支的初始顺序。
+   */
+  private static final PersonNameType[] ANY_BRANCHES = {
+      PersonNameType.PINYIN, PersonNameType.ENGLISH, PersonNameType.CHINESE
+  };
 
   /**
    * {@link PersonNameValidationRule} 的一个单例实例，用于验证任何类型的姓名。
@@ -96,8 +128,52 @@ public class PersonNameValidationRule implements ValidationRule<String> {
 
   private static final Pattern ENGLISH_PATTERN = Pattern.compile(ENGLISH_REGEX);
 
+  private static final Map<PersonNameType, PersonNameValidationRule> INSTANCES =
+      new EnumMap<>(PersonNameType.class);
+
+  static {
+    for (final PersonNameType type : PersonNameType.values()) {
+      INSTANCES.put(type, type == PersonNameType.ANY ? INSTANCE : new PersonNameValidationRule(type));
+    }
+  }
+
   private final PersonNameType type;
 
+  @Nullable
+  private final AdaptiveOrRule<String> anyRule;
+
+  /**
+   * 验证单一类型姓名的分支。
+   * <p>
+   * 正则表达式在验证时才读取，因为 {@link #INSTANCE} 在正则表达式之前初始化。
+   */
+  private static final class Branch implements ValidationRule<String> {
+    private final PersonNameType type;
+    private final InputPrefilter prefilter;
+
+    Branch(final PersonNameType type) {
+      this.type = type;
+      // 拼音和英文姓名只包含可打印的 ASCII 字符；中文姓名最多30个字符，即最多60个代码单元
+      this.prefilter = new InputPrefilter(MAX_LENGTH,
+          type == PersonNameType.CHINESE ? InputCharset.ANY : InputCharset.ASCII_PRINTABLE);
+    }
+
+    @Override
+    public boolean validate(@Nullable final String name) {
+      return (name != null) && patternOf(type).matcher(name).matches();
+    }
+
+    @Override
+    public InputPrefilter getPrefilter() {
+      return prefilter;
+    }
+
+    @Override
+    public String toString() {
+      return type.name();
+    }
+  }
+
   /**
    * 构造一个默认的 {@link PersonNameValidationRule}。
    * <p>
@@ -115,6 +191,38 @@ public class PersonNameValidationRule implements ValidationRule<String> {
    */
   public PersonNameValidationRule(final PersonNameType type) {
     this.type = type;
+    if (type == PersonNameType.ANY) {
+      final Branch[] branches = new Branch[ANY_BRANCHES.length];
+      for (int i = 0; i < branches.length; ++i) {
+        branches[i] = new Branch(ANY_BRANCHES[i]);
+      }
+      this.anyRule = ValidationRules.adaptiveOr(branches);
+    } else {
+      this.anyRule = null;
+    }
+  }
+
+  private static Pattern patternOf(final PersonNameType type) {
+    switch (type) {
+      case CHINESE:
+        return CHINESE_PATTERN;
+      case PINYIN:
+        return PINYIN_PATTERN;
+      case ENGLISH:
+      default:
+        return ENGLISH_PATTERN;
+    }
+  }
+
+  /**
+   * 获取验证指定类型姓名的共享的 {@link PersonNameValidationRule} 实例。
+   *
+   * @param type
+   *     要验证的姓名类型，若为{@code null}则视为 {@link PersonNameType#ANY}。
+   * @return 验证指定类型姓名的共享实例。
+   */
+  public static PersonNameValidationRule of(@Nullable final PersonNameType type) {
+    return (type == null ? INSTANCE : INSTANCES.get(type));
   }
 
   /**
@@ -126,6 +234,17 @@ public class PersonNameValidationRule implements ValidationRule<String> {
     return type;
   }
 
+  /**
+   * 获取验证任意类型姓名时使用的自适应规则。
+   *
+   * @return 验证任意类型姓名时使用的自适应规则；若此规则只验证一种类型的姓名，则返回
+   *     {@code null}。
+   */
+  @Nullable
+  AdaptiveOrRule<String> getAnyRule() {
+    return anyRule;
+  }
+
   /** {@inheritDoc} */
   @Override
   public boolean validate(@Nullable final String name) {
@@ -145,11 +264,53 @@ public class PersonNameValidationRule implements ValidationRule<String> {
         break;
       case ANY:
       default:
-        valid = PINYIN_PATTERN.matcher(name).matches()
-            || ENGLISH_PATTERN.matcher(name).matches()
-            || CHINESE_PATTERN.matcher(name).matches();
+        valid = anyRule.validate(name);
         break;
     }
     return valid;
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public BudgetedValidationResult validate(@Nullable final String name,
+      final ValidationBudget budget) {
+    if (name == null || name.isEmpty()) {
+      return BudgetedValidationResult.INVALID;
+    }
+    // 所有正则表达式共享同一个预算
+    final BudgetMeter meter = budget.start();
+    try {
+      final boolean valid;
+      switch (type) {
+        case CHINESE:
+          valid = ValidationBudget.matches(CHINESE_PATTERN, name, meter);
+          break;
+        case PINYIN:
+          valid = ValidationBudget.matches(PINYIN_PATTERN, name, meter);
+          break;
+        case ENGLISH:
+          valid = ValidationBudget.matches(ENGLISH_PATTERN, name, meter);
+          break;
+        case ANY:
+        default:
+          valid = matchesAny(name, meter);
+          break;
+      }
+      return (valid ? BudgetedValidationResult.VALID : BudgetedValidationResult.INVALID);
+    } catch (final BudgetExceededException e) {
+      return BudgetedValidationResult.BUDGET_EXCEEDED;
+    }
+  }
+
+  /**
+   * 在预算内按自适应规则当前的顺序验证任意类型的姓名。
+   */
+  private boolean matchesAny(final String name, final BudgetMeter meter) {
+    for (final int branch : anyRule.order()) {
+      if (ValidationBudget.matches(patternOf(ANY_BRANCHES[branch]), name, meter)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
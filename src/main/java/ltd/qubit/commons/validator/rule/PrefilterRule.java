@@ -0,0 +1,53 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 将 {@link InputPrefilter} 作为验证规则使用的适配器，{@code null} 总是合法。
+ *
+ * @author 胡海星
+ * @see ValidationRules#prefilter(InputPrefilter)
+ */
+@Immutable
+final class PrefilterRule implements ValidationRule<CharSequence> {
+
+  private final InputPrefilter prefilter;
+
+  PrefilterRule(final InputPrefilter prefilter) {
+    this.prefilter = prefilter;
+  }
+
+  @Override
+  public boolean validate(@Nullable final CharSequence str) {
+    return prefilter.accepts(str);
+  }
+
+  @Override
+  public ValidationOutcome check(@Nullable final CharSequence str) {
+    return prefilter.check(str);
+  }
+
+  @Override
+  public int getCost() {
+    return (prefilter.getCharset() == InputCharset.ANY ? CONSTANT_COST : SCAN_COST);
+  }
+
+  @Override
+  public InputPrefilter getPrefilter() {
+    return prefilter;
+  }
+
+  @Override
+  public String toString() {
+    return "prefilter(" + prefilter.getMaxLength() + ", " + prefilter.getCharset() + ")";
+  }
+}
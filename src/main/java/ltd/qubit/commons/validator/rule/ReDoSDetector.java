@@ -0,0 +1,131 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.regex.Pattern;
+
+import ltd.qubit.commons.validator.rule.impl.BudgetExceededException;
+import ltd.qubit.commons.validator.rule.impl.BudgetMeter;
+
+/**
+ * 检测正则表达式的匹配代价是否随输入长度超线性增长的工具类。
+ * <p>
+ * 匹配代价以正则表达式引擎读取输入字符的次数（步数）度量，与运行环境无关。检测方法是构造形如
+ * {@code prefix + pump * n + suffix} 的一组输入，对不同的 {@code n} 分别统计完整匹配的步数，
+ * 再根据步数随 {@code n} 增长的幂次判断代价是否超线性增长。典型的易受 ReDoS 攻击的正则表达式
+ * （例如 {@code (a+)+$}）在输入 {@code "a" * n + "!"} 上的代价呈指数增长。
+ * <p>
+ * 此类不可实例化。
+ *
+ * @author 胡海星
+ */
+public final class ReDoSDetector {
+
+  /**
+   * 判定为超线性增长的默认增长幂次阈值。
+   */
+  public static final double DEFAULT_EXPONENT_THRESHOLD = 1.5;
+
+  /**
+   * 统计单次匹配步数时的默认步数上限。
+   */
+  public static final long DEFAULT_MAX_STEPS = 10_000_000L;
+
+  private static final int SMALL_REPEAT = 16;
+
+  private static final int LARGE_REPEAT = 64;
+
+  /**
+   * 私有构造函数，防止实例化。
+   */
+  private ReDoSDetector() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 统计用正则表达式完整匹配指定输入所需的步数。
+   *
+   * @param pattern
+   *     正则表达式。
+   * @param input
+   *     输入。
+   * @param maxSteps
+   *     步数上限。
+   * @return
+   *     完整匹配所需的步数；若超过步数上限，则返回 {@code maxSteps + 1}。
+   */
+  public static long countSteps(final Pattern pattern, final CharSequence input,
+      final long maxSteps) {
+    final BudgetMeter meter = new BudgetMeter(maxSteps, Long.MAX_VALUE);
+    try {
+      ValidationBudget.matches(pattern, input, meter);
+      return meter.getSteps();
+    } catch (final BudgetExceededException e) {
+      return maxSteps + 1;
+    }
+  }
+
+  /**
+   * 估计正则表达式在形如 {@code prefix + pump * n + suffix} 的输入上的匹配步数随 {@code n}
+   * 增长的幂次。
+   *
+   * @param pattern
+   *     正则表达式。
+   * @param prefix
+   *     输入的前缀。
+   * @param pump
+   *     被重复的输入片段，不能为空。
+   * @param suffix
+   *     输入的后缀，通常选择一个使匹配失败的字符串以触发回溯。
+   * @return
+   *     增长幂次的估计值：约为1表示线性增长，约为2表示平方增长；若较长的输入的步数超过
+   *     {@link #DEFAULT_MAX_STEPS}，则返回 {@link Double#POSITIVE_INFINITY}。
+   */
+  public static double estimateExponent(final Pattern pattern, final String prefix,
+      final String pump, final String suffix) {
+    if (pump.isEmpty()) {
+      throw new IllegalArgumentException("The pump string cannot be empty.");
+    }
+    final long small = countSteps(pattern, build(prefix, pump, suffix, SMALL_REPEAT),
+        DEFAULT_MAX_STEPS);
+    final long large = countSteps(pattern, build(prefix, pump, suffix, LARGE_REPEAT),
+        DEFAULT_MAX_STEPS);
+    if (large > DEFAULT_MAX_STEPS) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return Math.log((double) Math.max(large, 1) / Math.max(small, 1))
+        / Math.log((double) LARGE_REPEAT / SMALL_REPEAT);
+  }
+
+  /**
+   * 判断正则表达式在形如 {@code prefix + pump * n + suffix} 的输入上的匹配代价是否随
+   * {@code n} 超线性增长。
+   *
+   * @param pattern
+   *     正则表达式。
+   * @param prefix
+   *     输入的前缀。
+   * @param pump
+   *     被重复的输入片段，不能为空。
+   * @param suffix
+   *     输入的后缀，通常选择一个使匹配失败的字符串以触发回溯。
+   * @return
+   *     若增长幂次的估计值超过 {@link #DEFAULT_EXPONENT_THRESHOLD} 则返回{@code true}，否则
+   *     返回{@code false}。
+   */
+  public static boolean isSuperLinear(final Pattern pattern, final String prefix,
+      final String pump, final String suffix) {
+    return estimateExponent(pattern, prefix, pump, suffix) > DEFAULT_EXPONENT_THRESHOLD;
+  }
+
+  private static String build(final String prefix, final String pump, final String suffix,
+      final int repeat) {
+    return prefix + pump.repeat(repeat) + suffix;
+  }
+}
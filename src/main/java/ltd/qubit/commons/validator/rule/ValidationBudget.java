@@ -0,0 +1,171 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import javax.annotation.concurrent.Immutable;
+
+import ltd.qubit.commons.validator.rule.impl.BudgetExceededException;
+import ltd.qubit.commons.validator.rule.impl.BudgetMeter;
+import ltd.qubit.commons.validator.rule.impl.BudgetedCharSequence;
+
+/**
+ * 一次验证允许消耗的预算。
+ * <p>
+ * 预算由步数上限和时间上限组成。对于基于正则表达式的验证规则，一步即正则表达式引擎读取一次
+ * 输入字符，因此步数上限与运行环境无关，能够确定性地限制回溯的工作量；时间上限则直接限制墙钟
+ * 时间，但每1024步才检查一次。
+ *
+ * @author 胡海星
+ * @see BudgetedValidationRule
+ */
+@Immutable
+public final class ValidationBudget {
+
+  /**
+   * 不限制步数和时间的预算。
+   */
+  public static final ValidationBudget UNLIMITED =
+      new ValidationBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+  private final long maxSteps;
+  private final long maxNanos;
+
+  private ValidationBudget(final long maxSteps, final long maxNanos) {
+    if (maxSteps <= 0) {
+      throw new IllegalArgumentException("maxSteps must be positive: " + maxSteps);
+    }
+    if (maxNanos <= 0) {
+      throw new IllegalArgumentException("maxNanos must be positive: " + maxNanos);
+    }
+    this.maxSteps = maxSteps;
+    this.maxNanos = maxNanos;
+  }
+
+  /**
+   * 创建一个只限制步数的预算。
+   *
+   * @param maxSteps
+   *     步数上限，必须为正数。
+   * @return 只限制步数的预算。
+   */
+  public static ValidationBudget ofSteps(final long maxSteps) {
+    return new ValidationBudget(maxSteps, Long.MAX_VALUE);
+  }
+
+  /**
+   * 创建一个只限制时间的预算。
+   *
+   * @param timeout
+   *     时间上限，必须为正数。
+   * @return 只限制时间的预算。
+   */
+  public static ValidationBudget ofTime(final Duration timeout) {
+    return new ValidationBudget(Long.MAX_VALUE, toNanos(timeout));
+  }
+
+  /**
+   * 创建一个同时限制步数和时间的预算。
+   *
+   * @param maxSteps
+   *     步数上限，必须为正数。
+   * @param timeout
+   *     时间上限，必须为正数。
+   * @return 同时限制步数和时间的预算。
+   */
+  public static ValidationBudget of(final long maxSteps, final Duration timeout) {
+    return new ValidationBudget(maxSteps, toNanos(timeout));
+  }
+
+  private static long toNanos(final Duration timeout) {
+    try {
+      return timeout.toNanos();
+    } catch (final ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * 获取步数上限。
+   *
+   * @return 步数上限；不限制步数时为 {@link Long#MAX_VALUE}。
+   */
+  public long getMaxSteps() {
+    return maxSteps;
+  }
+
+  /**
+   * 获取时间上限。
+   *
+   * @return 时间上限，单位为纳秒；不限制时间时为 {@link Long#MAX_VALUE}。
+   */
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /**
+   * 判断此预算是否不限制步数和时间。
+   *
+   * @return 若此预算不限制步数和时间则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isUnlimited() {
+    return maxSteps == Long.MAX_VALUE && maxNanos == Long.MAX_VALUE;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof ValidationBudget)) {
+      return false;
+    }
+    final ValidationBudget other = (ValidationBudget) obj;
+    return maxSteps == other.maxSteps && maxNanos == other.maxNanos;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(maxSteps) + Long.hashCode(maxNanos);
+  }
+
+  @Override
+  public String toString() {
+    return "ValidationBudget(maxSteps=" + maxSteps + ", maxNanos=" + maxNanos + ")";
+  }
+
+  /**
+   * 开始计量一次验证的预算消耗。
+   *
+   * @return 新的预算计量器。
+   */
+  public BudgetMeter start() {
+    return new BudgetMeter(maxSteps, maxNanos);
+  }
+
+  /**
+   * 在指定的预算计量器的约束下，判断整个输入是否匹配指定的正则表达式。
+   *
+   * @param pattern
+   *     正则表达式。
+   * @param input
+   *     输入。
+   * @param meter
+   *     预算计量器，可在多次匹配之间共享。
+   * @return 若整个输入匹配正则表达式则返回{@code true}，否则返回{@code false}。
+   * @throws BudgetExceededException
+   *     若预算已经耗尽。
+   */
+  public static boolean matches(final Pattern pattern, final CharSequence input,
+      final BudgetMeter meter) {
+    return pattern.matcher(new BudgetedCharSequence(input, meter)).matches();
+  }
+}
@@ -0,0 +1,180 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+import ltd.qubit.commons.validator.utils.Utf8ResourceBundleLocator;
+
+/**
+ * 验证的结果及其失败原因。
+ * <p>
+ * {@link ValidationRule#check(Object)} 返回此枚举的常量而不是 {@code boolean}，使调用者在
+ * 不构造 {@link jakarta.validation.ConstraintViolation} 的情况下得知输入不合法的具体原因。
+ * 返回枚举常量不分配任何对象；{@link #getCode()} 是一个稳定的整数编码，可以存放在基本类型的
+ * 数组中，或者作为统计各种失败原因的计数器数组的下标。
+ * <p>
+ * 错误消息只在调用 {@link #getMessage(Locale)} 时才从 {@code ValidationMessages} 资源包中
+ * 读取，验证本身不涉及任何消息的插值。
+ *
+ * @author 胡海星
+ * @see ValidationRule#check(Object)
+ */
+public enum ValidationOutcome {
+
+  /**
+   * 验证通过。
+   */
+  VALID,
+
+  /**
+   * 验证未通过，但验证规则没有给出具体原因。
+   */
+  INVALID,
+
+  /**
+   * 输入为{@code null}。
+   */
+  NULL_VALUE,
+
+  /**
+   * 输入的长度不正确。
+   */
+  BAD_LENGTH,
+
+  /**
+   * 输入包含不允许的字符。
+   */
+  BAD_CHARSET,
+
+  /**
+   * 输入的格式不正确。
+   */
+  BAD_FORMAT,
+
+  /**
+   * 应当是数字的位置包含了非数字字符。
+   */
+  NON_DIGIT,
+
+  /**
+   * 号码的前缀或号段不正确。
+   */
+  BAD_PREFIX,
+
+  /**
+   * 校验码不正确。
+   */
+  BAD_CHECKSUM,
+
+  /**
+   * 编码的日期不存在。
+   */
+  BAD_DATE,
+
+  /**
+   * 编码的行政区划不存在。
+   */
+  UNKNOWN_AREA;
+
+  /**
+   * 错误消息在资源包中的键的前缀，其后附加常量的名称。
+   */
+  public static final String MESSAGE_KEY_PREFIX = "outcome.ltd.qubit.commons.validator.";
+
+  private static final String BUNDLE_NAME = "ValidationMessages";
+
+  private static final ValidationOutcome[] VALUES = values();
+
+  /**
+   * 根据整数编码获取常量。
+   *
+   * @param code
+   *     整数编码。
+   * @return 对应的常量。
+   * @throws IllegalArgumentException
+   *     若该编码不对应任何常量。
+   */
+  public static ValidationOutcome of(final int code) {
+    if (code < 0 || code >= VALUES.length) {
+      throw new IllegalArgumentException("Invalid validation outcome code: " + code);
+    }
+    return VALUES[code];
+  }
+
+  /**
+   * 获取此结果的整数编码。
+   * <p>
+   * 编码即常量的序数，新的常量只会被添加到末尾，因此已有常量的编码保持不变。
+   *
+   * @return 此结果的整数编码，{@link #VALID} 的编码为0。
+   */
+  public int getCode() {
+    return ordinal();
+  }
+
+  /**
+   * 判断验证是否通过。
+   *
+   * @return 若验证通过则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isValid() {
+    return this == VALID;
+  }
+
+  /**
+   * 获取此结果的错误消息在资源包中的键。
+   *
+   * @return 此结果的错误消息在资源包中的键。
+   */
+  public String getMessageKey() {
+    return MESSAGE_KEY_PREFIX + name();
+  }
+
+  /**
+   * 获取此结果在默认区域设置下的错误消息。
+   *
+   * @return 此结果的错误消息。
+   * @see #getMessage(Locale)
+   */
+  public String getMessage() {
+    return getMessage(Locale.getDefault());
+  }
+
+  /**
+   * 获取此结果在指定区域设置下的错误消息。
+   * <p>
+   * 消息从 {@code ValidationMessages} 资源包中读取；若资源包中没有对应的消息，则返回此常量
+   * 的名称。
+   *
+   * @param locale
+   *     区域设置。
+   * @return 此结果的错误消息。
+   */
+  public String getMessage(final Locale locale) {
+    final ResourceBundle bundle = LocatorHolder.LOCATOR.getResourceBundle(locale);
+    if (bundle != null) {
+      try {
+        return bundle.getString(getMessageKey());
+      } catch (final MissingResourceException e) {
+        // 返回常量的名称
+      }
+    }
+    return name();
+  }
+
+  /**
+   * 延迟创建资源包定位器，只在第一次渲染错误消息时初始化。
+   */
+  private static final class LocatorHolder {
+    static final Utf8ResourceBundleLocator LOCATOR = new Utf8ResourceBundleLocator(BUNDLE_NAME);
+  }
+}
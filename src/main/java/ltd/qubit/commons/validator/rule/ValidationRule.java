@@ -12,6 +12,13 @@ import javax.annotation.Nullable;
 
 /**
  * 验证规则的接口。
+ * <p>
+ * 验证规则可以用 {@link #and(ValidationRule)}、{@link #or(ValidationRule)}、
+ * {@link #negate()} 以及 {@link ValidationRules} 中的组合子组合为新的规则。组合子根据各个规则
+ * 的{@linkplain #getCost() 代价估计}先执行代价较低的规则，并利用各个规则的
+ * {@linkplain #getPrefilter() 预过滤器}，只扫描一次输入就排除不可能通过的规则。
+ * <p>
+ * 验证规则必须是无副作用的，即验证的结果只依赖于输入，组合子因此可以任意调整规则的执行顺序。
  *
  * @param <T>
  *     要验证的值的类型。
@@ -19,6 +26,21 @@ import javax.annotation.Nullable;
  */
 public interface ValidationRule<T> {
 
+  /**
+   * 代价为常数的规则（例如只检查长度）的代价估计。
+   */
+  int CONSTANT_COST = 1;
+
+  /**
+   * 只需线性扫描一次输入的规则的代价估计。
+   */
+  int SCAN_COST = 10;
+
+  /**
+   * 需要正则表达式匹配或者更复杂的解析的规则的代价估计，也是未知规则的默认代价估计。
+   */
+  int DEFAULT_COST = 100;
+
   /**
    * 验证给定的对象。
    *
@@ -28,4 +50,79 @@ public interface ValidationRule<T> {
    *     如果对象有效，则返回 {@code true}；否则返回 {@code false}。
    */
   boolean validate(@Nullable T obj);
+
+  /**
+   * 验证给定的对象，并给出不合法的原因。
+   * <p>
+   * 此函数的结果是否为 {@link ValidationOutcome#VALID} 必须与 {@link #validate(Object)} 的
+   * 结果一致。默认实现只返回 {@link ValidationOutcome#VALID} 或
+   * {@link ValidationOutcome#INVALID}，能够区分失败原因的规则应当覆盖此函数；覆盖的实现不应
+   * 分配任何对象。
+   *
+   * @param obj
+   *     要验证的对象，可以为 {@code null}。
+   * @return 验证的结果。
+   */
+  default ValidationOutcome check(@Nullable final T obj) {
+    return (validate(obj) ? ValidationOutcome.VALID : ValidationOutcome.INVALID);
+  }
+
+  /**
+   * 获取此规则验证一个值的相对代价估计。
+   * <p>
+   * 代价只用于组合规则时确定各个规则的执行顺序，参见 {@link #CONSTANT_COST}、
+   * {@link #SCAN_COST} 和 {@link #DEFAULT_COST}。
+   *
+   * @return 此规则验证一个值的相对代价估计，默认为 {@link #DEFAULT_COST}。
+   */
+  default int getCost() {
+    return DEFAULT_COST;
+  }
+
+  /**
+   * 获取此规则蕴含的预过滤器。
+   * <p>
+   * 被此预过滤器拒绝的任何输入，都必须被{@link #validate(Object)}判定为不合法，即预过滤器只是
+   * 此规则的一个必要条件。组合规则时，用它一次扫描排除多个规则。只有要验证的值是
+   * {@link CharSequence} 时预过滤器才有意义。
+   *
+   * @return 此规则蕴含的预过滤器，默认为 {@link InputPrefilter#NONE}。
+   */
+  default InputPrefilter getPrefilter() {
+    return InputPrefilter.NONE;
+  }
+
+  /**
+   * 构造一个要求此规则和另一规则同时成立的规则。
+   *
+   * @param other
+   *     另一规则。
+   * @return 组合得到的规则。
+   * @see ValidationRules#and(ValidationRule[])
+   */
+  default ValidationRule<T> and(final ValidationRule<? super T> other) {
+    return ValidationRules.and(this, other);
+  }
+
+  /**
+   * 构造一个要求此规则或另一规则至少一个成立的规则。
+   *
+   * @param other
+   *     另一规则。
+   * @return 组合得到的规则。
+   * @see ValidationRules#or(ValidationRule[])
+   */
+  default ValidationRule<T> or(final ValidationRule<? super T> other) {
+    return ValidationRules.or(this, other);
+  }
+
+  /**
+   * 构造一个与此规则结果相反的规则。
+   *
+   * @return 与此规则结果相反的规则。
+   * @see ValidationRules#not(ValidationRule)
+   */
+  default ValidationRule<T> negate() {
+    return ValidationRules.not(this);
+  }
 }
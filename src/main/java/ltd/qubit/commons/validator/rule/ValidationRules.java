@@ -0,0 +1,300 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 组合验证规则的组合子。
+ * <p>
+ * 组合子构造的规则树是扁平的：嵌套的“与”和“或”被展开，双重否定被消去，长度检查和预过滤器
+ * 被合并为一次检查；各个子规则按{@linkplain ValidationRule#getCost() 代价}从低到高执行。
+ * 所有组合规则都是不可变的 final 类，可以安全地在多个线程间共享。例如，登录标识可以是手机号码
+ * 或电子邮件地址：
+ * <pre><code>
+ * ValidationRule&lt;String&gt; loginId = ValidationRules.and(
+ *     ValidationRules.lengthBetween(1, 254),
+ *     ChineseMobileValidationRule.INSTANCE.or(EmailValidationRule.INSTANCE));
+ * </code></pre>
+ * 验证时只扫描一次输入来确定其字符集，纯数字的输入只执行手机号码规则，其他输入只执行电子邮件
+ * 地址规则。
+ *
+ * @author 胡海星
+ */
+public final class ValidationRules {
+
+  private ValidationRules() {
+    // 工具类不应被实例化
+  }
+
+  private static final Comparator<ValidationRule<?>> BY_COST =
+      Comparator.comparingInt(ValidationRule::getCost);
+
+  /**
+   * 构造一个要求所有指定规则都成立的规则。
+   * <p>
+   * 不指定任何规则时，构造的规则对任何值都成立。
+   *
+   * @param <T>
+   *     要验证的值的类型。
+   * @param rules
+   *     要组合的规则。
+   * @return 组合得到的规则。
+   */
+  @SafeVarargs
+  public static <T> ValidationRule<T> and(final ValidationRule<? super T>... rules) {
+    final List<ValidationRule<? super T>> flattened = new ArrayList<>();
+    int minLength = 0;
+    int maxLength = Integer.MAX_VALUE;
+    InputCharset charset = InputCharset.ANY;
+    boolean nullRejected = false;
+    boolean folded = false;
+    for (final ValidationRule<? super T> rule : rules) {
+      if (rule instanceof AndRule) {
+        final AndRule<? super T> and = (AndRule<? super T>) rule;
+        for (final ValidationRule<?> child : and.getRules()) {
+          flattened.add(cast(child));
+        }
+        minLength = Math.max(minLength, and.getMinLength());
+        maxLength = Math.min(maxLength, and.getMaxLength());
+        charset = charset.intersect(and.getCharset());
+        nullRejected |= and.isNullRejected();
+        folded = true;
+      } else if (rule instanceof LengthRule) {
+        final LengthRule length = (LengthRule) rule;
+        minLength = Math.max(minLength, length.getMinLength());
+        maxLength = Math.min(maxLength, length.getMaxLength());
+        nullRejected = true;
+        folded = true;
+      } else {
+        // 子规则蕴含的预过滤器与长度检查合并，在所有子规则之前执行
+        final InputPrefilter prefilter = rule.getPrefilter();
+        if (prefilter.getMaxLength() > 0) {
+          maxLength = Math.min(maxLength, prefilter.getMaxLength());
+        }
+        charset = charset.intersect(prefilter.getCharset());
+        if (rule instanceof PrefilterRule) {
+          folded = true;
+        } else {
+          flattened.add(rule);
+        }
+      }
+    }
+    if (!folded && flattened.size() == 1) {
+      return cast(flattened.get(0));
+    }
+    flattened.sort(BY_COST);
+    return new AndRule<>(toArray(flattened), minLength, maxLength, charset, nullRejected);
+  }
+
+  /**
+   * 构造一个要求至少一个指定规则成立的规则。
+   * <p>
+   * 不指定任何规则时，构造的规则对任何值都不成立。
+   *
+   * @param <T>
+   *     要验证的值的类型。
+   * @param rules
+   *     要组合的规则。
+   * @return 组合得到的规则。
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")    // alternatives() 只读取数组中的规则
+  public static <T> ValidationRule<T> or(final ValidationRule<? super T>... rules) {
+    final List<ValidationRule<? super T>> flattened = alternatives(rules);
+    if (flattened.size() == 1) {
+      return cast(flattened.get(0));
+    }
+    flattened.sort(BY_COST);
+    return new OrRule<>(toArray(flattened));
+  }
+
+  /**
+   * 构造一个要求至少一个指定规则成立，并根据观测到的各个规则的成立频率自适应地调整执行顺序的
+   * 规则，使用默认的抽样间隔和调整周期。
+   * <p>
+   * 嵌套的 {@link #or(ValidationRule[])} 规则被展开；各个规则的初始执行顺序即为给定的顺序。
+   *
+   * @param <T>
+   *     要验证的值的类型。
+   * @param rules
+   *     要组合的规则。
+   * @return 组合得到的规则。
+   * @see AdaptiveOrRule
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")    // alternatives() 只读取数组中的规则
+  public static <T> AdaptiveOrRule<T> adaptiveOr(final ValidationRule<? super T>... rules) {
+    final List<ValidationRule<? super T>> flattened = alternatives(rules);
+    return new AdaptiveOrRule<>(toArray(flattened), AdaptiveOrRule.DEFAULT_SAMPLE_INTERVAL,
+        AdaptiveOrRule.DEFAULT_REORDER_PERIOD);
+  }
+
+  /**
+   * 构造一个要求至少一个指定规则成立，并根据观测到的各个规则的成立频率自适应地调整执行顺序的
+   * 规则。
+   *
+   * @param <T>
+   *     要验证的值的类型。
+   * @param sampleInterval
+   *     抽样间隔，必须是2的正整数次幂；为1时记录每一次验证。
+   * @param reorderPeriod
+   *     两次调整执行顺序之间的样本数，必须为正数。
+   * @param rules
+   *     要组合的规则。
+   * @return 组合得到的规则。
+   * @see AdaptiveOrRule
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")    // alternatives() 只读取数组中的规则
+  public static <T> AdaptiveOrRule<T> adaptiveOr(final int sampleInterval,
+      final int reorderPeriod, final ValidationRule<? super T>... rules) {
+    final List<ValidationRule<? super T>> flattened = alternatives(rules);
+    return new AdaptiveOrRule<>(toArray(flattened), sampleInterval, reorderPeriod);
+  }
+
+  /**
+   * 构造一个与指定规则结果相反的规则。
+   * <p>
+   * 对一个否定规则再次否定将直接返回原规则。
+   *
+   * @param <T>
+   *     要验证的值的类型。
+   * @param rule
+   *     要否定的规则。
+   * @return 与指定规则结果相反的规则。
+   */
+  public static <T> ValidationRule<T> not(final ValidationRule<T> rule) {
+    if (rule instanceof NotRule) {
+      return ((NotRule<T>) rule).getRule();
+    }
+    return new NotRule<>(rule);
+  }
+
+  /**
+   * 构造一个要求字符序列的长度在指定范围内的规则。
+   * <p>
+   * {@code null} 不满足此规则。与其他规则用 {@link #and(ValidationRule[])} 组合时，长度检查
+   * 在所有其他规则之前执行。
+   *
+   * @param minLength
+   *     允许的最小长度（含）。
+   * @param maxLength
+   *     允许的最大长度（含）。
+   * @return 要求字符序列的长度在指定范围内的规则。
+   * @throws IllegalArgumentException
+   *     若{@code minLength}为负数或大于{@code maxLength}。
+   */
+  public static ValidationRule<CharSequence> lengthBetween(final int minLength,
+      final int maxLength) {
+    if (minLength < 0 || minLength > maxLength) {
+      throw new IllegalArgumentException("Invalid length range: [" + minLength + ", "
+          + maxLength + "]");
+    }
+    return new LengthRule(minLength, maxLength);
+  }
+
+  /**
+   * 构造一个只检查指定预过滤器的规则。
+   * <p>
+   * {@code null} 满足此规则。
+   *
+   * @param prefilter
+   *     预过滤器。
+   * @return 只检查指定预过滤器的规则。
+   */
+  public static ValidationRule<CharSequence> prefilter(final InputPrefilter prefilter) {
+    return new PrefilterRule(prefilter);
+  }
+
+  /**
+   * 构造一个先检查指定预过滤器，通过后再执行指定规则的规则。
+   *
+   * @param <T>
+   *     要验证的值的类型。
+   * @param prefilter
+   *     预过滤器。
+   * @param rule
+   *     通过预过滤后执行的规则。
+   * @return 组合得到的规则。
+   */
+  public static <T extends CharSequence> ValidationRule<T> prefilter(
+      final InputPrefilter prefilter, final ValidationRule<? super T> rule) {
+    return and(new PrefilterRule(prefilter), rule);
+  }
+
+  /**
+   * 计算“或”规则蕴含的预过滤器，即各个分支蕴含的预过滤器的并集。
+   */
+  static InputPrefilter union(final InputPrefilter[] prefilters) {
+    if (prefilters.length == 0) {
+      return InputPrefilter.NONE;
+    }
+    boolean unlimited = false;
+    int maxLength = 0;
+    InputCharset charset = prefilters[0].getCharset();
+    for (final InputPrefilter prefilter : prefilters) {
+      unlimited |= (prefilter.getMaxLength() == 0);
+      maxLength = Math.max(maxLength, prefilter.getMaxLength());
+      charset = charset.union(prefilter.getCharset());
+    }
+    return new InputPrefilter(unlimited ? 0 : maxLength, charset);
+  }
+
+  /**
+   * 将两个代价估计相加，结果不超过{@link Integer#MAX_VALUE}。
+   */
+  static int addCost(final int x, final int y) {
+    final long sum = (long) x + y;
+    return (int) Math.min(sum, Integer.MAX_VALUE);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R cast(final Object obj) {
+    return (R) obj;
+  }
+
+  /**
+   * 将各个备选规则依次加入一个新的列表，嵌套的 {@link #or(ValidationRule[])} 规则被展开。
+   */
+  private static <T> List<ValidationRule<? super T>> alternatives(
+      final ValidationRule<? super T>[] rules) {
+    final List<ValidationRule<? super T>> result = new ArrayList<>();
+    for (final ValidationRule<? super T> rule : rules) {
+      addAlternative(result, rule);
+    }
+    return result;
+  }
+
+  /**
+   * 将一个备选规则加入列表，嵌套的 {@link #or(ValidationRule[])} 规则被展开。
+   */
+  private static <T> void addAlternative(final List<ValidationRule<? super T>> alternatives,
+      final ValidationRule<? super T> rule) {
+    if (rule instanceof OrRule) {
+      for (final ValidationRule<?> child : ((OrRule<?>) rule).getRules()) {
+        alternatives.add(cast(child));
+      }
+    } else {
+      alternatives.add(rule);
+    }
+  }
+
+  private static <T> ValidationRule<? super T>[] toArray(
+      final List<ValidationRule<? super T>> rules) {
+    return rules.toArray(newArray(0));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> ValidationRule<? super T>[] newArray(final int length) {
+    return (ValidationRule<? super T>[]) new ValidationRule<?>[length];
+  }
+}
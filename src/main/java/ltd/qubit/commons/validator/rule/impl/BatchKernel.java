@@ -0,0 +1,53 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+/**
+ * 批量验证身份证号码和手机号码的计算内核。
+ * <p>
+ * 此接口有两个实现：基于标量循环的 {@link ScalarBatchKernel}，以及基于
+ * {@code jdk.incubator.vector} 的可选的向量化实现。应通过 {@link BatchKernels#get()} 获取
+ * 当前使用的实现。
+ * <p>
+ * 此接口的所有实现都必须是线程安全的，并且其验证结果必须与对应的单个验证规则完全一致。
+ *
+ * @author 胡海星
+ */
+public interface BatchKernel {
+
+  /**
+   * 批量验证身份证号码。
+   *
+   * @param numbers
+   *     待验证的身份证号码，其中的元素可以为 {@code null}。
+   * @param from
+   *     待验证范围的起始下标（包含）。
+   * @param to
+   *     待验证范围的结束下标（不包含）。
+   * @param results
+   *     用于存放验证结果的数组，{@code results[i]} 对应 {@code numbers[i]}。
+   * @return 验证范围内合法的身份证号码的数目。
+   */
+  int validateIdentityCards(CharSequence[] numbers, int from, int to, boolean[] results);
+
+  /**
+   * 批量验证手机号码。
+   *
+   * @param numbers
+   *     待验证的手机号码，其中的元素可以为 {@code null}。
+   * @param from
+   *     待验证范围的起始下标（包含）。
+   * @param to
+   *     待验证范围的结束下标（不包含）。
+   * @param results
+   *     用于存放验证结果的数组，{@code results[i]} 对应 {@code numbers[i]}。
+   * @return 验证范围内合法的手机号码的数目。
+   */
+  int validateMobiles(CharSequence[] numbers, int from, int to, boolean[] results);
+}
@@ -0,0 +1,85 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 用于获取当前使用的 {@link BatchKernel} 的工具类。
+ * <p>
+ * 默认使用 {@link ScalarBatchKernel}：在目前的基准测试中，向量化的实现并不比标量实现更快。
+ * 向量化的实现需要显式启用：构建时启用 {@code vector} profile 以编译 {@code VectorBatchKernel}，
+ * 运行时添加 JVM 参数 {@code --add-modules jdk.incubator.vector}，并将系统属性
+ * {@value #ENABLE_VECTOR_PROPERTY} 设置为 {@code true}。任何一个条件不满足时都使用标量实现。
+ * <p>
+ * 此类不可实例化。
+ *
+ * @author 胡海星
+ */
+public final class BatchKernels {
+
+  /**
+   * 用于启用向量化实现的系统属性的名称。
+   */
+  public static final String ENABLE_VECTOR_PROPERTY =
+      "ltd.qubit.commons.validator.vector.enabled";
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  private static final String VECTOR_KERNEL_CLASS =
+      "ltd.qubit.commons.validator.rule.impl.VectorBatchKernel";
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchKernels.class);
+
+  private static final BatchKernel INSTANCE = load();
+
+  /**
+   * 私有构造函数，防止实例化。
+   */
+  private BatchKernels() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 获取当前使用的 {@link BatchKernel}。
+   *
+   * @return 当前使用的 {@link BatchKernel}。
+   */
+  public static BatchKernel get() {
+    return INSTANCE;
+  }
+
+  /**
+   * 判断当前是否使用了向量化的实现。
+   *
+   * @return 若当前使用了向量化的实现则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isVectorized() {
+    return INSTANCE != ScalarBatchKernel.INSTANCE;
+  }
+
+  private static BatchKernel load() {
+    if (!Boolean.getBoolean(ENABLE_VECTOR_PROPERTY)) {
+      return ScalarBatchKernel.INSTANCE;
+    }
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+      logger.warn("Module {} is not available, use the scalar batch kernel.", VECTOR_MODULE);
+      return ScalarBatchKernel.INSTANCE;
+    }
+    try {
+      final Class<?> cls = Class.forName(VECTOR_KERNEL_CLASS);
+      return (BatchKernel) cls.getDeclaredConstructor().newInstance();
+    } catch (final ReflectiveOperationException | LinkageError e) {
+      logger.warn("Failed to load the vector batch kernel, use the scalar one. "
+          + "Was the library built with the 'vector' profile?", e);
+      return ScalarBatchKernel.INSTANCE;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+/**
+ * 表示一次验证的预算已经耗尽的异常。
+ * <p>
+ * 此异常由 {@link BudgetMeter} 抛出，用于从正则表达式引擎的深层回溯中立即返回，只在验证规则
+ * 的内部使用。为了降低抛出的开销，此异常不记录调用栈，且使用单例。
+ *
+ * @author 胡海星
+ */
+public final class BudgetExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = -6030917466342861337L;
+
+  /**
+   * {@link BudgetExceededException} 的单例实例。
+   */
+  public static final BudgetExceededException INSTANCE = new BudgetExceededException();
+
+  private BudgetExceededException() {
+    super("The validation budget is exceeded.", null, false, false);
+  }
+}
@@ -0,0 +1,69 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * 一次验证的预算计量器。
+ * <p>
+ * 每调用一次 {@link #step()} 消耗一步预算；当消耗的步数超过步数上限，或者（每1024步检查一次）
+ * 当前时间超过截止时间时，抛出 {@link BudgetExceededException}。
+ *
+ * @author 胡海星
+ */
+@NotThreadSafe
+public final class BudgetMeter {
+
+  private static final int TIME_CHECK_MASK = 1023;
+
+  private final long maxSteps;
+  private final long deadline;
+  private final boolean timed;
+  private long steps;
+
+  /**
+   * 构造一个 {@link BudgetMeter}。
+   *
+   * @param maxSteps
+   *     步数上限。
+   * @param maxNanos
+   *     时间上限，单位为纳秒；为 {@link Long#MAX_VALUE} 时不限制时间。
+   */
+  public BudgetMeter(final long maxSteps, final long maxNanos) {
+    this.maxSteps = maxSteps;
+    this.timed = (maxNanos != Long.MAX_VALUE);
+    this.deadline = (timed ? System.nanoTime() + maxNanos : 0);
+  }
+
+  /**
+   * 消耗一步预算。
+   *
+   * @throws BudgetExceededException
+   *     若预算已经耗尽。
+   */
+  public void step() {
+    final long n = ++steps;
+    if (n > maxSteps) {
+      throw BudgetExceededException.INSTANCE;
+    }
+    if (timed && (n & TIME_CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+      throw BudgetExceededException.INSTANCE;
+    }
+  }
+
+  /**
+   * 获取已经消耗的步数。
+   *
+   * @return 已经消耗的步数。
+   */
+  public long getSteps() {
+    return steps;
+  }
+}
@@ -0,0 +1,61 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * 每读取一个字符就消耗一步预算的字符序列。
+ * <p>
+ * {@link java.util.regex.Matcher} 通过 {@link #charAt(int)} 读取输入，回溯时会重复读取已经
+ * 读过的字符，因此读取字符的次数正比于正则表达式引擎的工作量。将输入包装为此类后再交给
+ * {@link java.util.regex.Matcher}，即可在工作量超过预算时中止匹配。
+ *
+ * @author 胡海星
+ */
+@NotThreadSafe
+public final class BudgetedCharSequence implements CharSequence {
+
+  private final CharSequence seq;
+  private final BudgetMeter meter;
+
+  /**
+   * 构造一个 {@link BudgetedCharSequence}。
+   *
+   * @param seq
+   *     被包装的字符序列。
+   * @param meter
+   *     预算计量器。
+   */
+  public BudgetedCharSequence(final CharSequence seq, final BudgetMeter meter) {
+    this.seq = seq;
+    this.meter = meter;
+  }
+
+  @Override
+  public int length() {
+    return seq.length();
+  }
+
+  @Override
+  public char charAt(final int index) {
+    meter.step();
+    return seq.charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(final int start, final int end) {
+    return new BudgetedCharSequence(seq.subSequence(start, end), meter);
+  }
+
+  @Override
+  public String toString() {
+    return seq.toString();
+  }
+}
@@ -0,0 +1,341 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 中国行政区划代码的层级索引。
+ * <p>
+ * 6位地区代码的前2位表示省级行政区，前4位表示地级行政区，因此一个地区的省级和地级行政区的
+ * 代码分别为 {@code code / 10000 * 10000} 和 {@code code / 100 * 100}。此索引在构造时为
+ * {@link ChineseAreaTable} 中的每个地区预先计算其上级、省级和地级行政区的下标，以及其下级
+ * 地区的列表，并将地区代码通过一个开放寻址的哈希表映射为下标，因此所有查询都只需要整数运算
+ * 和数组访问，不需要构造任何字符串。
+ * <p>
+ * 没有地级行政区的地区（例如直辖市的市辖区以及省直辖县级行政区），其上级为省级行政区。
+ *
+ * @author 胡海星
+ * @see ChineseIdentityCardUtils#getAreaIndex()
+ */
+@Immutable
+public final class ChineseAreaIndex {
+
+  /**
+   * 表示不存在的地区的下标或代码。
+   */
+  public static final int NONE = -1;
+
+  private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+  private final ChineseAreaTable table;
+  private final String[] names;
+  private final int[] parents;
+  private final int[] provinces;
+  private final int[] prefectures;
+  private final int[] childOffsets;
+  private final int[] children;
+
+  /**
+   * 开放寻址的哈希表，槽位中存放下标加1，0表示空槽位。
+   */
+  private final int[] slots;
+  private final int hashShift;
+
+  /**
+   * 为指定的行政区划代码表构造索引。
+   *
+   * @param table
+   *     行政区划代码表。
+   */
+  public ChineseAreaIndex(final ChineseAreaTable table) {
+    this.table = table;
+    final int n = table.size();
+    int bits = 4;
+    while ((1 << bits) < 2 * n) {
+      ++bits;
+    }
+    this.slots = new int[1 << bits];
+    this.hashShift = Integer.SIZE - bits;
+    this.names = new String[n];
+    for (int i = 0; i < n; ++i) {
+      names[i] = table.nameAt(i);
+      int slot = hash(table.codeAt(i));
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & (slots.length - 1);
+      }
+      slots[slot] = i + 1;
+    }
+    this.provinces = new int[n];
+    this.prefectures = new int[n];
+    this.parents = new int[n];
+    final int[] childCounts = new int[n + 1];
+    for (int i = 0; i < n; ++i) {
+      final int code = table.codeAt(i);
+      final int province = indexOf(code / 10000 * 10000);
+      final int prefecture = indexOf(code / 100 * 100);
+      provinces[i] = province;
+      prefectures[i] = (prefecture == province ? NONE : prefecture);
+      if (prefecture != NONE && prefecture != i && prefecture != province) {
+        parents[i] = prefecture;
+      } else {
+        parents[i] = (province == i ? NONE : province);
+      }
+      if (parents[i] != NONE) {
+        ++childCounts[parents[i] + 1];
+      }
+    }
+    this.childOffsets = new int[n + 1];
+    for (int i = 0; i < n; ++i) {
+      childOffsets[i + 1] = childOffsets[i] + childCounts[i + 1];
+    }
+    this.children = new int[childOffsets[n]];
+    final int[] next = new int[n];
+    for (int i = 0; i < n; ++i) {
+      if (parents[i] != NONE) {
+        final int p = parents[i];
+        // 按下标顺序填充，因此下级地区按代码升序排列
+        children[childOffsets[p] + next[p]++] = i;
+      }
+    }
+  }
+
+  private int hash(final int code) {
+    return (code * HASH_MULTIPLIER) >>> hashShift;
+  }
+
+  /**
+   * 获取此索引对应的行政区划代码表。
+   *
+   * @return 此索引对应的行政区划代码表。
+   */
+  public ChineseAreaTable getTable() {
+    return table;
+  }
+
+  /**
+   * 查找指定地区代码的下标。
+   *
+   * @param code
+   *     地区代码。
+   * @return 该地区代码在 {@link ChineseAreaTable} 中的下标；若不存在该代码，则返回
+   *     {@link #NONE}。
+   */
+  public int indexOf(final int code) {
+    if (code < 0) {
+      return NONE;
+    }
+    int slot = hash(code);
+    while (true) {
+      final int entry = slots[slot];
+      if (entry == 0) {
+        return NONE;
+      }
+      if (table.codeAt(entry - 1) == code) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & (slots.length - 1);
+    }
+  }
+
+  /**
+   * 判断是否存在指定的地区代码。
+   *
+   * @param code
+   *     地区代码。
+   * @return 若存在则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean contains(final int code) {
+    return indexOf(code) != NONE;
+  }
+
+  private int codeOf(final int index) {
+    return (index == NONE ? NONE : table.codeAt(index));
+  }
+
+  /**
+   * 获取指定地区的名称。
+   *
+   * @param code
+   *     地区代码。
+   * @return 该地区的名称；若不存在该代码，则返回{@code null}。
+   */
+  @Nullable
+  public String getName(final int code) {
+    final int index = indexOf(code);
+    return (index == NONE ? null : names[index]);
+  }
+
+  /**
+   * 获取指定地区的上级地区。
+   *
+   * @param code
+   *     地区代码。
+   * @return 上级地区的代码；若不存在该代码，或者该地区是省级行政区，则返回{@link #NONE}。
+   */
+  public int getParent(final int code) {
+    final int index = indexOf(code);
+    return (index == NONE ? NONE : codeOf(parents[index]));
+  }
+
+  /**
+   * 获取指定地区所在的省级行政区。
+   * <p>
+   * 省级行政区所在的省级行政区即其自身。
+   *
+   * @param code
+   *     地区代码。
+   * @return 所在的省级行政区的代码；若不存在该代码或其省级行政区，则返回{@link #NONE}。
+   */
+  public int getProvince(final int code) {
+    final int index = indexOf(code);
+    return (index == NONE ? NONE : codeOf(provinces[index]));
+  }
+
+  /**
+   * 获取指定地区所在的地级行政区。
+   * <p>
+   * 地级行政区所在的地级行政区即其自身。
+   *
+   * @param code
+   *     地区代码。
+   * @return 所在的地级行政区的代码；若不存在该代码，或者该地区不属于任何地级行政区，则返回
+   *     {@link #NONE}。
+   */
+  public int getPrefecture(final int code) {
+    final int index = indexOf(code);
+    return (index == NONE ? NONE : codeOf(prefectures[index]));
+  }
+
+  /**
+   * 获取指定地区的下级地区的数目。
+   *
+   * @param code
+   *     地区代码。
+   * @return 下级地区的数目；若不存在该代码，则返回0。
+   */
+  public int getChildCount(final int code) {
+    final int index = indexOf(code);
+    return (index == NONE ? 0 : childOffsets[index + 1] - childOffsets[index]);
+  }
+
+  /**
+   * 获取指定地区的第{@code i}个下级地区。
+   *
+   * @param code
+   *     地区代码。
+   * @param i
+   *     下级地区的序号，下级地区按代码升序排列。
+   * @return 第{@code i}个下级地区的代码。
+   * @throws IndexOutOfBoundsException
+   *     若不存在该代码，或者{@code i}超出范围。
+   */
+  public int getChild(final int code, final int i) {
+    final int index = indexOf(code);
+    final int count = (index == NONE ? 0 : childOffsets[index + 1] - childOffsets[index]);
+    if (i < 0 || i >= count) {
+      throw new IndexOutOfBoundsException("Invalid child index " + i + " of the area " + code);
+    }
+    return table.codeAt(children[childOffsets[index] + i]);
+  }
+
+  /**
+   * 获取指定地区的所有下级地区。
+   *
+   * @param code
+   *     地区代码。
+   * @return 按代码升序排列的下级地区的代码；若不存在该代码，则返回空数组。
+   */
+  public int[] getChildren(final int code) {
+    final int index = indexOf(code);
+    if (index == NONE) {
+      return new int[0];
+    }
+    final int start = childOffsets[index];
+    final int[] result = new int[childOffsets[index + 1] - start];
+    for (int i = 0; i < result.length; ++i) {
+      result[i] = table.codeAt(children[start + i]);
+    }
+    return result;
+  }
+
+  /**
+   * 获取指定地区的完整名称路径，例如 {@code "江苏省泰州市靖江市"}。
+   * <p>
+   * 返回的字符序列是各级地区名称的一个视图，不拼接字符串；只有调用其
+   * {@link CharSequence#toString()} 时才构造新的字符串。
+   *
+   * @param code
+   *     地区代码。
+   * @return 从省级行政区到该地区的名称路径；若不存在该代码，则返回{@code null}。
+   */
+  @Nullable
+  public CharSequence getNamePath(final int code) {
+    final int index = indexOf(code);
+    if (index == NONE) {
+      return null;
+    }
+    final int parent = parents[index];
+    if (parent == NONE) {
+      return names[index];
+    }
+    final int grandparent = parents[parent];
+    if (grandparent == NONE) {
+      return new NamePath(names[parent], names[index], "");
+    }
+    return new NamePath(names[grandparent], names[parent], names[index]);
+  }
+
+  /**
+   * 由最多三级地区名称构成的字符序列视图。
+   */
+  private static final class NamePath implements CharSequence {
+    private final String first;
+    private final String second;
+    private final String third;
+
+    NamePath(final String first, final String second, final String third) {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+    }
+
+    @Override
+    public int length() {
+      return first.length() + second.length() + third.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+      if (index < 0) {
+        throw new IndexOutOfBoundsException("Invalid index: " + index);
+      }
+      int i = index;
+      if (i < first.length()) {
+        return first.charAt(i);
+      }
+      i -= first.length();
+      if (i < second.length()) {
+        return second.charAt(i);
+      }
+      return third.charAt(i - second.length());
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return first.concat(second).concat(third);
+    }
+  }
+}
@@ -0,0 +1,386 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 从中国行政区划名称到代码的反向索引。
+ * <p>
+ * 此索引将 {@link ChineseAreaTable} 中的所有地区名称及其常用的简称存放在一个
+ * {@link DoubleArrayTrie} 中，并将名称中出现过的字符映射为从1开始的连续编号作为字典树的标签。
+ * 因此精确查找和前缀匹配的时间都只与名称的长度成正比，且不分配任何对象。
+ * <p>
+ * 简称是去掉地区名称中的行政区划后缀后得到的名称，例如 {@code "海淀"}（{@code "海淀区"}）、
+ * {@code "江苏"}（{@code "江苏省"}）、{@code "广西"}（{@code "广西壮族自治区"}）、
+ * {@code "延边"}（{@code "延边朝鲜族自治州"}）等；去掉后缀后不足两个字的名称没有简称。
+ * 同一个名称可能对应多个地区（例如 {@code "朝阳区"} 和 {@code "吉林"}），此时全称匹配的地区
+ * 排在简称匹配的地区之前，各自按代码升序排列；可以通过指定上级地区来区分它们。
+ *
+ * @author 胡海星
+ * @see ChineseIdentityCardUtils#getAreaNameIndex()
+ */
+@Immutable
+public final class ChineseAreaNameIndex {
+
+  /**
+   * 表示不存在的地区代码。
+   */
+  public static final int NONE = ChineseAreaIndex.NONE;
+
+  /**
+   * 可以去掉的普通行政区划后缀，较长的后缀排在前面。
+   */
+  private static final String[] SUFFIXES = {
+      "特别行政区", "自治区", "自治州", "自治县", "自治旗", "地区", "新区",
+      "省", "市", "区", "县", "盟", "旗",
+  };
+
+  /**
+   * 民族自治地方名称中可能出现的少数民族名称，用于从自治地方的名称中截取地名部分。
+   */
+  private static final String[] ETHNIC_GROUPS = {
+      "蒙古", "回", "藏", "维吾尔", "苗", "彝", "壮", "布依", "朝鲜", "满", "侗", "瑶", "白",
+      "土家", "哈尼", "哈萨克", "傣", "黎", "傈僳", "佤", "畲", "高山", "拉祜", "水", "东乡",
+      "纳西", "景颇", "柯尔克孜", "土", "达斡尔", "仫佬", "羌", "布朗", "撒拉", "毛南", "仡佬",
+      "锡伯", "阿昌", "普米", "塔吉克", "怒", "乌孜别克", "俄罗斯", "鄂温克", "德昂", "保安",
+      "裕固", "京", "塔塔尔", "独龙", "鄂伦春", "赫哲", "门巴", "珞巴", "基诺",
+  };
+
+  private static final int MIN_ALIAS_LENGTH = 2;
+
+  private final ChineseAreaIndex index;
+
+  /**
+   * 将字符映射为从1开始的编号，0表示该字符不出现在任何名称中。
+   */
+  private final char[] alphabet;
+  private final DoubleArrayTrie trie;
+
+  /**
+   * 第{@code k}个名称对应的地区代码为 {@code codes[offsets[k]]} 至
+   * {@code codes[offsets[k + 1] - 1]}。
+   */
+  private final int[] offsets;
+  private final int[] codes;
+
+  /**
+   * 为指定的行政区划代码层级索引构造名称索引。
+   *
+   * @param index
+   *     行政区划代码层级索引。
+   */
+  public ChineseAreaNameIndex(final ChineseAreaIndex index) {
+    this.index = index;
+    final ChineseAreaTable table = index.getTable();
+    final int n = table.size();
+    // 先收集全称匹配的地区，再收集简称匹配的地区，使得全称匹配的地区排在前面
+    final Map<String, Set<Integer>> keys = new TreeMap<>();
+    for (int i = 0; i < n; ++i) {
+      keys.computeIfAbsent(table.nameAt(i), k -> new LinkedHashSet<>()).add(table.codeAt(i));
+    }
+    for (int i = 0; i < n; ++i) {
+      final String alias = aliasOf(table.nameAt(i));
+      if (alias != null) {
+        keys.computeIfAbsent(alias, k -> new LinkedHashSet<>()).add(table.codeAt(i));
+      }
+    }
+    this.offsets = new int[keys.size() + 1];
+    final List<String> names = new ArrayList<>(keys.keySet());
+    int total = 0;
+    for (int k = 0; k < names.size(); ++k) {
+      total += keys.get(names.get(k)).size();
+      offsets[k + 1] = total;
+    }
+    this.codes = new int[total];
+    int j = 0;
+    for (final String name : names) {
+      for (final int code : keys.get(name)) {
+        codes[j++] = code;
+      }
+    }
+    this.alphabet = new char[Character.MAX_VALUE + 1];
+    char size = 0;
+    for (final String name : names) {
+      for (int i = 0; i < name.length(); ++i) {
+        if (alphabet[name.charAt(i)] == 0) {
+          alphabet[name.charAt(i)] = ++size;
+        }
+      }
+    }
+    final int[][] labels = new int[names.size()][];
+    for (int k = 0; k < labels.length; ++k) {
+      final String name = names.get(k);
+      labels[k] = new int[name.length()];
+      for (int i = 0; i < name.length(); ++i) {
+        labels[k][i] = alphabet[name.charAt(i)];
+      }
+    }
+    this.trie = new DoubleArrayTrie(labels);
+  }
+
+  /**
+   * 获取指定地区名称的简称。
+   *
+   * @param name
+   *     地区名称。
+   * @return 该地区名称的简称；若该名称没有简称，则返回{@code null}。
+   */
+  @Nullable
+  static String aliasOf(final String name) {
+    final int autonomous = name.indexOf("自治");
+    if (autonomous > 0) {
+      // 民族自治地方的简称为第一个民族名称之前的地名部分，例如"延边朝鲜族自治州"的简称为"延边"
+      for (int i = MIN_ALIAS_LENGTH; i < autonomous; ++i) {
+        for (final String group : ETHNIC_GROUPS) {
+          if (name.startsWith(group, i)) {
+            final int end = i + group.length();
+            if (name.startsWith("族", end) || name.startsWith("自治", end)) {
+              return name.substring(0, i);
+            }
+          }
+        }
+      }
+    }
+    for (final String suffix : SUFFIXES) {
+      if (name.endsWith(suffix)) {
+        final int length = name.length() - suffix.length();
+        return (length >= MIN_ALIAS_LENGTH ? name.substring(0, length) : null);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 查找与指定的字符序列完全相同的名称的编号。
+   */
+  private int keyOf(final CharSequence text, final int start, final int end) {
+    int state = DoubleArrayTrie.ROOT;
+    for (int i = start; i < end; ++i) {
+      state = trie.next(state, alphabet[text.charAt(i)]);
+      if (state == NONE) {
+        return NONE;
+      }
+    }
+    return trie.valueOf(state);
+  }
+
+  /**
+   * 获取此索引对应的行政区划代码层级索引。
+   *
+   * @return 此索引对应的行政区划代码层级索引。
+   */
+  public ChineseAreaIndex getAreaIndex() {
+    return index;
+  }
+
+  /**
+   * 获取指定名称对应的地区的数目。
+   *
+   * @param name
+   *     地区的名称或简称。
+   * @return 该名称对应的地区的数目；若{@code name}为{@code null}或不对应任何地区，则返回0。
+   */
+  public int count(@Nullable final CharSequence name) {
+    if (name == null) {
+      return 0;
+    }
+    final int key = keyOf(name, 0, name.length());
+    return (key == NONE ? 0 : offsets[key + 1] - offsets[key]);
+  }
+
+  /**
+   * 查找指定名称对应的地区代码。
+   * <p>
+   * 若该名称对应多个地区，则返回全称匹配的地区中代码最小的一个；若没有全称匹配的地区，则返回
+   * 简称匹配的地区中代码最小的一个。
+   *
+   * @param name
+   *     地区的名称或简称。
+   * @return 该名称对应的地区代码；若{@code name}为{@code null}或不对应任何地区，则返回
+   *     {@link #NONE}。
+   */
+  public int find(@Nullable final CharSequence name) {
+    return (name == null ? NONE : find(name, 0, name.length()));
+  }
+
+  /**
+   * 查找字符序列中指定范围内的名称对应的地区代码。
+   *
+   * @param text
+   *     字符序列。
+   * @param start
+   *     名称的起始位置（含）。
+   * @param end
+   *     名称的结束位置（不含）。
+   * @return 该名称对应的地区代码；若该名称不对应任何地区，则返回{@link #NONE}。
+   * @see #find(CharSequence)
+   */
+  public int find(final CharSequence text, final int start, final int end) {
+    final int key = keyOf(text, start, end);
+    return (key == NONE ? NONE : codes[offsets[key]]);
+  }
+
+  /**
+   * 在指定地区的下级地区中查找指定名称对应的地区代码。
+   *
+   * @param name
+   *     地区的名称或简称。
+   * @param ancestor
+   *     上级地区的代码，可以是直接或间接的上级地区；若为{@link #NONE}，则等同于
+   *     {@link #find(CharSequence)}。
+   * @return 该名称对应的、隶属于{@code ancestor}的地区代码；若不存在这样的地区，则返回
+   *     {@link #NONE}。
+   */
+  public int find(@Nullable final CharSequence name, final int ancestor) {
+    if (name == null) {
+      return NONE;
+    }
+    final int key = keyOf(name, 0, name.length());
+    if (key == NONE) {
+      return NONE;
+    }
+    for (int i = offsets[key]; i < offsets[key + 1]; ++i) {
+      if (ancestor == NONE || isDescendant(codes[i], ancestor)) {
+        return codes[i];
+      }
+    }
+    return NONE;
+  }
+
+  private boolean isDescendant(final int code, final int ancestor) {
+    for (int c = index.getParent(code); c != NONE; c = index.getParent(c)) {
+      if (c == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 查找指定名称对应的所有地区代码。
+   *
+   * @param name
+   *     地区的名称或简称。
+   * @param results
+   *     用于存放结果的数组，全称匹配的地区排在简称匹配的地区之前。
+   * @param offset
+   *     结果在{@code results}中的起始位置。
+   * @return 该名称对应的地区的数目。
+   * @throws IllegalArgumentException
+   *     若{@code results}的长度不足以存放所有结果。
+   */
+  public int findAll(@Nullable final CharSequence name, final int[] results, final int offset) {
+    if (name == null) {
+      return 0;
+    }
+    final int key = keyOf(name, 0, name.length());
+    if (key == NONE) {
+      return 0;
+    }
+    final int count = offsets[key + 1] - offsets[key];
+    if (results.length - offset < count) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+    System.arraycopy(codes, offsets[key], results, offset, count);
+    return count;
+  }
+
+  /**
+   * 查找字符序列从指定位置开始的最长的地区名称或简称。
+   * <p>
+   * 例如对于 {@code "江苏省泰州市泰兴市"}，从位置0开始的最长名称为 {@code "江苏省"}，因此返回3；
+   * 调用者可以用 {@link #find(CharSequence, int, int)} 获取其对应的地区代码，再从位置3开始继续
+   * 匹配下一级地区的名称。
+   *
+   * @param text
+   *     字符序列。
+   * @param start
+   *     起始位置。
+   * @return 最长的匹配名称的长度；若从该位置开始没有任何名称，则返回0。
+   */
+  public int matchPrefix(final CharSequence text, final int start) {
+    int state = DoubleArrayTrie.ROOT;
+    int result = 0;
+    for (int i = start; i < text.length(); ++i) {
+      state = trie.next(state, alphabet[text.charAt(i)]);
+      if (state == NONE) {
+        break;
+      }
+      if (trie.valueOf(state) != NONE) {
+        result = i + 1 - start;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 解析由省级、地级和县级行政区的名称构成的三元组。
+   * <p>
+   * 每一级的名称都可以是全称或简称，地级和县级行政区的名称可以为空。对于没有地级行政区的地区，
+   * 例如直辖市的市辖区，地级行政区的名称可以为空，也可以与省级行政区的名称相同，例如
+   * {@code ("北京市", "北京市", "海淀区")}。
+   *
+   * @param province
+   *     省级行政区的名称。
+   * @param city
+   *     地级行政区的名称，可以为{@code null}或空。
+   * @param county
+   *     县级行政区的名称，可以为{@code null}或空。
+   * @return 三元组中最低一级地区的代码；若某一级的名称不存在，或者不隶属于其上一级地区，则
+   *     返回{@link #NONE}。
+   */
+  public int resolve(final CharSequence province, @Nullable final CharSequence city,
+      @Nullable final CharSequence county) {
+    int result = NONE;
+    final int key = keyOf(province, 0, province.length());
+    for (int i = (key == NONE ? 0 : offsets[key]); key != NONE && i < offsets[key + 1]; ++i) {
+      if (index.getParent(codes[i]) == NONE) {
+        result = codes[i];
+        break;
+      }
+    }
+    if (result == NONE) {
+      return NONE;
+    }
+    if (city != null && city.length() > 0 && !matches(city, result)) {
+      result = find(city, result);
+      if (result == NONE) {
+        return NONE;
+      }
+    }
+    if (county != null && county.length() > 0) {
+      result = find(county, result);
+    }
+    return result;
+  }
+
+  /**
+   * 判断指定的名称是否对应指定的地区。
+   */
+  private boolean matches(final CharSequence name, final int code) {
+    final int key = keyOf(name, 0, name.length());
+    if (key != NONE) {
+      for (int i = offsets[key]; i < offsets[key + 1]; ++i) {
+        if (codes[i] == code) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,376 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 紧凑的中国行政区划代码表。
+ * <p>
+ * 此表由按升序排列的 {@code int} 型地区代码数组、名称偏移量数组和所有名称的 UTF-8 编码拼接
+ * 而成的字节数组构成，查找时对代码数组进行二分查找，名称只在需要时才解码，因此加载后只占用
+ * 3个数组对象。
+ * <p>
+ * 此表的二进制形式由构建过程中的 {@code ChineseAreaTableCompiler} 从
+ * {@code china-area.properties} 生成，其格式为（所有整数均为大端序）：
+ * <pre><code>
+ * int    magic            // 0x434E4152，即 "CNAR"
+ * int    version          // 1
+ * int    count            // 地区的数目 n
+ * int[n] codes            // 按升序排列的地区代码
+ * int[n+1] offsets        // 第 i 个名称在名称数据中的范围为 [offsets[i], offsets[i+1])
+ * byte[offsets[n]] names  // 所有名称的 UTF-8 编码
+ * </code></pre>
+ *
+ * @author 胡海星
+ */
+@Immutable
+public final class ChineseAreaTable {
+
+  /**
+   * 二进制形式的行政区划代码表的资源路径。
+   */
+  public static final String RESOURCE = "/china-area.bin";
+
+  /**
+   * 地区代码的位数。
+   */
+  public static final int CODE_LENGTH = 6;
+
+  static final int MAGIC = 0x434E4152;
+
+  static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+  private final int[] codes;
+  private final int[] offsets;
+  private final byte[] names;
+
+  private ChineseAreaTable(final int[] codes, final int[] offsets, final byte[] names) {
+    this.codes = codes;
+    this.offsets = offsets;
+    this.names = names;
+  }
+
+  /**
+   * 从地区代码到名称的映射构造一个 {@link ChineseAreaTable}。
+   *
+   * @param map
+   *     从6位地区代码到地区名称的映射。
+   * @return 构造的 {@link ChineseAreaTable}。
+   * @throws IllegalArgumentException
+   *     若映射中的某个键不是6位数字。
+   */
+  public static ChineseAreaTable fromMap(final Map<String, String> map) {
+    final TreeMap<Integer, byte[]> sorted = new TreeMap<>();
+    int total = 0;
+    for (final Map.Entry<String, String> entry : map.entrySet()) {
+      final int code = parseCode(entry.getKey().trim());
+      if (code < 0) {
+        throw new IllegalArgumentException("Invalid area code: " + entry.getKey());
+      }
+      final byte[] name = entry.getValue().trim().getBytes(UTF_8);
+      sorted.put(code, name);
+      total += name.length;
+    }
+    final int n = sorted.size();
+    final int[] codes = new int[n];
+    final int[] offsets = new int[n + 1];
+    final byte[] names = new byte[total];
+    int i = 0;
+    for (final Map.Entry<Integer, byte[]> entry : sorted.entrySet()) {
+      final byte[] name = entry.getValue();
+      codes[i] = entry.getKey();
+      System.arraycopy(name, 0, names, offsets[i], name.length);
+      offsets[i + 1] = offsets[i] + name.length;
+      ++i;
+    }
+    return new ChineseAreaTable(codes, offsets, names);
+  }
+
+  /**
+   * 从二进制形式读取一个 {@link ChineseAreaTable}。
+   *
+   * @param data
+   *     二进制形式的行政区划代码表。
+   * @return 读取的 {@link ChineseAreaTable}。
+   * @throws IOException
+   *     若数据的格式不正确。
+   */
+  public static ChineseAreaTable read(final byte[] data) throws IOException {
+    try {
+      final ByteBuffer buffer = ByteBuffer.wrap(data);
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Invalid magic number of the area table.");
+      }
+      final int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported version of the area table: " + version);
+      }
+      final int n = buffer.getInt();
+      if (n < 0 || (long) n * 2 * Integer.BYTES > buffer.remaining()) {
+        throw new IOException("Invalid size of the area table: " + n);
+      }
+      final int[] codes = new int[n];
+      final int[] offsets = new int[n + 1];
+      buffer.asIntBuffer().get(codes).get(offsets);
+      buffer.position(HEADER_SIZE + (2 * n + 1) * Integer.BYTES);
+      final int length = offsets[n];
+      if (length != buffer.remaining() || offsets[0] != 0) {
+        throw new IOException("Invalid length of the area names: " + length);
+      }
+      for (int i = 0; i < n; ++i) {
+        if ((i > 0 && codes[i] <= codes[i - 1]) || offsets[i + 1] < offsets[i]) {
+          throw new IOException("The area table is corrupted at index " + i);
+        }
+      }
+      final byte[] names = new byte[length];
+      buffer.get(names);
+      return new ChineseAreaTable(codes, offsets, names);
+    } catch (final BufferUnderflowException e) {
+      throw new IOException("The area table is truncated.", e);
+    }
+  }
+
+  /**
+   * 将此表转换为二进制形式。
+   *
+   * @return 此表的二进制形式。
+   */
+  public byte[] toByteArray() {
+    final int n = codes.length;
+    final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE
+        + (2 * n + 1) * Integer.BYTES + names.length);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(n);
+    buffer.asIntBuffer().put(codes).put(offsets);
+    buffer.position(HEADER_SIZE + (2 * n + 1) * Integer.BYTES);
+    buffer.put(names);
+    return buffer.array();
+  }
+
+  /**
+   * 将6位数字构成的地区代码字符串解析为整数。
+   *
+   * @param code
+   *     地区代码字符串。
+   * @return 解析得到的整数；若该字符串不是6位数字，则返回-1。
+   */
+  public static int parseCode(@Nullable final CharSequence code) {
+    if (code == null || code.length() != CODE_LENGTH) {
+      return -1;
+    }
+    return parseCode(code, 0);
+  }
+
+  /**
+   * 将字符序列中从指定位置开始的6位数字解析为整数。
+   *
+   * @param seq
+   *     字符序列，调用者需保证从{@code offset}开始至少有6个字符。
+   * @param offset
+   *     地区代码的起始位置。
+   * @return 解析得到的整数；若这6个字符不全是数字，则返回-1。
+   */
+  public static int parseCode(final CharSequence seq, final int offset) {
+    int result = 0;
+    for (int i = offset; i < offset + CODE_LENGTH; ++i) {
+      final char ch = seq.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return -1;
+      }
+      result = result * 10 + (ch - '0');
+    }
+    return result;
+  }
+
+  /**
+   * 将整数形式的地区代码格式化为6位数字构成的字符串。
+   *
+   * @param code
+   *     整数形式的地区代码。
+   * @return 6位数字构成的字符串。
+   */
+  public static String formatCode(final int code) {
+    final char[] chars = new char[CODE_LENGTH];
+    int value = code;
+    for (int i = CODE_LENGTH - 1; i >= 0; --i) {
+      chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return new String(chars);
+  }
+
+  /**
+   * 获取此表中地区的数目。
+   *
+   * @return 此表中地区的数目。
+   */
+  public int size() {
+    return codes.length;
+  }
+
+  /**
+   * 获取指定下标的地区代码。
+   *
+   * @param index
+   *     下标，地区按代码升序排列。
+   * @return 该下标的地区代码。
+   */
+  public int codeAt(final int index) {
+    return codes[index];
+  }
+
+  /**
+   * 获取指定下标的地区名称。
+   *
+   * @param index
+   *     下标，地区按代码升序排列。
+   * @return 该下标的地区名称。
+   */
+  public String nameAt(final int index) {
+    return new String(names, offsets[index], offsets[index + 1] - offsets[index], UTF_8);
+  }
+
+  /**
+   * 查找指定地区代码的下标。
+   *
+   * @param code
+   *     地区代码。
+   * @return 该地区代码的下标；若此表中不存在该代码，则返回一个负数。
+   */
+  public int indexOf(final int code) {
+    return Arrays.binarySearch(codes, code);
+  }
+
+  /**
+   * 判断此表中是否存在指定的地区代码。
+   *
+   * @param code
+   *     地区代码。
+   * @return 若存在则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean contains(final int code) {
+    return indexOf(code) >= 0;
+  }
+
+  /**
+   * 获取指定地区代码对应的名称。
+   *
+   * @param code
+   *     地区代码。
+   * @return 该地区代码对应的名称；若此表中不存在该代码，则返回{@code null}。
+   */
+  @Nullable
+  public String getName(final int code) {
+    final int index = indexOf(code);
+    return (index < 0 ? null : nameAt(index));
+  }
+
+  /**
+   * 获取此表的不可修改的 {@link Map} 视图。
+   * <p>
+   * 视图的键为6位数字构成的地区代码，值为地区名称，按地区代码升序迭代。视图不复制此表的数据，
+   * 键和值都在访问时才创建。
+   *
+   * @return 此表的不可修改的 {@link Map} 视图。
+   */
+  public Map<String, String> asMap() {
+    return new MapView();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ChineseAreaTable)) {
+      return false;
+    }
+    final ChineseAreaTable other = (ChineseAreaTable) o;
+    return Arrays.equals(codes, other.codes)
+        && Arrays.equals(offsets, other.offsets)
+        && Arrays.equals(names, other.names);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(codes) + Arrays.hashCode(offsets))
+        + Arrays.hashCode(names);
+  }
+
+  /**
+   * {@link ChineseAreaTable} 的 {@link Map} 视图。
+   */
+  private final class MapView extends AbstractMap<String, String> {
+
+    @Override
+    public int size() {
+      return codes.length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return (key instanceof CharSequence) && contains(parseCode((CharSequence) key));
+    }
+
+    @Override
+    public String get(final Object key) {
+      return (key instanceof CharSequence) ? getName(parseCode((CharSequence) key)) : null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public int size() {
+          return codes.length;
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+              return index < codes.length;
+            }
+
+            @Override
+            public Entry<String, String> next() {
+              if (index >= codes.length) {
+                throw new NoSuchElementException();
+              }
+              final Entry<String, String> entry =
+                  new SimpleImmutableEntry<>(formatCode(codes[index]), nameAt(index));
+              ++index;
+              return entry;
+            }
+          };
+        }
+      };
+    }
+  }
+}
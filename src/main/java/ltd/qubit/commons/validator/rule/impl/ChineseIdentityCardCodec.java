@@ -0,0 +1,156 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.Nullable;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.NUMBER_LENGTH;
+
+/**
+ * 将18位身份证号码无损地编码为一个 {@code long} 的工具类。
+ * <p>
+ * 身份证号码的前17位是数字，最后一位是数字或 {@code 'X'}。编码值为
+ * {@code 前17位数字构成的整数 × 11 + 最后一位的值}，其中 {@code 'X'} 的值为10。编码值总是
+ * 小于 {@code 1.1 × 10^18}，因此是一个非负的 {@code long}，且不同的号码的编码值不同，可以
+ * 直接用于去重和黑名单检查，每个号码只占8个字节，详见
+ * {@link ltd.qubit.commons.validator.utils.LongHashSet}。
+ * <p>
+ * 编码只检查号码的格式，不验证校验码和出生日期；小写的 {@code 'x'} 与大写的 {@code 'X'}
+ * 编码为相同的值。
+ *
+ * @author 胡海星
+ */
+public final class ChineseIdentityCardCodec {
+
+  /**
+   * 编码失败时返回的值。合法的编码值都是非负数。
+   */
+  public static final long INVALID = -1L;
+
+  private static final int CHECK_RADIX = 11;
+  private static final int CHECK_X = 10;
+
+  /**
+   * 最大的编码值（不含）。
+   */
+  private static final long MAX_CODE = 100_000_000_000_000_000L * CHECK_RADIX;
+
+  private ChineseIdentityCardCodec() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 编码一个身份证号码。
+   * <p>
+   * 此函数不分配任何对象。
+   *
+   * @param number
+   *     身份证号码，可以为{@code null}。
+   * @return 该身份证号码的编码值；若该号码不是17位数字加上一位数字或 {@code 'X'} 构成的字符
+   *     序列，则返回{@link #INVALID}。
+   */
+  public static long encode(@Nullable final CharSequence number) {
+    if (number == null || number.length() != NUMBER_LENGTH) {
+      return INVALID;
+    }
+    long value = 0;
+    for (int i = 0; i < NUMBER_LENGTH - 1; ++i) {
+      final char ch = number.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return INVALID;
+      }
+      value = value * 10 + (ch - '0');
+    }
+    final char last = number.charAt(NUMBER_LENGTH - 1);
+    final int check;
+    if (last >= '0' && last <= '9') {
+      check = last - '0';
+    } else if (last == 'X' || last == 'x') {
+      check = CHECK_X;
+    } else {
+      return INVALID;
+    }
+    return value * CHECK_RADIX + check;
+  }
+
+  /**
+   * 批量编码身份证号码。
+   *
+   * @param numbers
+   *     身份证号码，其中的元素可以为 {@code null}。
+   * @param results
+   *     用于存放编码值的数组，{@code results[i]} 对应 {@code numbers[i]}，其长度不能小于
+   *     {@code numbers} 的长度。
+   * @return 编码成功的号码的数目。
+   */
+  public static int encodeAll(final CharSequence[] numbers, final long[] results) {
+    if (results.length < numbers.length) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+    int count = 0;
+    for (int i = 0; i < numbers.length; ++i) {
+      results[i] = encode(numbers[i]);
+      if (results[i] >= 0) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 判断一个值是否是合法的编码值。
+   *
+   * @param code
+   *     待判断的值。
+   * @return 若该值是某个身份证号码的编码值则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isValidCode(final long code) {
+    return code >= 0 && code < MAX_CODE;
+  }
+
+  /**
+   * 将编码值解码为身份证号码，写入调用者提供的缓冲区。
+   *
+   * @param code
+   *     编码值。
+   * @param buffer
+   *     用于保存身份证号码的缓冲区，从{@code offset}开始至少要有18个元素。
+   * @param offset
+   *     身份证号码在缓冲区中的起始位置。
+   * @throws IllegalArgumentException
+   *     若{@code code}不是合法的编码值。
+   */
+  public static void decode(final long code, final char[] buffer, final int offset) {
+    if (!isValidCode(code)) {
+      throw new IllegalArgumentException("Invalid identity card code: " + code);
+    }
+    final int check = (int) (code % CHECK_RADIX);
+    buffer[offset + NUMBER_LENGTH - 1] = (check == CHECK_X ? 'X' : (char) ('0' + check));
+    long value = code / CHECK_RADIX;
+    for (int i = offset + NUMBER_LENGTH - 2; i >= offset; --i) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  /**
+   * 将编码值解码为身份证号码。
+   *
+   * @param code
+   *     编码值。
+   * @return 对应的身份证号码，其最后一位若为字母则总是大写的 {@code 'X'}。
+   * @throws IllegalArgumentException
+   *     若{@code code}不是合法的编码值。
+   */
+  public static String decode(final long code) {
+    final char[] buffer = new char[NUMBER_LENGTH];
+    decode(code, buffer, 0);
+    return new String(buffer);
+  }
+}
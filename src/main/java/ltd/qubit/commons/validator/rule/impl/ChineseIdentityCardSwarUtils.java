@@ -0,0 +1,194 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.NUMBER_LENGTH;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+
+/**
+ * 使用 SWAR（SIMD within a register）技术验证 ASCII 编码的身份证号码的工具类。
+ * <p>
+ * 一个18字节的身份证号码被读取为两个小端序的 {@code long}（第0~7字节和第8~15字节）以及
+ * 两个单独读取的字节（第16、17字节），然后：
+ * <ul>
+ *   <li>对每个 {@code long} 中的8个字节同时进行数字范围检查：当且仅当一个字节的高4位为
+ *   {@code 3}，并且加上 {@code 6} 之后高4位仍为 {@code 3} 时，该字节是 {@code '0'~'9'}
+ *   之一。所有检查的结果通过位运算合并，不产生任何分支。</li>
+ *   <li>将每个 {@code long} 中的数字拆分为奇数位和偶数位，分别放入4个16位的通道中，再与一个
+ *   按相反顺序存放权重的常数相乘，乘积的最高16位即为这4个数字的加权和。由于每个通道的累加值
+ *   不超过 {@code 4 * 9 * 10 = 360}，各通道之间不会产生进位。</li>
+ *   <li>校验码通过以加权和为下标的查找表直接得到，无需进行取模运算。</li>
+ * </ul>
+ * 此类的验证结果与 {@link ltd.qubit.commons.validator.rule.ChineseIdentityCardRule#validate(String)}
+ * 对相应字符串的验证结果一致。
+ * <p>
+ * 此类不可实例化。
+ *
+ * @author 胡海星
+ */
+public final class ChineseIdentityCardSwarUtils {
+
+  private static final VarHandle LONG_VIEW =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long ZEROS = 0x3030303030303030L;
+
+  private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+
+  private static final long SIXES = 0x0606060606060606L;
+
+  private static final long EVEN_BYTES = 0x00FF00FF00FF00FFL;
+
+  /**
+   * 前8位数字中偶数位数字的权重乘数。
+   */
+  private static final long MUL_EVEN_0 = multiplier(0, 0);
+
+  /**
+   * 前8位数字中奇数位数字的权重乘数。
+   */
+  private static final long MUL_ODD_0 = multiplier(0, 1);
+
+  /**
+   * 第9~16位数字中偶数位数字的权重乘数。
+   */
+  private static final long MUL_EVEN_1 = multiplier(8, 0);
+
+  /**
+   * 第9~16位数字中奇数位数字的权重乘数。
+   */
+  private static final long MUL_ODD_1 = multiplier(8, 1);
+
+  /**
+   * 加权和的最大可能值。
+   */
+  private static final int MAX_SUM = 9 * sumOfRatio();
+
+  /**
+   * 以加权和为下标的校验码查找表，{@code CHECK_CHAR[sum] == LAST_CHAR[sum % 11]}。
+   */
+  private static final byte[] CHECK_CHAR = new byte[MAX_SUM + 1];
+
+  static {
+    for (int sum = 0; sum <= MAX_SUM; ++sum) {
+      CHECK_CHAR[sum] = (byte) LAST_CHAR[sum % LAST_CHAR.length];
+    }
+  }
+
+  /**
+   * 私有构造函数，防止实例化。
+   */
+  private ChineseIdentityCardSwarUtils() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 构造权重乘数：第{@code j}个16位通道存放第{@code offset + parity + 2 * (3 - j)}位
+   * 数字的权重，使得乘积的第3个通道恰好为4个数字的加权和。
+   */
+  private static long multiplier(final int offset, final int parity) {
+    long result = 0;
+    for (int j = 0; j < 4; ++j) {
+      result |= ((long) RATIO[offset + parity + 2 * (3 - j)]) << (16 * j);
+    }
+    return result;
+  }
+
+  private static int sumOfRatio() {
+    int sum = 0;
+    for (final int ratio : RATIO) {
+      sum += ratio;
+    }
+    return sum;
+  }
+
+  /**
+   * 判断一个 {@code long} 中的8个字节是否都是 ASCII 数字。
+   *
+   * @return 若8个字节均为 ASCII 数字则返回0，否则返回一个非零值。
+   */
+  private static long nonDigits(final long word) {
+    return ((word & HIGH_NIBBLES) ^ ZEROS) | (((word + SIXES) & HIGH_NIBBLES) ^ ZEROS);
+  }
+
+  /**
+   * 计算一个 {@code long} 中8个数字（已减去 {@code '0'}）的加权和。
+   */
+  private static int weightedSum(final long digits, final long mulEven, final long mulOdd) {
+    final long even = digits & EVEN_BYTES;
+    final long odd = (digits >>> 8) & EVEN_BYTES;
+    return (int) ((even * mulEven) >>> 48) + (int) ((odd * mulOdd) >>> 48);
+  }
+
+  /**
+   * 验证 ASCII 编码的身份证号码。
+   *
+   * @param number
+   *     ASCII 编码的身份证号码，可以为 {@code null}。
+   * @return 若该身份证号码合法则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isValid(final byte[] number) {
+    return (number != null) && (number.length == NUMBER_LENGTH) && isValidAt(number, 0);
+  }
+
+  /**
+   * 验证字节数组中指定位置的 ASCII 编码的身份证号码。
+   *
+   * @param data
+   *     字节数组，可以为 {@code null}。
+   * @param offset
+   *     身份证号码在字节数组中的起始位置。
+   * @return
+   *     若从{@code offset}开始的18个字节构成合法的身份证号码则返回{@code true}，否则返回
+   *     {@code false}；若字节数组中从{@code offset}开始不足18个字节，也返回{@code false}。
+   */
+  public static boolean isValid(final byte[] data, final int offset) {
+    return (data != null) && (offset >= 0) && (data.length - offset >= NUMBER_LENGTH)
+        && isValidAt(data, offset);
+  }
+
+  private static boolean isValidAt(final byte[] data, final int offset) {
+    final long w0 = (long) LONG_VIEW.get(data, offset);
+    final long w1 = (long) LONG_VIEW.get(data, offset + 8);
+    final int b16 = data[offset + 16] & 0xFF;
+    final int check = data[offset + 17] & 0xFF;
+    final int d16 = b16 - '0';
+    // d16 的无符号比较同时检查了上下界
+    final boolean digits = ((nonDigits(w0) | nonDigits(w1)) == 0)
+        & (Integer.compareUnsigned(d16, 9) <= 0);
+    if (!digits) {
+      return false;
+    }
+    final long v0 = w0 - ZEROS;
+    final long v1 = w1 - ZEROS;
+    final int sum = weightedSum(v0, MUL_EVEN_0, MUL_ODD_0)
+        + weightedSum(v1, MUL_EVEN_1, MUL_ODD_1)
+        + d16 * RATIO[16];
+    final int expected = CHECK_CHAR[sum];
+    final boolean checked = (check == expected) | ((expected == 'X') & (check == 'x'));
+    return checked && isBirthdayValid(v0, v1);
+  }
+
+  /**
+   * 验证出生日期。第7~14位为出生日期 YYYYMMDD，即 {@code v0} 的第6、7字节和 {@code v1}
+   * 的第0~5字节。
+   */
+  private static boolean isBirthdayValid(final long v0, final long v1) {
+    final int year = (int) ((v0 >>> 48) & 0xFF) * 1000 + (int) (v0 >>> 56) * 100
+        + (int) (v1 & 0xFF) * 10 + (int) ((v1 >>> 8) & 0xFF);
+    final int month = (int) ((v1 >>> 16) & 0xFF) * 10 + (int) ((v1 >>> 24) & 0xFF);
+    final int day = (int) ((v1 >>> 32) & 0xFF) * 10 + (int) ((v1 >>> 40) & 0xFF);
+    return ChineseIdentityCardUtils.isDateValid(year, month, day);
+  }
+}
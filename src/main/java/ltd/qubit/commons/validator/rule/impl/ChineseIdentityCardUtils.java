@@ -9,19 +9,24 @@
 package ltd.qubit.commons.validator.rule.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.util.Collections;
+import java.time.Year;
+import java.util.AbstractMap;
 import java.util.Map;
-import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import ltd.qubit.commons.error.InitializationError;
 import ltd.qubit.commons.lang.SystemUtils;
 import ltd.qubit.commons.util.properties.PropertiesUtils;
-import ltd.qubit.commons.validator.IdentityCardValidator;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -106,6 +111,13 @@ public final class ChineseIdentityCardUtils {
       '1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'
   };
 
+  /**
+   * 非闰年中每个月的天数，以月份（1~12）为下标。
+   */
+  private static final int[] DAYS_OF_MONTH = {
+      0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31
+  };
+
   /**
    * 私有构造函数，防止实例化。
    */
@@ -190,6 +202,34 @@ public final class ChineseIdentityCardUtils {
     }
   }
 
+  /**
+   * 检查指定的年、月、日是否构成一个存在的日期。
+   * <p>
+   * 此函数的判断结果与 {@link LocalDate#of(int, int, int)} 对于0~9999年的日期的判断结果
+   * 一致，但不会分配任何对象。
+   *
+   * @param year
+   *     年份，取值范围为0~9999。
+   * @param month
+   *     月份。
+   * @param day
+   *     日期。
+   * @return
+   *     若指定的年、月、日构成一个存在的日期则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isDateValid(final int year, final int month, final int day) {
+    if (month < 1 || month > 12 || day < 1) {
+      return false;
+    }
+    if (day <= 28) {
+      return true;
+    }
+    if (month == 2) {
+      return (day == 29) && Year.isLeap(year);
+    }
+    return day <= DAYS_OF_MONTH[month];
+  }
+
   /**
    * 从身份证号码中提取性别。
    *
@@ -243,37 +283,216 @@ public final class ChineseIdentityCardUtils {
    * @return 若该身份证号码中的区县是否合法则返回{@code true}，否则返回{@code false}。
    */
   public static boolean isAreaValid(final String number) {
-    final String area = getAreaCode(number);
-    if (area == null) {
+    if (number == null || number.length() != NUMBER_LENGTH) {
       return false;
     }
-    return (AREA_MAP.get(area) != null);
+    final int area = ChineseAreaTable.parseCode(number, AREA_INDEX);
+    return (area >= 0) && getAreaTable().contains(area);
   }
 
   /**
    * 中国行政区划代码属性文件的资源路径。
    */
   public static final String AREA_MAP_RESOURCE = "/china-area.properties";
-  
+
   /**
    * 中国行政区划代码与其名称的映射表。
    * <p>
-   * 键为6位地区代码，值为地区名称。
-   * 此映射表在类加载时从 {@link #AREA_MAP_RESOURCE} 文件中加载并设为不可修改。
+   * 键为6位地区代码，值为地区名称。此映射表是 {@link #getAreaMap()} 的不可修改的视图，只有
+   * 第一次访问其内容时才会加载行政区划代码表，因此引用此字段不会影响冷启动的耗时。
+   *
+   * @deprecated 请使用 {@link #getAreaMap()}、{@link #getAreaTable()} 或
+   *     {@link #isAreaValid(String)}。
+   */
+  @Deprecated
+  public static final Map<String, String> AREA_MAP = new LazyAreaMap();
+
+  /**
+   * 构建时由 {@link #AREA_MAP_RESOURCE} 编译得到的二进制行政区划代码表的资源路径。
+   */
+  public static final String AREA_TABLE_RESOURCE = ChineseAreaTable.RESOURCE;
+
+  /**
+   * 启用后台预加载行政区划代码表的系统属性名。
+   */
+  public static final String PRELOAD_PROPERTY = "ltd.qubit.commons.validator.area.preload";
+
+  /**
+   * 行政区划代码表是否已经加载。
    */
-  public static final Map<String, String> AREA_MAP;
+  private static volatile boolean areaMapLoaded = false;
 
   static {
+    if (Boolean.getBoolean(PRELOAD_PROPERTY)) {
+      preloadAreaMap();
+    }
+  }
+
+  /**
+   * 延迟加载的行政区划代码表。
+   * <p>
+   * 加载行政区划代码表需要一定的时间，而校验码、出生日期和性别等的处理并不需要行政区划代码表。
+   * 将其放在单独的类中，使得只有第一次真正使用该表时才会加载，并由 JVM 的类初始化机制保证线程
+   * 安全且只加载一次。
+   */
+  private static final class AreaMapHolder {
+    static final ChineseAreaTable AREA_TABLE = loadAreaTable();
+    static final Map<String, String> AREA_MAP = AREA_TABLE.asMap();
+  }
+
+  /**
+   * 加载行政区划代码表。
+   * <p>
+   * 优先使用构建时生成的 {@link #AREA_TABLE_RESOURCE}，只需一次读取即可得到整张表；若该资源
+   * 不存在（例如直接从源码目录运行而未经过构建），则解析 {@link #AREA_MAP_RESOURCE}。
+   */
+  private static ChineseAreaTable loadAreaTable() {
     try {
-      final URL url = SystemUtils.getResource(AREA_MAP_RESOURCE, IdentityCardValidator.class);
-      if (url == null) {
-        throw new InitializationError("Resource not found: " + AREA_MAP_RESOURCE);
+      final ChineseAreaTable table;
+      final URL binary = SystemUtils.getResource(AREA_TABLE_RESOURCE, ChineseIdentityCardUtils.class);
+      if (binary != null) {
+        try (final InputStream in = binary.openStream()) {
+          table = ChineseAreaTable.read(in.readAllBytes());
+        }
+      } else {
+        final URL url = SystemUtils.getResource(AREA_MAP_RESOURCE, ChineseIdentityCardUtils.class);
+        if (url == null) {
+          throw new InitializationError("Resource not found: " + AREA_MAP_RESOURCE);
+        }
+        table = ChineseAreaTable.fromMap(PropertiesUtils.toMap(PropertiesUtils.load(url, UTF_8)));
       }
-      final Properties properties = PropertiesUtils.load(url, UTF_8);
-      final Map<String, String> map = PropertiesUtils.toMap(properties);
-      AREA_MAP = Collections.unmodifiableMap(map);
+      areaMapLoaded = true;
+      return table;
     } catch (final IOException e) {
       throw new InitializationError(e);
     }
   }
+
+  /**
+   * 获取中国行政区划代码表。
+   * <p>
+   * 此表在第一次调用此函数时加载，且不可修改。
+   *
+   * @return 中国行政区划代码表。
+   */
+  public static ChineseAreaTable getAreaTable() {
+    return AreaMapHolder.AREA_TABLE;
+  }
+
+  /**
+   * 获取中国行政区划代码与其名称的映射表。
+   * <p>
+   * 键为6位地区代码，值为地区名称。此映射表是 {@link #getAreaTable()} 的不可修改的视图。
+   *
+   * @return 中国行政区划代码与其名称的映射表。
+   */
+  public static Map<String, String> getAreaMap() {
+    return AreaMapHolder.AREA_MAP;
+  }
+
+  /**
+   * 将所有操作委托给 {@link #getAreaMap()} 的不可修改的映射表，用于 {@link #AREA_MAP}。
+   */
+  private static final class LazyAreaMap extends AbstractMap<String, String> {
+
+    @Override
+    public int size() {
+      return getAreaMap().size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return getAreaMap().containsKey(key);
+    }
+
+    @Override
+    public String get(final Object key) {
+      return getAreaMap().get(key);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return getAreaMap().entrySet();
+    }
+  }
+
+  /**
+   * 延迟构造的行政区划代码层级索引，只有第一次使用时才构造。
+   */
+  private static final class AreaIndexHolder {
+    static final ChineseAreaIndex AREA_INDEX = new ChineseAreaIndex(getAreaTable());
+  }
+
+  /**
+   * 获取中国行政区划代码的层级索引。
+   * <p>
+   * 通过此索引可以只用整数运算和数组访问查询一个地区的上级、省级和地级行政区，以及其下级地区
+   * 和完整名称路径。
+   *
+   * @return 中国行政区划代码的层级索引。
+   */
+  public static ChineseAreaIndex getAreaIndex() {
+    return AreaIndexHolder.AREA_INDEX;
+  }
+
+  /**
+   * 延迟构造的行政区划名称索引，只有第一次使用时才构造。
+   */
+  private static final class AreaNameIndexHolder {
+    static final ChineseAreaNameIndex AREA_NAME_INDEX = new ChineseAreaNameIndex(getAreaIndex());
+  }
+
+  /**
+   * 获取从中国行政区划名称到代码的反向索引。
+   * <p>
+   * 通过此索引可以按名称或简称查找地区代码，例如将用户输入的省、市、县名称与身份证号码中的
+   * 地区代码进行比较，查找的时间只与名称的长度成正比。
+   *
+   * @return 从中国行政区划名称到代码的反向索引。
+   */
+  public static ChineseAreaNameIndex getAreaNameIndex() {
+    return AreaNameIndexHolder.AREA_NAME_INDEX;
+  }
+
+  /**
+   * 判断行政区划代码表是否已经加载。
+   *
+   * @return 若行政区划代码表已经加载则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isAreaMapLoaded() {
+    return areaMapLoaded;
+  }
+
+  /**
+   * 在后台线程中预加载行政区划代码表。
+   * <p>
+   * 应用程序可以在启动时调用此函数，使得第一次使用行政区划代码表时无需等待加载。若将系统属性
+   * {@value #PRELOAD_PROPERTY} 设置为{@code true}，则此类初始化时会自动调用此函数。重复调用
+   * 此函数是安全的。
+   *
+   * @return 在行政区划代码表加载完成后完成的{@link CompletableFuture}。
+   */
+  public static CompletableFuture<Void> preloadAreaMap() {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    if (areaMapLoaded) {
+      future.complete(null);
+      return future;
+    }
+    final Thread thread = new Thread(() -> {
+      // 日志系统的初始化代价较高，因此只在后台线程中获取 Logger，不影响此类的初始化
+      final Logger logger = LoggerFactory.getLogger(ChineseIdentityCardUtils.class);
+      try {
+        final long start = System.nanoTime();
+        getAreaTable();
+        logger.debug("Preloaded the area map in {} ms.", (System.nanoTime() - start) / 1_000_000);
+        future.complete(null);
+      } catch (final Throwable e) {
+        logger.warn("Failed to preload the area map.", e);
+        future.completeExceptionally(e);
+      }
+    }, "china-area-preload");
+    thread.setDaemon(true);
+    thread.start();
+    return future;
+  }
 }
@@ -0,0 +1,97 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+/**
+ * 中国大陆手机号码相关的工具类。
+ * <p>
+ * 提供不依赖正则表达式的手机号码号段检查方法，以及相关的常量定义。号段的定义与
+ * {@link ltd.qubit.commons.validator.rule.ChineseMobileValidationRule} 中的正则表达式
+ * 保持一致。
+ * <p>
+ * 此类不可实例化。
+ */
+public final class ChineseMobileUtils {
+
+  /**
+   * 不含前缀的手机号码的长度（11位）。
+   */
+  public static final int NUMBER_LENGTH = 11;
+
+  /**
+   * 号段表，以手机号码的第2、3位数字组成的两位数为下标。
+   * <p>
+   * 所有手机号码的第1位数字均为1；第2、3位数字决定了号段：
+   * 13[0-9], 14[5-9], 15[0-35-9], 16[5-6], 17[0-8], 18[0-9], 19[89]。
+   */
+  private static final boolean[] PREFIX_TABLE = new boolean[100];
+
+  static {
+    setPrefixes(30, 39);
+    setPrefixes(45, 49);
+    setPrefixes(50, 53);
+    setPrefixes(55, 59);
+    setPrefixes(65, 66);
+    setPrefixes(70, 78);
+    setPrefixes(80, 89);
+    setPrefixes(98, 99);
+  }
+
+  private static void setPrefixes(final int first, final int last) {
+    for (int i = first; i <= last; ++i) {
+      PREFIX_TABLE[i] = true;
+    }
+  }
+
+  /**
+   * 私有构造函数，防止实例化。
+   */
+  private ChineseMobileUtils() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 检查手机号码的前三位数字是否构成合法的号段。
+   *
+   * @param d1
+   *     手机号码的第1位数字，取值范围为0~9。
+   * @param d2
+   *     手机号码的第2位数字，取值范围为0~9。
+   * @param d3
+   *     手机号码的第3位数字，取值范围为0~9。
+   * @return 若号段合法则返回{@code true}，否则返回{@code false}。
+   */
+  public static boolean isPrefixValid(final int d1, final int d2, final int d3) {
+    return (d1 == 1) && PREFIX_TABLE[d2 * 10 + d3];
+  }
+
+  /**
+   * 检查一个不含前缀的11位手机号码是否合法。
+   * <p>
+   * 此函数不接受 "0", "86", "17951" 等前缀，也不会分配任何对象。
+   *
+   * @param number
+   *     待检查的字符序列。
+   * @param offset
+   *     手机号码在字符序列中的起始位置。
+   * @return
+   *     若从{@code offset}开始的11个字符构成合法的手机号码则返回{@code true}，否则返回
+   *     {@code false}。调用者需保证字符序列中至少有11个字符可用。
+   */
+  public static boolean isPlainNumberValid(final CharSequence number, final int offset) {
+    for (int i = offset; i < offset + NUMBER_LENGTH; ++i) {
+      final char ch = number.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return false;
+      }
+    }
+    return isPrefixValid(number.charAt(offset) - '0',
+        number.charAt(offset + 1) - '0', number.charAt(offset + 2) - '0');
+  }
+}
@@ -0,0 +1,323 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.Nullable;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.DAY_INDEX;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.YEAR_INDEX;
+
+/**
+ * 在一次扫描中规范化并验证用户输入的手机号码和身份证号码。
+ * <p>
+ * 用户粘贴的号码常常包含以下变体，此类在扫描的同时将其折叠为规范形式，不产生任何中间字符串：
+ * <ul>
+ * <li>全角数字 {@code '０'~'９'}（U+FF10~U+FF19），折叠为对应的半角数字；</li>
+ * <li>空格（U+0020、U+00A0、U+3000）以及各种连字符和破折号（{@code '-'}、U+2010~U+2015、
+ *     U+2212、U+FF0D），直接忽略；</li>
+ * <li>手机号码开头的 {@code '+'} 或 {@code '＋'}，只允许与国家代码 86 一起出现；</li>
+ * <li>身份证号码末尾的小写 {@code 'x'} 以及全角的 {@code 'ｘ'}、{@code 'Ｘ'}，折叠为大写
+ *     {@code 'X'}。</li>
+ * </ul>
+ * 手机号码的规范形式是不含前缀的11位数字，身份证号码的规范形式是以大写 {@code 'X'} 作为校验码
+ * 的18位字符。规范形式只在调用者需要时才写入调用者提供的缓冲区，或者构造为字符串。
+ * <p>
+ * 长度超过 {@value #MAX_INPUT_LENGTH} 个代码单元的输入直接被拒绝。
+ *
+ * @author 胡海星
+ */
+public final class ChineseNumberNormalizer {
+
+  /**
+   * 允许的输入的最大长度（以 UTF-16 代码单元计），包括被忽略的分隔符。
+   */
+  public static final int MAX_INPUT_LENGTH = 64;
+
+  /**
+   * 规范化失败时返回的值。
+   */
+  public static final int INVALID = -1;
+
+  /**
+   * 规范形式的手机号码的长度。
+   */
+  public static final int MOBILE_LENGTH = ChineseMobileUtils.NUMBER_LENGTH;
+
+  /**
+   * 规范形式的身份证号码的长度。
+   */
+  public static final int IDENTITY_CARD_LENGTH = ChineseIdentityCardUtils.NUMBER_LENGTH;
+
+  private static final int SKIP = -2;
+  private static final int PLUS = '+';
+  private static final int CHECK_X = 'X';
+
+  private static final long TEN_POW_8 = 100_000_000L;
+  private static final long TEN_POW_10 = 10_000_000_000L;
+  private static final long TEN_POW_11 = 100_000_000_000L;
+
+  private ChineseNumberNormalizer() {
+    // 工具类不应被实例化
+  }
+
+  /**
+   * 折叠一个字符。
+   *
+   * @return 半角数字、{@link #PLUS}、{@link #CHECK_X}、{@link #SKIP}，或者{@link #INVALID}。
+   */
+  private static int fold(final char ch) {
+    if (ch >= '0' && ch <= '9') {
+      return ch;
+    }
+    if (ch >= '０' && ch <= '９') {
+      return ch - '０' + '0';
+    }
+    switch (ch) {
+      case ' ':
+      case ' ':
+      case '　':
+      case '-':
+      case '‐':
+      case '‑':
+      case '‒':
+      case '–':
+      case '—':
+      case '―':
+      case '−':
+      case '－':
+        return SKIP;
+      case '+':
+      case '＋':
+        return PLUS;
+      case 'x':
+      case 'X':
+      case 'ｘ':
+      case 'Ｘ':
+        return CHECK_X;
+      default:
+        return INVALID;
+    }
+  }
+
+  /**
+   * 规范化并验证手机号码，返回不含前缀的11位号码的数值。
+   * <p>
+   * 接受的前缀与 {@link ltd.qubit.commons.validator.rule.ChineseMobileValidationRule} 相同，
+   * 即 "0"、"86"、"17951"，此外还接受 "+86"。此函数不分配任何对象。
+   *
+   * @param input
+   *     待规范化的输入，可以为{@code null}。
+   * @return 不含前缀的11位手机号码的数值；若输入不是合法的手机号码，则返回{@link #INVALID}。
+   */
+  public static long parseMobile(@Nullable final CharSequence input) {
+    return parseMobile(input, true);
+  }
+
+  /**
+   * 验证手机号码，返回不含前缀的11位号码的数值。
+   * <p>
+   * 若{@code normalize}为{@code false}，则输入只能包含半角数字，此时此函数的验证结果与
+   * {@link ltd.qubit.commons.validator.rule.ChineseMobileValidationRule#validate(String)}
+   * 一致。此函数不分配任何对象。
+   *
+   * @param input
+   *     待验证的输入，可以为{@code null}。
+   * @param normalize
+   *     是否折叠全角数字、空格、连字符以及 "+86" 前缀。
+   * @return 不含前缀的11位手机号码的数值；若输入不是合法的手机号码，则返回{@link #INVALID}。
+   */
+  public static long parseMobile(@Nullable final CharSequence input, final boolean normalize) {
+    if (input == null) {
+      return INVALID;
+    }
+    final int n = input.length();
+    if (n > MAX_INPUT_LENGTH) {
+      return INVALID;
+    }
+    long value = 0;
+    int digits = 0;
+    boolean plus = false;
+    for (int i = 0; i < n; ++i) {
+      final char c = input.charAt(i);
+      final int ch = (normalize ? fold(c) : c);
+      if (ch == SKIP) {
+        continue;
+      }
+      if (ch == PLUS && normalize && digits == 0 && !plus) {
+        plus = true;
+        continue;
+      }
+      if (ch < '0' || ch > '9' || ++digits > 16) {
+        return INVALID;
+      }
+      value = value * 10 + (ch - '0');
+    }
+    final long prefix = value / TEN_POW_11;
+    final long number = value % TEN_POW_11;
+    // '+' 只能与国家代码 86 一起出现
+    final boolean prefixValid;
+    switch (digits) {
+      case 11:
+        prefixValid = !plus;
+        break;
+      case 12:
+        prefixValid = !plus && prefix == 0;
+        break;
+      case 13:
+        prefixValid = prefix == 86;
+        break;
+      case 16:
+        prefixValid = !plus && prefix == 17951;
+        break;
+      default:
+        prefixValid = false;
+        break;
+    }
+    if (!prefixValid) {
+      return INVALID;
+    }
+    final int d1 = (int) (number / TEN_POW_10);
+    final int d23 = (int) (number / TEN_POW_8 % 100);
+    return ChineseMobileUtils.isPrefixValid(d1, d23 / 10, d23 % 10) ? number : INVALID;
+  }
+
+  /**
+   * 规范化并验证手机号码，将规范形式写入调用者提供的缓冲区。
+   *
+   * @param input
+   *     待规范化的输入，可以为{@code null}。
+   * @param buffer
+   *     用于保存规范形式的缓冲区；从{@code offset}开始至少要有{@value #MOBILE_LENGTH}个元素。
+   * @param offset
+   *     规范形式在缓冲区中的起始位置。
+   * @return 写入的字符数，即{@value #MOBILE_LENGTH}；若输入不是合法的手机号码，则返回
+   *     {@link #INVALID}，此时缓冲区不会被修改。
+   */
+  public static int normalizeMobile(@Nullable final CharSequence input, final char[] buffer,
+      final int offset) {
+    checkBuffer(buffer, offset, MOBILE_LENGTH);
+    long number = parseMobile(input);
+    if (number < 0) {
+      return INVALID;
+    }
+    for (int i = offset + MOBILE_LENGTH - 1; i >= offset; --i) {
+      buffer[i] = (char) ('0' + number % 10);
+      number /= 10;
+    }
+    return MOBILE_LENGTH;
+  }
+
+  /**
+   * 规范化并验证手机号码。
+   *
+   * @param input
+   *     待规范化的输入，可以为{@code null}。
+   * @return 规范形式，即不含前缀的11位手机号码；若输入不是合法的手机号码，则返回
+   *     {@code null}。
+   */
+  @Nullable
+  public static String normalizeMobile(@Nullable final CharSequence input) {
+    final char[] buffer = new char[MOBILE_LENGTH];
+    return (normalizeMobile(input, buffer, 0) < 0 ? null : new String(buffer));
+  }
+
+  /**
+   * 规范化并验证身份证号码，可选地将规范形式写入调用者提供的缓冲区。
+   * <p>
+   * 验证的内容与 {@link ltd.qubit.commons.validator.rule.ChineseIdentityCardRule} 相同，即
+   * 校验码和出生日期。校验码和出生日期在扫描的同时计算，若{@code buffer}为{@code null}，则
+   * 此函数不分配任何对象。
+   *
+   * @param input
+   *     待规范化的输入，可以为{@code null}。
+   * @param buffer
+   *     用于保存规范形式的缓冲区，可以为{@code null}；若不为{@code null}，从{@code offset}开始
+   *     至少要有{@value #IDENTITY_CARD_LENGTH}个元素。
+   * @param offset
+   *     规范形式在缓冲区中的起始位置。
+   * @return 规范形式的长度，即{@value #IDENTITY_CARD_LENGTH}；若输入不是合法的身份证号码，则
+   *     返回{@link #INVALID}，此时缓冲区的内容是不确定的。
+   */
+  public static int normalizeIdentityCard(@Nullable final CharSequence input,
+      @Nullable final char[] buffer, final int offset) {
+    if (buffer != null) {
+      checkBuffer(buffer, offset, IDENTITY_CARD_LENGTH);
+    }
+    if (input == null) {
+      return INVALID;
+    }
+    final int n = input.length();
+    if (n > MAX_INPUT_LENGTH) {
+      return INVALID;
+    }
+    int count = 0;
+    int sum = 0;
+    int date = 0;
+    int check = INVALID;
+    for (int i = 0; i < n; ++i) {
+      final int ch = fold(input.charAt(i));
+      if (ch == SKIP) {
+        continue;
+      }
+      if (count < IDENTITY_CARD_LENGTH - 1) {
+        if (ch < '0' || ch > '9') {
+          return INVALID;
+        }
+        final int digit = ch - '0';
+        sum += digit * RATIO[count];
+        // 出生日期 YYYYMMDD 连续存放，累积为一个8位整数
+        if (count >= YEAR_INDEX && count < DAY_INDEX + 2) {
+          date = date * 10 + digit;
+        }
+      } else if (count == IDENTITY_CARD_LENGTH - 1) {
+        if ((ch < '0' || ch > '9') && ch != CHECK_X) {
+          return INVALID;
+        }
+        check = ch;
+      } else {
+        return INVALID;
+      }
+      if (buffer != null) {
+        buffer[offset + count] = (char) ch;
+      }
+      ++count;
+    }
+    if (count != IDENTITY_CARD_LENGTH || check != LAST_CHAR[sum % LAST_CHAR.length]) {
+      return INVALID;
+    }
+    final int year = date / 10000;
+    final int month = date / 100 % 100;
+    final int day = date % 100;
+    return ChineseIdentityCardUtils.isDateValid(year, month, day) ? IDENTITY_CARD_LENGTH
+                                                                 : INVALID;
+  }
+
+  /**
+   * 规范化并验证身份证号码。
+   *
+   * @param input
+   *     待规范化的输入，可以为{@code null}。
+   * @return 规范形式，即以大写 {@code 'X'} 作为校验码的18位身份证号码；若输入不是合法的
+   *     身份证号码，则返回{@code null}。
+   */
+  @Nullable
+  public static String normalizeIdentityCard(@Nullable final CharSequence input) {
+    final char[] buffer = new char[IDENTITY_CARD_LENGTH];
+    return (normalizeIdentityCard(input, buffer, 0) < 0 ? null : new String(buffer));
+  }
+
+  private static void checkBuffer(final char[] buffer, final int offset, final int length) {
+    if (offset < 0 || offset > buffer.length - length) {
+      throw new IndexOutOfBoundsException("The buffer must have " + length
+          + " characters available at offset " + offset);
+    }
+  }
+}
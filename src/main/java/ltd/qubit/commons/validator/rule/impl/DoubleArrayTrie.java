@@ -0,0 +1,258 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 双数组字典树（double-array trie）。
+ * <p>
+ * 字典树的键是由正整数标签构成的序列，每个结点是一个下标 {@code s}，读入标签 {@code c} 后
+ * 转移到结点 {@code t = base[s] + c}，当且仅当 {@code check[t] == s + 1} 时该转移存在。因此
+ * 每次转移只需两次数组访问，且不分配任何对象。调用者负责将字符映射为从1开始的紧凑的标签，
+ * 标签的取值范围越小，数组越紧凑。
+ * <p>
+ * 构造时先将所有键排序，再按广度优先的顺序为每个结点选择第一个能容纳其所有子结点的
+ * {@code base} 值；具有相同前缀的键在排序后是连续的，因此不需要先构造普通的字典树。
+ *
+ * @author 胡海星
+ */
+@Immutable
+final class DoubleArrayTrie {
+
+  /**
+   * 根结点。
+   */
+  static final int ROOT = 0;
+
+  /**
+   * 表示不存在的结点或键。
+   */
+  static final int NONE = -1;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * 为有多个子结点的结点选择 {@code base} 值时，若失败的尝试超过此次数，则以后不再从更前面的
+   * 空闲结点开始尝试。
+   */
+  private static final int MAX_FAILED_TRIES = 16;
+
+  private final int[] base;
+
+  /**
+   * {@code check[t]} 为结点 {@code t} 的父结点下标加1，0表示空闲的结点。
+   */
+  private final int[] check;
+
+  /**
+   * {@code values[t]} 为结点 {@code t} 对应的键在构造参数中的下标加1，0表示该结点不对应任何键。
+   */
+  private final int[] values;
+
+  /**
+   * 由指定的键构造双数组字典树。
+   *
+   * @param keys
+   *     键，每个键是由正整数标签构成的序列。若有重复的键，则其对应下标较大的一个。
+   * @throws IllegalArgumentException
+   *     若某个键包含非正的标签。
+   */
+  DoubleArrayTrie(final int[][] keys) {
+    final Builder builder = new Builder(keys);
+    this.base = builder.base;
+    this.check = builder.check;
+    this.values = builder.values;
+  }
+
+  /**
+   * 从指定结点沿指定标签转移。
+   *
+   * @param state
+   *     当前结点。
+   * @param label
+   *     标签。
+   * @return 转移到的结点；若该转移不存在，则返回{@link #NONE}。
+   */
+  int next(final int state, final int label) {
+    if (label <= 0) {
+      return NONE;
+    }
+    final int t = base[state] + label;
+    return (t < check.length && check[t] == state + 1 ? t : NONE);
+  }
+
+  /**
+   * 获取指定结点对应的键。
+   *
+   * @param state
+   *     结点。
+   * @return 该结点对应的键在构造参数中的下标；若该结点不对应任何键，则返回{@link #NONE}。
+   */
+  int valueOf(final int state) {
+    return values[state] - 1;
+  }
+
+  /**
+   * 获取此字典树的数组长度。
+   *
+   * @return 此字典树的数组长度，即结点下标的上界。
+   */
+  int capacity() {
+    return check.length;
+  }
+
+  /**
+   * 双数组字典树的构造器。
+   */
+  private static final class Builder {
+    int[] base = new int[INITIAL_CAPACITY];
+    int[] check = new int[INITIAL_CAPACITY];
+    int[] values = new int[INITIAL_CAPACITY];
+
+    private final int[][] keys;
+    private final Integer[] order;
+    private int[] labels = new int[16];
+    private int[] starts = new int[17];
+
+    /**
+     * 已被占用的结点，用于在选择 {@code base} 值时以字为单位跳过连续被占用的区域。
+     */
+    private final BitSet used = new BitSet();
+
+    /**
+     * 开始寻找空闲结点的下标，它不小于最大的标签加1，因此其后的任意空闲结点都能容纳一个子结点。
+     */
+    private int firstFree;
+
+    /**
+     * 为有多个子结点的结点选择 {@code base} 值时开始尝试的下标。其前面剩余的空闲结点很难同时
+     * 容纳多个子结点，留给只有一个子结点的结点使用。
+     */
+    private int multiFree;
+
+    Builder(final int[][] keys) {
+      this.keys = keys;
+      this.order = new Integer[keys.length];
+      int maxLabel = 0;
+      for (int i = 0; i < keys.length; ++i) {
+        for (final int label : keys[i]) {
+          if (label <= 0) {
+            throw new IllegalArgumentException("Invalid label of the key " + i + ": " + label);
+          }
+          maxLabel = Math.max(maxLabel, label);
+        }
+        order[i] = i;
+      }
+      this.firstFree = maxLabel + 1;
+      this.multiFree = firstFree;
+      // 稳定排序，使得重复的键中下标较大的一个排在后面
+      Arrays.sort(order, (x, y) -> Arrays.compare(keys[x], keys[y]));
+      check[ROOT] = 1;
+      used.set(ROOT);
+      // 队列中的元素为 {结点, 深度, 起始位置, 结束位置}，其中 order[起始位置, 结束位置) 中的键
+      // 具有相同的长度为"深度"的前缀，即该结点对应的前缀
+      final ArrayDeque<int[]> queue = new ArrayDeque<>();
+      queue.add(new int[]{ROOT, 0, 0, keys.length});
+      while (!queue.isEmpty()) {
+        final int[] item = queue.poll();
+        final int state = item[0];
+        final int depth = item[1];
+        int lo = item[2];
+        final int hi = item[3];
+        while (lo < hi && keys[order[lo]].length == depth) {
+          values[state] = order[lo++] + 1;
+        }
+        if (lo == hi) {
+          continue;
+        }
+        final int n = group(depth, lo, hi);
+        final int b = findBase(n);
+        base[state] = b;
+        for (int i = 0; i < n; ++i) {
+          final int t = b + labels[i];
+          check[t] = state + 1;
+          used.set(t);
+          queue.add(new int[]{t, depth + 1, starts[i], starts[i + 1]});
+        }
+        firstFree = used.nextClearBit(firstFree);
+        multiFree = Math.max(multiFree, firstFree);
+      }
+      int length = check.length;
+      while (check[length - 1] == 0) {
+        --length;
+      }
+      base = Arrays.copyOf(base, length);
+      check = Arrays.copyOf(check, length);
+      values = Arrays.copyOf(values, length);
+    }
+
+    /**
+     * 将 {@code order[lo, hi)} 中的键按第{@code depth}个标签分组。
+     *
+     * @return 组的数目 n；第 i 组的标签为 {@code labels[i]}，其中的键为
+     *     {@code order[starts[i], starts[i + 1])}。
+     */
+    private int group(final int depth, final int lo, final int hi) {
+      int n = 0;
+      for (int i = lo; i < hi; ++i) {
+        final int label = keys[order[i]][depth];
+        if (n == 0 || labels[n - 1] != label) {
+          if (n == labels.length) {
+            labels = Arrays.copyOf(labels, n * 2);
+            starts = Arrays.copyOf(starts, n * 2 + 1);
+          }
+          labels[n] = label;
+          starts[n++] = i;
+        }
+      }
+      starts[n] = hi;
+      return n;
+    }
+
+    private int findBase(final int n) {
+      // 只尝试使第一个子结点落在空闲结点上的 base 值
+      int failures = 0;
+      for (int p = used.nextClearBit(n == 1 ? firstFree : multiFree); ;
+           p = used.nextClearBit(p + 1)) {
+        final int b = p - labels[0];
+        ensureCapacity(b + labels[n - 1] + 1);
+        if (isFree(b, n)) {
+          if (failures > MAX_FAILED_TRIES) {
+            multiFree = p;
+          }
+          return b;
+        }
+        ++failures;
+      }
+    }
+
+    private boolean isFree(final int b, final int n) {
+      for (int i = 1; i < n; ++i) {
+        if (used.get(b + labels[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (capacity > check.length) {
+        final int length = Math.max(capacity, check.length + (check.length >> 1));
+        base = Arrays.copyOf(base, length);
+        check = Arrays.copyOf(check, length);
+        values = Arrays.copyOf(values, length);
+      }
+    }
+  }
+}
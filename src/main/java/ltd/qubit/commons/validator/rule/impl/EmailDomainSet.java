@@ -0,0 +1,300 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 紧凑的电子邮件域名集合。
+ * <p>
+ * 集合中的每个域名同时代表其所有子域名，例如 {@code "mailinator.com"} 既匹配
+ * {@code "mailinator.com"}，也匹配 {@code "a.mailinator.com"}。所有域名按字符逆序存放在一个
+ * {@link DoubleArrayTrie} 中，即一棵按标签逆序排列的后缀字典树：匹配时从域名的最后一个字符
+ * 向前扫描，每经过一个 {@code '.'} 检查一次是否到达了集合中的某个域名。扫描时大写字母被折叠为
+ * 小写字母，因此匹配不区分大小写，且不需要转换输入、不分配任何对象，时间只与域名的长度成正比。
+ * <p>
+ * 从电子邮件地址的末尾向前扫描到 {@code '@'} 即得到其域名，因此
+ * {@link #matchesEmail(CharSequence)} 在同一次扫描中确定域名的范围并完成匹配。
+ * <p>
+ * 集合的文本形式每行一个域名，忽略空行以及以 {@code '#'} 开头的注释行；域名开头的
+ * {@code "*."} 或 {@code "."} 以及末尾的 {@code "."} 被忽略。域名只能包含 ASCII 字母、数字、
+ * {@code '-'} 和 {@code '.'}。
+ *
+ * @author 胡海星
+ * @see ltd.qubit.commons.validator.rule.EmailDomainList
+ */
+@Immutable
+public final class EmailDomainSet {
+
+  /**
+   * 空集合。
+   */
+  public static final EmailDomainSet EMPTY = new EmailDomainSet(new int[0][]);
+
+  /**
+   * {@code '.'} 对应的标签。
+   */
+  private static final int DOT = 38;
+
+  /**
+   * 将 ASCII 字符映射为字典树的标签，大写字母与小写字母的标签相同，0表示非法字符。
+   */
+  private static final byte[] LABELS = new byte[128];
+
+  static {
+    for (char ch = 'a'; ch <= 'z'; ++ch) {
+      LABELS[ch] = (byte) (ch - 'a' + 1);
+      LABELS[ch - 'a' + 'A'] = (byte) (ch - 'a' + 1);
+    }
+    for (char ch = '0'; ch <= '9'; ++ch) {
+      LABELS[ch] = (byte) (ch - '0' + 27);
+    }
+    LABELS['-'] = 37;
+    LABELS['.'] = DOT;
+  }
+
+  private final DoubleArrayTrie trie;
+  private final int size;
+
+  private EmailDomainSet(final int[][] keys) {
+    this.trie = new DoubleArrayTrie(keys);
+    this.size = keys.length;
+  }
+
+  private static int labelOf(final char ch) {
+    return (ch < LABELS.length ? LABELS[ch] : 0);
+  }
+
+  /**
+   * 由指定的域名构造一个集合。
+   *
+   * @param domains
+   *     域名，不区分大小写，可以有重复。
+   * @return 包含指定域名的集合。
+   * @throws IllegalArgumentException
+   *     若某个域名的格式不正确。
+   */
+  public static EmailDomainSet of(final String... domains) {
+    return of(Arrays.asList(domains));
+  }
+
+  /**
+   * 由指定的域名构造一个集合。
+   *
+   * @param domains
+   *     域名，不区分大小写，可以有重复。
+   * @return 包含指定域名的集合。
+   * @throws IllegalArgumentException
+   *     若某个域名的格式不正确。
+   */
+  public static EmailDomainSet of(final Collection<String> domains) {
+    final List<int[]> keys = new ArrayList<>(domains.size());
+    for (final String domain : domains) {
+      final int[] key = toKey(domain);
+      if (key == null) {
+        throw new IllegalArgumentException("Invalid domain: " + domain);
+      }
+      keys.add(key);
+    }
+    return new EmailDomainSet(distinct(keys));
+  }
+
+  /**
+   * 从文本形式读取一个集合。
+   *
+   * @param reader
+   *     文本形式的集合，此函数不会关闭它。
+   * @return 读取的集合。
+   * @throws IOException
+   *     若读取失败，或者某个域名的格式不正确。
+   */
+  public static EmailDomainSet read(final Reader reader) throws IOException {
+    final BufferedReader in = (reader instanceof BufferedReader)
+                              ? (BufferedReader) reader : new BufferedReader(reader);
+    final List<int[]> keys = new ArrayList<>();
+    int lineNumber = 0;
+    for (String line = in.readLine(); line != null; line = in.readLine()) {
+      ++lineNumber;
+      final String domain = line.trim();
+      if (domain.isEmpty() || domain.charAt(0) == '#') {
+        continue;
+      }
+      final int[] key = toKey(domain);
+      if (key == null) {
+        throw new IOException("Invalid domain at line " + lineNumber + ": " + domain);
+      }
+      keys.add(key);
+    }
+    return new EmailDomainSet(distinct(keys));
+  }
+
+  /**
+   * 从文本形式的文件读取一个集合。
+   *
+   * @param file
+   *     以 UTF-8 编码的文本文件。
+   * @return 读取的集合。
+   * @throws IOException
+   *     若读取失败，或者某个域名的格式不正确。
+   */
+  public static EmailDomainSet load(final Path file) throws IOException {
+    try (final Reader reader = Files.newBufferedReader(file, UTF_8)) {
+      return read(reader);
+    }
+  }
+
+  /**
+   * 将域名转换为字典树的键，即其字符的标签的逆序序列。
+   *
+   * @return 域名对应的键；若域名的格式不正确，则返回{@code null}。
+   */
+  @Nullable
+  private static int[] toKey(@Nullable final String domain) {
+    if (domain == null) {
+      return null;
+    }
+    int start = 0;
+    int end = domain.length();
+    if (domain.startsWith("*.")) {
+      start = 2;
+    } else if (domain.startsWith(".")) {
+      start = 1;
+    }
+    if (end > start && domain.charAt(end - 1) == '.') {
+      --end;
+    }
+    if (start == end) {
+      return null;
+    }
+    final int[] key = new int[end - start];
+    for (int i = 0; i < key.length; ++i) {
+      final char ch = domain.charAt(end - 1 - i);
+      final int label = labelOf(ch);
+      if (label == 0 || (label == DOT && (i == 0 || key[i - 1] == DOT))) {
+        return null;
+      }
+      key[i] = label;
+    }
+    return (key[key.length - 1] == DOT ? null : key);
+  }
+
+  private static int[][] distinct(final List<int[]> keys) {
+    keys.sort(Arrays::compare);
+    int n = 0;
+    for (final int[] key : keys) {
+      if (n == 0 || !Arrays.equals(keys.get(n - 1), key)) {
+        keys.set(n++, key);
+      }
+    }
+    return keys.subList(0, n).toArray(new int[n][]);
+  }
+
+  /**
+   * 获取此集合中域名的数目。
+   *
+   * @return 此集合中域名的数目。
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 判断指定的域名或其某个上级域名是否在此集合中。
+   * <p>
+   * 此函数不区分大小写，且不分配任何对象。
+   *
+   * @param domain
+   *     域名。
+   * @return 若该域名或其某个上级域名在此集合中则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean matches(@Nullable final CharSequence domain) {
+    return (domain != null) && match(domain, 0, domain.length(), false);
+  }
+
+  /**
+   * 判断字符序列中指定范围内的域名或其某个上级域名是否在此集合中。
+   *
+   * @param text
+   *     字符序列。
+   * @param start
+   *     域名的起始位置（含）。
+   * @param end
+   *     域名的结束位置（不含）。
+   * @return 若该域名或其某个上级域名在此集合中则返回{@code true}，否则返回{@code false}。
+   * @see #matches(CharSequence)
+   */
+  public boolean matches(final CharSequence text, final int start, final int end) {
+    return match(text, start, end, false);
+  }
+
+  /**
+   * 判断指定的电子邮件地址的域名或其某个上级域名是否在此集合中。
+   * <p>
+   * 域名是地址中最后一个 {@code '@'} 之后的部分；若地址中没有 {@code '@'}，则返回
+   * {@code false}。此函数不区分大小写，且不分配任何对象。
+   *
+   * @param email
+   *     电子邮件地址。
+   * @return 若该地址的域名或其某个上级域名在此集合中则返回{@code true}，否则返回
+   *     {@code false}。
+   */
+  public boolean matchesEmail(@Nullable final CharSequence email) {
+    return (email != null) && match(email, 0, email.length(), true);
+  }
+
+  /**
+   * 从指定范围的末尾向前扫描并匹配域名。
+   *
+   * @param email
+   *     是否匹配电子邮件地址；若为{@code true}，则扫描到 {@code '@'} 为止，且范围中必须包含
+   *     {@code '@'}。
+   */
+  private boolean match(final CharSequence text, final int start, final int end,
+      final boolean email) {
+    int state = DoubleArrayTrie.ROOT;
+    for (int i = end - 1; i >= start; --i) {
+      final char ch = text.charAt(i);
+      if (email && ch == '@') {
+        return trie.valueOf(state) != DoubleArrayTrie.NONE;
+      }
+      if (ch == '.' && trie.valueOf(state) != DoubleArrayTrie.NONE) {
+        // 已匹配某个上级域名；对于电子邮件地址还需确认其中存在 '@'
+        return !email || lastIndexOf(text, '@', start, i) >= 0;
+      }
+      state = trie.next(state, labelOf(ch));
+      if (state == DoubleArrayTrie.NONE) {
+        return false;
+      }
+    }
+    return !email && trie.valueOf(state) != DoubleArrayTrie.NONE;
+  }
+
+  private static int lastIndexOf(final CharSequence text, final char ch, final int start,
+      final int end) {
+    for (int i = end - 1; i >= start; --i) {
+      if (text.charAt(i) == ch) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
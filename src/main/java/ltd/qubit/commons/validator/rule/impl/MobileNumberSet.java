@@ -0,0 +1,270 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * 紧凑的手机号码集合。
+ * <p>
+ * 集合中的元素是 {@link ChineseNumberNormalizer#parseMobile(CharSequence)} 返回的不含前缀的
+ * 11位手机号码的数值，按升序存放在一个 {@link LongBuffer} 中，每个号码只占8个字节。查找时先用
+ * 号码的高位在一个有 {@value #BUCKET_COUNT} 个桶的索引中确定范围，再在该范围内进行二分查找，
+ * 不分配任何对象。
+ * <p>
+ * 集合的二进制形式可以直接被{@linkplain #map(Path) 内存映射}，因此加载数百万个号码的集合几乎
+ * 不需要复制数据，也不占用堆内存。其格式为（所有整数均为大端序）：
+ * <pre><code>
+ * int     magic     // 0x434E4D42，即 "CNMB"
+ * int     version   // 1
+ * int     count     // 号码的数目 n
+ * long[n] numbers   // 按严格升序排列的号码
+ * </code></pre>
+ * 映射的文件在此对象不再被引用后，由垃圾收集器解除映射。
+ *
+ * @author 胡海星
+ * @see ltd.qubit.commons.validator.rule.MobileNumberList
+ */
+@Immutable
+public final class MobileNumberSet {
+
+  /**
+   * 空集合。
+   */
+  public static final MobileNumberSet EMPTY = new MobileNumberSet(LongBuffer.allocate(0));
+
+  /**
+   * 索引中桶的数目。
+   */
+  public static final int BUCKET_COUNT = 1 << 16;
+
+  static final int MAGIC = 0x434E4D42;
+
+  static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+  /**
+   * 合法的手机号码的最小值，即 {@code 10000000000}。
+   */
+  private static final long MIN_NUMBER = 10_000_000_000L;
+
+  /**
+   * 合法的手机号码的最大值（不含），即 {@code 20000000000}。
+   */
+  private static final long MAX_NUMBER = 2 * MIN_NUMBER;
+
+  private static final long BUCKET_WIDTH = (MAX_NUMBER - MIN_NUMBER + BUCKET_COUNT - 1)
+      / BUCKET_COUNT;
+
+  private final LongBuffer numbers;
+
+  /**
+   * 第{@code b}个桶中的号码在{@link #numbers}中的范围为 {@code [index[b], index[b + 1])}。
+   */
+  private final int[] index;
+
+  private MobileNumberSet(final LongBuffer numbers) {
+    this.numbers = numbers;
+    this.index = new int[BUCKET_COUNT + 1];
+    final int n = numbers.limit();
+    int b = 0;
+    for (int i = 0; i < n; ++i) {
+      final int bucket = bucketOf(numbers.get(i));
+      while (b <= bucket) {
+        index[b++] = i;
+      }
+    }
+    while (b <= BUCKET_COUNT) {
+      index[b++] = n;
+    }
+  }
+
+  private static int bucketOf(final long number) {
+    return (int) ((number - MIN_NUMBER) / BUCKET_WIDTH);
+  }
+
+  /**
+   * 由指定的号码构造一个集合。
+   *
+   * @param numbers
+   *     不含前缀的11位手机号码的数值，可以是任意顺序，可以有重复。
+   * @return 包含指定号码的集合。
+   * @throws IllegalArgumentException
+   *     若某个值不是以1开头的11位数字。
+   */
+  public static MobileNumberSet of(final long... numbers) {
+    final long[] sorted = numbers.clone();
+    Arrays.sort(sorted);
+    int n = 0;
+    for (final long number : sorted) {
+      checkNumber(number);
+      if (n == 0 || sorted[n - 1] != number) {
+        sorted[n++] = number;
+      }
+    }
+    return new MobileNumberSet(LongBuffer.wrap(sorted, 0, n).slice());
+  }
+
+  private static void checkNumber(final long number) {
+    if (number < MIN_NUMBER || number >= MAX_NUMBER) {
+      throw new IllegalArgumentException("Invalid mobile number: " + number);
+    }
+  }
+
+  /**
+   * 内存映射一个二进制形式的集合文件。
+   *
+   * @param file
+   *     集合文件。
+   * @return 映射得到的集合。
+   * @throws IOException
+   *     若读取文件失败，或者文件的格式不正确。
+   */
+  public static MobileNumberSet map(final Path file) throws IOException {
+    final MappedByteBuffer buffer;
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    return read(buffer);
+  }
+
+  /**
+   * 从二进制形式读取一个集合。
+   * <p>
+   * 返回的集合直接引用{@code buffer}中的数据，而不复制它们。
+   *
+   * @param buffer
+   *     二进制形式的集合，从其当前位置开始读取。
+   * @return 读取的集合。
+   * @throws IOException
+   *     若数据的格式不正确。
+   */
+  public static MobileNumberSet read(final ByteBuffer buffer) throws IOException {
+    final ByteBuffer data = buffer.slice();
+    if (data.remaining() < HEADER_SIZE || data.getInt() != MAGIC) {
+      throw new IOException("Invalid magic number of the mobile number set.");
+    }
+    final int version = data.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version of the mobile number set: " + version);
+    }
+    final int n = data.getInt();
+    if (n < 0 || (long) n * Long.BYTES != data.remaining()) {
+      throw new IOException("Invalid size of the mobile number set: " + n);
+    }
+    final LongBuffer numbers = data.asLongBuffer();
+    long previous = MIN_NUMBER - 1;
+    for (int i = 0; i < n; ++i) {
+      final long number = numbers.get(i);
+      if (number <= previous || number >= MAX_NUMBER) {
+        throw new IOException("The mobile number set is corrupted at index " + i);
+      }
+      previous = number;
+    }
+    return new MobileNumberSet(numbers);
+  }
+
+  /**
+   * 将此集合以二进制形式写入输出流。
+   *
+   * @param out
+   *     输出流，此函数不会关闭它。
+   * @throws IOException
+   *     若写入失败，或此集合的二进制形式超过了一个字节数组所能容纳的大小。
+   */
+  public void write(final OutputStream out) throws IOException {
+    final int n = size();
+    final long length = HEADER_SIZE + (long) n * Long.BYTES;
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Invalid size of the mobile number set: " + n);
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate((int) length);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(n);
+    for (int i = 0; i < n; ++i) {
+      buffer.putLong(numbers.get(i));
+    }
+    out.write(buffer.array());
+  }
+
+  /**
+   * 将此集合以二进制形式写入文件。
+   *
+   * @param file
+   *     目标文件，若已存在则被覆盖。
+   * @throws IOException
+   *     若写入失败。
+   */
+  public void write(final Path file) throws IOException {
+    try (final OutputStream out = Files.newOutputStream(file)) {
+      write(out);
+    }
+  }
+
+  /**
+   * 获取此集合中号码的数目。
+   *
+   * @return 此集合中号码的数目。
+   */
+  public int size() {
+    return numbers.limit();
+  }
+
+  /**
+   * 获取此集合中指定位置的号码。
+   *
+   * @param i
+   *     号码的位置，号码按升序排列。
+   * @return 指定位置的号码。
+   */
+  public long get(final int i) {
+    return numbers.get(i);
+  }
+
+  /**
+   * 判断此集合是否包含指定的号码。
+   * <p>
+   * 此函数不分配任何对象。
+   *
+   * @param number
+   *     不含前缀的11位手机号码的数值。
+   * @return 若此集合包含该号码则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean contains(final long number) {
+    if (number < MIN_NUMBER || number >= MAX_NUMBER) {
+      return false;
+    }
+    final int bucket = bucketOf(number);
+    int low = index[bucket];
+    int high = index[bucket + 1] - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final long value = numbers.get(mid);
+      if (value < number) {
+        low = mid + 1;
+      } else if (value > number) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,126 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.NUMBER_LENGTH;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+
+/**
+ * 基于标量循环的 {@link BatchKernel} 实现。
+ * <p>
+ * 这是默认的实现，除非显式启用了向量化的实现，详见 {@link BatchKernels}。
+ *
+ * @author 胡海星
+ */
+@Immutable
+@ThreadSafe
+public final class ScalarBatchKernel implements BatchKernel {
+
+  /**
+   * {@link ScalarBatchKernel} 的单例实例。
+   */
+  public static final ScalarBatchKernel INSTANCE = new ScalarBatchKernel();
+
+  private ScalarBatchKernel() {}
+
+  /** {@inheritDoc} */
+  @Override
+  public int validateIdentityCards(final CharSequence[] numbers, final int from,
+      final int to, final boolean[] results) {
+    int count = 0;
+    for (int i = from; i < to; ++i) {
+      final boolean valid = isIdentityCardValid(numbers[i]);
+      results[i] = valid;
+      if (valid) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int validateMobiles(final CharSequence[] numbers, final int from,
+      final int to, final boolean[] results) {
+    int count = 0;
+    for (int i = from; i < to; ++i) {
+      final boolean valid = isMobileValid(numbers[i]);
+      results[i] = valid;
+      if (valid) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 验证一个身份证号码，其结果与
+   * {@link ltd.qubit.commons.validator.rule.ChineseIdentityCardRule#validate(String)} 一致。
+   *
+   * @param number
+   *     待验证的身份证号码，可以为 {@code null}。
+   * @return 若该身份证号码合法则返回{@code true}，否则返回{@code false}。
+   */
+  static boolean isIdentityCardValid(final CharSequence number) {
+    if (number == null || number.length() != NUMBER_LENGTH) {
+      return false;
+    }
+    int sum = 0;
+    for (int i = 0; i < NUMBER_LENGTH - 1; ++i) {
+      final char ch = number.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return false;
+      }
+      sum += (ch - '0') * RATIO[i];
+    }
+    final char lastChar = LAST_CHAR[sum % LAST_CHAR.length];
+    if (Character.toUpperCase(number.charAt(NUMBER_LENGTH - 1)) != lastChar) {
+      return false;
+    }
+    return isBirthdayValid(number);
+  }
+
+  /**
+   * 验证一个已确认前17位均为数字的身份证号码中的出生日期。
+   *
+   * @param number
+   *     身份证号码，其前17位必须均为数字。
+   * @return 若其中的出生日期合法则返回{@code true}，否则返回{@code false}。
+   */
+  static boolean isBirthdayValid(final CharSequence number) {
+    final int year = (number.charAt(6) - '0') * 1000 + (number.charAt(7) - '0') * 100
+        + (number.charAt(8) - '0') * 10 + (number.charAt(9) - '0');
+    final int month = (number.charAt(10) - '0') * 10 + (number.charAt(11) - '0');
+    final int day = (number.charAt(12) - '0') * 10 + (number.charAt(13) - '0');
+    return ChineseIdentityCardUtils.isDateValid(year, month, day);
+  }
+
+  /**
+   * 验证一个手机号码，其结果与 {@link ChineseMobileValidationRule#validate(String)} 一致。
+   *
+   * @param number
+   *     待验证的手机号码，可以为 {@code null}。
+   * @return 若该手机号码合法则返回{@code true}，否则返回{@code false}。
+   */
+  static boolean isMobileValid(final CharSequence number) {
+    if (number == null) {
+      return false;
+    }
+    if (number.length() == ChineseMobileUtils.NUMBER_LENGTH) {
+      return ChineseMobileUtils.isPlainNumberValid(number, 0);
+    }
+    return ChineseMobileValidationRule.INSTANCE.validate(number.toString());
+  }
+}
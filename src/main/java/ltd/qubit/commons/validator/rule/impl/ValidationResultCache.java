@@ -0,0 +1,283 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * 有界的、并发的、带准入过滤的验证结果缓存。
+ * <p>
+ * 此缓存将字符串映射到一个布尔型的验证结果，其实现参考了 TinyLFU 算法：
+ * <ul>
+ *   <li>缓存被划分为若干个段，每个段由独立的锁保护，键按其哈希值分配到各个段中，以降低锁竞争。
+ *   </li>
+ *   <li>每个段维护一个 Count-Min Sketch，用于近似地记录最近一段时间内各个键被访问的频率；
+ *   当记录的访问次数达到段容量的10倍时，所有计数器减半，使得频率统计能够反映访问模式的变化。
+ *   </li>
+ *   <li>段满时，只有当新键的访问频率高于该段中最久未被访问的键（淘汰候选）时，才会淘汰候选
+ *   并插入新键；否则拒绝插入新键。因此只出现一次的键（例如攻击者构造的随机输入）无法将频繁
+ *   访问的键挤出缓存。</li>
+ * </ul>
+ *
+ * @author 胡海星
+ */
+@ThreadSafe
+public final class ValidationResultCache {
+
+  /**
+   * 表示缓存中不存在指定键的返回值。
+   */
+  public static final int ABSENT = -1;
+
+  private static final int MAX_SEGMENTS = 64;
+
+  private final Segment[] segments;
+
+  private final int segmentMask;
+
+  private final int maximumSize;
+
+  private final LongAdder evictions = new LongAdder();
+
+  private final LongAdder rejections = new LongAdder();
+
+  /**
+   * 构造一个 {@link ValidationResultCache}。
+   *
+   * @param maximumSize
+   *     缓存的最大容量，必须为正数。
+   */
+  public ValidationResultCache(final int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    final int preferred = Runtime.getRuntime().availableProcessors() * 4;
+    // 段数为2的幂，且每个段至少能容纳16个键
+    int n = 1;
+    while (n < preferred && n < MAX_SEGMENTS && (n * 2) * 16 <= maximumSize) {
+      n *= 2;
+    }
+    this.segments = new Segment[n];
+    this.segmentMask = n - 1;
+    this.maximumSize = maximumSize;
+    final int capacity = (maximumSize + n - 1) / n;
+    for (int i = 0; i < n; ++i) {
+      segments[i] = new Segment(capacity);
+    }
+  }
+
+  /**
+   * 获取缓存的最大容量。
+   *
+   * @return 缓存的最大容量。
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * 获取缓存中当前的键数目。
+   *
+   * @return 缓存中当前的键数目。
+   */
+  public int size() {
+    int result = 0;
+    for (final Segment segment : segments) {
+      result += segment.size();
+    }
+    return result;
+  }
+
+  /**
+   * 获取因为容量不足而被淘汰的键的数目。
+   *
+   * @return 被淘汰的键的数目。
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * 获取因为访问频率不足而被拒绝插入的键的数目。
+   *
+   * @return 被拒绝插入的键的数目。
+   */
+  public long getRejectionCount() {
+    return rejections.sum();
+  }
+
+  /**
+   * 查询指定键对应的验证结果，并记录一次对该键的访问。
+   *
+   * @param key
+   *     要查询的键。
+   * @return
+   *     若缓存中存在该键，则验证结果为{@code true}时返回1，为{@code false}时返回0；
+   *     若缓存中不存在该键，则返回 {@link #ABSENT}。
+   */
+  public int get(final String key) {
+    final int hash = spread(key.hashCode());
+    return segments[hash & segmentMask].get(key, hash);
+  }
+
+  /**
+   * 将指定键对应的验证结果放入缓存。
+   * <p>
+   * 若缓存已满，则根据访问频率决定是否淘汰已有的键，或者拒绝插入该键。
+   *
+   * @param key
+   *     键。
+   * @param value
+   *     验证结果。
+   */
+  public void put(final String key, final boolean value) {
+    final int hash = spread(key.hashCode());
+    segments[hash & segmentMask].put(key, hash, value);
+  }
+
+  /**
+   * 清空缓存。
+   */
+  public void clear() {
+    for (final Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  private static int spread(final int h) {
+    final int x = h * 0x9E3779B9;
+    return x ^ (x >>> 16);
+  }
+
+  /**
+   * 缓存的一个段。
+   */
+  private final class Segment {
+    private final int capacity;
+
+    @GuardedBy("this")
+    private final LinkedHashMap<String, Boolean> map;
+
+    @GuardedBy("this")
+    private final FrequencySketch sketch;
+
+    Segment(final int capacity) {
+      this.capacity = capacity;
+      // 按访问顺序排列，最久未被访问的键位于最前
+      this.map = new LinkedHashMap<>(16, 0.75f, true);
+      this.sketch = new FrequencySketch(capacity);
+    }
+
+    synchronized int size() {
+      return map.size();
+    }
+
+    synchronized void clear() {
+      map.clear();
+      sketch.clear();
+    }
+
+    synchronized int get(final String key, final int hash) {
+      sketch.increment(hash);
+      final Boolean value = map.get(key);
+      if (value == null) {
+        return ABSENT;
+      }
+      return (value ? 1 : 0);
+    }
+
+    synchronized void put(final String key, final int hash, final boolean value) {
+      if (map.size() < capacity || map.containsKey(key)) {
+        map.put(key, value);
+        return;
+      }
+      final Iterator<String> iter = map.keySet().iterator();
+      final String victim = iter.next();
+      if (sketch.frequency(hash) > sketch.frequency(spread(victim.hashCode()))) {
+        iter.remove();
+        map.put(key, value);
+        evictions.increment();
+      } else {
+        rejections.increment();
+      }
+    }
+  }
+
+  /**
+   * 一个4行的 Count-Min Sketch，每个计数器的上限为15。
+   */
+  private static final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {
+        0x97CB3127, 0xB7D69B4D, 0x4E67C6A7, 0x9E3779B1
+    };
+
+    private final byte[] table;
+    private final int widthMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(final int capacity) {
+      // 每个键平均占用4个计数器宽度，以降低哈希冲突导致的频率高估
+      int width = 64;
+      while (width < 4 * capacity) {
+        width *= 2;
+      }
+      this.table = new byte[DEPTH * width];
+      this.widthMask = width - 1;
+      this.sampleSize = Math.max(10 * capacity, 16);
+    }
+
+    private int index(final int hash, final int row) {
+      final int h = (hash ^ SEEDS[row]) * SEEDS[row];
+      return row * (widthMask + 1) + ((h ^ (h >>> 15)) & widthMask);
+    }
+
+    int frequency(final int hash) {
+      int result = MAX_COUNT;
+      for (int row = 0; row < DEPTH; ++row) {
+        result = Math.min(result, table[index(hash, row)]);
+      }
+      return result;
+    }
+
+    void increment(final int hash) {
+      boolean added = false;
+      for (int row = 0; row < DEPTH; ++row) {
+        final int i = index(hash, row);
+        if (table[i] < MAX_COUNT) {
+          ++table[i];
+          added = true;
+        }
+      }
+      if (added && ++additions >= sampleSize) {
+        reset();
+      }
+    }
+
+    private void reset() {
+      for (int i = 0; i < table.length; ++i) {
+        table[i] = (byte) (table[i] >>> 1);
+      }
+      additions /= 2;
+    }
+
+    void clear() {
+      Arrays.fill(table, (byte) 0);
+      additions = 0;
+    }
+  }
+}
@@ -0,0 +1,486 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * 元素为基本类型 {@code long} 的哈希集合。
+ * <p>
+ * 此集合使用开放寻址和线性探测，所有元素直接存放在一个 {@code long} 槽位表中，不为每个元素
+ * 创建任何对象。装载因子为 {@value #DEFAULT_LOAD_FACTOR} 时，每个元素平均占用约 8~16 个
+ * 字节，而 {@code HashSet<String>} 中的每个身份证号码要占用80个字节以上。配合
+ * {@link ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardCodec} 可以对数以亿计的
+ * 身份证号码进行去重和黑名单检查。
+ * <p>
+ * 槽位表可以存放在堆内（{@link #onHeap(long)}），也可以存放在堆外的直接内存中
+ * （{@link #offHeap(long)}），后者不增加垃圾收集器需要扫描的堆的大小。槽位表被划分为若干个
+ * 段，每段最多 {@code 2^27} 个槽位（1 GiB），因此容量不受单个数组或缓冲区大小的限制。
+ * 堆外内存在此集合扩容、被{@link #clear() 清空}或不再被引用后，由垃圾收集器回收。
+ * <p>
+ * 槽位值0表示空槽位，元素0单独记录。此类不是线程安全的；构造完成后只读的集合可以安全地在
+ * 多个线程间共享。
+ *
+ * @author 胡海星
+ */
+@NotThreadSafe
+public final class LongHashSet {
+
+  /**
+   * 默认的装载因子。
+   */
+  public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  private static final int SEGMENT_SHIFT = 27;
+  private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+  private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+  private static final long MAX_CAPACITY = 1L << 62;
+  private static final long MIN_CAPACITY = 16;
+
+  private final float loadFactor;
+  private final boolean offHeap;
+  private Slots slots;
+  private long mask;
+  private long threshold;
+  private long size;
+  private boolean hasZero;
+
+  /**
+   * 构造一个槽位表存放在堆内的集合。
+   *
+   * @param expectedSize
+   *     预计的元素数目，用于确定初始容量。
+   * @return 新构造的集合。
+   */
+  public static LongHashSet onHeap(final long expectedSize) {
+    return new LongHashSet(expectedSize, DEFAULT_LOAD_FACTOR, false);
+  }
+
+  /**
+   * 构造一个槽位表存放在堆外的直接内存中的集合。
+   *
+   * @param expectedSize
+   *     预计的元素数目，用于确定初始容量。
+   * @return 新构造的集合。
+   */
+  public static LongHashSet offHeap(final long expectedSize) {
+    return new LongHashSet(expectedSize, DEFAULT_LOAD_FACTOR, true);
+  }
+
+  /**
+   * 构造一个 {@link LongHashSet}。
+   *
+   * @param expectedSize
+   *     预计的元素数目，用于确定初始容量，不能为负数。
+   * @param loadFactor
+   *     装载因子，取值范围为 (0, 1)。
+   * @param offHeap
+   *     是否将槽位表存放在堆外的直接内存中。
+   */
+  public LongHashSet(final long expectedSize, final float loadFactor, final boolean offHeap) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+    }
+    if (!(loadFactor > 0 && loadFactor < 1)) {
+      throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+    }
+    this.loadFactor = loadFactor;
+    this.offHeap = offHeap;
+    allocate(capacityFor(expectedSize, loadFactor));
+  }
+
+  private static long capacityFor(final long expectedSize, final float loadFactor) {
+    final double required = Math.ceil(expectedSize / (double) loadFactor) + 1;
+    if (required > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Too many elements: " + expectedSize);
+    }
+    long capacity = MIN_CAPACITY;
+    while (capacity < required) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private void allocate(final long capacity) {
+    slots = (offHeap ? new DirectSlots(capacity) : new HeapSlots(capacity));
+    mask = capacity - 1;
+    threshold = Math.min((long) (capacity * (double) loadFactor), capacity - 1);
+  }
+
+  /**
+   * 打散哈希值，即 MurmurHash3 的 fmix64 函数。
+   */
+  private static long mix(final long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * 查找元素所在的槽位，或者元素应当插入的空槽位。
+   */
+  private long probe(final long key) {
+    long i = mix(key) & mask;
+    while (true) {
+      final long value = slots.get(i);
+      if (value == key || value == 0) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+  }
+
+  /**
+   * 获取此集合中元素的数目。
+   *
+   * @return 此集合中元素的数目。
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * 判断此集合是否为空。
+   *
+   * @return 若此集合为空则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * 获取槽位表的容量。
+   *
+   * @return 槽位表的容量，即槽位的数目。
+   */
+  public long capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * 判断槽位表是否存放在堆外的直接内存中。
+   *
+   * @return 若槽位表存放在堆外则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  /**
+   * 获取槽位表占用的内存大小。
+   *
+   * @return 槽位表占用的字节数。
+   */
+  public long memoryUsage() {
+    return capacity() * Long.BYTES;
+  }
+
+  /**
+   * 判断此集合是否包含指定的元素。
+   *
+   * @param key
+   *     指定的元素。
+   * @return 若此集合包含该元素则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean contains(final long key) {
+    if (key == 0) {
+      return hasZero;
+    }
+    return slots.get(probe(key)) == key;
+  }
+
+  /**
+   * 向此集合中添加一个元素。
+   *
+   * @param key
+   *     要添加的元素。
+   * @return 若此集合原来不包含该元素则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean add(final long key) {
+    if (key == 0) {
+      if (hasZero) {
+        return false;
+      }
+      hasZero = true;
+      ++size;
+      return true;
+    }
+    final long i = probe(key);
+    if (slots.get(i) == key) {
+      return false;
+    }
+    slots.set(i, key);
+    if (++size > threshold) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * 从此集合中删除一个元素。
+   *
+   * @param key
+   *     要删除的元素。
+   * @return 若此集合原来包含该元素则返回{@code true}，否则返回{@code false}。
+   */
+  public boolean remove(final long key) {
+    if (key == 0) {
+      if (!hasZero) {
+        return false;
+      }
+      hasZero = false;
+      --size;
+      return true;
+    }
+    long i = probe(key);
+    if (slots.get(i) != key) {
+      return false;
+    }
+    // 向后移动同一探测序列中的后续元素以填补空缺，使得查找不需要墓碑标记
+    long j = i;
+    while (true) {
+      j = (j + 1) & mask;
+      final long value = slots.get(j);
+      if (value == 0) {
+        break;
+      }
+      final long home = mix(value) & mask;
+      final boolean between = (i <= j) ? (i < home && home <= j) : (i < home || home <= j);
+      if (!between) {
+        slots.set(i, value);
+        i = j;
+      }
+    }
+    slots.set(i, 0);
+    --size;
+    return true;
+  }
+
+  /**
+   * 确保此集合可以容纳指定数目的元素而不需要扩容。
+   *
+   * @param expectedSize
+   *     预计的元素数目。
+   * @throws IllegalArgumentException
+   *     若指定数目的元素超过了此集合的最大容量。
+   */
+  public void ensureCapacity(final long expectedSize) {
+    final long capacity = capacityFor(expectedSize, loadFactor);
+    if (capacity > capacity()) {
+      rehash(capacity);
+    }
+  }
+
+  /**
+   * 批量添加元素。
+   *
+   * @param keys
+   *     要添加的元素。
+   * @return 新添加的元素的数目。
+   */
+  public int addAll(final long[] keys) {
+    return addAll(keys, 0, keys.length);
+  }
+
+  /**
+   * 批量添加元素。
+   *
+   * @param keys
+   *     存放要添加的元素的数组。
+   * @param offset
+   *     第一个要添加的元素在数组中的位置。
+   * @param length
+   *     要添加的元素的数目。
+   * @return 新添加的元素的数目。
+   */
+  public int addAll(final long[] keys, final int offset, final int length) {
+    checkRange(keys.length, offset, length);
+    ensureCapacity(size + length);
+    int count = 0;
+    for (int i = offset; i < offset + length; ++i) {
+      if (add(keys[i])) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 批量判断此集合是否包含指定的元素。
+   *
+   * @param keys
+   *     要判断的元素。
+   * @param results
+   *     用于存放判断结果的数组，{@code results[i]} 对应 {@code keys[i]}，其长度不能小于
+   *     {@code keys} 的长度。
+   * @return 此集合包含的元素的数目。
+   */
+  public int containsAll(final long[] keys, final boolean[] results) {
+    return containsAll(keys, 0, keys.length, results);
+  }
+
+  /**
+   * 批量判断此集合是否包含指定的元素。
+   *
+   * @param keys
+   *     存放要判断的元素的数组。
+   * @param offset
+   *     第一个要判断的元素在数组中的位置。
+   * @param length
+   *     要判断的元素的数目。
+   * @param results
+   *     用于存放判断结果的数组，{@code results[i]} 对应 {@code keys[offset + i]}，其长度不能
+   *     小于{@code length}。
+   * @return 此集合包含的元素的数目。
+   */
+  public int containsAll(final long[] keys, final int offset, final int length,
+      final boolean[] results) {
+    checkRange(keys.length, offset, length);
+    if (results.length < length) {
+      throw new IllegalArgumentException("The results array is too short.");
+    }
+    int count = 0;
+    for (int i = 0; i < length; ++i) {
+      results[i] = contains(keys[offset + i]);
+      if (results[i]) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 对此集合中的每个元素执行指定的操作，元素的顺序是不确定的。
+   *
+   * @param action
+   *     要执行的操作。
+   */
+  public void forEach(final LongConsumer action) {
+    if (hasZero) {
+      action.accept(0);
+    }
+    final long capacity = capacity();
+    for (long i = 0; i < capacity; ++i) {
+      final long value = slots.get(i);
+      if (value != 0) {
+        action.accept(value);
+      }
+    }
+  }
+
+  /**
+   * 删除此集合中的所有元素，并将槽位表缩小到最小容量。
+   */
+  public void clear() {
+    allocate(MIN_CAPACITY);
+    size = 0;
+    hasZero = false;
+  }
+
+  private void grow() {
+    if (capacity() >= MAX_CAPACITY) {
+      throw new IllegalStateException("The set is full.");
+    }
+    rehash(capacity() << 1);
+  }
+
+  private void rehash(final long newCapacity) {
+    final Slots old = slots;
+    final long oldCapacity = capacity();
+    allocate(newCapacity);
+    for (long i = 0; i < oldCapacity; ++i) {
+      final long value = old.get(i);
+      if (value != 0) {
+        slots.set(probe(value), value);
+      }
+    }
+  }
+
+  private static void checkRange(final int arrayLength, final int offset, final int length) {
+    if (offset < 0 || length < 0 || offset > arrayLength - length) {
+      throw new IndexOutOfBoundsException("Invalid range: offset = " + offset
+          + ", length = " + length + ", array length = " + arrayLength);
+    }
+  }
+
+  /**
+   * 分段的槽位表。
+   */
+  private abstract static class Slots {
+    abstract long get(long index);
+
+    abstract void set(long index, long value);
+
+    static int segmentCount(final long capacity) {
+      return (int) ((capacity + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+    }
+
+    static int segmentLength(final long capacity) {
+      return (int) Math.min(capacity, SEGMENT_SIZE);
+    }
+  }
+
+  /**
+   * 存放在堆内的槽位表。
+   */
+  private static final class HeapSlots extends Slots {
+    private final long[][] segments;
+
+    HeapSlots(final long capacity) {
+      segments = new long[segmentCount(capacity)][segmentLength(capacity)];
+    }
+
+    @Override
+    long get(final long index) {
+      return segments[(int) (index >>> SEGMENT_SHIFT)][(int) (index & SEGMENT_MASK)];
+    }
+
+    @Override
+    void set(final long index, final long value) {
+      segments[(int) (index >>> SEGMENT_SHIFT)][(int) (index & SEGMENT_MASK)] = value;
+    }
+  }
+
+  /**
+   * 存放在堆外的直接内存中的槽位表。
+   */
+  private static final class DirectSlots extends Slots {
+    private final LongBuffer[] segments;
+
+    DirectSlots(final long capacity) {
+      final int length = segmentLength(capacity);
+      segments = new LongBuffer[segmentCount(capacity)];
+      for (int i = 0; i < segments.length; ++i) {
+        // 直接内存在分配时已被清零
+        segments[i] = ByteBuffer.allocateDirect(length * Long.BYTES)
+                                .order(ByteOrder.nativeOrder())
+                                .asLongBuffer();
+      }
+    }
+
+    @Override
+    long get(final long index) {
+      return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    @Override
+    void set(final long index, final long value) {
+      segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+    }
+  }
+}
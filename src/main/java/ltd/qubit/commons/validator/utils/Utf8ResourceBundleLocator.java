@@ -8,6 +8,7 @@
 ////////////////////////////////////////////////////////////////////////////////
 package ltd.qubit.commons.validator.utils;
 
+import java.net.URL;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
@@ -21,6 +22,13 @@ import ltd.qubit.commons.i18n.bundle.Utf8Control;
 
 /**
  * 支持UTF-8编码的 .properties 文件的 {@link ResourceBundleLocator}.
+ * <p>
+ * 此类优先加载构建时由 {@code ResourceBundleCompiler} 生成的
+ * {@link java.util.ListResourceBundle} 子类，此时查找资源包只需加载类，不需要读取和解析属性
+ * 文件；若不存在生成的类（例如用户提供的资源包），则以 UTF-8 编码加载 .properties 文件。
+ * 生成的类只有在与类路径上首先可见的同名属性文件位于同一位置时才会被使用，因此应用程序在类路径
+ * 上较前位置提供的同名属性文件（例如自己的 {@code ValidationMessages.properties}）仍然可以覆盖
+ * 此库的消息。
  *
  * @author 胡海星
  * @see <a href="https://stackoverflow.com/questions/6421790/hibernate-validator-jsf-2-0-validationmessages-properties-in-utf-8">
@@ -35,6 +43,28 @@ public class Utf8ResourceBundleLocator implements ResourceBundleLocator {
    */
   protected static final ResourceBundle.Control UTF8_CONTROL = new Utf8Control();
 
+  /**
+   * 构建时生成的资源包类所在的包。
+   */
+  public static final String COMPILED_BUNDLE_PACKAGE = "ltd.qubit.commons.validator.bundle";
+
+  /**
+   * 获取指定资源包在构建时编译得到的类的全名。
+   *
+   * @param bundleName
+   *     资源包的名称，例如 {@code "ValidationMessages"}。
+   * @return 资源包编译后的基础类的全名，各个区域设置的类名在其后附加 {@code "_<locale>"}。
+   */
+  public static String getCompiledBundleName(final String bundleName) {
+    return COMPILED_BUNDLE_PACKAGE + '.' + bundleName;
+  }
+
+  /**
+   * 只加载资源包类的 {@link ResourceBundle.Control} 实例。
+   */
+  private static final ResourceBundle.Control CLASS_CONTROL =
+      ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_CLASS);
+
   /**
    * 要加载的资源包的名称。
    */
@@ -76,6 +106,9 @@ public class Utf8ResourceBundleLocator implements ResourceBundleLocator {
 
   /**
    * 使用指定的类加载器和区域设置加载资源包。
+   * <p>
+   * 若构建时生成的资源包类未被用户提供的同名属性文件所覆盖，则加载该资源包类；否则加载
+   * UTF-8 编码的 .properties 文件。
    *
    * @param classLoader 类加载器。
    * @param locale 区域设置。
@@ -84,6 +117,14 @@ public class Utf8ResourceBundleLocator implements ResourceBundleLocator {
    */
   private ResourceBundle loadBundle(final ClassLoader classLoader,
       final Locale locale, final String message) {
+    if (isCompiledBundleUsable(classLoader, locale)) {
+      try {
+        return ResourceBundle.getBundle(getCompiledBundleName(bundleName),
+            locale, classLoader, CLASS_CONTROL);
+      } catch (final MissingResourceException e) {
+        // 没有生成的资源包类，加载属性文件
+      }
+    }
     ResourceBundle bundle = null;
     try {
       bundle = ResourceBundle.getBundle(bundleName, locale, classLoader, UTF8_CONTROL);
@@ -92,4 +133,49 @@ public class Utf8ResourceBundleLocator implements ResourceBundleLocator {
     }
     return bundle;
   }
+
+  /**
+   * 判断是否可以使用构建时生成的资源包类。
+   * <p>
+   * 生成的类是由与其位于同一位置（同一个 jar 文件或目录）的属性文件编译而来的。对于要查找的每个
+   * 候选区域设置，若类加载器首先找到的同名属性文件位于其他位置，则说明用户提供了自己的属性文件，
+   * 此时不应使用生成的类。
+   *
+   * @param classLoader 类加载器。
+   * @param locale 区域设置。
+   * @return 若存在生成的资源包类，且其未被用户提供的属性文件所覆盖，则返回 {@code true}；否则
+   *     返回 {@code false}。
+   */
+  private boolean isCompiledBundleUsable(final ClassLoader classLoader, final Locale locale) {
+    final String classResource = getCompiledBundleName(bundleName).replace('.', '/') + ".class";
+    final String root = getResourceRoot(classLoader, classResource);
+    if (root == null) {
+      return false;
+    }
+    for (final Locale candidate : UTF8_CONTROL.getCandidateLocales(bundleName, locale)) {
+      final String resource = UTF8_CONTROL.toResourceName(
+          UTF8_CONTROL.toBundleName(bundleName, candidate), "properties");
+      final String resourceRoot = getResourceRoot(classLoader, resource);
+      if (resourceRoot != null && !resourceRoot.equals(root)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 获取类加载器首先找到的指定资源所在的位置。
+   *
+   * @param classLoader 类加载器。
+   * @param name 资源的名称。
+   * @return 资源的 URL 去掉资源名称后的部分；若资源不存在，则返回 {@code null}。
+   */
+  private static String getResourceRoot(final ClassLoader classLoader, final String name) {
+    final URL url = classLoader.getResource(name);
+    if (url == null) {
+      return null;
+    }
+    final String str = url.toString();
+    return (str.endsWith(name) ? str.substring(0, str.length() - name.length()) : str);
+  }
 }
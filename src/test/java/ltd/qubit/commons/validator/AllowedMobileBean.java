@@ -0,0 +1,32 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import ltd.qubit.commons.validator.annotation.Mobile;
+
+public class AllowedMobileBean {
+
+  @Mobile(normalize = true, allowlist = "test-allowlist")
+  private String mobile;
+
+  public AllowedMobileBean() {}
+
+  public AllowedMobileBean(final String mobile) {
+    this.mobile = mobile;
+  }
+
+  public final String getMobile() {
+    return mobile;
+  }
+
+  public final AllowedMobileBean setMobile(final String mobile) {
+    this.mobile = mobile;
+    return this;
+  }
+}
@@ -0,0 +1,191 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import jakarta.validation.ConstraintViolation;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.annotation.Email;
+import ltd.qubit.commons.validator.annotation.IdentityCard;
+import ltd.qubit.commons.validator.annotation.Mobile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 对{@link BaseCollectionValidator}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class BaseCollectionValidatorTest extends ValidatorTestBase {
+
+  public static class BatchEmailBean {
+    @Email
+    private final List<String> emails;
+
+    public BatchEmailBean(final List<String> emails) {
+      this.emails = emails;
+    }
+  }
+
+  public static class ElementEmailBean {
+    private final List<@Email String> emails;
+
+    public ElementEmailBean(final List<String> emails) {
+      this.emails = emails;
+    }
+  }
+
+  public static class BatchEmailSetBean {
+    @Email
+    private final Set<String> emails;
+
+    public BatchEmailSetBean(final Set<String> emails) {
+      this.emails = emails;
+    }
+  }
+
+  public static class ElementEmailSetBean {
+    private final Set<@Email String> emails;
+
+    public ElementEmailSetBean(final Set<String> emails) {
+      this.emails = emails;
+    }
+  }
+
+  public static class BatchMobileBean {
+    @Mobile(maxLength = 13)
+    private final List<String> mobiles;
+
+    public BatchMobileBean(final List<String> mobiles) {
+      this.mobiles = mobiles;
+    }
+  }
+
+  public static class ElementMobileBean {
+    private final List<@Mobile(maxLength = 13) String> mobiles;
+
+    public ElementMobileBean(final List<String> mobiles) {
+      this.mobiles = mobiles;
+    }
+  }
+
+  public static class BatchNormalizedMobileBean {
+    @Mobile(normalize = true)
+    private final List<String> mobiles;
+
+    public BatchNormalizedMobileBean(final List<String> mobiles) {
+      this.mobiles = mobiles;
+    }
+  }
+
+  public static class BatchIdentityCardBean {
+    @IdentityCard
+    private final List<String> numbers;
+
+    public BatchIdentityCardBean(final List<String> numbers) {
+      this.numbers = numbers;
+    }
+  }
+
+  public static class ElementIdentityCardBean {
+    private final List<@IdentityCard String> numbers;
+
+    public ElementIdentityCardBean(final List<String> numbers) {
+      this.numbers = numbers;
+    }
+  }
+
+  private static <T> List<String> describe(final Set<ConstraintViolation<T>> violations) {
+    final List<String> result = new ArrayList<>();
+    for (final ConstraintViolation<T> violation : violations) {
+      result.add(violation.getPropertyPath() + ": " + violation.getMessage());
+    }
+    result.sort(null);
+    return result;
+  }
+
+  @Test
+  public void testEmailList() {
+    final List<String> emails = Arrays.asList("a@gmail.com", "foo", "b@qq.com",
+        "c@@example.com", null);
+    final List<String> batch = describe(validator.validate(new BatchEmailBean(emails)));
+    final List<String> element = describe(validator.validate(new ElementEmailBean(emails)));
+    assertEquals(3, batch.size());
+    assertEquals(element, batch);
+    final Set<String> paths = new TreeSet<>();
+    for (final ConstraintViolation<BatchEmailBean> v
+        : validator.validate(new BatchEmailBean(emails))) {
+      paths.add(v.getPropertyPath().toString());
+    }
+    assertEquals(Set.of("emails[1].<list element>", "emails[3].<list element>",
+        "emails[4].<list element>"), paths);
+  }
+
+  @Test
+  public void testEmailSet() {
+    final Set<String> emails = new LinkedHashSet<>(List.of("a@gmail.com", "foo", "bar"));
+    final Set<ConstraintViolation<BatchEmailSetBean>> batch =
+        validator.validate(new BatchEmailSetBean(emails));
+    assertEquals(1, batch.size());
+    final List<String> element = describe(validator.validate(new ElementEmailSetBean(emails)));
+    assertEquals(2, element.size());
+    assertEquals(element.get(0), describe(batch).get(0));
+  }
+
+  @Test
+  public void testEmptyAndNullCollection() {
+    assertEquals(0, validator.validate(new BatchEmailBean(null)).size());
+    assertEquals(0, validator.validate(new BatchEmailBean(List.of())).size());
+    assertEquals(0, validator.validate(new BatchEmailBean(List.of("a@gmail.com"))).size());
+  }
+
+  @Test
+  public void testMobileList() {
+    final List<String> mobiles = new ArrayList<>();
+    for (int i = 0; i < 100; ++i) {
+      mobiles.add("1387493" + String.format("%04d", i));
+    }
+    mobiles.set(3, "12074937629");
+    mobiles.set(17, "138749376291");
+    mobiles.set(42, "0086-13874937629");
+    mobiles.set(64, "8613874937629");
+    mobiles.set(80, "1387493762a");
+    final Set<ConstraintViolation<BatchMobileBean>> batch =
+        validator.validate(new BatchMobileBean(mobiles));
+    assertEquals(4, batch.size());
+    assertEquals(describe(validator.validate(new ElementMobileBean(mobiles))),
+        describe(batch));
+  }
+
+  @Test
+  public void testNormalizedMobileList() {
+    final List<String> mobiles = List.of("138 7493 7629", "+86 138-7493-7629",
+        "１３８７４９３７６２９", "12074937629");
+    assertEquals(1, validator.validate(new BatchNormalizedMobileBean(mobiles)).size());
+  }
+
+  @Test
+  public void testIdentityCardList() {
+    final List<String> numbers = List.of("320114197001160058", "32128319931103141X",
+        "320114197001160059", "3201141970011600");
+    final Set<ConstraintViolation<BatchIdentityCardBean>> batch =
+        validator.validate(new BatchIdentityCardBean(numbers));
+    assertEquals(2, batch.size());
+    assertEquals(describe(validator.validate(new ElementIdentityCardBean(numbers))),
+        describe(batch));
+  }
+}
@@ -21,8 +21,16 @@ import org.junit.jupiter.api.Test;
 
 import ltd.qubit.commons.net.DomainSuffix;
 import ltd.qubit.commons.net.DomainSuffixRegistry;
+import ltd.qubit.commons.validator.annotation.Email;
+import ltd.qubit.commons.validator.rule.CachingValidationRule;
+import ltd.qubit.commons.validator.rule.EmailDomainList;
+import ltd.qubit.commons.validator.rule.EmailValidationRule;
+import ltd.qubit.commons.validator.rule.impl.EmailDomainSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 对{@link EmailValidator}的单元测试。
@@ -33,6 +41,119 @@ public class EmailValidatorTest extends ValidatorTestBase {
 
   private static final int TEST_LOOPS = 1000;
 
+  public static class CachedEmailBean {
+    @Email(cached = true)
+    private final String email;
+
+    public CachedEmailBean(final String email) {
+      this.email = email;
+    }
+  }
+
+  public static class BudgetedEmailBean {
+    @Email(maxMatchSteps = 100)
+    private final String email;
+
+    public BudgetedEmailBean(final String email) {
+      this.email = email;
+    }
+  }
+
+  public static class CachedBudgetedEmailBean {
+    @Email(maxMatchSteps = 100, cached = true)
+    private String email;
+  }
+
+  @Test
+  public void testSharedBudgetedCache() throws Exception {
+    final Email annotation = CachedBudgetedEmailBean.class.getDeclaredField("email")
+        .getAnnotation(Email.class);
+    final EmailValidator v1 = new EmailValidator();
+    v1.initialize(annotation);
+    final EmailValidator v2 = new EmailValidator();
+    v2.initialize(annotation);
+    assertTrue(v1.getRule() instanceof CachingValidationRule);
+    assertSame(v1.getRule(), v2.getRule());
+  }
+
+  public static class DomainCheckedEmailBean {
+    @Email(blocklist = "test-disposable", allowlist = "test-tenant")
+    private final String email;
+
+    public DomainCheckedEmailBean(final String email) {
+      this.email = email;
+    }
+  }
+
+  @Test
+  public void testDomainLists() {
+    final EmailDomainList blocklist = EmailDomainList.get("test-disposable");
+    final EmailDomainList allowlist = EmailDomainList.get("test-tenant");
+    blocklist.replace(EmailDomainSet.of("mailinator.com", "spam.example.com"));
+    allowlist.replace(EmailDomainSet.of("example.com", "mailinator.com"));
+    assertTrue(allowlist.isLoaded());
+    assertFalse(EmailDomainList.get("test-never-loaded").isLoaded());
+    try {
+      assertEquals(0, validator.validate(new DomainCheckedEmailBean("i@example.com")).size());
+      assertEquals(0, validator.validate(new DomainCheckedEmailBean("i@A.Example.com")).size());
+      assertEquals(1, validator.validate(new DomainCheckedEmailBean("i@spam.example.com")).size());
+      assertEquals(1, validator.validate(new DomainCheckedEmailBean("i@MailInator.com")).size());
+      assertEquals(1, validator.validate(new DomainCheckedEmailBean("i@gmail.com")).size());
+      assertEquals(1, validator.validate(new DomainCheckedEmailBean("i@@example.com")).size());
+      blocklist.replace(EmailDomainSet.EMPTY);
+      assertEquals(0, validator.validate(new DomainCheckedEmailBean("i@mailinator.com")).size());
+    } finally {
+      blocklist.replace(EmailDomainSet.EMPTY);
+      allowlist.replace(EmailDomainSet.EMPTY);
+    }
+  }
+
+  @Test
+  public void testMaxMatchSteps() {
+    assertEquals(0, validator.validate(new BudgetedEmailBean("i@gmail.com")).size());
+    final String longEmail = "a".repeat(200) + "@gmail.com";
+    assertEquals(0, validator.validate(new EmailBean(longEmail)).size());
+    assertEquals(1, validator.validate(new BudgetedEmailBean(longEmail)).size());
+  }
+
+  @Test
+  public void testPrefilter() {
+    final String huge = "a".repeat(1_000_000) + "@gmail.com";
+    assertEquals(1, validator.validate(new EmailBean(huge)).size());
+    assertEquals(1, validator.validate(new EmailBean("用户@gmail.com")).size());
+  }
+
+  public static class UnlimitedEmailBean {
+    @Email(maxLength = 0)
+    private final String email;
+
+    public UnlimitedEmailBean(final String email) {
+      this.email = email;
+    }
+  }
+
+  @Test
+  public void testMaxLength() {
+    final String longest = "a".repeat(EmailValidationRule.MAX_LENGTH - 10) + "@gmail.com";
+    final String tooLong = "a" + longest;
+    assertEquals(254, longest.length());
+    assertEquals(0, validator.validate(new EmailBean(longest)).size());
+    assertEquals(1, validator.validate(new EmailBean(tooLong)).size());
+    assertTrue(EmailValidationRule.INSTANCE.validate(tooLong));
+    assertEquals(0, validator.validate(new UnlimitedEmailBean(tooLong)).size());
+  }
+
+  @Test
+  public void testCached() {
+    final CachingValidationRule rule = CachingValidationRule.shared(EmailValidationRule.INSTANCE);
+    final long hits = rule.getHitCount();
+    for (int i = 0; i < 3; ++i) {
+      assertEquals(0, validator.validate(new CachedEmailBean("cached@example.com")).size());
+      assertEquals(1, validator.validate(new CachedEmailBean("cached@@example.com")).size());
+    }
+    assertTrue(rule.getHitCount() - hits >= 4);
+  }
+
   @Test
   public void testValid() {
     final EmailBean b1 = new EmailBean("i@gmail.com");
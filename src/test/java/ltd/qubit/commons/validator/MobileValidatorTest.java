@@ -15,7 +15,12 @@ import jakarta.validation.ConstraintViolation;
 
 import org.junit.jupiter.api.Test;
 
+import ltd.qubit.commons.validator.rule.MobileNumberList;
+import ltd.qubit.commons.validator.rule.impl.MobileNumberSet;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 对{@link MobileValidator}的单元测试。
@@ -116,4 +121,51 @@ public class MobileValidatorTest extends ValidatorTestBase {
     final Iterator<ConstraintViolation<MobileBean>> i1 = v1.iterator();
     assertEquals("手机号码格式不正确。", i1.next().getMessage());
   }
+
+  @Test
+  public void testNormalize() {
+    final NormalizedMobileBean b1 = new NormalizedMobileBean("+86 139-1234-5678");
+    assertEquals(0, validator.validate(b1).size());
+    final NormalizedMobileBean b2 = new NormalizedMobileBean("１３９　１２３４　５６７８");
+    assertEquals(0, validator.validate(b2).size());
+    final MobileBean b3 = new MobileBean("139-1234-5678");
+    assertEquals(1, validator.validate(b3).size());
+    final NormalizedMobileBean b4 = new NormalizedMobileBean("+139-1234-5678");
+    final Set<ConstraintViolation<NormalizedMobileBean>> v4 = validator.validate(b4);
+    assertEquals(1, v4.size());
+    assertEquals("手机号码格式不正确。", v4.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testBlocklist() {
+    final MobileNumberList list = MobileNumberList.get("test-blocklist");
+    list.replace(MobileNumberSet.of(13912345678L));
+    try {
+      assertEquals(1, validator.validate(new BlockedMobileBean("+86 139 1234 5678")).size());
+      assertEquals(1, validator.validate(new BlockedMobileBean("13912345678")).size());
+      assertEquals(0, validator.validate(new BlockedMobileBean("139 1234 5679")).size());
+      assertEquals(1, validator.validate(new BlockedMobileBean("1391234567")).size());
+      list.replace(MobileNumberSet.EMPTY);
+      assertEquals(0, validator.validate(new BlockedMobileBean("13912345678")).size());
+    } finally {
+      list.replace(MobileNumberSet.EMPTY);
+    }
+  }
+
+  @Test
+  public void testAllowlist() {
+    final MobileNumberList list = MobileNumberList.get("test-allowlist");
+    // 尚未加载的白名单为空，拒绝所有号码
+    assertFalse(list.isLoaded());
+    assertEquals(1, validator.validate(new AllowedMobileBean("13912345678")).size());
+    assertEquals(1, validator.validate(new AllowedMobileBean("13912345679")).size());
+    assertEquals(1, validator.validate(new AllowedMobileBean("1391234567")).size());
+    list.replace(MobileNumberSet.of(13912345678L));
+    assertTrue(list.isLoaded());
+    assertEquals(0, validator.validate(new AllowedMobileBean("13912345678")).size());
+    assertEquals(1, validator.validate(new AllowedMobileBean("13912345679")).size());
+    // 显式加载的空白名单拒绝所有号码
+    list.replace(MobileNumberSet.EMPTY);
+    assertEquals(1, validator.validate(new AllowedMobileBean("13912345678")).size());
+  }
 }
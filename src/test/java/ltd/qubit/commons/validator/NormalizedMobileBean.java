@@ -0,0 +1,32 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator;
+
+import ltd.qubit.commons.validator.annotation.Mobile;
+
+public class NormalizedMobileBean {
+
+  @Mobile(normalize = true)
+  private String mobile;
+
+  public NormalizedMobileBean() {}
+
+  public NormalizedMobileBean(final String mobile) {
+    this.mobile = mobile;
+  }
+
+  public final String getMobile() {
+    return mobile;
+  }
+
+  public final NormalizedMobileBean setMobile(final String mobile) {
+    this.mobile = mobile;
+    return this;
+  }
+}
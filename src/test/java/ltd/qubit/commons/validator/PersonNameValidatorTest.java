@@ -15,7 +15,12 @@ import jakarta.validation.ConstraintViolation;
 
 import org.junit.jupiter.api.Test;
 
+import ltd.qubit.commons.validator.annotation.PersonName;
+import ltd.qubit.commons.validator.rule.CachingValidationRule;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 对{@link PersonNameValidator}的单元测试。
@@ -24,6 +29,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  */
 public class PersonNameValidatorTest extends ValidatorTestBase {
 
+  public static class CachedBudgetedNameBean {
+    @PersonName(maxMatchSteps = 1000, cached = true)
+    private String name;
+  }
+
+  @Test
+  public void testSharedBudgetedCache() throws Exception {
+    final PersonName annotation = CachedBudgetedNameBean.class.getDeclaredField("name")
+        .getAnnotation(PersonName.class);
+    final PersonNameValidator v1 = new PersonNameValidator();
+    v1.initialize(annotation);
+    final PersonNameValidator v2 = new PersonNameValidator();
+    v2.initialize(annotation);
+    assertTrue(v1.getRule() instanceof CachingValidationRule);
+    assertSame(v1.getRule(), v2.getRule());
+  }
+
   @Test
   public void testValidChineseName() {
     final NameBean bean = new NameBean("张三丰");
@@ -0,0 +1,83 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.MobileBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link BulkBeanValidator}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class BulkBeanValidatorTest {
+
+  private static final int BEANS = 2000;
+
+  @BeforeAll
+  public static void setUp() {
+    Locale.setDefault(Locale.SIMPLIFIED_CHINESE);
+  }
+
+  private static List<MobileBean> createBeans() {
+    final List<MobileBean> beans = new ArrayList<>();
+    for (int i = 0; i < BEANS; ++i) {
+      beans.add(new MobileBean(i % 10 == 3 ? "1234" : "13874937629"));
+    }
+    return beans;
+  }
+
+  @Test
+  public void testValidate() {
+    try (final BulkBeanValidator bulk = new BulkBeanValidator(4)) {
+      final BulkValidationResult<MobileBean> result = bulk.validate(createBeans());
+      assertEquals(BEANS, result.getSize());
+      assertTrue(result.isComplete());
+      assertFalse(result.isValid());
+      assertEquals(BEANS / 10, result.getInvalidCount());
+      for (int i = 0; i < BEANS; ++i) {
+        assertEquals(i % 10 == 3 ? 1 : 0, result.getViolations(i).size());
+      }
+      assertEquals("手机号码格式不正确。",
+          result.getViolations(3).iterator().next().getMessage());
+    }
+  }
+
+  @Test
+  public void testValidateAsyncFailFast() {
+    try (final BulkBeanValidator bulk = new BulkBeanValidator(2)) {
+      final BulkValidationResult<MobileBean> result =
+          bulk.<MobileBean>validateAsync(createBeans(), true).join();
+      assertFalse(result.isValid());
+      assertTrue(result.getInvalidCount() >= 1);
+      assertTrue(result.getInvalidCount() < BEANS / 10);
+      assertFalse(result.isComplete());
+    }
+  }
+
+  @Test
+  public void testEmptyList() {
+    try (final BulkBeanValidator bulk = new BulkBeanValidator()) {
+      final BulkValidationResult<MobileBean> result = bulk.validate(new ArrayList<>());
+      assertTrue(result.isValid());
+      assertTrue(result.isComplete());
+      assertEquals(0, result.getSize());
+    }
+  }
+}
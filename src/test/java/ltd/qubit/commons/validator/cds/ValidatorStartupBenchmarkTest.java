@@ -0,0 +1,169 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static ltd.qubit.commons.validator.cds.ValidatorTrainingWorkload.ELAPSED_NANOS;
+import static ltd.qubit.commons.validator.cds.ValidatorTrainingWorkload.VIOLATIONS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 在新启动的 JVM 中测量使用和不使用 AppCDS 归档时，从启动到第一次验证完成的耗时。
+ * <p>
+ * 此测试需要启动多个 JVM，耗时较长，且其结果只有在稳定的环境中才有意义，因此只有在系统属性
+ * {@value #BENCHMARK_PROPERTY} 为 {@code true} 时才会运行。{@code pom.xml} 中的
+ * {@code appcds} profile 会设置该属性：
+ * <pre><code>
+ * mvn -P appcds test
+ * </code></pre>
+ * 测得的耗时只会被记录到日志中，而不会被断言。
+ *
+ * @author 胡海星
+ */
+public class ValidatorStartupBenchmarkTest {
+
+  /**
+   * 启用此基准测试的系统属性的名称。
+   */
+  public static final String BENCHMARK_PROPERTY = "ltd.qubit.commons.validator.appcds.benchmark";
+
+  private static final Logger logger = LoggerFactory.getLogger(ValidatorStartupBenchmarkTest.class);
+
+  private static final int ROUNDS = 3;
+
+  @TempDir
+  Path tempDir;
+
+  /**
+   * 构造子进程的类路径。
+   * <p>
+   * 子进程使用与当前测试相同的类路径；在 Maven Surefire 中运行时，该类路径由系统属性
+   * {@code surefire.test.class.path} 给出。CDS 只能归档从 JAR 文件加载的类，因此将目录形式的
+   * 类路径元素（例如 {@code target/classes}）打包为临时的 JAR 文件。
+   */
+  private String buildClasspath() throws IOException {
+    final String testClasspath = System.getProperty("surefire.test.class.path",
+        System.getProperty("java.class.path"));
+    final List<String> classpath = new ArrayList<>();
+    int index = 0;
+    for (final String element : testClasspath.split(File.pathSeparator)) {
+      final Path location = Path.of(element);
+      if (Files.isDirectory(location)) {
+        final Path jar = tempDir.resolve("classes-" + (index++) + ".jar");
+        createJar(location, jar);
+        classpath.add(jar.toString());
+      } else if (Files.exists(location)) {
+        classpath.add(location.toString());
+      }
+    }
+    return String.join(File.pathSeparator, classpath);
+  }
+
+  private static void createJar(final Path dir, final Path jar) throws IOException {
+    try (final OutputStream out = Files.newOutputStream(jar);
+         final JarOutputStream jarOut = new JarOutputStream(out);
+         final Stream<Path> files = Files.walk(dir)) {
+      for (final Path file : (Iterable<Path>) files.filter(Files::isRegularFile)
+          .sorted(Comparator.naturalOrder())::iterator) {
+        jarOut.putNextEntry(new JarEntry(dir.relativize(file).toString()
+            .replace(File.separatorChar, '/')));
+        Files.copy(file, jarOut);
+        jarOut.closeEntry();
+      }
+    }
+  }
+
+  private Properties run(final String classpath, final String... options) throws Exception {
+    final Path resultFile = Files.createTempFile(tempDir, "result-", ".properties");
+    final List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.add("-Xlog:cds=off");
+    command.addAll(List.of(options));
+    command.add("-cp");
+    command.add(classpath);
+    command.add(ValidatorTrainingWorkload.class.getName());
+    if (options.length == 0 || !options[0].startsWith("-XX:ArchiveClassesAtExit")) {
+      command.add(ValidatorTrainingWorkload.FIRST_VALIDATION);
+    }
+    command.add(resultFile.toString());
+    final long start = System.nanoTime();
+    final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    final String output = new String(process.getInputStream().readAllBytes(),
+        StandardCharsets.UTF_8);
+    if (!process.waitFor(120, TimeUnit.SECONDS)) {
+      process.destroyForcibly();
+      throw new IOException("The startup benchmark timed out.");
+    }
+    final long elapsed = System.nanoTime() - start;
+    assertEquals(0, process.exitValue(), output);
+    final Properties result = new Properties();
+    try (final Reader reader = Files.newBufferedReader(resultFile, StandardCharsets.UTF_8)) {
+      result.load(reader);
+    }
+    result.setProperty("processNanos", String.valueOf(elapsed));
+    return result;
+  }
+
+  private static double millis(final Properties result, final String key) {
+    return Long.parseLong(result.getProperty(key)) / 1e6;
+  }
+
+  @Test
+  public void testTimeToFirstValidation() throws Exception {
+    assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY),
+        "the AppCDS startup benchmark is not enabled");
+    final String classpath = buildClasspath();
+    final Path archive = tempDir.resolve("common-validator.jsa");
+    final Properties training = run(classpath, "-XX:ArchiveClassesAtExit=" + archive);
+    assertEquals("10", training.getProperty(VIOLATIONS));
+    assertTrue(Files.size(archive) > 0);
+
+    double bestWithout = Double.MAX_VALUE;
+    double bestWith = Double.MAX_VALUE;
+    double bestProcessWithout = Double.MAX_VALUE;
+    double bestProcessWith = Double.MAX_VALUE;
+    for (int i = 0; i < ROUNDS; ++i) {
+      final Properties without = run(classpath, "-Xshare:auto");
+      final Properties with = run(classpath, "-XX:SharedArchiveFile=" + archive, "-Xshare:auto");
+      assertEquals("5", without.getProperty(VIOLATIONS));
+      assertEquals("5", with.getProperty(VIOLATIONS));
+      bestWithout = Math.min(bestWithout, millis(without, ELAPSED_NANOS));
+      bestWith = Math.min(bestWith, millis(with, ELAPSED_NANOS));
+      bestProcessWithout = Math.min(bestProcessWithout, millis(without, "processNanos"));
+      bestProcessWith = Math.min(bestProcessWith, millis(with, "processNanos"));
+    }
+    logger.info("Time to first validation without AppCDS: {} ms (process {} ms)",
+        bestWithout, bestProcessWithout);
+    logger.info("Time to first validation with AppCDS: {} ms (process {} ms)",
+        bestWith, bestProcessWith);
+  }
+}
@@ -0,0 +1,133 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.BaseCollectionValidatorTest.BatchEmailBean;
+import ltd.qubit.commons.validator.EmailBean;
+import ltd.qubit.commons.validator.EmailCollectionValidator;
+import ltd.qubit.commons.validator.EmailValidator;
+import ltd.qubit.commons.validator.ValidatorTestBase;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+import ltd.qubit.commons.validator.rule.MeteredValidationRule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValidationEventTest extends ValidatorTestBase {
+
+  private static List<RecordedEvent> record(final Recording recording, final Runnable action)
+      throws Exception {
+    recording.start();
+    action.run();
+    recording.stop();
+    final Path file = Files.createTempFile("validation", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(e -> e.getEventType().getName().startsWith("ltd.qubit.commons.validator."))
+          .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    try (final Recording recording = new Recording()) {
+      final List<RecordedEvent> events = record(recording,
+          () -> validator.validate(new EmailBean("i@gmail.com")));
+      assertTrue(events.isEmpty());
+    }
+  }
+
+  @Test
+  public void testNoEventsAllocatedWhenDisabled() throws Exception {
+    assertNull(ValidationEvents.begin());
+    try (final Recording recording = new Recording()) {
+      recording.enable(SlowValidationEvent.class);
+      recording.start();
+      assertNotNull(ValidationEvents.begin());
+      recording.stop();
+    }
+    assertNull(ValidationEvents.begin());
+  }
+
+  @Test
+  public void testValidationEvent() throws Exception {
+    try (final Recording recording = new Recording()) {
+      recording.enable(ValidationEvent.class);
+      final List<RecordedEvent> events = record(recording, () -> {
+        validator.validate(new EmailBean("i@gmail.com"));
+        validator.validate(new EmailBean("bad"));
+      });
+      assertEquals(2, events.size());
+      final RecordedEvent first = events.get(0);
+      assertEquals(ValidationEvent.NAME, first.getEventType().getName());
+      assertEquals("Email", first.getString("constraint"));
+      assertEquals(EmailValidator.class.getName(), first.getClass("ruleClass").getName());
+      assertEquals(11, first.getInt("inputLength"));
+      assertTrue(first.getBoolean("valid"));
+      assertFalse(events.get(1).getBoolean("valid"));
+      assertEquals(3, events.get(1).getInt("inputLength"));
+    }
+  }
+
+  @Test
+  public void testCollectionValidationEvent() throws Exception {
+    try (final Recording recording = new Recording()) {
+      recording.enable(ValidationEvent.class);
+      final List<RecordedEvent> events = record(recording, () -> {
+        validator.validate(new BatchEmailBean(List.of("a@gmail.com", "b@qq.com")));
+        validator.validate(new BatchEmailBean(List.of("a@gmail.com", "bad")));
+      });
+      assertEquals(2, events.size());
+      final RecordedEvent first = events.get(0);
+      assertEquals("Email", first.getString("constraint"));
+      assertEquals(EmailCollectionValidator.class.getName(),
+          first.getClass("ruleClass").getName());
+      assertEquals(-1, first.getInt("inputLength"));
+      assertTrue(first.getBoolean("valid"));
+      assertFalse(events.get(1).getBoolean("valid"));
+    }
+  }
+
+  @Test
+  public void testSlowValidationEvent() throws Exception {
+    final MeteredValidationRule<String> rule =
+        new MeteredValidationRule<>(ChineseMobileValidationRule.INSTANCE);
+    try (final Recording recording = new Recording()) {
+      recording.enable(SlowValidationEvent.class).withThreshold(Duration.ofHours(1));
+      assertTrue(record(recording, () -> rule.validate("13912345678")).isEmpty());
+    }
+    try (final Recording recording = new Recording()) {
+      recording.enable(SlowValidationEvent.class).withThreshold(Duration.ZERO);
+      final List<RecordedEvent> events = record(recording, () -> rule.validate("13912345678"));
+      assertEquals(1, events.size());
+      assertEquals(SlowValidationEvent.NAME, events.get(0).getEventType().getName());
+      assertEquals(rule.getName(), events.get(0).getString("constraint"));
+      assertEquals(ChineseMobileValidationRule.class.getName(),
+          events.get(0).getClass("ruleClass").getName());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.BaseCollectionValidatorTest.BatchEmailBean;
+import ltd.qubit.commons.validator.EmailBean;
+import ltd.qubit.commons.validator.ValidatorTestBase;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+import ltd.qubit.commons.validator.rule.MeteredValidationRule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultValidationMetricsTest extends ValidatorTestBase {
+
+  @AfterEach
+  public void tearDown() {
+    ValidationMetricsRegistry.disable();
+  }
+
+  @Test
+  public void testHistogram() {
+    assertEquals(0, LatencyHistogram.bucketOf(0));
+    assertEquals(1, LatencyHistogram.bucketOf(1));
+    assertEquals(2, LatencyHistogram.bucketOf(3));
+    assertEquals(11, LatencyHistogram.bucketOf(1024));
+    assertEquals(63, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentile(0.99));
+    for (int i = 0; i < 99; ++i) {
+      histogram.record(100);
+    }
+    histogram.record(10_000);
+    assertEquals(100, histogram.getCount());
+    assertEquals(127, histogram.getPercentile(0.5));
+    assertEquals(127, histogram.getPercentile(0.99));
+    assertEquals(10_000, histogram.getPercentile(1.0));
+    assertEquals(10_000, histogram.getMax());
+    assertEquals(199.0, histogram.getMean(), 1e-9);
+    assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    assertSame(ValidationMetrics.NOOP, ValidationMetricsRegistry.get());
+    assertFalse(ValidationMetricsRegistry.get().isEnabled());
+  }
+
+  @Test
+  public void testBaseValidatorReports() throws Exception {
+    final DefaultValidationMetrics metrics = ValidationMetricsRegistry.enableDefault();
+    for (int i = 0; i < 10; ++i) {
+      validator.validate(new EmailBean("i@gmail.com"));
+    }
+    validator.validate(new EmailBean("not an email"));
+
+    final ValidationStatistics statistics = metrics.getStatistics("Email");
+    assertEquals(11, statistics.getCallCount());
+    assertEquals(1, statistics.getFailureCount());
+    assertTrue(statistics.getSampledCount() <= 11);
+    assertEquals(11, metrics.getTotalCallCount());
+    assertTrue(metrics.getSnapshotText().startsWith("Email calls=11 failures=1"));
+
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName(ValidationMetricsRegistry.OBJECT_NAME);
+    assertEquals(11L, server.getAttribute(name, "TotalCallCount"));
+
+    ValidationMetricsRegistry.disable();
+    assertFalse(server.isRegistered(name));
+    validator.validate(new EmailBean("i@gmail.com"));
+    assertEquals(11, metrics.getStatistics("Email").getCallCount());
+  }
+
+  @Test
+  public void testCollectionValidatorReports() {
+    final DefaultValidationMetrics metrics = new DefaultValidationMetrics(1);
+    ValidationMetricsRegistry.set(metrics);
+    validator.validate(new BatchEmailBean(Arrays.asList("a@gmail.com", "foo", "b@qq.com",
+        "c@@example.com", null)));
+    final ValidationStatistics statistics = metrics.getStatistics("Email");
+    assertEquals(5, statistics.getCallCount());
+    assertEquals(3, statistics.getFailureCount());
+    assertEquals(5, statistics.getSampledCount());
+  }
+
+  @Test
+  public void testMeteredRule() {
+    final DefaultValidationMetrics metrics = new DefaultValidationMetrics(1);
+    ValidationMetricsRegistry.set(metrics);
+    final MeteredValidationRule<String> rule =
+        new MeteredValidationRule<>(ChineseMobileValidationRule.INSTANCE);
+    assertTrue(rule.validate("13912345678"));
+    assertFalse(rule.validate("12345"));
+    final ValidationStatistics statistics = metrics.getStatistics(rule.getName());
+    assertEquals(2, statistics.getCallCount());
+    assertEquals(1, statistics.getFailureCount());
+    assertEquals(2, statistics.getSampledCount());
+    assertNull(metrics.getStatistics("Unknown"));
+    metrics.reset();
+    assertEquals(0, metrics.getTotalCallCount());
+  }
+
+  @Test
+  public void testInvalidSampleInterval() {
+    assertThrows(IllegalArgumentException.class, () -> new DefaultValidationMetrics(0));
+    assertThrows(IllegalArgumentException.class, () -> new DefaultValidationMetrics(3));
+  }
+}
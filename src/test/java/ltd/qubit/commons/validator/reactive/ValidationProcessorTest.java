@@ -0,0 +1,146 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.reactive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.IntegerValidationRule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link ValidationProcessor}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ValidationProcessorTest {
+
+  private static final int ITEMS = 10000;
+
+  private static List<String> createItems() {
+    final List<String> items = new ArrayList<>();
+    for (int i = 0; i < ITEMS; ++i) {
+      items.add(i % 7 == 0 ? "x" + i : String.valueOf(i));
+    }
+    return items;
+  }
+
+  @Test
+  public void testOrderPreservedWithParallelism() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<String> rejected = Collections.synchronizedList(new ArrayList<>());
+      final ValidationProcessor<String> processor = new ValidationProcessor<>(
+          IntegerValidationRule.INSTANCE, rejected::add, 16, 4, executor);
+      final CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+      processor.subscribe(subscriber);
+      try (final SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+        publisher.subscribe(processor);
+        for (final String item : createItems()) {
+          publisher.submit(item);
+        }
+      }
+      assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+      assertNull(subscriber.error);
+      final List<String> expectedValid = new ArrayList<>();
+      final List<String> expectedRejected = new ArrayList<>();
+      for (final String item : createItems()) {
+        (item.startsWith("x") ? expectedRejected : expectedValid).add(item);
+      }
+      assertEquals(expectedValid, subscriber.items);
+      assertEquals(expectedRejected, rejected);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testHonourDownstreamDemand() throws Exception {
+    final ValidationProcessor<String> processor = new ValidationProcessor<>(
+        IntegerValidationRule.INSTANCE, item -> {}, 4, 1, Runnable::run);
+    final CollectingSubscriber subscriber = new CollectingSubscriber(3);
+    processor.subscribe(subscriber);
+    final SubmissionPublisher<String> publisher = new SubmissionPublisher<>(Runnable::run, 64);
+    publisher.subscribe(processor);
+    for (int i = 0; i < 10; ++i) {
+      publisher.submit(String.valueOf(i));
+    }
+    assertEquals(List.of("0", "1", "2"), subscriber.items);
+    subscriber.subscription.request(2);
+    assertEquals(List.of("0", "1", "2", "3", "4"), subscriber.items);
+    subscriber.subscription.request(Long.MAX_VALUE);
+    publisher.close();
+    assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(10, subscriber.items.size());
+  }
+
+  @Test
+  public void testRuleFailure() throws Exception {
+    final ValidationProcessor<String> processor = new ValidationProcessor<>(
+        str -> {
+          throw new IllegalStateException(str);
+        }, item -> {}, 4, 1, Runnable::run);
+    final CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+    processor.subscribe(subscriber);
+    try (final SubmissionPublisher<String> publisher =
+             new SubmissionPublisher<>(Runnable::run, 64)) {
+      publisher.subscribe(processor);
+      publisher.submit("1");
+    }
+    assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, subscriber.error);
+  }
+
+  private static final class CollectingSubscriber implements Flow.Subscriber<String> {
+    final List<String> items = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch completed = new CountDownLatch(1);
+    final long initialRequest;
+    volatile Flow.Subscription subscription;
+    volatile Throwable error;
+
+    CollectingSubscriber(final long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(initialRequest);
+    }
+
+    @Override
+    public void onNext(final String item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+      completed.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed.countDown();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveOrRuleTest {
+
+  /**
+   * 只接受指定前缀，并统计调用次数的测试规则。
+   */
+  private static final class PrefixRule implements ValidationRule<String> {
+    private final String prefix;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    PrefixRule(final String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public boolean validate(final String obj) {
+      calls.incrementAndGet();
+      return obj != null && obj.startsWith(prefix);
+    }
+  }
+
+  @Test
+  public void testReorder() {
+    final PrefixRule a = new PrefixRule("a");
+    final PrefixRule b = new PrefixRule("b");
+    final PrefixRule c = new PrefixRule("c");
+    final AdaptiveOrRule<String> rule = ValidationRules.adaptiveOr(1, 10, a, b, c);
+    assertArrayEquals(new int[]{0, 1, 2}, rule.getOrder());
+    for (int i = 0; i < 10; ++i) {
+      assertTrue(rule.validate("c" + i));
+    }
+    assertEquals(1, rule.getReorderCount());
+    assertArrayEquals(new int[]{2, 0, 1}, rule.getOrder());
+    assertEquals(5, rule.getHitCount(2));
+
+    // 调整之后，以 c 开头的输入只需执行一个分支
+    a.calls.set(0);
+    assertTrue(rule.validate("c"));
+    assertEquals(0, a.calls.get());
+    assertFalse(rule.validate("d"));
+    assertTrue(rule.validate("a"));
+
+    // 输入分布变化后，执行顺序随之变化
+    for (int i = 0; i < 30; ++i) {
+      rule.validate("b");
+    }
+    assertEquals(1, rule.getOrder()[0]);
+  }
+
+  @Test
+  public void testStableBetweenUpdates() {
+    final AdaptiveOrRule<String> rule = ValidationRules.adaptiveOr(1, 1000,
+        new PrefixRule("a"), new PrefixRule("b"));
+    for (int i = 0; i < 999; ++i) {
+      rule.validate("b");
+    }
+    assertArrayEquals(new int[]{0, 1}, rule.getOrder());
+    rule.validate("b");
+    assertArrayEquals(new int[]{1, 0}, rule.getOrder());
+  }
+
+  @Test
+  public void testFlattenAndPrefilter() {
+    final AdaptiveOrRule<String> rule = ValidationRules.adaptiveOr(
+        ChineseMobileValidationRule.INSTANCE.or(EmailValidationRule.INSTANCE),
+        new PrefixRule("x"));
+    assertEquals(3, rule.getOrder().length);
+    assertTrue(rule.validate("13912345678"));
+    assertTrue(rule.validate("i@gmail.com"));
+    assertTrue(rule.validate("x-ray"));
+    assertFalse(rule.validate("y"));
+    assertFalse(rule.validate(null));
+    assertThrows(IllegalArgumentException.class,
+        () -> ValidationRules.adaptiveOr(3, 10, new PrefixRule("a")));
+    assertThrows(IllegalArgumentException.class,
+        () -> ValidationRules.adaptiveOr(1, 0, new PrefixRule("a")));
+  }
+
+  @Test
+  public void testPersonNameAny() {
+    final PersonNameValidationRule rule = new PersonNameValidationRule();
+    final AdaptiveOrRule<String> any = rule.getAnyRule();
+    assertNotNull(any);
+    assertNull(PersonNameValidationRule.of(PersonNameType.CHINESE).getAnyRule());
+    assertEquals(0, any.getOrder()[0]);
+    for (int i = 0; i < 50_000; ++i) {
+      assertTrue(rule.validate(i % 10 == 0 ? "Zhang San" : "张三"));
+    }
+    assertTrue(any.getReorderCount() > 0);
+    // 中文姓名的分支被调整到最前面
+    assertEquals(2, any.getOrder()[0]);
+    assertTrue(rule.validate("Zhang San"));
+    assertTrue(rule.validate("阿沛·阿旺晋美"));
+    assertFalse(rule.validate("张3"));
+    assertEquals(BudgetedValidationResult.VALID,
+        rule.validate("张三", ValidationBudget.ofSteps(1000)));
+  }
+
+  @Test
+  public void testConcurrent() throws Exception {
+    final AdaptiveOrRule<String> rule = ValidationRules.adaptiveOr(1, 16,
+        new PrefixRule("a"), new PrefixRule("b"), new PrefixRule("c"));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; ++t) {
+        final String prefix = String.valueOf((char) ('a' + t));
+        futures.add(executor.submit(() -> {
+          boolean consistent = true;
+          for (int i = 0; i < 10_000; ++i) {
+            consistent &= (rule.validate(prefix) == !"d".equals(prefix));
+          }
+          return consistent;
+        }));
+      }
+      for (final Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(40_000, rule.getSampleCount());
+    // 另一线程正在调整时，调整会被跳过
+    assertTrue(rule.getReorderCount() > 0 && rule.getReorderCount() <= 2_500);
+  }
+}
@@ -0,0 +1,105 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingValidationRuleTest {
+
+  private static final class CountingRule implements ValidationRule<String> {
+    final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public boolean validate(final String obj) {
+      calls.incrementAndGet();
+      return EmailValidationRule.INSTANCE.validate(obj);
+    }
+  }
+
+  @Test
+  public void testCachedResults() {
+    final CountingRule counting = new CountingRule();
+    final CachingValidationRule rule = new CachingValidationRule(counting);
+    for (int i = 0; i < 10; ++i) {
+      assertTrue(rule.validate("user@example.com"));
+      assertFalse(rule.validate("not an email"));
+    }
+    assertEquals(2, counting.calls.get());
+    assertEquals(18, rule.getHitCount());
+    assertEquals(2, rule.getMissCount());
+    assertEquals(0.9, rule.getHitRate(), 1e-9);
+    assertEquals(2, rule.getSize());
+  }
+
+  @Test
+  public void testBypass() {
+    final CountingRule counting = new CountingRule();
+    final CachingValidationRule rule = new CachingValidationRule(counting, 100, 8);
+    final String longKey = "someone@example.com";
+    assertTrue(rule.validate(longKey));
+    assertTrue(rule.validate(longKey));
+    assertFalse(rule.validate(null));
+    assertEquals(3, counting.calls.get());
+    assertEquals(3, rule.getBypassCount());
+    assertEquals(0, rule.getSize());
+    assertEquals(0.0, rule.getHitRate());
+  }
+
+  @Test
+  public void testBoundedAndScanResistant() {
+    final CountingRule counting = new CountingRule();
+    final CachingValidationRule rule = new CachingValidationRule(counting, 64, 256);
+    // 热点键被反复访问
+    for (int round = 0; round < 20; ++round) {
+      for (int i = 0; i < 32; ++i) {
+        rule.validate("hot" + i + "@example.com");
+      }
+    }
+    // 大量只出现一次的键，与热点键交替出现
+    for (int i = 0; i < 10_000; ++i) {
+      rule.validate("cold" + i + "@example.com");
+      rule.validate("hot" + (i % 32) + "@example.com");
+    }
+    assertTrue(rule.getSize() <= 64);
+    final long misses = rule.getMissCount();
+    for (int i = 0; i < 32; ++i) {
+      rule.validate("hot" + i + "@example.com");
+    }
+    // 绝大多数热点键仍在缓存中
+    assertTrue(rule.getMissCount() - misses <= 4,
+        "too many hot keys evicted: " + (rule.getMissCount() - misses));
+    assertTrue(rule.getRejectionCount() > 0);
+  }
+
+  @Test
+  public void testShared() {
+    final CachingValidationRule rule = CachingValidationRule.shared(EmailValidationRule.INSTANCE);
+    assertSame(rule, CachingValidationRule.shared(EmailValidationRule.INSTANCE));
+    assertSame(EmailValidationRule.INSTANCE, rule.getRule());
+    assertSame(PersonNameValidationRule.of(PersonNameType.CHINESE),
+        PersonNameValidationRule.of(PersonNameType.CHINESE));
+    assertSame(PersonNameValidationRule.INSTANCE, PersonNameValidationRule.of(null));
+    final ValidationRule<String> b1 = EmailValidationRule.INSTANCE.withBudget(
+        ValidationBudget.ofSteps(100));
+    final ValidationRule<String> b2 = EmailValidationRule.INSTANCE.withBudget(
+        ValidationBudget.ofSteps(100));
+    assertEquals(b1, b2);
+    assertSame(CachingValidationRule.shared(b1), CachingValidationRule.shared(b2));
+    assertNotSame(CachingValidationRule.shared(b1), CachingValidationRule.shared(
+        EmailValidationRule.INSTANCE.withBudget(ValidationBudget.ofSteps(200))));
+  }
+}
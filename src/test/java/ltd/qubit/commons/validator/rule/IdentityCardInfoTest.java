@@ -0,0 +1,110 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link IdentityCardInfo}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class IdentityCardInfoTest {
+
+  private static final int TEST_LOOPS = 100000;
+
+  private final ChineseIdentityCardRule rule = ChineseIdentityCardRule.INSTANCE;
+
+  @Test
+  public void testParse() {
+    final IdentityCardInfo info = rule.parse("32128319931103141x");
+    assertNotNull(info);
+    assertEquals(321283, info.getArea());
+    assertEquals("321283", info.getAreaCode());
+    assertEquals(320000, info.getProvince());
+    assertEquals(321200, info.getCity());
+    assertEquals(321283, info.getCounty());
+    assertEquals("江苏省", info.getProvinceName());
+    assertEquals(LocalDate.of(1993, 11, 3), info.getBirthday());
+    assertEquals(1993, info.getYear());
+    assertEquals(11, info.getMonth());
+    assertEquals(3, info.getDay());
+    assertEquals(141, info.getSequence());
+    assertTrue(info.isMale());
+    assertEquals("MALE", info.getGender());
+    assertEquals('X', info.getCheckChar());
+    assertEquals("32128319931103141X", info.toString());
+    assertEquals(info, IdentityCardInfo.of(info.getPacked()));
+    assertEquals(info.hashCode(), IdentityCardInfo.of(info.getPacked()).hashCode());
+
+    final IdentityCardInfo other = rule.parse("320114197001160058");
+    assertNotNull(other);
+    assertEquals(5, other.getSequence());
+    assertEquals("MALE", other.getGender());
+    assertEquals("320114197001160058", other.toString());
+
+    assertNull(rule.parse("320114197001160059"));
+    assertNull(rule.parse("3201141970011600"));
+    assertNull(rule.parse(null));
+    assertThrows(IllegalArgumentException.class, () -> IdentityCardInfo.of(-1));
+  }
+
+  @Test
+  public void testParseAll() {
+    final CharSequence[] numbers = {"320114197001160058", null, "32128319931103141X", "abc"};
+    final long[] results = new long[numbers.length];
+    assertEquals(2, rule.parseAll(numbers, results));
+    assertEquals(IdentityCardInfo.INVALID, results[1]);
+    assertEquals(IdentityCardInfo.INVALID, results[3]);
+    assertEquals(320114, IdentityCardInfo.areaOf(results[0]));
+    assertEquals(19700116, IdentityCardInfo.birthdayOf(results[0]));
+    assertTrue(IdentityCardInfo.isMale(results[0]));
+    assertEquals(19931103, IdentityCardInfo.birthdayOf(results[2]));
+    assertTrue(IdentityCardInfo.isMale(results[2]));
+    assertThrows(IllegalArgumentException.class, () -> rule.parseAll(numbers, new long[1]));
+  }
+
+  @Test
+  public void testConsistentWithRule() {
+    final Random random = new Random(20240104L);
+    for (int i = 0; i < TEST_LOOPS; ++i) {
+      final char[] chars = new char[ChineseIdentityCardUtils.NUMBER_LENGTH];
+      for (int j = 0; j < chars.length; ++j) {
+        chars[j] = (char) ('0' + random.nextInt(10));
+      }
+      // 使用合法的出生日期，使得约十分之一的号码合法
+      final String date = String.format("%04d%02d%02d", 1900 + random.nextInt(120),
+          1 + random.nextInt(12), 1 + random.nextInt(28));
+      date.getChars(0, 8, chars, ChineseIdentityCardUtils.YEAR_INDEX);
+      if (random.nextInt(11) == 0) {
+        chars[chars.length - 1] = random.nextBoolean() ? 'X' : 'x';
+      }
+      final String number = new String(chars);
+      final IdentityCardInfo info = rule.parse(number);
+      assertEquals(rule.validate(number), info != null, number);
+      if (info != null) {
+        assertEquals(number.toUpperCase(), info.toString());
+        assertEquals(rule.getBirthday(number), info.getBirthday());
+        assertEquals(rule.getGender(number), info.getGender());
+        assertEquals(rule.getAreaCode(number), info.getAreaCode());
+      }
+    }
+  }
+}
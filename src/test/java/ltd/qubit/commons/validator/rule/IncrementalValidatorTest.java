@@ -0,0 +1,241 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static ltd.qubit.commons.validator.rule.IncrementalValidationResult.DEAD;
+import static ltd.qubit.commons.validator.rule.IncrementalValidationResult.VALID;
+import static ltd.qubit.commons.validator.rule.IncrementalValidationResult.VALID_SO_FAR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link IncrementalValidator}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class IncrementalValidatorTest {
+
+  private static final int ROUNDS = 50_000;
+
+  /**
+   * 逐个字符追加指定的输入，检查每个前缀的验证结果与规则的 {@code validate} 一致，且一旦
+   * 判定为{@link IncrementalValidationResult#DEAD}，之后的前缀都不合法。
+   */
+  private static void checkPrefixes(final IncrementalValidationRule<String> rule,
+      final IncrementalValidator validator, final String input) {
+    validator.reset();
+    assertEquals(rule.validate(""), validator.getResult().isValid());
+    boolean dead = false;
+    for (int i = 1; i <= input.length(); ++i) {
+      final IncrementalValidationResult result = validator.append(input.charAt(i - 1));
+      final String prefix = input.substring(0, i);
+      assertEquals(rule.validate(prefix), result.isValid(), prefix);
+      if (dead) {
+        assertEquals(DEAD, result, prefix);
+      }
+      dead = (result == DEAD);
+    }
+    assertEquals(input.length(), validator.length());
+  }
+
+  /**
+   * 检查以随机分块追加输入的结果与逐个字符追加的结果一致。
+   */
+  private static void checkChunks(final IncrementalValidator validator, final String input,
+      final Random random) {
+    validator.reset();
+    final IncrementalValidationResult expected = validator.append(input);
+    validator.reset();
+    IncrementalValidationResult actual = validator.getResult();
+    for (int start = 0; start < input.length(); ) {
+      final int end = start + 1 + random.nextInt(input.length() - start);
+      actual = validator.append(input, start, end);
+      start = end;
+    }
+    assertEquals(expected, actual, input);
+  }
+
+  /**
+   * 检查未被判定为{@link IncrementalValidationResult#DEAD}的前缀确实可以被扩展为合法的值。
+   */
+  private static void checkAlive(final IncrementalValidationRule<String> rule,
+      final IncrementalValidator validator, final String prefix, final String... suffixes) {
+    validator.reset();
+    if (validator.append(prefix) == DEAD) {
+      return;
+    }
+    for (final String suffix : suffixes) {
+      if (rule.validate(prefix + suffix)) {
+        return;
+      }
+    }
+    throw new AssertionError("The prefix cannot be extended to a valid value: " + prefix);
+  }
+
+  private static String randomString(final Random random, final String alphabet,
+      final int maxLength) {
+    final int n = random.nextInt(maxLength + 1);
+    final StringBuilder builder = new StringBuilder(n);
+    for (int i = 0; i < n; ++i) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
+
+  private static String mutate(final Random random, final String str, final String alphabet) {
+    final StringBuilder builder = new StringBuilder(str);
+    if (random.nextBoolean() && builder.length() > 0) {
+      builder.setCharAt(random.nextInt(builder.length()),
+          alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    if (random.nextInt(4) == 0) {
+      builder.setLength(random.nextInt(builder.length() + 1));
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testMobile() {
+    final ChineseMobileValidationRule rule = ChineseMobileValidationRule.INSTANCE;
+    final IncrementalValidator validator = rule.newIncrementalValidator();
+    assertEquals(VALID_SO_FAR, validator.getResult());
+    assertEquals(VALID_SO_FAR, validator.append("138"));
+    assertEquals(VALID_SO_FAR, validator.append("7493762"));
+    assertEquals(VALID, validator.append("9"));
+    assertEquals(DEAD, validator.append("0"));
+    assertEquals(DEAD, validator.append("1"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("120"));
+    validator.reset();
+    assertEquals(VALID_SO_FAR, validator.append("17951"));
+    assertEquals(VALID, validator.append("13874937629"));
+
+    final Random random = new Random(20241019);
+    final String[] prefixes = {"", "0", "86", "17951"};
+    final String alphabet = "0123456789a";
+    for (int i = 0; i < ROUNDS; ++i) {
+      final String valid = prefixes[random.nextInt(prefixes.length)] + "1"
+          + "3456789".charAt(random.nextInt(7)) + randomString(random, "0123456789", 9);
+      final String input = mutate(random, valid, alphabet);
+      checkPrefixes(rule, validator, input);
+      checkChunks(validator, input, random);
+      if (rule.validate(valid)) {
+        for (int j = 0; j <= valid.length(); ++j) {
+          validator.reset();
+          assertTrue(validator.append(valid, 0, j).isAlive(), valid.substring(0, j));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIdentityCard() {
+    final ChineseIdentityCardRule rule = ChineseIdentityCardRule.INSTANCE;
+    final IncrementalValidator validator = rule.newIncrementalValidator();
+    assertEquals(VALID_SO_FAR, validator.append("32011419700116005"));
+    assertEquals(VALID, validator.append("8"));
+    assertEquals(DEAD, validator.append("8"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("3201141970011600x"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("320114197013"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("3201141970023"));
+    validator.reset();
+    assertEquals(VALID_SO_FAR, validator.append("32011420000229"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("32011419000229"));
+    validator.reset();
+    assertEquals(VALID, validator.append("32128319931103141x"));
+
+    final Random random = new Random(20241019);
+    final String alphabet = "0123456789Xx";
+    for (int i = 0; i < ROUNDS; ++i) {
+      final String input = mutate(random, randomIdentityCard(random), alphabet);
+      checkPrefixes(rule, validator, input);
+      checkChunks(validator, input, random);
+      if (rule.validate(input)) {
+        for (int j = 0; j <= input.length(); ++j) {
+          validator.reset();
+          assertTrue(validator.append(input, 0, j).isAlive(), input.substring(0, j));
+        }
+      }
+    }
+  }
+
+  private static String randomIdentityCard(final Random random) {
+    final String prefix = "320114" + (1900 + random.nextInt(130))
+        + String.format("%02d%02d", 1 + random.nextInt(12), 1 + random.nextInt(31))
+        + String.format("%03d", random.nextInt(1000));
+    for (final char ch : "0123456789X".toCharArray()) {
+      if (ChineseIdentityCardRule.INSTANCE.validate(prefix + ch)) {
+        return prefix + ch;
+      }
+    }
+    return prefix + 'X';
+  }
+
+  @Test
+  public void testEmail() {
+    final EmailValidationRule rule = EmailValidationRule.INSTANCE;
+    final IncrementalValidator validator = rule.newIncrementalValidator();
+    assertEquals(VALID_SO_FAR, validator.append("i@gmail.c"));
+    assertEquals(VALID, validator.append("om"));
+    assertEquals(VALID_SO_FAR, validator.append("."));
+    assertEquals(DEAD, validator.append("."));
+    validator.reset();
+    assertEquals(DEAD, validator.append("`i@gmail.com"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("i.@gmail.com"));
+    validator.reset();
+    assertEquals(DEAD, validator.append("i@gmail.-com"));
+    validator.reset();
+    assertEquals(VALID_SO_FAR, validator.append("i@gmail.c--"));
+    assertEquals(VALID, validator.append("a.com"));
+
+    final Random random = new Random(20241019);
+    final String alphabet = "aZ1-.@`_";
+    final String[] suffixes = {"", "a", "bc", ".bc", "a.bc", "a@a.bc", "@a.bc"};
+    for (int i = 0; i < ROUNDS; ++i) {
+      final String input = randomString(random, alphabet, 12);
+      checkPrefixes(rule, validator, input);
+      checkChunks(validator, input, random);
+      for (int j = 0; j <= input.length(); ++j) {
+        checkAlive(rule, validator, input.substring(0, j), suffixes);
+      }
+    }
+  }
+
+  @Test
+  public void testInteger() {
+    final IntegerValidationRule rule = IntegerValidationRule.INSTANCE;
+    final IncrementalValidator validator = rule.newIncrementalValidator();
+    assertEquals(VALID_SO_FAR, validator.append(" -"));
+    assertEquals(VALID, validator.append("12"));
+    assertEquals(VALID, validator.append("\t"));
+    assertEquals(DEAD, validator.append("3"));
+    assertFalse(validator.getResult().isAlive());
+
+    final Random random = new Random(20241019);
+    final String alphabet = "01+- \tx";
+    for (int i = 0; i < ROUNDS; ++i) {
+      final String input = randomString(random, alphabet, 8);
+      checkPrefixes(rule, validator, input);
+      checkChunks(validator, input, random);
+      for (int j = 0; j <= input.length(); ++j) {
+        checkAlive(rule, validator, input.substring(0, j), "", "1");
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InputPrefilterTest {
+
+  @Test
+  public void testCharsets() {
+    assertTrue(InputCharset.ANY.accepts("张三\u0000"));
+    assertTrue(InputCharset.ASCII.accepts("a\tb"));
+    assertFalse(InputCharset.ASCII.accepts("a张"));
+    assertTrue(InputCharset.ASCII_PRINTABLE.accepts("i@gmail.com"));
+    assertFalse(InputCharset.ASCII_PRINTABLE.accepts("a\tb"));
+    assertTrue(InputCharset.DIGITS.accepts("0123456789"));
+    assertFalse(InputCharset.DIGITS.accepts("123x"));
+    assertTrue(InputCharset.DIGITS_OR_X.accepts("11010519491231002X"));
+    assertTrue(InputCharset.DIGITS_OR_X.accepts("11010519491231002x"));
+    assertFalse(InputCharset.DIGITS_OR_X.accepts("11010519491231002Y"));
+    assertTrue(InputCharset.DIGITS.accepts(""));
+  }
+
+  @Test
+  public void testAccepts() {
+    final InputPrefilter filter = new InputPrefilter(5, InputCharset.DIGITS);
+    assertTrue(filter.accepts(null));
+    assertTrue(filter.accepts("12345"));
+    assertFalse(filter.accepts("123456"));
+    assertFalse(filter.accepts("12a"));
+    assertTrue(InputPrefilter.NONE.isNone());
+    assertTrue(InputPrefilter.NONE.accepts("x".repeat(1_000_000)));
+    assertFalse(new InputPrefilter(0, InputCharset.ASCII).isNone());
+  }
+
+  @Test
+  public void testRuleDefaults() {
+    assertFalse(EmailValidationRule.PREFILTER.accepts("a".repeat(250) + "@b.com"));
+    assertFalse(EmailValidationRule.PREFILTER.accepts("张@b.com"));
+    assertTrue(ChineseMobileValidationRule.PREFILTER.accepts("1795113912345678"));
+    assertFalse(ChineseMobileValidationRule.PREFILTER.accepts("17951139123456789"));
+    assertTrue(ChineseIdentityCardRule.PREFILTER.accepts("11010519491231002X"));
+    assertFalse(ChineseIdentityCardRule.PREFILTER.accepts("110105194912310021X"));
+    assertTrue(PersonNameValidationRule.PREFILTER.accepts("阿凡提·买买提"));
+  }
+
+  @Test
+  public void testBulk() {
+    final CharSequence[] values = {"13912345678", "1391234567a", null, "1".repeat(100), "12345"};
+    final boolean[] accepted = new boolean[values.length];
+    assertEquals(3, ChineseMobileValidationRule.PREFILTER.acceptAll(values, accepted));
+    assertArrayEquals(new boolean[]{true, false, true, false, true}, accepted);
+
+    final boolean[] valid = new boolean[values.length];
+    assertEquals(1, ChineseMobileValidationRule.PREFILTER.validateAll(values,
+        ChineseMobileValidationRule.INSTANCE, valid));
+    assertArrayEquals(new boolean[]{true, false, false, false, false}, valid);
+  }
+}
@@ -0,0 +1,51 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReDoSDetectorTest {
+
+  @Test
+  public void testSuperLinearPatterns() {
+    assertTrue(ReDoSDetector.isSuperLinear(Pattern.compile("^\\d*\\d*\\d*x$"), "", "1", "!"));
+    assertTrue(ReDoSDetector.isSuperLinear(Pattern.compile("^(a+)+$"), "", "a", "!"));
+    assertFalse(ReDoSDetector.isSuperLinear(Pattern.compile("^a+$"), "", "a", "!"));
+  }
+
+  @Test
+  public void testCountSteps() {
+    final Pattern pattern = Pattern.compile("^a+$");
+    final long steps = ReDoSDetector.countSteps(pattern, "aaaa", 1000);
+    assertTrue(steps >= 4);
+    assertEquals(3, ReDoSDetector.countSteps(pattern, "aaaa", 2));
+  }
+
+  @Test
+  public void testBuiltinPatternsAreLinear() throws Exception {
+    final var field = EmailValidationRule.class.getDeclaredField("PATTERN");
+    field.setAccessible(true);
+    final Pattern email = (Pattern) field.get(null);
+    final String[][] emailPumps = {
+        {"", "a.", "!"}, {"a@", "a-", "!"}, {"a@", "a.", "!"}, {"a@a.a", "-a", "!"},
+    };
+    for (final String[] pump : emailPumps) {
+      assertFalse(ReDoSDetector.isSuperLinear(email, pump[0], pump[1], pump[2]),
+          String.join("|", pump));
+    }
+    assertFalse(ReDoSDetector.isSuperLinear(DecimalValidationRule.REGEXP, "", " ", "x"));
+    assertFalse(ReDoSDetector.isSuperLinear(DecimalValidationRule.REGEXP, "1", "1", ".x"));
+  }
+}
@@ -0,0 +1,86 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.impl.BudgetExceededException;
+import ltd.qubit.commons.validator.rule.impl.BudgetMeter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValidationBudgetTest {
+
+  private static final ValidationBudget GENEROUS = ValidationBudget.ofSteps(100_000);
+
+  @Test
+  public void testSameResultsWithinBudget() {
+    final String[] emails = {"i@gmail.com", "a.b@c.d.com", "bad", "", "a@b", "a..b@c.com"};
+    for (final String email : emails) {
+      assertEquals(EmailValidationRule.INSTANCE.validate(email),
+          EmailValidationRule.INSTANCE.validate(email, GENEROUS).isValid(), email);
+    }
+    final String[] decimals = {"1.5", " -3e10 ", ".5", "1.", "x", "1.2.3"};
+    for (final String decimal : decimals) {
+      assertEquals(DecimalValidationRule.INSTANCE.validate(decimal),
+          DecimalValidationRule.INSTANCE.validate(decimal, GENEROUS).isValid(), decimal);
+    }
+    final String[] names = {"张三", "Zhang San", "x", "阿凡提·买买提", "John 3"};
+    for (final PersonNameType type : PersonNameType.values()) {
+      final PersonNameValidationRule rule = PersonNameValidationRule.of(type);
+      for (final String name : names) {
+        assertEquals(rule.validate(name), rule.validate(name, GENEROUS).isValid(), name);
+      }
+    }
+    assertEquals(BudgetedValidationResult.INVALID,
+        EmailValidationRule.INSTANCE.validate(null, GENEROUS));
+  }
+
+  @Test
+  public void testStepBudgetExceeded() {
+    final String email = "a".repeat(200) + "@example.com";
+    final ValidationBudget tight = ValidationBudget.ofSteps(50);
+    assertTrue(EmailValidationRule.INSTANCE.validate(email));
+    assertEquals(BudgetedValidationResult.BUDGET_EXCEEDED,
+        EmailValidationRule.INSTANCE.validate(email, tight));
+    assertFalse(EmailValidationRule.INSTANCE.withBudget(tight).validate(email));
+    assertEquals(BudgetedValidationResult.BUDGET_EXCEEDED,
+        DecimalValidationRule.INSTANCE.validate("1".repeat(100), tight));
+    assertEquals(BudgetedValidationResult.BUDGET_EXCEEDED,
+        PersonNameValidationRule.INSTANCE.validate("Zhang San ".repeat(6), tight));
+  }
+
+  @Test
+  public void testTimeBudgetExceeded() {
+    // 此正则表达式的匹配代价为输入长度的立方
+    final Pattern pattern = Pattern.compile("^\\d*\\d*\\d*x$");
+    final String input = "1".repeat(5_000) + "!";
+    final BudgetMeter meter = ValidationBudget.ofTime(Duration.ofMillis(20)).start();
+    final long start = System.nanoTime();
+    assertThrows(BudgetExceededException.class,
+        () -> ValidationBudget.matches(pattern, input, meter));
+    assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+  }
+
+  @Test
+  public void testUnlimited() {
+    assertTrue(ValidationBudget.UNLIMITED.isUnlimited());
+    assertFalse(GENEROUS.isUnlimited());
+    assertSame(EmailValidationRule.INSTANCE,
+        EmailValidationRule.INSTANCE.withBudget(ValidationBudget.UNLIMITED));
+    assertThrows(IllegalArgumentException.class, () -> ValidationBudget.ofSteps(0));
+  }
+}
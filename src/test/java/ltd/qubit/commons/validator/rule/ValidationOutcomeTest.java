@@ -0,0 +1,168 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils;
+
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.BAD_CHARSET;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.BAD_CHECKSUM;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.BAD_DATE;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.BAD_FORMAT;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.BAD_LENGTH;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.BAD_PREFIX;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.INVALID;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.NON_DIGIT;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.NULL_VALUE;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.UNKNOWN_AREA;
+import static ltd.qubit.commons.validator.rule.ValidationOutcome.VALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 对{@link ValidationOutcome}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ValidationOutcomeTest {
+
+  @Test
+  public void testCode() {
+    for (final ValidationOutcome outcome : ValidationOutcome.values()) {
+      assertEquals(outcome, ValidationOutcome.of(outcome.getCode()));
+      assertEquals(outcome == VALID, outcome.isValid());
+    }
+    assertEquals(0, VALID.getCode());
+    assertThrows(IllegalArgumentException.class, () -> ValidationOutcome.of(-1));
+    assertThrows(IllegalArgumentException.class,
+        () -> ValidationOutcome.of(ValidationOutcome.values().length));
+  }
+
+  @Test
+  public void testMessage() {
+    assertEquals("校验码不正确。", BAD_CHECKSUM.getMessage(Locale.SIMPLIFIED_CHINESE));
+    assertEquals("Invalid check digit of the number.", BAD_CHECKSUM.getMessage(Locale.ROOT));
+    for (final ValidationOutcome outcome : ValidationOutcome.values()) {
+      assertNotEquals(outcome.name(), outcome.getMessage(Locale.ROOT));
+    }
+  }
+
+  @Test
+  public void testIdentityCard() {
+    final ChineseIdentityCardRule rule = ChineseIdentityCardRule.INSTANCE;
+    assertEquals(VALID, rule.check("320114197001160058"));
+    assertEquals(VALID, rule.check("32128319931103141x"));
+    assertEquals(NULL_VALUE, rule.check(null));
+    assertEquals(BAD_LENGTH, rule.check("32011419700116005"));
+    assertEquals(NON_DIGIT, rule.check("3201141970011600A8"));
+    assertEquals(NON_DIGIT, rule.check("32011419700116005Y"));
+    assertEquals(BAD_CHECKSUM, rule.check("320114197001160059"));
+    assertEquals(BAD_DATE, rule.check(withCheckDigit("32011419700230005")));
+    assertEquals(VALID, rule.check(withCheckDigit("00000019700116005")));
+    assertEquals(UNKNOWN_AREA, rule.check(withCheckDigit("00000019700116005"), true));
+    assertEquals(VALID, rule.check("320114197001160058", true));
+  }
+
+  private static String withCheckDigit(final String prefix) {
+    int sum = 0;
+    for (int i = 0; i < prefix.length(); ++i) {
+      sum += (prefix.charAt(i) - '0') * ChineseIdentityCardUtils.RATIO[i];
+    }
+    final char[] lastChars = ChineseIdentityCardUtils.LAST_CHAR;
+    return prefix + lastChars[sum % lastChars.length];
+  }
+
+  @Test
+  public void testIdentityCardConsistency() {
+    final Random random = new Random(20241019);
+    final ChineseIdentityCardRule rule = ChineseIdentityCardRule.INSTANCE;
+    for (int i = 0; i < 100_000; ++i) {
+      final String number = randomIdentityCard(random);
+      assertEquals(rule.validate(number), rule.check(number).isValid(), number);
+    }
+  }
+
+  private static String randomIdentityCard(final Random random) {
+    final StringBuilder builder = new StringBuilder("320114");
+    builder.append(1900 + random.nextInt(130));
+    builder.append(String.format("%02d%02d", random.nextInt(14), random.nextInt(33)));
+    builder.append(String.format("%03d", random.nextInt(1000)));
+    builder.append("0123456789Xx".charAt(random.nextInt(12)));
+    if (random.nextInt(20) == 0) {
+      builder.setCharAt(random.nextInt(builder.length()), 'a');
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testMobile() {
+    final ChineseMobileValidationRule rule = ChineseMobileValidationRule.INSTANCE;
+    assertEquals(VALID, rule.check("13874937629"));
+    assertEquals(VALID, rule.check("013874937629"));
+    assertEquals(VALID, rule.check("8613874937629"));
+    assertEquals(VALID, rule.check("1795113874937629"));
+    assertEquals(NULL_VALUE, rule.check(null));
+    assertEquals(BAD_LENGTH, rule.check(""));
+    assertEquals(BAD_LENGTH, rule.check("1387493762"));
+    assertEquals(BAD_LENGTH, rule.check("13874937629123"));
+    assertEquals(NON_DIGIT, rule.check("1387493762a"));
+    assertEquals(BAD_PREFIX, rule.check("12074937629"));
+    assertEquals(BAD_PREFIX, rule.check("113874937629"));
+    assertEquals(BAD_PREFIX, rule.check("8712074937629"));
+  }
+
+  @Test
+  public void testMobileConsistency() {
+    final Random random = new Random(20241019);
+    final String[] prefixes = {"", "0", "86", "17951", "1", "8", "17952"};
+    final ChineseMobileValidationRule rule = ChineseMobileValidationRule.INSTANCE;
+    for (int i = 0; i < 100_000; ++i) {
+      final StringBuilder builder = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+      final int n = 9 + random.nextInt(4);
+      builder.append('1');
+      for (int j = 1; j < n; ++j) {
+        builder.append((char) ('0' + random.nextInt(10)));
+      }
+      if (random.nextInt(20) == 0) {
+        builder.setCharAt(random.nextInt(builder.length()), '-');
+      }
+      final String mobile = builder.toString();
+      assertEquals(rule.validate(mobile), rule.check(mobile).isValid(), mobile);
+    }
+  }
+
+  @Test
+  public void testEmail() {
+    final EmailValidationRule rule = EmailValidationRule.INSTANCE;
+    assertEquals(VALID, rule.check("i@gmail.com"));
+    assertEquals(NULL_VALUE, rule.check(null));
+    assertEquals(BAD_LENGTH, rule.check(""));
+    assertEquals(BAD_CHARSET, rule.check("用户@gmail.com"));
+    assertEquals(BAD_FORMAT, rule.check("i@@gmail.com"));
+  }
+
+  @Test
+  public void testCombinedRules() {
+    final ValidationRule<String> custom = s -> s != null && s.startsWith("1");
+    assertEquals(VALID, custom.check("1"));
+    assertEquals(INVALID, custom.check("2"));
+    final ValidationRule<String> rule = ValidationRules.and(
+        ValidationRules.lengthBetween(11, 16), ChineseMobileValidationRule.INSTANCE);
+    assertEquals(VALID, rule.check("13874937629"));
+    assertEquals(NULL_VALUE, rule.check(null));
+    assertEquals(BAD_LENGTH, rule.check("1387493762"));
+    assertEquals(BAD_CHARSET, rule.check("1387493762a"));
+    assertEquals(BAD_PREFIX, rule.check("12074937629"));
+  }
+}
@@ -0,0 +1,196 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValidationRulesTest {
+
+  /**
+   * 记录调用顺序的测试规则。
+   */
+  private static final class TracingRule implements ValidationRule<String> {
+    private final String name;
+    private final int cost;
+    private final InputPrefilter prefilter;
+    private final boolean result;
+    private final List<String> trace;
+
+    TracingRule(final String name, final int cost, final InputPrefilter prefilter,
+        final boolean result, final List<String> trace) {
+      this.name = name;
+      this.cost = cost;
+      this.prefilter = prefilter;
+      this.result = result;
+      this.trace = trace;
+    }
+
+    @Override
+    public boolean validate(final String obj) {
+      trace.add(name);
+      return result;
+    }
+
+    @Override
+    public int getCost() {
+      return cost;
+    }
+
+    @Override
+    public InputPrefilter getPrefilter() {
+      return prefilter;
+    }
+  }
+
+  @Test
+  public void testLoginIdentifier() {
+    final ValidationRule<String> loginId = ValidationRules.and(
+        ValidationRules.lengthBetween(1, 254),
+        ChineseMobileValidationRule.INSTANCE.or(EmailValidationRule.INSTANCE));
+    assertTrue(loginId.validate("13912345678"));
+    assertTrue(loginId.validate("i@gmail.com"));
+    assertFalse(loginId.validate("1391234567"));
+    assertFalse(loginId.validate("not a login id"));
+    assertFalse(loginId.validate(""));
+    assertFalse(loginId.validate(null));
+    assertFalse(loginId.validate("a".repeat(250) + "@b.com"));
+    assertEquals(ChineseMobileValidationRule.INSTANCE.validate("8613912345678"),
+        loginId.validate("8613912345678"));
+  }
+
+  @Test
+  public void testFusedOrSkipsImpossibleBranches() {
+    final List<String> trace = new ArrayList<>();
+    final ValidationRule<String> rule = ValidationRules.or(
+        new TracingRule("digits", 10, new InputPrefilter(11, InputCharset.DIGITS), false, trace),
+        new TracingRule("printable", 100, new InputPrefilter(0, InputCharset.ASCII_PRINTABLE),
+            false, trace),
+        new TracingRule("any", 1000, InputPrefilter.NONE, true, trace));
+    assertTrue(rule.validate("abc"));
+    assertEquals(List.of("printable", "any"), trace);
+    trace.clear();
+    assertTrue(rule.validate("123"));
+    assertEquals(List.of("digits", "printable", "any"), trace);
+    trace.clear();
+    assertTrue(rule.validate("123456789012"));
+    assertEquals(List.of("printable", "any"), trace);
+    trace.clear();
+    assertTrue(rule.validate("张三"));
+    assertEquals(List.of("any"), trace);
+  }
+
+  @Test
+  public void testCheapRulesFirst() {
+    final List<String> trace = new ArrayList<>();
+    final ValidationRule<String> expensive =
+        new TracingRule("expensive", 1000, InputPrefilter.NONE, true, trace);
+    final ValidationRule<String> cheap =
+        new TracingRule("cheap", 1, InputPrefilter.NONE, true, trace);
+    final ValidationRule<String> medium =
+        new TracingRule("medium", 10, InputPrefilter.NONE, true, trace);
+    assertTrue(expensive.and(cheap).and(medium).validate("x"));
+    assertEquals(List.of("cheap", "medium", "expensive"), trace);
+    trace.clear();
+    final ValidationRule<String> failing =
+        new TracingRule("failing", 5, InputPrefilter.NONE, false, trace);
+    assertFalse(ValidationRules.and(expensive, failing, medium).validate("x"));
+    assertEquals(List.of("failing"), trace);
+  }
+
+  @Test
+  public void testFlattening() {
+    final ValidationRule<String> a = BooleanValidationRule.INSTANCE;
+    final ValidationRule<String> b = IntegerValidationRule.INSTANCE;
+    final ValidationRule<String> c = DecimalValidationRule.INSTANCE;
+    final ValidationRule<String> and = a.and(b).and(c);
+    assertEquals(3, ((AndRule<String>) and).getRules().length);
+    final ValidationRule<String> or = a.or(b.or(c));
+    assertEquals(3, ((OrRule<String>) or).getRules().length);
+    assertSame(a, a.negate().negate());
+    assertSame(a, ValidationRules.and(a));
+    assertSame(a, ValidationRules.or(a));
+
+    final ValidationRule<String> lengths = ValidationRules.and(
+        ValidationRules.lengthBetween(2, 10), ValidationRules.lengthBetween(4, 20), a);
+    final AndRule<String> folded = (AndRule<String>) lengths;
+    assertEquals(1, folded.getRules().length);
+    assertEquals(4, folded.getMinLength());
+    assertEquals(10, folded.getMaxLength());
+    assertTrue(ValidationRules.and().validate("anything"));
+    assertFalse(ValidationRules.or().validate("anything"));
+  }
+
+  @Test
+  public void testNot() {
+    final ValidationRule<String> notMobile = ChineseMobileValidationRule.INSTANCE.negate();
+    assertFalse(notMobile.validate("13912345678"));
+    assertTrue(notMobile.validate("i@gmail.com"));
+    assertEquals(ChineseMobileValidationRule.INSTANCE.getCost(), notMobile.getCost());
+    assertTrue(notMobile.getPrefilter().isNone());
+  }
+
+  @Test
+  public void testPrefilter() {
+    final ValidationRule<String> rule = ValidationRules.prefilter(
+        new InputPrefilter(20, InputCharset.ASCII_PRINTABLE), PersonNameValidationRule.INSTANCE);
+    assertTrue(rule.validate("Zhang San"));
+    assertFalse(rule.validate("张三"));
+    assertFalse(rule.validate("Zhang San Zhang San Zhang San"));
+    assertTrue(ValidationRules.prefilter(InputPrefilter.NONE).validate(null));
+    assertEquals(InputCharset.ASCII_PRINTABLE, rule.getPrefilter().getCharset());
+    assertEquals(20, rule.getPrefilter().getMaxLength());
+  }
+
+  @Test
+  public void testLengthBetween() {
+    final ValidationRule<CharSequence> rule = ValidationRules.lengthBetween(2, 3);
+    assertFalse(rule.validate(null));
+    assertFalse(rule.validate("a"));
+    assertTrue(rule.validate("ab"));
+    assertTrue(rule.validate(new StringBuilder("abc")));
+    assertFalse(rule.validate("abcd"));
+    assertEquals(ValidationRule.CONSTANT_COST, rule.getCost());
+    assertThrows(IllegalArgumentException.class, () -> ValidationRules.lengthBetween(3, 2));
+    assertThrows(IllegalArgumentException.class, () -> ValidationRules.lengthBetween(-1, 2));
+  }
+
+  @Test
+  public void testCharsetClassify() {
+    final int digits = InputCharset.classify("123");
+    for (final InputCharset charset : InputCharset.values()) {
+      assertTrue(charset.accepts(digits));
+    }
+    final int x = InputCharset.classify("12x");
+    assertFalse(InputCharset.DIGITS.accepts(x));
+    assertTrue(InputCharset.DIGITS_OR_X.accepts(x));
+    final int control = InputCharset.classify("a\tb");
+    assertTrue(InputCharset.ASCII.accepts(control));
+    assertFalse(InputCharset.ASCII_PRINTABLE.accepts(control));
+    final int chinese = InputCharset.classify("张三");
+    assertTrue(InputCharset.ANY.accepts(chinese));
+    assertFalse(InputCharset.ASCII.accepts(chinese));
+    for (final String str : new String[]{"", "abc", "12X", "a\tb", "张三", "1 2"}) {
+      final int mask = InputCharset.classify(str);
+      for (final InputCharset charset : InputCharset.values()) {
+        assertEquals(charset.accepts(str), charset.accepts(mask), charset + ": " + str);
+      }
+    }
+    assertEquals(InputCharset.DIGITS, InputCharset.DIGITS_OR_X.intersect(InputCharset.DIGITS));
+    assertEquals(InputCharset.ASCII, InputCharset.DIGITS.union(InputCharset.ASCII));
+  }
+}
@@ -0,0 +1,138 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.LAST_CHAR;
+import static ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardUtils.RATIO;
+
+/**
+ * 对{@link BatchKernel}的各个实现的单元测试。
+ *
+ * @author 胡海星
+ */
+public class BatchKernelTest {
+
+  private static final int COUNT = 5000;
+
+  private final Random random = new Random(20240101L);
+
+  static String createIdentityCard(final Random random) {
+    final StringBuilder builder = new StringBuilder();
+    builder.append(110000 + random.nextInt(550000));
+    builder.append(1900 + random.nextInt(124));
+    builder.append(String.format("%02d%02d", 1 + random.nextInt(12), 1 + random.nextInt(31)));
+    builder.append(String.format("%03d", random.nextInt(1000)));
+    int sum = 0;
+    for (int i = 0; i < RATIO.length; ++i) {
+      sum += (builder.charAt(i) - '0') * RATIO[i];
+    }
+    builder.append(LAST_CHAR[sum % LAST_CHAR.length]);
+    return builder.toString();
+  }
+
+  private String mutate(final String str) {
+    final char[] chars = str.toCharArray();
+    switch (random.nextInt(6)) {
+      case 0:
+        return str;
+      case 1:
+        chars[random.nextInt(chars.length)] = (char) ('0' + random.nextInt(10));
+        return new String(chars);
+      case 2:
+        chars[random.nextInt(chars.length)] = (char) ('/' + random.nextInt(13));
+        return new String(chars);
+      case 3:
+        return str.substring(1);
+      case 4:
+        return (random.nextBoolean() ? null : str.toLowerCase());
+      default:
+        return str + random.nextInt(10);
+    }
+  }
+
+  private CharSequence[] createIdentityCards() {
+    final CharSequence[] numbers = new CharSequence[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      numbers[i] = mutate(createIdentityCard(random));
+    }
+    return numbers;
+  }
+
+  private CharSequence[] createMobiles() {
+    final String[] prefixes = {"", "", "", "0", "86", "17951"};
+    final CharSequence[] numbers = new CharSequence[COUNT];
+    for (int i = 0; i < COUNT; ++i) {
+      final String mobile = prefixes[random.nextInt(prefixes.length)] + "1"
+          + (30 + random.nextInt(70)) + String.format("%08d", random.nextInt(100000000));
+      numbers[i] = mutate(mobile);
+    }
+    return numbers;
+  }
+
+  private void checkIdentityCards(final BatchKernel kernel) {
+    final CharSequence[] numbers = createIdentityCards();
+    final boolean[] expected = new boolean[COUNT];
+    int expectedCount = 0;
+    for (int i = 0; i < COUNT; ++i) {
+      expected[i] = ChineseIdentityCardRule.INSTANCE.validate((String) numbers[i]);
+      expectedCount += (expected[i] ? 1 : 0);
+    }
+    final boolean[] actual = new boolean[COUNT];
+    assertEquals(expectedCount, kernel.validateIdentityCards(numbers, 0, COUNT, actual));
+    assertArrayEquals(expected, actual);
+  }
+
+  private void checkMobiles(final BatchKernel kernel) {
+    final CharSequence[] numbers = createMobiles();
+    final boolean[] expected = new boolean[COUNT];
+    int expectedCount = 0;
+    for (int i = 0; i < COUNT; ++i) {
+      expected[i] = ChineseMobileValidationRule.INSTANCE.validate((String) numbers[i]);
+      expectedCount += (expected[i] ? 1 : 0);
+    }
+    final boolean[] actual = new boolean[COUNT];
+    assertEquals(expectedCount, kernel.validateMobiles(numbers, 0, COUNT, actual));
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  public void testScalarKernel() {
+    checkIdentityCards(ScalarBatchKernel.INSTANCE);
+    checkMobiles(ScalarBatchKernel.INSTANCE);
+  }
+
+  @Test
+  public void testVectorKernel() {
+    assumeTrue(BatchKernels.isVectorized(), "the vector batch kernel is not enabled");
+    checkIdentityCards(BatchKernels.get());
+    checkMobiles(BatchKernels.get());
+  }
+
+  @Test
+  public void testRuleBatchApi() {
+    final CharSequence[] numbers = {"320114197001160058", null, "32128319931103141x",
+        "320114197001160059", "13874937629", "8613874937629"};
+    final boolean[] results = new boolean[numbers.length];
+    assertEquals(2, ChineseIdentityCardRule.INSTANCE.validateAll(numbers, results));
+    assertArrayEquals(new boolean[]{true, false, true, false, false, false}, results);
+    assertEquals(2, ChineseMobileValidationRule.INSTANCE.validateAll(numbers, results));
+    assertArrayEquals(new boolean[]{false, false, false, false, true, true}, results);
+  }
+}
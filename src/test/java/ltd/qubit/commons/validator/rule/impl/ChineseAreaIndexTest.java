@@ -0,0 +1,97 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link ChineseAreaIndex}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ChineseAreaIndexTest {
+
+  private final ChineseAreaIndex index = ChineseIdentityCardUtils.getAreaIndex();
+
+  @Test
+  public void testHierarchy() {
+    assertEquals(321200, index.getParent(321283));
+    assertEquals(320000, index.getParent(321200));
+    assertEquals(ChineseAreaIndex.NONE, index.getParent(320000));
+    assertEquals(320000, index.getProvince(321283));
+    assertEquals(320000, index.getProvince(320000));
+    assertEquals(321200, index.getPrefecture(321283));
+    assertEquals(321200, index.getPrefecture(321200));
+    assertEquals(ChineseAreaIndex.NONE, index.getPrefecture(320000));
+    // 直辖市的市辖区以及省直辖县级行政区直接隶属于省级行政区
+    assertEquals(110000, index.getParent(110101));
+    assertEquals(ChineseAreaIndex.NONE, index.getPrefecture(110101));
+    assertEquals(420000, index.getParent(429004));
+    assertEquals(ChineseAreaIndex.NONE, index.getParent(999999));
+    assertEquals(ChineseAreaIndex.NONE, index.getProvince(-1));
+    assertFalse(index.contains(321299));
+    assertEquals("泰兴市", index.getName(321283));
+    assertNull(index.getName(321299));
+  }
+
+  @Test
+  public void testChildren() {
+    assertArrayEquals(new int[]{321202, 321203, 321204, 321281, 321282, 321283},
+        index.getChildren(321200));
+    assertEquals(6, index.getChildCount(321200));
+    assertEquals(321281, index.getChild(321200, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> index.getChild(321200, 6));
+    assertEquals(0, index.getChildCount(321283));
+    assertEquals(0, index.getChildren(999999).length);
+    assertTrue(index.getChildCount(110000) >= 16);
+    // 每个地区恰好出现在其上级地区的下级列表中一次
+    final ChineseAreaTable table = index.getTable();
+    int total = 0;
+    for (int i = 0; i < table.size(); ++i) {
+      final int code = table.codeAt(i);
+      for (final int child : index.getChildren(code)) {
+        assertEquals(code, index.getParent(child));
+        ++total;
+      }
+      assertEquals(i, index.indexOf(code));
+    }
+    int roots = 0;
+    for (int i = 0; i < table.size(); ++i) {
+      if (index.getParent(table.codeAt(i)) == ChineseAreaIndex.NONE) {
+        ++roots;
+      }
+    }
+    assertEquals(table.size(), total + roots);
+  }
+
+  @Test
+  public void testNamePath() {
+    final CharSequence path = index.getNamePath(321283);
+    assertEquals("江苏省泰州市泰兴市", path.toString());
+    assertEquals(9, path.length());
+    assertEquals('泰', path.charAt(3));
+    assertEquals('兴', path.charAt(7));
+    assertEquals("泰州市", path.subSequence(3, 6).toString());
+    assertThrows(IndexOutOfBoundsException.class, () -> path.charAt(9));
+    assertEquals("北京市东城区", index.getNamePath(110101).toString());
+    assertEquals("江苏省", index.getNamePath(320000).toString());
+    assertNull(index.getNamePath(999999));
+    assertEquals("江苏省泰州市泰兴市", ChineseIdentityCardRule.INSTANCE
+        .parse("32128319931103141X").getAreaNamePath().toString());
+  }
+}
@@ -0,0 +1,112 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static ltd.qubit.commons.validator.rule.impl.ChineseAreaNameIndex.NONE;
+
+/**
+ * 对{@link ChineseAreaNameIndex}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ChineseAreaNameIndexTest {
+
+  private final ChineseAreaNameIndex index = ChineseIdentityCardUtils.getAreaNameIndex();
+
+  @Test
+  public void testAlias() {
+    assertEquals("海淀", ChineseAreaNameIndex.aliasOf("海淀区"));
+    assertEquals("江苏", ChineseAreaNameIndex.aliasOf("江苏省"));
+    assertEquals("广西", ChineseAreaNameIndex.aliasOf("广西壮族自治区"));
+    assertEquals("内蒙古", ChineseAreaNameIndex.aliasOf("内蒙古自治区"));
+    assertEquals("延边", ChineseAreaNameIndex.aliasOf("延边朝鲜族自治州"));
+    assertEquals("湘西", ChineseAreaNameIndex.aliasOf("湘西土家族苗族自治州"));
+    assertEquals("伊犁", ChineseAreaNameIndex.aliasOf("伊犁哈萨克自治州"));
+    assertEquals("滨海", ChineseAreaNameIndex.aliasOf("滨海新区"));
+    assertNull(ChineseAreaNameIndex.aliasOf("矿区"));
+  }
+
+  @Test
+  public void testFind() {
+    assertEquals(110108, index.find("海淀区"));
+    assertEquals(110108, index.find("海淀"));
+    assertEquals(320000, index.find("江苏"));
+    assertEquals(450000, index.find("广西"));
+    assertEquals(222400, index.find("延边"));
+    assertEquals(321283, index.find("泰兴市"));
+    assertEquals(NONE, index.find("泰兴市市"));
+    assertEquals(NONE, index.find("泰"));
+    assertEquals(NONE, index.find(""));
+    assertEquals(NONE, index.find(null));
+    assertEquals(321283, index.find("江苏省泰兴市", 3, 6));
+    // 全称匹配的地区排在简称匹配的地区之前
+    assertEquals(532901, index.find("大理市"));
+    assertEquals(532900, index.find("大理"));
+    assertEquals(2, index.count("吉林"));
+    assertEquals(220000, index.find("吉林"));
+    assertEquals(220200, index.find("吉林", 220000));
+    assertEquals(0, index.count("不存在"));
+  }
+
+  @Test
+  public void testFindWithAncestor() {
+    assertTrue(index.count("朝阳区") >= 2);
+    assertEquals(110105, index.find("朝阳区", 110000));
+    assertEquals(220104, index.find("朝阳区", 220000));
+    assertEquals(220104, index.find("朝阳", 220100));
+    assertEquals(NONE, index.find("朝阳区", 320000));
+    final int[] results = new int[4];
+    final int n = index.findAll("朝阳区", results, 1);
+    assertEquals(index.count("朝阳区"), n);
+    assertEquals(110105, results[1]);
+    assertThrows(IllegalArgumentException.class, () -> index.findAll("朝阳区", results, 3));
+  }
+
+  @Test
+  public void testMatchPrefix() {
+    final String address = "江苏省泰州市泰兴市黄桥镇";
+    assertEquals(3, index.matchPrefix(address, 0));
+    assertEquals(320000, index.find(address, 0, 3));
+    assertEquals(3, index.matchPrefix(address, 3));
+    assertEquals(321200, index.find(address, 3, 6));
+    assertEquals(3, index.matchPrefix(address, 6));
+    assertEquals(0, index.matchPrefix(address, 9));
+    assertEquals(2, index.matchPrefix("海淀路", 0));
+  }
+
+  @Test
+  public void testResolve() {
+    assertEquals(321283, index.resolve("江苏省", "泰州市", "泰兴市"));
+    assertEquals(321283, index.resolve("江苏", "泰州", "泰兴"));
+    assertEquals(321200, index.resolve("江苏", "泰州", null));
+    assertEquals(110108, index.resolve("北京市", "北京市", "海淀区"));
+    assertEquals(110108, index.resolve("北京", "", "海淀"));
+    assertEquals(460000, index.resolve("海南", null, null));
+    assertEquals(NONE, index.resolve("江苏省", "南京市", "泰兴市"));
+    assertEquals(NONE, index.resolve("泰州市", null, null));
+  }
+
+  @Test
+  public void testAllNames() {
+    final ChineseAreaIndex areas = index.getAreaIndex();
+    final ChineseAreaTable table = areas.getTable();
+    for (int i = 0; i < table.size(); ++i) {
+      final int code = table.codeAt(i);
+      final int parent = areas.getParent(code);
+      assertEquals(code, index.find(table.nameAt(i), parent), table.nameAt(i));
+    }
+  }
+}
@@ -0,0 +1,133 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.util.properties.PropertiesUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChineseAreaTableTest {
+
+  private static Map<String, String> loadProperties() throws IOException {
+    final URL url = ChineseAreaTableTest.class.getResource(
+        ChineseIdentityCardUtils.AREA_MAP_RESOURCE);
+    assertNotNull(url);
+    final Map<String, String> map = new HashMap<>();
+    PropertiesUtils.toMap(PropertiesUtils.load(url, UTF_8))
+        .forEach((k, v) -> map.put(k.trim(), v.trim()));
+    return map;
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    final Map<String, String> expected = loadProperties();
+    final ChineseAreaTable table = ChineseAreaTable.fromMap(expected);
+    assertEquals(expected.size(), table.size());
+    assertEquals(expected, table.asMap());
+    final byte[] data = table.toByteArray();
+    final ChineseAreaTable copy = ChineseAreaTable.read(data);
+    assertEquals(table, copy);
+    assertArrayEquals(data, copy.toByteArray());
+    assertEquals(expected, copy.asMap());
+  }
+
+  @Test
+  public void testBinaryResourceMatchesProperties() throws IOException {
+    final Map<String, String> expected = loadProperties();
+    final URL url = ChineseAreaTableTest.class.getResource(ChineseAreaTable.RESOURCE);
+    if (url != null) {
+      // 由构建过程生成的二进制资源必须与属性文件完全等价
+      try (final InputStream in = url.openStream()) {
+        assertEquals(expected, ChineseAreaTable.read(in.readAllBytes()).asMap());
+      }
+    }
+    assertEquals(expected, ChineseIdentityCardUtils.getAreaMap());
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testDeprecatedAreaMap() {
+    final Map<String, String> map = ChineseIdentityCardUtils.AREA_MAP;
+    assertEquals(ChineseIdentityCardUtils.getAreaMap(), map);
+    assertEquals("北京市", map.get("110000"));
+    assertTrue(map.containsKey("110105"));
+    assertNull(map.get("000000"));
+    assertThrows(UnsupportedOperationException.class, () -> map.put("000000", "x"));
+    assertThrows(UnsupportedOperationException.class, () -> map.remove("110000"));
+  }
+
+  @Test
+  public void testCompiler() throws IOException {
+    final Path source = Paths.get("src/main/resources/china-area.properties");
+    final Path target = Files.createTempFile("china-area", ".bin");
+    try {
+      final ChineseAreaTable table = ChineseAreaTableCompiler.compile(source, target);
+      assertEquals(table, ChineseAreaTable.read(Files.readAllBytes(target)));
+      assertEquals(loadProperties(), table.asMap());
+    } finally {
+      Files.deleteIfExists(target);
+    }
+  }
+
+  @Test
+  public void testLookup() {
+    final ChineseAreaTable table = ChineseIdentityCardUtils.getAreaTable();
+    assertTrue(table.contains(110105));
+    assertEquals(table.asMap().get("110105"), table.getName(110105));
+    assertFalse(table.contains(999999));
+    assertNull(table.getName(999999));
+    assertNull(table.asMap().get("abcdef"));
+    assertNull(table.asMap().get(110105));
+    assertEquals(110105, ChineseAreaTable.parseCode("110105"));
+    assertEquals(-1, ChineseAreaTable.parseCode("11010"));
+    assertEquals(-1, ChineseAreaTable.parseCode("11010x"));
+    assertEquals("010101", ChineseAreaTable.formatCode(10101));
+    for (int i = 1; i < table.size(); ++i) {
+      assertTrue(table.codeAt(i - 1) < table.codeAt(i));
+    }
+    assertThrows(UnsupportedOperationException.class,
+        () -> table.asMap().put("110105", "x"));
+  }
+
+  @Test
+  public void testCorruptedData() {
+    final Map<String, String> map = new HashMap<>();
+    map.put("110000", "北京市");
+    map.put("110105", "朝阳区");
+    final byte[] data = ChineseAreaTable.fromMap(map).toByteArray();
+    assertThrows(IOException.class, () -> ChineseAreaTable.read(new byte[0]));
+    assertThrows(IOException.class,
+        () -> ChineseAreaTable.read(Arrays.copyOf(data, data.length - 1)));
+    final byte[] badMagic = data.clone();
+    badMagic[0] = 0;
+    assertThrows(IOException.class, () -> ChineseAreaTable.read(badMagic));
+    assertThrows(IllegalArgumentException.class,
+        () -> ChineseAreaTable.fromMap(Map.of("1101", "x")));
+  }
+}
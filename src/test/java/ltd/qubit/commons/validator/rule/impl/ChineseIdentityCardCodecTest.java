@@ -0,0 +1,60 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link ChineseIdentityCardCodec}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ChineseIdentityCardCodecTest {
+
+  private static final int TEST_LOOPS = 100000;
+
+  @Test
+  public void testEncode() {
+    assertEquals(0, ChineseIdentityCardCodec.encode("000000000000000000"));
+    assertEquals(10, ChineseIdentityCardCodec.encode("00000000000000000X"));
+    assertEquals(ChineseIdentityCardCodec.encode("32128319931103141X"),
+        ChineseIdentityCardCodec.encode("32128319931103141x"));
+    final long max = ChineseIdentityCardCodec.encode("99999999999999999X");
+    assertTrue(ChineseIdentityCardCodec.isValidCode(max));
+    assertFalse(ChineseIdentityCardCodec.isValidCode(max + 1));
+    assertEquals("99999999999999999X", ChineseIdentityCardCodec.decode(max));
+    assertEquals(ChineseIdentityCardCodec.INVALID, ChineseIdentityCardCodec.encode(null));
+    assertEquals(ChineseIdentityCardCodec.INVALID,
+        ChineseIdentityCardCodec.encode("3212831993110314X1"));
+    assertEquals(ChineseIdentityCardCodec.INVALID,
+        ChineseIdentityCardCodec.encode("32128319931103141"));
+    assertThrows(IllegalArgumentException.class, () -> ChineseIdentityCardCodec.decode(-1));
+  }
+
+  @Test
+  public void testRoundTrip() {
+    final Random random = new Random(20240106L);
+    final char[] buffer = new char[20];
+    for (int i = 0; i < TEST_LOOPS; ++i) {
+      final String number = BatchKernelTest.createIdentityCard(random);
+      final long code = ChineseIdentityCardCodec.encode(number);
+      assertTrue(ChineseIdentityCardCodec.isValidCode(code), number);
+      assertEquals(number, ChineseIdentityCardCodec.decode(code));
+      ChineseIdentityCardCodec.decode(code, buffer, 1);
+      assertEquals(number, new String(buffer, 1, 18));
+    }
+  }
+}
@@ -0,0 +1,66 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link ChineseIdentityCardSwarUtils}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ChineseIdentityCardSwarUtilsTest {
+
+  private static final int TEST_LOOPS = 100000;
+
+  @Test
+  public void testKnownNumbers() {
+    assertTrue(ChineseIdentityCardSwarUtils.isValid("320114197001160058".getBytes(ISO_8859_1)));
+    assertTrue(ChineseIdentityCardSwarUtils.isValid("32128319931103141X".getBytes(ISO_8859_1)));
+    assertTrue(ChineseIdentityCardSwarUtils.isValid("32128319931103141x".getBytes(ISO_8859_1)));
+    assertFalse(ChineseIdentityCardSwarUtils.isValid("320114197001160059".getBytes(ISO_8859_1)));
+    assertFalse(ChineseIdentityCardSwarUtils.isValid("32128319931103141y".getBytes(ISO_8859_1)));
+    assertFalse(ChineseIdentityCardSwarUtils.isValid("3201141970011600".getBytes(ISO_8859_1)));
+    assertFalse(ChineseIdentityCardSwarUtils.isValid(null));
+  }
+
+  @Test
+  public void testOffset() {
+    final byte[] data = "xx320114197001160058yy".getBytes(ISO_8859_1);
+    assertTrue(ChineseIdentityCardRule.INSTANCE.validateAscii(data, 2));
+    assertFalse(ChineseIdentityCardRule.INSTANCE.validateAscii(data, 3));
+    assertFalse(ChineseIdentityCardRule.INSTANCE.validateAscii(data, 5));
+    assertFalse(ChineseIdentityCardRule.INSTANCE.validateAscii(data, -1));
+  }
+
+  @Test
+  public void testConsistentWithRule() {
+    final Random random = new Random(20240102L);
+    for (int i = 0; i < TEST_LOOPS; ++i) {
+      final byte[] bytes = BatchKernelTest.createIdentityCard(random).getBytes(ISO_8859_1);
+      // 随机修改一个字节，覆盖非数字字符、日期不合法以及校验码不匹配的情况
+      if (random.nextBoolean()) {
+        bytes[random.nextInt(bytes.length)] = (byte) random.nextInt(128);
+      }
+      final String str = new String(bytes, ISO_8859_1);
+      assertEquals(ChineseIdentityCardRule.INSTANCE.validate(str),
+          ChineseIdentityCardRule.INSTANCE.validateAscii(bytes), str);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ltd.qubit.commons.error.InitializationError;
+import ltd.qubit.commons.lang.SystemUtils;
+import ltd.qubit.commons.util.properties.PropertiesUtils;
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 在新启动的 JVM 中检查身份证号码验证的冷启动行为，即验证校验码、出生日期和性别时不会加载
+ * 行政区划代码表。
+ *
+ * @author 胡海星
+ */
+public class ChineseIdentityCardUtilsStartupTest {
+
+  private static final String NUMBER = "11010519491231002X";
+
+  /**
+   * 在子进程中运行的探测程序，以 properties 格式输出探测结果。
+   */
+  public static final class Probe {
+    public static void main(final String[] args) throws Exception {
+      final boolean preload = (args.length > 0 && "preload".equals(args[0]));
+      if (preload) {
+        ChineseIdentityCardUtils.preloadAreaMap().get();
+      }
+      final boolean valid = ChineseIdentityCardRule.INSTANCE.validate(NUMBER);
+      final String gender = ChineseIdentityCardUtils.getGender(NUMBER);
+      final boolean loadedAfterValidation = ChineseIdentityCardUtils.isAreaMapLoaded();
+      final boolean areaValid = ChineseIdentityCardUtils.isAreaValid(NUMBER);
+      System.out.println("valid=" + valid);
+      System.out.println("gender=" + gender);
+      System.out.println("areaValid=" + areaValid);
+      System.out.println("loadedAfterValidation=" + loadedAfterValidation);
+    }
+  }
+
+  private static String locationOf(final Class<?> type) throws URISyntaxException {
+    return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+  }
+
+  private static Properties runProbe(final String mode) throws Exception {
+    final Set<String> classpath = new LinkedHashSet<>();
+    for (final Class<?> type : new Class<?>[]{Probe.class, ChineseIdentityCardUtils.class,
+        LoggerFactory.class, SystemUtils.class, PropertiesUtils.class,
+        InitializationError.class}) {
+      classpath.add(locationOf(type));
+    }
+    final List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.add("-Xshare:auto");
+    command.add("-cp");
+    command.add(String.join(File.pathSeparator, classpath));
+    command.add(Probe.class.getName());
+    command.add(mode);
+    final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    if (!process.waitFor(60, TimeUnit.SECONDS)) {
+      process.destroyForcibly();
+      throw new IOException("The startup probe timed out.");
+    }
+    final String output = new String(process.getInputStream().readAllBytes(),
+        StandardCharsets.UTF_8);
+    assertEquals(0, process.exitValue(), output);
+    final Properties result = new Properties();
+    for (final String line : output.split("\\R")) {
+      final int pos = line.indexOf('=');
+      if (pos > 0) {
+        result.setProperty(line.substring(0, pos), line.substring(pos + 1));
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void testColdStart() throws Exception {
+    final Properties lazy = runProbe("lazy");
+    assertEquals("true", lazy.getProperty("valid"));
+    assertEquals("FEMALE", lazy.getProperty("gender"));
+    assertEquals("true", lazy.getProperty("areaValid"));
+    // 验证校验码、出生日期和性别不需要加载行政区划代码表
+    assertEquals("false", lazy.getProperty("loadedAfterValidation"));
+
+    final Properties preloaded = runProbe("preload");
+    assertEquals("true", preloaded.getProperty("loadedAfterValidation"));
+    assertEquals("true", preloaded.getProperty("areaValid"));
+  }
+}
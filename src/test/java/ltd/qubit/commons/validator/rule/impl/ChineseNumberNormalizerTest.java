@@ -0,0 +1,133 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.ChineseIdentityCardRule;
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 对{@link ChineseNumberNormalizer}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ChineseNumberNormalizerTest {
+
+  private static final int TEST_LOOPS = 100000;
+
+  @Test
+  public void testNormalizeMobile() {
+    final String expected = "13912345678";
+    final String[] inputs = {
+        "13912345678",
+        "139 1234 5678",
+        "139-1234-5678",
+        "１３９１２３４５６７８",
+        "１３９　１２３４－５６７８",
+        "+86 139 1234 5678",
+        "＋８６－１３９１２３４５６７８",
+        "8613912345678",
+        "013912345678",
+        "17951 13912345678",
+        " 139 1234—5678 ",
+    };
+    for (final String input : inputs) {
+      assertEquals(input.matches("[0-9]+"),
+          ChineseNumberNormalizer.parseMobile(input, false) >= 0, input);
+      assertEquals(expected, ChineseNumberNormalizer.normalizeMobile(input), input);
+      assertEquals(13912345678L, ChineseNumberNormalizer.parseMobile(input), input);
+    }
+    final String[] invalids = {
+        null, "", "+", "1391234567", "139123456789", "+013912345678", "+13912345678",
+        "+1795113912345678", "1391234567x", "+86+13912345678", "86+13912345678",
+        "10012345678", "12345678901234567", "1".repeat(65),
+    };
+    for (final String input : invalids) {
+      assertNull(ChineseNumberNormalizer.normalizeMobile(input), input);
+      assertEquals(ChineseNumberNormalizer.INVALID, ChineseNumberNormalizer.parseMobile(input));
+      assertEquals(ChineseNumberNormalizer.INVALID,
+          ChineseNumberNormalizer.parseMobile(input, false));
+    }
+  }
+
+  @Test
+  public void testNormalizeMobileIntoBuffer() {
+    final char[] buffer = new char[15];
+    Arrays.fill(buffer, '*');
+    assertEquals(11, ChineseNumberNormalizer.normalizeMobile("+86 139-1234-5678", buffer, 2));
+    assertEquals("**13912345678**", new String(buffer));
+    Arrays.fill(buffer, '*');
+    assertEquals(ChineseNumberNormalizer.INVALID,
+        ChineseNumberNormalizer.normalizeMobile("139-1234", buffer, 2));
+    assertEquals("*".repeat(15), new String(buffer));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> ChineseNumberNormalizer.normalizeMobile("13912345678", buffer, 5));
+  }
+
+  @Test
+  public void testNormalizeIdentityCard() {
+    assertEquals("32128319931103141X",
+        ChineseNumberNormalizer.normalizeIdentityCard("32128319931103141x"));
+    assertEquals("32128319931103141X",
+        ChineseNumberNormalizer.normalizeIdentityCard("321283 19931103 141ｘ"));
+    assertEquals("320114197001160058",
+        ChineseNumberNormalizer.normalizeIdentityCard("３２０１１４－１９７００１１６－００５８"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("320114197001160059"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("32011419700116005X"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("3201141970011600"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("3201141970011600580"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("X20114197001160058"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("+320114197001160058"));
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard(null));
+    assertEquals(18, ChineseNumberNormalizer.normalizeIdentityCard("320114197001160058", null, 0));
+    // 2月30日不存在
+    assertNull(ChineseNumberNormalizer.normalizeIdentityCard("110101200002300014"));
+
+    final char[] buffer = new char[20];
+    assertEquals(18, ChineseNumberNormalizer.normalizeIdentityCard(
+        "321283 1993 1103 141x", buffer, 1));
+    assertEquals("32128319931103141X", new String(buffer, 1, 18));
+  }
+
+  @Test
+  public void testConsistentWithRules() {
+    final Random random = new Random(20240103L);
+    for (int i = 0; i < TEST_LOOPS; ++i) {
+      final String number = BatchKernelTest.createIdentityCard(random);
+      final char[] chars = number.toCharArray();
+      if (random.nextBoolean()) {
+        chars[random.nextInt(chars.length)] = (char) ('0' + random.nextInt(11));
+      }
+      final String str = new String(chars).replace(':', 'X');
+      assertEquals(ChineseIdentityCardRule.INSTANCE.validate(str),
+          ChineseIdentityCardRule.INSTANCE.validateNormalizing(str), str);
+    }
+    final String[] prefixes = {"", "0", "86", "17951", "1", "17"};
+    for (int i = 0; i < TEST_LOOPS; ++i) {
+      final StringBuilder builder = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+      builder.append('1');
+      for (int j = 0; j < 10; ++j) {
+        builder.append((char) ('0' + random.nextInt(10)));
+      }
+      final String str = builder.toString();
+      assertEquals(ChineseMobileValidationRule.INSTANCE.validate(str),
+          ChineseMobileValidationRule.INSTANCE.validateNormalizing(str), str);
+      assertEquals(ChineseMobileValidationRule.INSTANCE.validate(str),
+          ChineseMobileValidationRule.INSTANCE.parse(str) >= 0, str);
+    }
+  }
+}
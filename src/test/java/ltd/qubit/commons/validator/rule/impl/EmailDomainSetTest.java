@@ -0,0 +1,114 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link EmailDomainSet}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class EmailDomainSetTest {
+
+  private static final int TEST_DOMAINS = 100000;
+
+  @Test
+  public void testMatches() {
+    final EmailDomainSet set = EmailDomainSet.of("mailinator.com", "*.Temp-Mail.org",
+        ".10minutemail.net", "guerrillamail.com.", "mailinator.com");
+    assertEquals(4, set.size());
+    assertTrue(set.matches("mailinator.com"));
+    assertTrue(set.matches("MAILINATOR.COM"));
+    assertTrue(set.matches("a.b.mailinator.com"));
+    assertTrue(set.matches("temp-mail.org"));
+    assertTrue(set.matches("x.10MinuteMail.net"));
+    assertTrue(set.matches("guerrillamail.com"));
+    assertFalse(set.matches("notmailinator.com"));
+    assertFalse(set.matches("mailinator.co"));
+    assertFalse(set.matches("com"));
+    assertFalse(set.matches(""));
+    assertFalse(set.matches(null));
+    assertFalse(set.matches("mailinator.com.cn"));
+    assertTrue(set.matches("user@x.mailinator.com", 5, 21));
+    assertFalse(set.matches("user@x.mailinator.com", 5, 20));
+  }
+
+  @Test
+  public void testMatchesEmail() {
+    final EmailDomainSet set = EmailDomainSet.of("mailinator.com");
+    assertTrue(set.matchesEmail("user@mailinator.com"));
+    assertTrue(set.matchesEmail("user@Sub.Mailinator.Com"));
+    assertFalse(set.matchesEmail("user@notmailinator.com"));
+    assertFalse(set.matchesEmail("mailinator.com@gmail.com"));
+    assertFalse(set.matchesEmail("mailinator.com"));
+    assertFalse(set.matchesEmail("x.mailinator.com"));
+    assertFalse(set.matchesEmail("user@"));
+    assertFalse(EmailDomainSet.EMPTY.matchesEmail("user@mailinator.com"));
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    final EmailDomainSet set = EmailDomainSet.read(new StringReader(
+        "# disposable domains\n\n  mailinator.com  \nyopmail.com\n"));
+    assertEquals(2, set.size());
+    assertTrue(set.matchesEmail("a@yopmail.com"));
+    assertThrows(IOException.class,
+        () -> EmailDomainSet.read(new StringReader("mailinator.com\nbad_domain.com\n")));
+    assertThrows(IllegalArgumentException.class, () -> EmailDomainSet.of("a..com"));
+    assertThrows(IllegalArgumentException.class, () -> EmailDomainSet.of("."));
+    assertThrows(IllegalArgumentException.class, () -> EmailDomainSet.of("例子.com"));
+  }
+
+  @Test
+  public void testLargeSet() {
+    final Random random = new Random(20240105L);
+    final Set<String> domains = new HashSet<>();
+    while (domains.size() < TEST_DOMAINS) {
+      domains.add(randomLabel(random) + "." + randomLabel(random) + ".com");
+    }
+    final EmailDomainSet set = EmailDomainSet.of(domains);
+    assertEquals(TEST_DOMAINS, set.size());
+    for (final String domain : domains) {
+      assertTrue(set.matchesEmail("user@" + domain.toUpperCase()), domain);
+    }
+    final List<String> others = new ArrayList<>();
+    while (others.size() < TEST_DOMAINS) {
+      final String domain = randomLabel(random) + "." + randomLabel(random) + ".com";
+      if (!domains.contains(domain)) {
+        others.add(domain);
+      }
+    }
+    for (final String domain : others) {
+      assertFalse(set.matches(domain), domain);
+    }
+  }
+
+  private static String randomLabel(final Random random) {
+    final int length = 3 + random.nextInt(8);
+    final StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; ++i) {
+      builder.append((char) ('a' + random.nextInt(26)));
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,95 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.rule.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ltd.qubit.commons.validator.rule.ChineseMobileValidationRule;
+import ltd.qubit.commons.validator.rule.MobileNumberList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link MobileNumberSet}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class MobileNumberSetTest {
+
+  private static final int SET_SIZE = 100000;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testContains() {
+    final Random random = new Random(20240107L);
+    final long[] numbers = new long[SET_SIZE];
+    for (int i = 0; i < numbers.length; ++i) {
+      numbers[i] = 10_000_000_000L + (long) (random.nextDouble() * 10_000_000_000L);
+    }
+    final MobileNumberSet set = MobileNumberSet.of(numbers);
+    final long[] sorted = Arrays.stream(numbers).sorted().distinct().toArray();
+    assertEquals(sorted.length, set.size());
+    for (final long number : numbers) {
+      assertTrue(set.contains(number));
+    }
+    for (int i = 0; i < SET_SIZE; ++i) {
+      final long number = 10_000_000_000L + (long) (random.nextDouble() * 10_000_000_000L);
+      assertEquals(Arrays.binarySearch(sorted, number) >= 0, set.contains(number));
+    }
+    assertTrue(set.contains(sorted[0]));
+    assertTrue(set.contains(sorted[sorted.length - 1]));
+    assertFalse(set.contains(-1));
+    assertFalse(set.contains(9_999_999_999L));
+    assertFalse(set.contains(20_000_000_000L));
+    assertFalse(MobileNumberSet.EMPTY.contains(13912345678L));
+    assertThrows(IllegalArgumentException.class, () -> MobileNumberSet.of(2345678901L));
+  }
+
+  @Test
+  public void testMapAndReload() throws IOException {
+    final Path file = tempDir.resolve("blocklist.bin");
+    MobileNumberSet.of(13912345678L, 13800000000L, 13912345678L).write(file);
+    assertEquals(12 + 2 * Long.BYTES, Files.size(file));
+    final MobileNumberSet mapped = MobileNumberSet.map(file);
+    assertEquals(2, mapped.size());
+    assertEquals(13800000000L, mapped.get(0));
+    assertTrue(mapped.contains(ChineseMobileValidationRule.INSTANCE.parse("8613912345678")));
+
+    final MobileNumberList list = MobileNumberList.get("test-reload");
+    assertSame(list, MobileNumberList.get("test-reload"));
+    assertFalse(list.contains(13912345678L));
+    list.load(file);
+    assertTrue(list.contains(13912345678L));
+
+    // 格式不正确的文件不会替换当前快照
+    final Path corrupted = tempDir.resolve("corrupted.bin");
+    final byte[] data = Files.readAllBytes(file);
+    ByteBuffer.wrap(data).putLong(12, 13999999999L);
+    Files.write(corrupted, data);
+    assertThrows(IOException.class, () -> list.load(corrupted));
+    assertThrows(IOException.class, () -> MobileNumberSet.read(ByteBuffer.wrap(new byte[4])));
+    assertTrue(list.contains(13912345678L));
+    assertSame(mapped.getClass(), list.replace(MobileNumberSet.EMPTY).getClass());
+    assertFalse(list.contains(13912345678L));
+  }
+}
@@ -0,0 +1,110 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.utils;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ltd.qubit.commons.validator.rule.impl.ChineseIdentityCardCodec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link LongHashSet}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class LongHashSetTest {
+
+  private static final int TEST_LOOPS = 200000;
+
+  @Test
+  public void testBasic() {
+    for (final LongHashSet set : new LongHashSet[]{LongHashSet.onHeap(0), LongHashSet.offHeap(0)}) {
+      assertTrue(set.isEmpty());
+      assertTrue(set.add(0));
+      assertFalse(set.add(0));
+      assertTrue(set.add(-1));
+      assertTrue(set.add(Long.MIN_VALUE));
+      assertTrue(set.add(42));
+      assertEquals(4, set.size());
+      assertTrue(set.contains(0));
+      assertTrue(set.contains(Long.MIN_VALUE));
+      assertFalse(set.contains(43));
+      assertTrue(set.remove(0));
+      assertFalse(set.remove(0));
+      assertFalse(set.contains(0));
+      assertTrue(set.remove(42));
+      assertEquals(2, set.size());
+      set.clear();
+      assertEquals(0, set.size());
+      assertFalse(set.contains(-1));
+    }
+    assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1, 0.5f, false));
+    assertThrows(IllegalArgumentException.class, () -> new LongHashSet(10, 1.0f, false));
+  }
+
+  @Test
+  public void testConsistentWithHashSet() {
+    final Random random = new Random(20240105L);
+    for (final boolean offHeap : new boolean[]{false, true}) {
+      final LongHashSet set = new LongHashSet(0, LongHashSet.DEFAULT_LOAD_FACTOR, offHeap);
+      final Set<Long> expected = new HashSet<>();
+      for (int i = 0; i < TEST_LOOPS; ++i) {
+        // 值域较小，使得添加、删除和查找都有较多的命中
+        final long key = random.nextInt(50000) - 1000;
+        switch (random.nextInt(3)) {
+          case 0:
+            assertEquals(expected.add(key), set.add(key));
+            break;
+          case 1:
+            assertEquals(expected.remove(key), set.remove(key));
+            break;
+          default:
+            assertEquals(expected.contains(key), set.contains(key));
+            break;
+        }
+        assertEquals(expected.size(), set.size());
+      }
+      final Set<Long> actual = new HashSet<>();
+      set.forEach(actual::add);
+      assertEquals(expected, actual);
+      assertEquals(offHeap, set.isOffHeap());
+      assertTrue(set.size() <= set.capacity() * LongHashSet.DEFAULT_LOAD_FACTOR);
+    }
+  }
+
+  @Test
+  public void testBulkIdentityCards() {
+    final String[] blocklist = {"320114197001160058", "32128319931103141X"};
+    final String[] batch = {"32128319931103141x", "abc", "320114197001160059",
+        "320114197001160058"};
+    final long[] blockCodes = new long[blocklist.length];
+    assertEquals(2, ChineseIdentityCardCodec.encodeAll(blocklist, blockCodes));
+    final LongHashSet set = LongHashSet.offHeap(blockCodes.length);
+    assertEquals(2, set.addAll(blockCodes));
+    assertEquals(0, set.addAll(blockCodes, 1, 1));
+    assertEquals(16 * Long.BYTES, set.memoryUsage());
+
+    final long[] codes = new long[batch.length];
+    assertEquals(3, ChineseIdentityCardCodec.encodeAll(batch, codes));
+    assertEquals(ChineseIdentityCardCodec.INVALID, codes[1]);
+    final boolean[] results = new boolean[batch.length];
+    assertEquals(2, set.containsAll(codes, results));
+    assertArrayEquals(new boolean[]{true, false, false, true}, results);
+    assertThrows(IndexOutOfBoundsException.class, () -> set.addAll(codes, 3, 2));
+  }
+}
@@ -0,0 +1,132 @@
+////////////////////////////////////////////////////////////////////////////////
+//
+//    Copyright (c) 2022 - 2024.
+//    Haixing Hu, Qubit Co. Ltd.
+//
+//    All rights reserved.
+//
+////////////////////////////////////////////////////////////////////////////////
+package ltd.qubit.commons.validator.utils;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对{@link ResourceBundleCompiler}的单元测试。
+ *
+ * @author 胡海星
+ */
+public class ResourceBundleCompilerTest {
+
+  private static final String BUNDLE_NAME = "ltd.qubit.commons.validator.utils.TestMessages";
+
+  @Test
+  public void testGenerateSource() {
+    final Properties properties = new Properties();
+    properties.setProperty("greeting", "你好，\"{name}\"\\\n");
+    final String source = ResourceBundleCompiler.generateSource("a.b.Messages_zh_CN", properties);
+    assertTrue(source.contains("package a.b;"), source);
+    assertTrue(source.contains("public final class Messages_zh_CN extends "
+        + "java.util.ListResourceBundle"), source);
+    assertTrue(source.contains("{\"greeting\", \"\\u4f60\\u597d\\uff0c\\\"{name}\\\"\\\\\\n\"},"),
+        source);
+  }
+
+  @Test
+  public void testCompile(@TempDir final Path dir) throws IOException {
+    final Path resources = Paths.get("src/test/resources");
+    final int release = Runtime.version().feature();
+    final int count = ResourceBundleCompiler.compile(BUNDLE_NAME, resources,
+        dir.resolve("sources"), dir.resolve("classes"), release);
+    assertEquals(2, count);
+    assertEquals(0, ResourceBundleCompiler.compile("NonExistentMessages", resources,
+        dir.resolve("sources"), dir.resolve("classes"), release));
+    // 与构建过程一样，将属性文件和生成的类放在同一目录中
+    copyProperties(resources, dir.resolve("classes"));
+    final ResourceBundle expected = new Utf8ResourceBundleLocator(BUNDLE_NAME)
+        .getResourceBundle(Locale.CHINA);
+    final ResourceBundle bundle = getBundle(Locale.CHINA, dir.resolve("classes"));
+    assertInstanceOf(ListResourceBundle.class, bundle);
+    assertEquals("ltd.qubit.commons.validator.bundle.ltd.qubit.commons.validator.utils."
+        + "TestMessages_zh_CN", bundle.getClass().getName());
+    for (final String key : expected.keySet()) {
+      assertEquals(expected.getString(key), bundle.getString(key), key);
+    }
+  }
+
+  @Test
+  public void testUserPropertiesOverrideCompiledBundle(@TempDir final Path dir)
+      throws IOException {
+    final Path resources = Paths.get("src/test/resources");
+    final Path classes = dir.resolve("classes");
+    ResourceBundleCompiler.compile(BUNDLE_NAME, resources, dir.resolve("sources"), classes,
+        Runtime.version().feature());
+    copyProperties(resources, classes);
+    final Path user = dir.resolve("user");
+    final Path file = user.resolve(BUNDLE_NAME.replace('.', '/') + ".properties");
+    Files.createDirectories(file.getParent());
+    Files.write(file, "greeting=Hi\n".getBytes(UTF_8));
+    final ResourceBundle bundle = getBundle(Locale.ROOT, user, classes);
+    assertInstanceOf(PropertyResourceBundle.class, bundle);
+    assertEquals("Hi", bundle.getString("greeting"));
+  }
+
+  private static void copyProperties(final Path resources, final Path classes)
+      throws IOException {
+    final Path dir = Paths.get("ltd/qubit/commons/validator/utils");
+    Files.createDirectories(classes.resolve(dir));
+    try (final DirectoryStream<Path> stream = Files.newDirectoryStream(resources.resolve(dir),
+        "TestMessages*.properties")) {
+      for (final Path file : stream) {
+        Files.copy(file, classes.resolve(dir).resolve(file.getFileName().toString()));
+      }
+    }
+  }
+
+  private static ResourceBundle getBundle(final Locale locale, final Path... dirs)
+      throws IOException {
+    final URL[] urls = new URL[dirs.length];
+    for (int i = 0; i < dirs.length; ++i) {
+      urls[i] = dirs[i].toUri().toURL();
+    }
+    // 不委托给测试的类加载器，以免其找到 src/test/resources 中的属性文件
+    try (final URLClassLoader loader = new URLClassLoader(urls,
+        ClassLoader.getPlatformClassLoader())) {
+      final ClassLoader old = Thread.currentThread().getContextClassLoader();
+      Thread.currentThread().setContextClassLoader(loader);
+      try {
+        return new Utf8ResourceBundleLocator(BUNDLE_NAME).getResourceBundle(locale);
+      } finally {
+        Thread.currentThread().setContextClassLoader(old);
+      }
+    }
+  }
+
+  @Test
+  public void testValidationMessages() {
+    final Utf8ResourceBundleLocator locator = new Utf8ResourceBundleLocator("ValidationMessages");
+    final ResourceBundle bundle = locator.getResourceBundle(Locale.CHINA);
+    assertInstanceOf(ListResourceBundle.class, bundle);
+    assertEquals("电子邮件格式不正确。",
+        bundle.getString("annotation.ltd.qubit.commons.validator.Email.message"));
+  }
+}